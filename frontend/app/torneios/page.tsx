@@ -81,7 +81,7 @@ export default function TorneiosPage() {
                     <div className="flex items-center gap-2 text-sm">
                       <Users className="w-4 h-4 text-purple-400" />
                       <span>
-                        {t.participantes.length}/{/* assumimos 32 */}32 participantes
+                        {t.participantes.length}/{t.maxParticipantes} participantes
                       </span>
                     </div>
                     <div className="flex items-center gap-2 text-sm">
@@ -1,4 +1,4 @@
-import { Jogador, Time, Torneio } from "@/types";
+import { CriarTimeRequest, CriarTorneioRequest, Jogador, Time, Torneio } from "@/types";
 
 // build the base URL once; strip any trailing slash so callers can safely append paths
 // if the environment variable is set incorrectly (for example without the `/api` segment)
@@ -244,7 +244,7 @@ export const api = {
       if (!res.ok) throw new Error("Erro ao buscar times");
       return res.json();
     },
-    async create(time: Time): Promise<Time> {
+    async create(time: CriarTimeRequest): Promise<Time> {
       const res = await fetch(`${API_URL}/times`, {
         method: "POST",
         headers: getHeaders(),
@@ -260,7 +260,7 @@ export const api = {
       if (!res.ok) throw new Error("Erro ao buscar torneios");
       return res.json();
     },
-    async create(t: Torneio): Promise<Torneio> {
+    async create(t: CriarTorneioRequest): Promise<Torneio> {
       const res = await fetch(`${API_URL}/torneios`, {
         method: "POST",
         headers: getHeaders(),
@@ -297,4 +297,29 @@ export const api = {
       if (!res.ok) throw new Error("Erro ao sair da fila de matchmaking");
     },
   },
+  eventos: {
+    /**
+     * Assina o canal SSE em vez de consultar os endpoints periodicamente.
+     * Cada quadro traz um array com os eventos do tópico. O servidor encerra
+     * a conexão de quem não acompanha os quadros; o navegador reconecta e
+     * aoReconectar deve recarregar o estado pelos endpoints REST.
+     * Retorna a função que fecha a conexão.
+     */
+    subscribe(
+      handlers: Partial<Record<"fila" | "partidas" | "ranking", (eventos: any[]) => void>>,
+      aoReconectar?: () => void
+    ): () => void {
+      const topicos = Object.keys(handlers).join(",");
+      const fonte = new EventSource(`${API_URL}/eventos?topicos=${topicos}`);
+      let conectado = false;
+      fonte.onopen = () => {
+        if (conectado) aoReconectar?.();
+        conectado = true;
+      };
+      for (const [topico, handler] of Object.entries(handlers)) {
+        fonte.addEventListener(topico, (e) => handler?.(JSON.parse((e as MessageEvent).data)));
+      }
+      return () => fonte.close();
+    },
+  },
 };
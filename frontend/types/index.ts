@@ -96,6 +96,7 @@ export interface Jogo {
 }
 
 export interface Time {
+  id: number;
   nome: string;
   tag: string;
   capitao: Jogador;
@@ -104,6 +105,7 @@ export interface Time {
 }
 
 export interface Torneio {
+  id: number;
   nome: string;
   jogo: Jogo;
   formato: FormatoTorneio;
@@ -111,19 +113,42 @@ export interface Torneio {
   dataFim: string;
   status: StatusTorneio;
   premioTotal: number;
-  participantes: (Jogador | Time)[];
+  maxParticipantes: number;
+  rodadaAtual: number;
+  totalRodadas: number;
+  participantes: Time[];
   partidas: Partida[];
+  colocacoes: Record<string, number>;
+}
+
+export interface CriarTimeRequest {
+  nome: string;
+  tag: string;
+  capitao: string;
+  membros: string[];
+  jogoPrincipal: Jogo;
+}
+
+export interface CriarTorneioRequest {
+  nome: string;
+  jogo: Jogo;
+  formato: FormatoTorneio;
+  dataInicio: string;
+  dataFim: string;
+  premioTotal: number;
+  maxParticipantes?: number;
 }
 
 export interface Partida {
-  participante1: Jogador | Time;
-  participante2: Jogador | Time;
+  id: number;
+  participante1: string;
+  participante2: string;
   placar1: number;
   placar2: number;
   dataHora: string;
   status: StatusPartida;
   rodada: number;
-  vencedor?: Jogador | Time;
+  vencedor?: string;
 }
 
 export interface Penalidade {
@@ -0,0 +1,51 @@
+package com.arena.dto;
+
+import com.arena.model.Jogador;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversão de entidade para DTO, feita em toda listagem de jogadores.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JogadorDTOBenchmark {
+
+    private Jogador jogador;
+
+    @Setup
+    public void preparar() {
+        jogador = new Jogador("benchmark", "Jogador Benchmark", "benchmark@email.com", "senha",
+            LocalDate.of(2000, 1, 1));
+        jogador.setId(42L);
+        jogador.ganharElo(730);
+        jogador.setTotalPartidas(120);
+        jogador.setVitorias(70);
+        jogador.setDerrotas(50);
+        jogador.setKills(2400);
+        jogador.setDeaths(1900);
+        jogador.setAssists(800);
+        jogador.setUltimoLogin(LocalDateTime.now());
+    }
+
+    @Benchmark
+    public JogadorDTO fromEntity() {
+        return JogadorDTO.fromEntity(jogador);
+    }
+}
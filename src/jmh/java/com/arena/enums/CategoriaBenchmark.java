@@ -0,0 +1,50 @@
+package com.arena.enums;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo de {@link Categoria#getCategoriaPorElo(int)} com ELOs espalhados
+ * por todas as faixas, para que o branch predictor não decore o resultado.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CategoriaBenchmark {
+    private static final int TOTAL_ELOS = 1024;
+
+    private int[] elos;
+
+    @Setup
+    public void preparar() {
+        Random random = new Random(42);
+        elos = new int[TOTAL_ELOS];
+        for (int i = 0; i < TOTAL_ELOS; i++) {
+            elos[i] = random.nextInt(3000);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TOTAL_ELOS)
+    public void categoriaPorElo(Blackhole blackhole) {
+        for (int elo : elos) {
+            blackhole.consume(Categoria.getCategoriaPorElo(elo));
+        }
+    }
+}
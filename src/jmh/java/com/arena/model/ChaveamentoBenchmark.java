@@ -0,0 +1,88 @@
+package com.arena.model;
+
+import com.arena.enums.FormatoTorneio;
+import com.arena.enums.GeneroJogo;
+import com.arena.enums.Plataforma;
+import com.arena.rating.EloRatingEngine;
+import com.arena.rating.RatingEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Um torneio eliminatório inteiro: {@link Torneio#iniciar()} monta a chave e
+ * todas as partidas são encerradas em ordem até sair o campeão. O score é o
+ * tempo do torneio completo, incluindo o ELO de cada partida; a meta é ficar
+ * abaixo de 100 ms com 4096 inscritos na eliminação dupla.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 10)
+@Measurement(iterations = 20)
+@Fork(1)
+public class ChaveamentoBenchmark {
+    private static final RatingEngine MOTOR = new EloRatingEngine();
+
+    @Param({"1024", "4096"})
+    public int inscritos;
+
+    @Param({"ELIMINACAO_SIMPLES", "ELIMINACAO_DUPLA"})
+    public FormatoTorneio formato;
+
+    private Jogo jogo;
+    private Time[] times;
+    private Torneio torneio;
+
+    @Setup(Level.Trial)
+    public void criarTimes() {
+        jogo = new Jogo("Benchmark", GeneroJogo.MOBA, 5, Plataforma.PC);
+        times = new Time[inscritos];
+        for (int i = 0; i < inscritos; i++) {
+            String tag = String.format("T%04d", i);
+            Jogador capitao = new Jogador("cap" + i, "Capitão " + i, "cap" + i + "@email.com", "senha",
+                LocalDate.of(2000, 1, 1));
+            capitao.ganharElo(i % 500);
+            times[i] = new Time("Time " + i, tag, capitao, jogo);
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void inscreverTodos() {
+        torneio = new Torneio("Benchmark", jogo, formato,
+            LocalDate.now(), LocalDate.now().plusDays(1), 0, inscritos);
+        for (Time time : times) {
+            torneio.inscrever(time);
+        }
+    }
+
+    @Benchmark
+    public Participante jogarAteOCampeao() {
+        torneio.iniciar();
+        int encerradas = 0;
+        List<Partida> partidas = torneio.getPartidas();
+        while (encerradas < partidas.size()) {
+            for (int i = encerradas; i < partidas.size(); i++) {
+                // alterna o lado vencedor para misturar favoritos e zebras
+                Partida partida = partidas.get(i);
+                partida.finalizar(i % 3 == 0 ? 0 : 1, i % 3 == 0 ? 1 : 0, MOTOR);
+            }
+            encerradas = partidas.size();
+            partidas = torneio.getPartidas();
+        }
+        return torneio.getChaveamento().getCampeao();
+    }
+}
@@ -0,0 +1,111 @@
+package com.arena.model;
+
+import com.arena.enums.FormatoTorneio;
+import com.arena.enums.GeneroJogo;
+import com.arena.enums.Plataforma;
+import com.arena.rating.EloRatingEngine;
+import com.arena.rating.RatingEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Laços sobre os membros de um time, sem criar partidas: a distribuição de
+ * ELO de uma partida finalizada e de um WO, o ELO médio (usado na semeadura),
+ * o valor da premiação por membro e a checagem de membros ativos. Com
+ * {@code -prof gc} (o padrão do perfil), o {@code gc.alloc.rate.norm} mostra
+ * os bytes alocados por operação.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MembrosBenchmark {
+    private static final RatingEngine MOTOR = new EloRatingEngine();
+
+    @Param({"1", "5"})
+    public int jogadoresPorLado;
+
+    private Time time1;
+    private Time time2;
+    private Premiacao premiacao;
+    private int rodada;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        Jogo jogo = new Jogo("Benchmark", GeneroJogo.FPS, 5, Plataforma.PC);
+        Torneio torneio = new Torneio("Benchmark", jogo, FormatoTorneio.ELIMINACAO_SIMPLES,
+            LocalDate.now(), LocalDate.now().plusDays(1), 1000);
+        time1 = montarTime(jogo, "AAA");
+        time2 = montarTime(jogo, "BBB");
+        premiacao = new Premiacao(torneio, time1, 1, 1000);
+    }
+
+    @Setup(Level.Iteration)
+    public void reiniciarElo() {
+        for (int i = 0; i < jogadoresPorLado; i++) {
+            time1.getMembro(i).setElo(Jogador.ELO_INICIAL);
+            time2.getMembro(i).setElo(Jogador.ELO_INICIAL);
+        }
+    }
+
+    private Time montarTime(Jogo jogo, String tag) {
+        Time time = new Time("Time " + tag, tag, novoJogador(tag + 0), jogo);
+        for (int i = 1; i < jogadoresPorLado; i++) {
+            time.adicionarMembro(novoJogador(tag + i));
+        }
+        return time;
+    }
+
+    private static Jogador novoJogador(String nickname) {
+        return new Jogador(nickname, "Jogador " + nickname, nickname + "@email.com", "senha",
+            LocalDate.of(2000, 1, 1));
+    }
+
+    @Benchmark
+    public void distribuirElo() {
+        if ((rodada++ & 1) == 0) {
+            Partida.distribuirElo(time1.getMembros(), time2.getMembros(), 2, 1, MOTOR);
+        } else {
+            Partida.distribuirElo(time1.getMembros(), time2.getMembros(), 1, 2, MOTOR);
+        }
+    }
+
+    @Benchmark
+    public void distribuirEloWO() {
+        if ((rodada++ & 1) == 0) {
+            Partida.distribuirEloWO(time2.getMembros(), time1.getMembros());
+        } else {
+            Partida.distribuirEloWO(time1.getMembros(), time2.getMembros());
+        }
+    }
+
+    @Benchmark
+    public double eloMedio() {
+        return time1.getEloMedio();
+    }
+
+    @Benchmark
+    public double valorPorMembro() {
+        return premiacao.getValorPorMembro();
+    }
+
+    @Benchmark
+    public boolean todosAtivos() {
+        return time1.todosAtivos();
+    }
+}
@@ -0,0 +1,85 @@
+package com.arena.model;
+
+import com.arena.enums.FormatoTorneio;
+import com.arena.enums.GeneroJogo;
+import com.arena.enums.Plataforma;
+import com.arena.rating.EloRatingEngine;
+import com.arena.rating.RatingEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Pareamento#suico(Classificacao)} de uma rodada do sistema suíço
+ * depois de {@code rodadasJogadas} rodadas com resultados sorteados. A
+ * ordenação da tabela entra na medida; a meta é ficar abaixo de 100 ms com
+ * 2000 participantes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class PareamentoBenchmark {
+    private static final RatingEngine MOTOR = new EloRatingEngine();
+
+    @Param({"2000"})
+    public int participantes;
+
+    @Param({"0", "5", "10"})
+    public int rodadasJogadas;
+
+    private Classificacao classificacao;
+
+    @Setup(Level.Trial)
+    public void jogarRodadas() {
+        Jogo jogo = new Jogo("Benchmark", GeneroJogo.MOBA, 5, Plataforma.PC);
+        Torneio torneio = new Torneio("Benchmark", jogo, FormatoTorneio.GRUPOS,
+            LocalDate.now(), LocalDate.now().plusDays(1), 0, Torneio.LIMITE_PARTICIPANTES);
+        List<Participante> times = new ArrayList<>(participantes);
+        for (int i = 0; i < participantes; i++) {
+            String tag = String.format("T%04d", i);
+            Jogador capitao = new Jogador("cap" + i, "Capitão " + i, "cap" + i + "@email.com", "senha",
+                LocalDate.of(2000, 1, 1));
+            capitao.ganharElo(i % 500);
+            times.add(new Time("Time " + i, tag, capitao, jogo));
+        }
+        classificacao = new Classificacao(times);
+
+        SplittableRandom random = new SplittableRandom(42);
+        for (int rodada = 1; rodada <= rodadasJogadas; rodada++) {
+            int[] pares = Pareamento.suico(classificacao);
+            for (int i = 0; i < pares.length; i += 2) {
+                if (pares[i + 1] == Pareamento.FOLGA) {
+                    classificacao.registrarFolga(pares[i], Classificacao.PONTOS_VITORIA);
+                    continue;
+                }
+                Partida partida = new Partida(torneio, classificacao.getParticipante(pares[i]),
+                    classificacao.getParticipante(pares[i + 1]), rodada);
+                partida.finalizar(random.nextInt(3), random.nextInt(3), MOTOR);
+                classificacao.registrar(partida);
+            }
+        }
+    }
+
+    @Benchmark
+    public int[] parearRodada() {
+        return Pareamento.suico(classificacao);
+    }
+}
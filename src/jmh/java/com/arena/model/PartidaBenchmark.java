@@ -0,0 +1,94 @@
+package com.arena.model;
+
+import com.arena.enums.FormatoTorneio;
+import com.arena.enums.GeneroJogo;
+import com.arena.enums.Plataforma;
+import com.arena.rating.EloRatingEngine;
+import com.arena.rating.RatingEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encerramento de partidas ({@code finalizar} e {@code darWO}) em 1v1 e 5v5.
+ * Cada operação cria a partida, pois ela só pode ser encerrada uma vez; o
+ * vencedor alterna para o ELO não crescer sem limite.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PartidaBenchmark {
+    private static final RatingEngine MOTOR = new EloRatingEngine();
+
+    @Param({"1", "5"})
+    public int jogadoresPorLado;
+
+    private Torneio torneio;
+    private Time time1;
+    private Time time2;
+    private int rodada;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        Jogo jogo = new Jogo("Benchmark", GeneroJogo.FPS, 5, Plataforma.PC);
+        torneio = new Torneio("Benchmark", jogo, FormatoTorneio.ELIMINACAO_SIMPLES,
+            LocalDate.now(), LocalDate.now().plusDays(1), 0);
+        time1 = montarTime(jogo, "AAA");
+        time2 = montarTime(jogo, "BBB");
+    }
+
+    @Setup(Level.Iteration)
+    public void reiniciarElo() {
+        for (Jogador jogador : time1.getMembros()) {
+            jogador.setElo(Jogador.ELO_INICIAL);
+        }
+        for (Jogador jogador : time2.getMembros()) {
+            jogador.setElo(Jogador.ELO_INICIAL);
+        }
+    }
+
+    private Time montarTime(Jogo jogo, String tag) {
+        Time time = new Time("Time " + tag, tag, novoJogador(tag + 0), jogo);
+        for (int i = 1; i < jogadoresPorLado; i++) {
+            time.adicionarMembro(novoJogador(tag + i));
+        }
+        return time;
+    }
+
+    private static Jogador novoJogador(String nickname) {
+        return new Jogador(nickname, "Jogador " + nickname, nickname + "@email.com", "senha",
+            LocalDate.of(2000, 1, 1));
+    }
+
+    @Benchmark
+    public Partida finalizar() {
+        Partida partida = new Partida(torneio, time1, time2, 1);
+        if ((rodada++ & 1) == 0) {
+            partida.finalizar(2, 1, MOTOR);
+        } else {
+            partida.finalizar(1, 2, MOTOR);
+        }
+        return partida;
+    }
+
+    @Benchmark
+    public Penalidade darWO() {
+        Partida partida = new Partida(torneio, time1, time2, 1);
+        return partida.darWO((rodada++ & 1) == 0 ? time2 : time1);
+    }
+}
@@ -0,0 +1,70 @@
+package com.arena.model;
+
+import com.arena.enums.FormatoTorneio;
+import com.arena.enums.GeneroJogo;
+import com.arena.enums.Plataforma;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Torneio#inscrever(Participante)} perto da lotação: a cada iteração o
+ * torneio é preenchido até faltarem {@value #INSCRICOES_MEDIDAS} vagas e só
+ * essas últimas inscrições são medidas. O score é o tempo do lote inteiro.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, batchSize = TorneioBenchmark.INSCRICOES_MEDIDAS)
+@Measurement(iterations = 20, batchSize = TorneioBenchmark.INSCRICOES_MEDIDAS)
+@Fork(1)
+public class TorneioBenchmark {
+    static final int INSCRICOES_MEDIDAS = 256;
+
+    @Param({"1024", "8192"})
+    public int capacidade;
+
+    private Jogo jogo;
+    private Time[] times;
+    private Torneio torneio;
+    private int proximo;
+
+    @Setup(Level.Trial)
+    public void criarTimes() {
+        jogo = new Jogo("Benchmark", GeneroJogo.MOBA, 5, Plataforma.PC);
+        times = new Time[capacidade];
+        for (int i = 0; i < capacidade; i++) {
+            String tag = String.format("T%04d", i);
+            Jogador capitao = new Jogador("cap" + i, "Capitão " + i, "cap" + i + "@email.com", "senha",
+                LocalDate.of(2000, 1, 1));
+            times[i] = new Time("Time " + i, tag, capitao, jogo);
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void preencherQuaseTudo() {
+        torneio = new Torneio("Benchmark", jogo, FormatoTorneio.ELIMINACAO_SIMPLES,
+            LocalDate.now(), LocalDate.now().plusDays(1), 0, capacidade);
+        proximo = 0;
+        while (proximo < capacidade - INSCRICOES_MEDIDAS) {
+            torneio.inscrever(times[proximo++]);
+        }
+    }
+
+    @Benchmark
+    public void inscreverPertoDaLotacao() {
+        torneio.inscrever(times[proximo++]);
+    }
+}
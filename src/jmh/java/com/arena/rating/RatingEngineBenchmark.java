@@ -0,0 +1,109 @@
+package com.arena.rating;
+
+import com.arena.model.Jogador;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Um período de {@value #PARTIDAS} partidas 1x1 entre {@value #JOGADORES}
+ * jogadores: partida a partida sobre as entidades ({@link RatingEngine#aplicar})
+ * contra o lote sobre os arrays de {@link PeriodoRating}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RatingEngineBenchmark {
+    private static final int JOGADORES = 2_000;
+    private static final int PARTIDAS = 10_000;
+
+    @Param({"elo", "glicko2"})
+    public String motor;
+
+    private RatingEngine engine;
+    private Jogador[] jogadores;
+    private int[] jogador1;
+    private int[] jogador2;
+    private double[] pontuacao1;
+    private List<List<Jogador>> lados1;
+    private List<List<Jogador>> lados2;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        engine = motor.equals("elo") ? new EloRatingEngine() : new Glicko2RatingEngine(0.5);
+        SplittableRandom aleatorio = new SplittableRandom(42);
+        jogadores = new Jogador[JOGADORES];
+        for (int i = 0; i < JOGADORES; i++) {
+            jogadores[i] = new Jogador("bench" + i, "Jogador " + i, "bench" + i + "@email.com", "senha",
+                LocalDate.of(2000, 1, 1));
+        }
+
+        jogador1 = new int[PARTIDAS];
+        jogador2 = new int[PARTIDAS];
+        pontuacao1 = new double[PARTIDAS];
+        lados1 = new ArrayList<>(PARTIDAS);
+        lados2 = new ArrayList<>(PARTIDAS);
+        for (int k = 0; k < PARTIDAS; k++) {
+            jogador1[k] = aleatorio.nextInt(JOGADORES);
+            do {
+                jogador2[k] = aleatorio.nextInt(JOGADORES);
+            } while (jogador2[k] == jogador1[k]);
+            pontuacao1[k] = aleatorio.nextInt(3) / 2.0;
+            lados1.add(List.of(jogadores[jogador1[k]]));
+            lados2.add(List.of(jogadores[jogador2[k]]));
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void reiniciar() {
+        for (Jogador jogador : jogadores) {
+            jogador.setElo(Jogador.ELO_INICIAL);
+            jogador.atualizarCategoria();
+            jogador.setDesvioRating(Jogador.DESVIO_RATING_INICIAL);
+            jogador.setVolatilidade(Jogador.VOLATILIDADE_INICIAL);
+        }
+    }
+
+    @Benchmark
+    public Jogador[] partidaAPartida() {
+        for (int k = 0; k < PARTIDAS; k++) {
+            engine.aplicar(lados1.get(k), lados2.get(k), pontuacao1[k]);
+        }
+        return jogadores;
+    }
+
+    /**
+     * Inclui montar o período a partir das entidades, como faria quem
+     * recalcula um período de verdade.
+     */
+    @Benchmark
+    public PeriodoRating periodo() {
+        PeriodoRating periodo = new PeriodoRating(JOGADORES, PARTIDAS);
+        for (Jogador jogador : jogadores) {
+            periodo.adicionarJogador(jogador);
+        }
+        for (int k = 0; k < PARTIDAS; k++) {
+            periodo.adicionarPartida(jogador1[k], jogador2[k], pontuacao1[k]);
+        }
+        engine.aplicarPeriodo(periodo);
+        return periodo;
+    }
+}
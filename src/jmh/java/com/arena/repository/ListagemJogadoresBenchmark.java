@@ -0,0 +1,129 @@
+package com.arena.repository;
+
+import com.arena.ArenaApplication;
+import com.arena.dto.JogadorDTO;
+import com.arena.enums.Categoria;
+import com.arena.model.Jogador;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Consultas das listagens de jogadores ({@code /api/jogadores}, {@code /ranking}
+ * e {@code /categoria/{categoria}}) contra um H2 com {@value #JOGADORES} jogadores.
+ * Compara a forma antiga (entidades gerenciadas numa transação de escrita,
+ * convertidas com {@link JogadorDTO#fromEntity}) com as projeções de DTO em
+ * transação somente leitura. A alocação por operação sai do profiler gc.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ListagemJogadoresBenchmark {
+    static final int JOGADORES = 10_000;
+    private static final int PAGINA = 100;
+
+    private ConfigurableApplicationContext contexto;
+    private JogadorRepository jogadorRepository;
+    private TransactionTemplate transacao;
+    private EntityManager entityManager;
+
+    @Setup
+    public void preparar() {
+        contexto = new SpringApplicationBuilder(ArenaApplication.class)
+            .web(WebApplicationType.NONE)
+            .properties("spring.jpa.show-sql=false", "logging.level.root=WARN", "logging.level.com.arena=WARN",
+                "logging.level.org.hibernate.SQL=WARN")
+            .run();
+        jogadorRepository = contexto.getBean(JogadorRepository.class);
+        transacao = contexto.getBean(TransactionTemplate.class);
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(
+            contexto.getBean(EntityManagerFactory.class));
+
+        List<Jogador> jogadores = new ArrayList<>(JOGADORES);
+        for (int i = 0; i < JOGADORES; i++) {
+            Jogador jogador = new Jogador("bench" + i, "Jogador " + i, "bench" + i + "@email.com",
+                "$2a$10$hashDeSenhaComOTamanhoDeUmBCryptDeVerdadeParaOBenchmark", LocalDate.of(2000, 1, 1));
+            jogador.ganharElo((i * 37) % 2000);
+            jogador.setTotalPartidas(i % 300);
+            jogador.setVitorias(i % 150);
+            jogadores.add(jogador);
+        }
+        jogadorRepository.saveAll(jogadores);
+    }
+
+    @TearDown
+    public void encerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public List<JogadorDTO> listarTodosEntidades() {
+        return comEntidades("SELECT j FROM Jogador j", -1);
+    }
+
+    @Benchmark
+    public List<JogadorDTO> listarTodosProjecao() {
+        return jogadorRepository.listarTodos();
+    }
+
+    @Benchmark
+    public List<JogadorDTO> rankingEntidades() {
+        return comEntidades("SELECT j FROM Jogador j ORDER BY j.elo DESC, j.id DESC", PAGINA);
+    }
+
+    @Benchmark
+    public List<JogadorDTO> rankingProjecao() {
+        return jogadorRepository.findRanking(PAGINA);
+    }
+
+    @Benchmark
+    public List<JogadorDTO> categoriaEntidades() {
+        return comEntidades("SELECT j FROM Jogador j WHERE j.categoria = com.arena.enums.Categoria.PRATA "
+            + "ORDER BY j.categoria, j.elo DESC, j.id DESC", PAGINA);
+    }
+
+    @Benchmark
+    public List<JogadorDTO> categoriaProjecao() {
+        return jogadorRepository.findByCategoria(Categoria.PRATA, PAGINA);
+    }
+
+    /**
+     * Como as listagens faziam antes: entidades carregadas numa transação de
+     * escrita (com snapshot para o dirty checking e flush no commit) e
+     * copiadas para o DTO.
+     */
+    private List<JogadorDTO> comEntidades(String jpql, int limite) {
+        return transacao.execute(status -> {
+            var consulta = entityManager.createQuery(jpql, Jogador.class);
+            if (limite > 0) {
+                consulta.setMaxResults(limite);
+            }
+            return consulta.getResultList().stream()
+                .map(JogadorDTO::fromEntity)
+                .toList();
+        });
+    }
+}
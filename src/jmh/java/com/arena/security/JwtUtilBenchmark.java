@@ -0,0 +1,76 @@
+package com.arena.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Geração e validação de tokens por segundo. Na validação, compara a forma
+ * antiga (chave e parser recriados a cada chamada, dois parses por token), o
+ * parse único com parser reaproveitado e a validação com o token já no cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtUtilBenchmark {
+    private static final String SECRET_KEY = "arena_nexus_secret_key_2024_muito_segura_e_longa_para_jwt_token_generation";
+
+    private JwtUtil semCache;
+    private JwtUtil comCache;
+    private String token;
+
+    @Setup
+    public void preparar() {
+        semCache = new JwtUtil(0);
+        comCache = new JwtUtil();
+        token = comCache.generateToken("benchmark");
+        comCache.validarToken(token);
+    }
+
+    @Benchmark
+    public String gerarToken() {
+        return comCache.generateToken("benchmark");
+    }
+
+    @Benchmark
+    public boolean validacaoAntiga() {
+        String nickname = Jwts.parserBuilder()
+            .setSigningKey(Keys.hmacShaKeyFor(SECRET_KEY.getBytes()))
+            .build()
+            .parseClaimsJws(token)
+            .getBody()
+            .getSubject();
+        Date expiracao = Jwts.parserBuilder()
+            .setSigningKey(Keys.hmacShaKeyFor(SECRET_KEY.getBytes()))
+            .build()
+            .parseClaimsJws(token)
+            .getBody()
+            .getExpiration();
+        return nickname.equals("benchmark") && !expiracao.before(new Date());
+    }
+
+    @Benchmark
+    public boolean parseUnico() {
+        return semCache.validateToken(token, "benchmark");
+    }
+
+    @Benchmark
+    public boolean tokenEmCache() {
+        return comCache.validateToken(token, "benchmark");
+    }
+}
@@ -0,0 +1,73 @@
+package com.arena.service;
+
+import com.arena.dto.EventoPartidaRequest;
+import com.arena.enums.TipoEventoPartida;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Agregação de eventos no placar ao vivo de uma partida 5x5, em lotes de
+ * {@value #EVENTOS_POR_LOTE} eventos (kills com e sem assistência, rounds e
+ * objetivos). O resultado é em eventos por segundo; o lote é o mesmo a cada
+ * chamada, então a desserialização do JSON fica de fora.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PlacarAoVivoBenchmark {
+    private static final int EVENTOS_POR_LOTE = 500;
+
+    private PlacarAoVivo placar;
+    private List<EventoPartidaRequest> lote;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        long[] lado1 = {1, 2, 3, 4, 5};
+        long[] lado2 = {6, 7, 8, 9, 10};
+        placar = new PlacarAoVivo(1L, lado1, lado2);
+        Random random = new Random(42);
+        lote = new ArrayList<>(EVENTOS_POR_LOTE);
+        for (int i = 0; i < EVENTOS_POR_LOTE; i++) {
+            long[] autores = random.nextBoolean() ? lado1 : lado2;
+            long[] vitimas = autores == lado1 ? lado2 : lado1;
+            int autor = random.nextInt(5);
+            switch (i % 10) {
+                case 8 -> lote.add(new EventoPartidaRequest(TipoEventoPartida.ROUND, null, null, null,
+                    autores == lado1 ? 1 : 2));
+                case 9 -> lote.add(new EventoPartidaRequest(TipoEventoPartida.OBJETIVO, autores[autor], null, null,
+                    null));
+                default -> lote.add(new EventoPartidaRequest(TipoEventoPartida.KILL, autores[autor],
+                    vitimas[random.nextInt(5)], i % 2 == 0 ? autores[(autor + 1) % 5] : null, null));
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTOS_POR_LOTE)
+    public long aplicarLote() {
+        return placar.aplicar(lote);
+    }
+
+    @Benchmark
+    public PlacarAoVivo.Snapshot snapshot() {
+        return placar.snapshot();
+    }
+}
@@ -0,0 +1,127 @@
+package com.arena.service;
+
+import com.arena.ArenaApplication;
+import com.arena.dto.ResultadoPartidaRequest;
+import com.arena.model.Jogador;
+import com.arena.repository.JogadorRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ingestão de resultados 1x1 contra um H2 com {@value #JOGADORES} jogadores,
+ * em resultados por segundo. Compara o caminho antigo, em que o servidor de
+ * jogo fazia um {@code PATCH /{nickname}/elo} por jogador (duas chamadas de
+ * {@link JogadorService#ajustarElo} por resultado, cada uma com a própria
+ * transação), com {@link ResultadoService#registrarLote} em lotes de
+ * {@value #LOTE_PEQUENO} e {@value #LOTE_GRANDE} resultados. A camada HTTP
+ * fica de fora nos dois casos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResultadoServiceBenchmark {
+    static final int JOGADORES = 500;
+    private static final int LOTE_PEQUENO = 200;
+    private static final int LOTE_GRANDE = 1000;
+    private static final int PONTOS = 20;
+
+    private ConfigurableApplicationContext contexto;
+    private JogadorService jogadorService;
+    private ResultadoService resultadoService;
+    private List<ResultadoPartidaRequest> lotePequeno;
+    private List<ResultadoPartidaRequest> loteGrande;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        contexto = new SpringApplicationBuilder(ArenaApplication.class)
+            .web(WebApplicationType.NONE)
+            .properties("spring.jpa.show-sql=false", "logging.level.root=WARN", "logging.level.com.arena=WARN",
+                "logging.level.org.hibernate.SQL=WARN")
+            .run();
+        jogadorService = contexto.getBean(JogadorService.class);
+        resultadoService = contexto.getBean(ResultadoService.class);
+
+        List<Jogador> jogadores = new ArrayList<>(JOGADORES);
+        for (int i = 0; i < JOGADORES; i++) {
+            Jogador jogador = new Jogador("bench" + i, "Jogador " + i, "bench" + i + "@email.com",
+                "$2a$10$hashDeSenhaComOTamanhoDeUmBCryptDeVerdadeParaOBenchmark", LocalDate.of(2000, 1, 1));
+            jogador.ganharElo(1000);
+            jogadores.add(jogador);
+        }
+        contexto.getBean(JogadorRepository.class).saveAll(jogadores);
+
+        Random random = new Random(42);
+        lotePequeno = gerarLote(random, LOTE_PEQUENO);
+        loteGrande = gerarLote(random, LOTE_GRANDE);
+    }
+
+    @TearDown
+    public void encerrar() {
+        contexto.close();
+    }
+
+    /**
+     * Como o servidor de jogo reportava antes: o vencedor e o perdedor de
+     * cada resultado ajustados um a um.
+     */
+    @Benchmark
+    @OperationsPerInvocation(LOTE_PEQUENO)
+    public int ajustarEloPorJogador() {
+        int ajustados = 0;
+        for (ResultadoPartidaRequest resultado : lotePequeno) {
+            boolean lado1Venceu = resultado.getPlacar1() > resultado.getPlacar2();
+            ajustados += jogadorService.ajustarElo(resultado.getLado1().get(0), PONTOS, lado1Venceu)
+                .isPresent() ? 1 : 0;
+            ajustados += jogadorService.ajustarElo(resultado.getLado2().get(0), PONTOS, !lado1Venceu)
+                .isPresent() ? 1 : 0;
+        }
+        return ajustados;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOTE_PEQUENO)
+    public int registrarLotePequeno() {
+        return resultadoService.registrarLote(lotePequeno).getAplicados();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOTE_GRANDE)
+    public int registrarLoteGrande() {
+        return resultadoService.registrarLote(loteGrande).getAplicados();
+    }
+
+    private static List<ResultadoPartidaRequest> gerarLote(Random random, int tamanho) {
+        List<ResultadoPartidaRequest> lote = new ArrayList<>(tamanho);
+        for (int i = 0; i < tamanho; i++) {
+            int jogador1 = random.nextInt(JOGADORES);
+            int jogador2 = (jogador1 + 1 + random.nextInt(JOGADORES - 1)) % JOGADORES;
+            boolean lado1Venceu = random.nextBoolean();
+            lote.add(new ResultadoPartidaRequest(List.of("bench" + jogador1), List.of("bench" + jogador2),
+                lado1Venceu ? 13 : 7, lado1Venceu ? 7 : 13, null, null));
+        }
+        return lote;
+    }
+}
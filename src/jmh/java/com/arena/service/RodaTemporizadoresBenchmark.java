@@ -0,0 +1,73 @@
+package com.arena.service;
+
+import com.arena.enums.TipoTemporizadorPartida;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Roda de temporizadores com {@value #PENDENTES} temporizadores pendentes,
+ * com prazos espalhados por um dia: reagendar uma partida existente, agendar
+ * e cancelar uma nova e avançar um segundo (disparando o que vencer). Com
+ * {@code -prof gc} (o padrão do perfil), o {@code gc.alloc.rate.norm} mostra
+ * que nenhuma operação aloca.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx1g")
+public class RodaTemporizadoresBenchmark {
+    private static final int PENDENTES = 1_000_000;
+    private static final long INICIO = 1_700_000_000L;
+    private static final long DIA = 86_400;
+
+    private RodaTemporizadores<TipoTemporizadorPartida> roda;
+    private SplittableRandom random;
+    private long proximaChave;
+    // cada disparo repõe um temporizador, para a roda não esvaziar
+    private RodaTemporizadores.Disparo<TipoTemporizadorPartida> repor;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        roda = new RodaTemporizadores<>(TipoTemporizadorPartida.class, INICIO);
+        random = new SplittableRandom(42);
+        for (long chave = 0; chave < PENDENTES; chave++) {
+            roda.agendar(chave, INICIO + 1 + random.nextLong(DIA), TipoTemporizadorPartida.WO);
+        }
+        proximaChave = PENDENTES;
+        repor = (chave, tipo) -> roda.agendar(chave, roda.getTickAtual() + DIA, tipo);
+    }
+
+    @Benchmark
+    public int reagendar() {
+        roda.agendar(random.nextLong(PENDENTES), roda.getTickAtual() + 1 + random.nextLong(DIA),
+            TipoTemporizadorPartida.TIMEOUT);
+        return roda.getTotal();
+    }
+
+    @Benchmark
+    public boolean agendarECancelar() {
+        long chave = proximaChave++;
+        roda.agendar(chave, roda.getTickAtual() + 1 + random.nextLong(DIA), TipoTemporizadorPartida.WO);
+        return roda.cancelar(chave);
+    }
+
+    @Benchmark
+    public int avancarUmSegundo() {
+        roda.avancar(roda.getTickAtual() + 1, repor);
+        return roda.getTotal();
+    }
+}
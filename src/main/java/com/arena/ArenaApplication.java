@@ -2,11 +2,13 @@ package com.arena;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Aplicação principal Spring Boot do Arena Nexus.
  */
 @SpringBootApplication
+@EnableScheduling
 public class ArenaApplication {
 
     public static void main(String[] args) {
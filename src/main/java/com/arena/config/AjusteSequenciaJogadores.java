@@ -0,0 +1,50 @@
+package com.arena.config;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Alinha a sequence dos ids de jogador com os ids já gravados (perfil mysql).
+ *
+ * Os ids de {@link com.arena.model.Jogador} vinham de AUTO_INCREMENT e
+ * passaram a vir da sequence {@code jogadores_seq}, que o MySQL emula numa
+ * tabela. O {@code ddl-auto=update} cria essa tabela começando em 1, então
+ * num banco que já tinha jogadores os novos ids colidiriam com os antigos.
+ * Na inicialização, antes de qualquer INSERT, o próximo valor da tabela
+ * passa para depois do maior id existente. Como o otimizador pooled do
+ * Hibernate trata o valor lido como o fim do bloco, o valor gravado é o
+ * maior id mais o tamanho do bloco. Um banco já alinhado não muda.
+ */
+@Component
+@Profile("mysql")
+@DependsOn("entityManagerFactory")
+public class AjusteSequenciaJogadores {
+    // o allocationSize de Jogador
+    static final int IDS_POR_BLOCO = 50;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    void ajustar() {
+        int alteradas = ajustar(jdbcTemplate);
+        if (alteradas > 0) {
+            System.out.println("🔢 Sequence de jogadores ajustada ao maior id existente");
+        }
+    }
+
+    /**
+     * @return quantas linhas da tabela da sequence mudaram (0 se já estava alinhada)
+     */
+    static int ajustar(JdbcTemplate jdbcTemplate) {
+        return jdbcTemplate.update(
+            // sem jogadores o MAX é nulo e nada muda
+            "UPDATE jogadores_seq SET next_val = (SELECT MAX(id) + ? FROM jogadores) "
+                + "WHERE next_val < (SELECT MAX(id) + ? FROM jogadores)",
+            IDS_POR_BLOCO, IDS_POR_BLOCO);
+    }
+}
@@ -0,0 +1,25 @@
+package com.arena.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Conta os comandos SQL preparados pelo Hibernate na thread atual, para
+ * medir quantas consultas cada requisição faz.
+ */
+public class ContadorConsultas implements StatementInspector {
+    private static final ThreadLocal<int[]> CONTAGEM = ThreadLocal.withInitial(() -> new int[1]);
+
+    @Override
+    public String inspect(String sql) {
+        CONTAGEM.get()[0]++;
+        return sql;
+    }
+
+    static void zerar() {
+        CONTAGEM.get()[0] = 0;
+    }
+
+    static int getContagem() {
+        return CONTAGEM.get()[0];
+    }
+}
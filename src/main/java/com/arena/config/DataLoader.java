@@ -1,7 +1,15 @@
 package com.arena.config;
 
+import com.arena.enums.FormatoTorneio;
+import com.arena.enums.GeneroJogo;
+import com.arena.enums.Plataforma;
 import com.arena.model.Jogador;
+import com.arena.model.Jogo;
+import com.arena.model.Time;
+import com.arena.model.Torneio;
 import com.arena.repository.JogadorRepository;
+import com.arena.repository.TimeRepository;
+import com.arena.repository.TorneioRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -18,6 +26,12 @@ public class DataLoader implements CommandLineRunner {
     @Autowired
     private JogadorRepository jogadorRepository;
 
+    @Autowired
+    private TimeRepository timeRepository;
+
+    @Autowired
+    private TorneioRepository torneioRepository;
+
     @Autowired
     private PasswordEncoder passwordEncoder;
 
@@ -96,5 +110,14 @@ public class DataLoader implements CommandLineRunner {
             System.out.println("✅ Dados iniciais carregados: " + jogadorRepository.count() + " jogadores");
             System.out.println("🔑 Senha padrão para todos: senha123");
         }
+
+        if (timeRepository.count() == 0 && torneioRepository.count() == 0) {
+            Jogo valorant = new Jogo("Valorant", GeneroJogo.FPS, 5, Plataforma.PC);
+            jogadorRepository.findByNickname("aspas").ifPresent(capitao ->
+                timeRepository.save(new Time("Time Exemplo", "EXM", capitao, valorant)));
+            torneioRepository.save(new Torneio("Torneio Exemplo", valorant, FormatoTorneio.ELIMINACAO_SIMPLES,
+                LocalDate.now().plusDays(7), LocalDate.now().plusDays(8), 5000));
+            System.out.println("🏆 Time e torneio de exemplo criados");
+        }
     }
 }
@@ -0,0 +1,82 @@
+package com.arena.config;
+
+import com.arena.service.MatchmakingService;
+import com.arena.service.RankingService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Métricas da aplicação expostas pelo Actuator.
+ *
+ * Os tempos de cada endpoint vêm do {@code http.server.requests} do próprio
+ * Spring; aqui ficam os indicadores de domínio (fila do matchmaking, tamanho
+ * do ranking) e a contagem de consultas SQL por requisição.
+ */
+@Configuration
+public class MetricasConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Bean
+    public MeterBinder metricasMatchmaking(MatchmakingService matchmakingService) {
+        return registry -> {
+            Gauge.builder("arena.matchmaking.fila", matchmakingService, MatchmakingService::getTamanhoFila)
+                .description("Jogadores aguardando partida")
+                .register(registry);
+            FunctionCounter.builder("arena.matchmaking.partidas.formadas", matchmakingService,
+                    servico -> servico.getEstatisticas().partidasFormadas())
+                .description("Partidas formadas pelo matchmaking")
+                .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder metricasRanking(RankingService rankingService) {
+        return registry -> Gauge.builder("arena.ranking.jogadores", rankingService, RankingService::getTotal)
+            .description("Jogadores no índice do ranking")
+            .register(registry);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer contadorConsultas() {
+        return propriedades -> propriedades.put(AvailableSettings.STATEMENT_INSPECTOR, new ContadorConsultas());
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                ContadorConsultas.zerar();
+                return true;
+            }
+
+            @Override
+            public void afterCompletion(HttpServletRequest request, HttpServletResponse response,
+                                        Object handler, Exception ex) {
+                Object uri = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                DistributionSummary.builder("arena.http.consultas")
+                    .description("Comandos SQL por requisição")
+                    .tag("method", request.getMethod())
+                    .tag("uri", uri != null ? uri.toString() : "UNKNOWN")
+                    .register(meterRegistry)
+                    .record(ContadorConsultas.getContagem());
+            }
+        });
+    }
+}
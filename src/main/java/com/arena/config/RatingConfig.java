@@ -0,0 +1,29 @@
+package com.arena.config;
+
+import com.arena.rating.EloRatingEngine;
+import com.arena.rating.Glicko2RatingEngine;
+import com.arena.rating.RatingEngine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Escolhe o motor de rating ({@code arena.rating.motor}: {@code elo} ou
+ * {@code glicko2}).
+ */
+@Configuration
+public class RatingConfig {
+
+    @Bean
+    public RatingEngine ratingEngine(@Value("${arena.rating.motor:elo}") String motor,
+                                     @Value("${arena.rating.glicko2.tau:0.5}") double tau) {
+        RatingEngine engine = switch (motor.toLowerCase()) {
+            case "elo" -> new EloRatingEngine();
+            case "glicko2" -> new Glicko2RatingEngine(tau);
+            default -> throw new IllegalArgumentException(
+                "Motor de rating inválido: " + motor + " (use elo ou glicko2)");
+        };
+        System.out.println("🎯 Motor de rating: " + motor.toLowerCase());
+        return engine;
+    }
+}
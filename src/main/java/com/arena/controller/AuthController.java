@@ -8,14 +8,17 @@ import com.arena.exception.NicknameDuplicadoException;
 import com.arena.model.Jogador;
 import com.arena.repository.JogadorRepository;
 import com.arena.security.JwtUtil;
+import com.arena.service.SenhaService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Controller para autenticação (login e registro).
@@ -29,16 +32,24 @@ public class AuthController {
     private JogadorRepository jogadorRepository;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private SenhaService senhaService;
 
     @Autowired
     private JwtUtil jwtUtil;
 
+    // continuação de login e registro (gravação no banco e token): o pool do
+    // SenhaService fica só com o hash, e a latência do banco não o ocupa
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private AsyncTaskExecutor executorDeIo;
+
     /**
-     * Registra um novo jogador.
+     * Registra um novo jogador. O hash da senha roda no pool do
+     * {@link SenhaService}, liberando a thread da requisição; a gravação
+     * do jogador segue no executor de I/O.
      */
     @PostMapping("/register")
-    public ResponseEntity<AuthResponse> register(@Valid @RequestBody RegisterRequest request) {
+    public CompletableFuture<ResponseEntity<AuthResponse>> register(@Valid @RequestBody RegisterRequest request) {
         // Verificar se nickname já existe
         if (jogadorRepository.existsByNickname(request.getNickname())) {
             throw new NicknameDuplicadoException(request.getNickname());
@@ -49,47 +60,61 @@ public class AuthController {
             throw new IllegalArgumentException("Email já cadastrado");
         }
 
-        // Criar jogador
-        String senhaCriptografada = passwordEncoder.encode(request.getSenha());
-        Jogador jogador = new Jogador(
-            request.getNickname(),
-            request.getNomeReal(),
-            request.getEmail(),
-            senhaCriptografada,
-            request.getDataNascimento()
-        );
+        return senhaService.codificar(request.getSenha()).thenApplyAsync(senhaCriptografada -> {
+            // Criar jogador
+            Jogador jogador = new Jogador(
+                request.getNickname(),
+                request.getNomeReal(),
+                request.getEmail(),
+                senhaCriptografada,
+                request.getDataNascimento()
+            );
 
-        Jogador salvo = jogadorRepository.save(jogador);
+            Jogador salvo = jogadorRepository.save(jogador);
 
-        // Gerar token
-        String token = jwtUtil.generateToken(salvo.getNickname());
+            // Gerar token
+            String token = jwtUtil.generateToken(salvo.getNickname());
 
-        AuthResponse response = new AuthResponse(token, JogadorDTO.fromEntity(salvo));
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+            AuthResponse response = new AuthResponse(token, JogadorDTO.fromEntity(salvo));
+            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        }, executorDeIo);
     }
 
     /**
-     * Faz login de um jogador.
+     * Faz login de um jogador. A verificação da senha roda no pool do
+     * {@link SenhaService}, liberando a thread da requisição; o registro
+     * do último login segue no executor de I/O.
      */
     @PostMapping("/login")
-    public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginRequest request) {
+    public CompletableFuture<ResponseEntity<AuthResponse>> login(@Valid @RequestBody LoginRequest request) {
         Jogador jogador = jogadorRepository.findByNickname(request.getNickname())
             .orElseThrow(() -> new IllegalArgumentException("Nickname ou senha inválidos"));
 
-        // Verificar senha
-        if (!passwordEncoder.matches(request.getSenha(), jogador.getSenha())) {
-            throw new IllegalArgumentException("Nickname ou senha inválidos");
-        }
+        return senhaService.verificar(request.getSenha(), jogador.getSenha()).thenApplyAsync(senhaConfere -> {
+            // Verificar senha
+            if (!senhaConfere) {
+                throw new IllegalArgumentException("Nickname ou senha inválidos");
+            }
 
-        // Atualizar último login
-        jogador.setUltimoLogin(LocalDateTime.now());
-        jogadorRepository.save(jogador);
+            // Atualizar último login
+            LocalDateTime agora = LocalDateTime.now();
+            jogadorRepository.registrarLogin(jogador.getId(), agora);
+            jogador.setUltimoLogin(agora);
 
-        // Gerar token
-        String token = jwtUtil.generateToken(jogador.getNickname());
+            // Gerar token
+            String token = jwtUtil.generateToken(jogador.getNickname());
 
-        AuthResponse response = new AuthResponse(token, JogadorDTO.fromEntity(jogador));
-        return ResponseEntity.ok(response);
+            AuthResponse response = new AuthResponse(token, JogadorDTO.fromEntity(jogador));
+            return ResponseEntity.ok(response);
+        }, executorDeIo);
+    }
+
+    /**
+     * Latência do hash de senhas e ocupação da fila do pool.
+     */
+    @GetMapping("/estatisticas")
+    public ResponseEntity<SenhaService.Estatisticas> estatisticas() {
+        return ResponseEntity.ok(senhaService.getEstatisticas());
     }
 
     /**
@@ -97,20 +122,15 @@ public class AuthController {
      */
     @GetMapping("/validate")
     public ResponseEntity<JogadorDTO> validateToken(@RequestHeader("Authorization") String authHeader) {
-        try {
-            String token = authHeader.substring(7); // Remove "Bearer "
-            String nickname = jwtUtil.extractNickname(token);
-            
-            Jogador jogador = jogadorRepository.findByNickname(nickname)
-                .orElseThrow(() -> new IllegalArgumentException("Jogador não encontrado"));
-
-            if (jwtUtil.validateToken(token, nickname)) {
-                return ResponseEntity.ok(JogadorDTO.fromEntity(jogador));
-            }
-            
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
-        } catch (Exception e) {
+        if (!authHeader.startsWith("Bearer ")) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
+        String token = authHeader.substring(7); // Remove "Bearer "
+
+        // o banco só é consultado para tokens com assinatura válida
+        return jwtUtil.validarToken(token)
+            .flatMap(jogadorRepository::findByNickname)
+            .map(jogador -> ResponseEntity.ok(JogadorDTO.fromEntity(jogador)))
+            .orElse(ResponseEntity.status(HttpStatus.UNAUTHORIZED).build());
     }
 }
@@ -0,0 +1,61 @@
+package com.arena.controller;
+
+import com.arena.enums.TopicoEvento;
+import com.arena.exception.ServicoSobrecarregadoException;
+import com.arena.service.EventosService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Canal de eventos ao vivo em Server-Sent Events. Substitui a consulta
+ * periódica de {@code /api/matchmaking/fila}, {@code /api/torneios} e
+ * {@code /api/jogadores/ranking} pelo front-end.
+ */
+@RestController
+@RequestMapping("/api/eventos")
+@CrossOrigin(origins = "http://localhost:3000")
+public class EventosController {
+
+    @Autowired
+    private EventosService eventosService;
+
+    /**
+     * Abre o stream SSE. Cada tópico chega como um evento de mesmo nome
+     * ({@code fila}, {@code partidas}, {@code ranking}) cujo {@code data} é
+     * um array JSON com os eventos acumulados desde o quadro anterior.
+     *
+     * O {@code EventSource} só aceita {@code text/event-stream}, então os
+     * erros voltam só com o status, sem o corpo JSON do
+     * {@link GlobalExceptionHandler}.
+     *
+     * @param topicos tópicos separados por vírgula; todos, se omitido
+     */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> assinar(@RequestParam(required = false) String topicos) {
+        Set<TopicoEvento> escolhidos = EnumSet.noneOf(TopicoEvento.class);
+        try {
+            if (topicos == null || topicos.isBlank()) {
+                escolhidos.addAll(EnumSet.allOf(TopicoEvento.class));
+            } else {
+                for (String nome : topicos.split(",")) {
+                    escolhidos.add(TopicoEvento.de(nome.strip()));
+                }
+            }
+            return ResponseEntity.ok(eventosService.inscrever(escolhidos));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (ServicoSobrecarregadoException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .build();
+        }
+    }
+}
@@ -1,19 +1,49 @@
 package com.arena.controller;
 
 import com.arena.dto.CreateJogadorRequest;
+import com.arena.dto.CursorRanking;
+import com.arena.dto.EstatisticasPartidaRequest;
+import com.arena.dto.ImportacaoJogadoresResponse;
 import com.arena.dto.JogadorDTO;
+import com.arena.dto.LoteResultadosRequest;
+import com.arena.dto.LoteResultadosResponse;
+import com.arena.dto.PosicaoRankingDTO;
 import com.arena.enums.Categoria;
+import com.arena.enums.FormatoArquivo;
+import com.arena.enums.MotivoInterrupcaoImportacao;
+import com.arena.enums.StatusJogador;
 import com.arena.exception.NicknameDuplicadoException;
 import com.arena.model.Jogador;
+import com.arena.model.RegistroElo;
 import com.arena.repository.JogadorRepository;
+import com.arena.service.BufferEstatisticasService;
+import com.arena.service.ExportacaoService;
+import com.arena.service.HistoricoEloService;
+import com.arena.service.ImportacaoService;
+import com.arena.service.JogadorService;
+import com.arena.service.RankingService;
+import com.arena.service.ResultadoService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Controller REST para operações com Jogadores.
@@ -22,20 +52,100 @@ import java.util.stream.Collectors;
 @RequestMapping("/api/jogadores")
 @CrossOrigin(origins = "http://localhost:3000")
 public class JogadorController {
+    static final String CABECALHO_CURSOR = "X-Proximo-Cursor";
+    private static final int TAMANHO_MAXIMO_PAGINA = 100;
+    private static final int TAMANHO_BLOCO_EXPORTACAO = 64 * 1024;
 
     @Autowired
     private JogadorRepository jogadorRepository;
 
+    @Autowired
+    private JogadorService jogadorService;
+
+    @Autowired
+    private RankingService rankingService;
+
+    @Autowired
+    private ResultadoService resultadoService;
+
+    @Autowired
+    private ExportacaoService exportacaoService;
+
+    @Autowired
+    private ImportacaoService importacaoService;
+
+    @Autowired
+    private HistoricoEloService historicoEloService;
+
+    @Autowired
+    private BufferEstatisticasService bufferEstatisticas;
+
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private AsyncTaskExecutor executorDeIo;
+
     /**
-     * Lista todos os jogadores.
+     * Lista todos os jogadores, com as estatísticas ainda no buffer.
      */
     @GetMapping
     public ResponseEntity<List<JogadorDTO>> listarTodos() {
-        List<JogadorDTO> jogadores = jogadorRepository.findAll()
-            .stream()
-            .map(JogadorDTO::fromEntity)
-            .collect(Collectors.toList());
-        return ResponseEntity.ok(jogadores);
+        return ResponseEntity.ok(bufferEstatisticas.lerTodos(jogadorRepository::listarTodos));
+    }
+
+    /**
+     * Exporta todos os jogadores em NDJSON (um JSON por linha) ou CSV, com
+     * filtro opcional por categoria e status. O corpo é escrito direto na
+     * resposta à medida que as linhas saem do banco, sem montar a lista
+     * inteira em memória. Só esta resposta fica sem limite de tempo: ela
+     * dura o quanto a tabela levar para ser lida.
+     */
+    @GetMapping("/exportar")
+    public ResponseEntity<ResponseBodyEmitter> exportar(
+            @RequestParam(defaultValue = "ndjson") String formato,
+            @RequestParam(required = false) Categoria categoria,
+            @RequestParam(required = false) StatusJogador status) {
+
+        FormatoArquivo formatoArquivo = FormatoArquivo.de(formato);
+        ResponseBodyEmitter corpo = new ResponseBodyEmitter(0L);
+        executorDeIo.execute(() -> {
+            try (OutputStream saida = new BufferedOutputStream(new SaidaEmitter(corpo), TAMANHO_BLOCO_EXPORTACAO)) {
+                exportacaoService.exportar(categoria, status, formatoArquivo, saida);
+            } catch (IOException | RuntimeException e) {
+                corpo.completeWithError(e);
+                return;
+            }
+            corpo.complete();
+        });
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(formatoArquivo.getTipoConteudo()))
+            .header(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"jogadores." + formatoArquivo.getExtensao() + "\"")
+            .body(corpo);
+    }
+
+    /**
+     * Importa jogadores de um arquivo CSV (com cabeçalho) ou NDJSON com os
+     * campos do registro. Cada linha é validada e gravada independentemente;
+     * as rejeitadas aparecem com o erro na resposta. O corpo é lido em
+     * streaming e gravado em blocos; se o pool de hash recusa um bloco, a
+     * resposta é 503 com as linhas já gravadas e a linha onde retomar.
+     */
+    @PostMapping(value = "/importar", consumes = {"text/csv", "application/x-ndjson", "text/plain"})
+    public ResponseEntity<ImportacaoJogadoresResponse> importar(
+            @RequestParam(defaultValue = "ndjson") String formato,
+            HttpServletRequest request) throws IOException {
+        FormatoArquivo formatoArquivo = FormatoArquivo.de(formato);
+        Charset charset = request.getCharacterEncoding() != null
+            ? Charset.forName(request.getCharacterEncoding())
+            : StandardCharsets.UTF_8;
+        ImportacaoJogadoresResponse resposta = importacaoService.importar(
+            new InputStreamReader(request.getInputStream(), charset), formatoArquivo);
+        if (resposta.getInterrupcao() == MotivoInterrupcaoImportacao.SERVICO_SOBRECARREGADO) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(resposta);
+        }
+        return ResponseEntity.ok(resposta);
     }
 
     /**
@@ -43,8 +153,7 @@ public class JogadorController {
      */
     @GetMapping("/{nickname}")
     public ResponseEntity<JogadorDTO> buscarPorNickname(@PathVariable String nickname) {
-        return jogadorRepository.findByNickname(nickname)
-            .map(JogadorDTO::fromEntity)
+        return bufferEstatisticas.ler(() -> jogadorRepository.findByNickname(nickname).map(JogadorDTO::fromEntity))
             .map(ResponseEntity::ok)
             .orElse(ResponseEntity.notFound().build());
     }
@@ -73,7 +182,7 @@ public class JogadorController {
     }
 
     /**
-     * Atualiza ELO do jogador.
+     * Atualiza ELO do jogador com um incremento atômico no banco.
      */
     @PatchMapping("/{nickname}/elo")
     public ResponseEntity<JogadorDTO> atualizarElo(
@@ -81,42 +190,123 @@ public class JogadorController {
             @RequestParam int pontos,
             @RequestParam(defaultValue = "ganhar") String acao) {
         
-        return jogadorRepository.findByNickname(nickname)
-            .map(jogador -> {
-                if ("ganhar".equals(acao)) {
-                    jogador.ganharElo(pontos);
-                } else {
-                    jogador.perderElo(pontos);
-                }
-                Jogador atualizado = jogadorRepository.save(jogador);
-                return ResponseEntity.ok(JogadorDTO.fromEntity(atualizado));
-            })
+        return jogadorService.ajustarElo(nickname, pontos, "ganhar".equals(acao))
+            .map(JogadorDTO::fromEntity)
+            .map(ResponseEntity::ok)
             .orElse(ResponseEntity.notFound().build());
     }
 
+    /**
+     * Soma as estatísticas de uma partida às do jogador.
+     */
+    @PostMapping("/{nickname}/estatisticas")
+    public ResponseEntity<JogadorDTO> registrarEstatisticas(
+            @PathVariable String nickname,
+            @Valid @RequestBody EstatisticasPartidaRequest request) {
+
+        return jogadorService.registrarPartida(nickname, request)
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Registra resultados de partidas em lote, aplicando o ELO de todos os
+     * jogadores envolvidos numa única transação. Resultados inválidos são
+     * rejeitados individualmente e aparecem com o erro na resposta.
+     */
+    @PostMapping("/resultados")
+    public ResponseEntity<LoteResultadosResponse> registrarResultados(
+            @Valid @RequestBody LoteResultadosRequest request) {
+        return ResponseEntity.ok(resultadoService.registrarLote(request.getResultados()));
+    }
+
     /**
      * Retorna ranking global (top 10).
+     * Sem cursor, a primeira página vem do índice em memória; com o cursor do
+     * cabeçalho {@value #CABECALHO_CURSOR} da resposta anterior, as páginas
+     * seguintes são buscadas no banco por keyset.
      */
     @GetMapping("/ranking")
-    public ResponseEntity<List<JogadorDTO>> ranking(@RequestParam(defaultValue = "10") int limit) {
-        List<JogadorDTO> ranking = jogadorRepository.findTopByOrderByEloDesc()
-            .stream()
-            .limit(limit)
-            .map(JogadorDTO::fromEntity)
-            .collect(Collectors.toList());
-        return ResponseEntity.ok(ranking);
+    public ResponseEntity<List<JogadorDTO>> ranking(
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(required = false) String cursor) {
+
+        int tamanho = tamanhoPagina(limit);
+        List<JogadorDTO> pagina;
+        if (cursor == null) {
+            pagina = rankingService.top(tamanho);
+        } else {
+            CursorRanking apos = CursorRanking.decodificar(cursor);
+            pagina = jogadorRepository.findRankingApos(apos.getElo(), apos.getId(), tamanho);
+        }
+        return paginaComCursor(pagina, tamanho);
+    }
+
+    /**
+     * Retorna o histórico de ELO do jogador: os registros mais recentes entre
+     * {@code de} e {@code ate} (ISO-8601, ambos opcionais), em ordem cronológica.
+     */
+    @GetMapping("/{nickname}/historico-elo")
+    public ResponseEntity<List<RegistroElo>> historicoElo(
+            @PathVariable String nickname,
+            @RequestParam(required = false) Instant de,
+            @RequestParam(required = false) Instant ate,
+            @RequestParam(defaultValue = "500") int limite) {
+
+        return jogadorRepository.findIdByNickname(nickname)
+            .map(id -> historicoEloService.linhaDoTempo(id, de, ate, limite))
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Retorna a posição do jogador no ranking global.
+     */
+    @GetMapping("/{nickname}/posicao")
+    public ResponseEntity<PosicaoRankingDTO> posicao(@PathVariable String nickname) {
+        return jogadorRepository.findByNickname(nickname)
+            .map(jogador -> new PosicaoRankingDTO(
+                jogador.getNickname(),
+                jogador.getElo(),
+                rankingService.posicao(jogador),
+                rankingService.getTotal()))
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
     }
 
     /**
-     * Retorna jogadores por categoria.
+     * Retorna os jogadores ao redor do jogador no ranking global.
+     */
+    @GetMapping("/{nickname}/vizinhos")
+    public ResponseEntity<List<JogadorDTO>> vizinhos(
+            @PathVariable String nickname,
+            @RequestParam(defaultValue = "5") int raio) {
+
+        return jogadorRepository.findByNickname(nickname)
+            .map(jogador -> rankingService.aoRedor(jogador, raio))
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Retorna jogadores por categoria, paginados por cursor.
      */
     @GetMapping("/categoria/{categoria}")
-    public ResponseEntity<List<JogadorDTO>> porCategoria(@PathVariable Categoria categoria) {
-        List<JogadorDTO> jogadores = jogadorRepository.findByCategoria(categoria)
-            .stream()
-            .map(JogadorDTO::fromEntity)
-            .collect(Collectors.toList());
-        return ResponseEntity.ok(jogadores);
+    public ResponseEntity<List<JogadorDTO>> porCategoria(
+            @PathVariable Categoria categoria,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(required = false) String cursor) {
+
+        int tamanho = tamanhoPagina(limit);
+        List<JogadorDTO> pagina;
+        if (cursor == null) {
+            pagina = jogadorRepository.findByCategoria(categoria, tamanho);
+        } else {
+            CursorRanking apos = CursorRanking.decodificar(cursor);
+            pagina = jogadorRepository.findByCategoriaApos(
+                categoria, apos.getElo(), apos.getId(), tamanho);
+        }
+        return paginaComCursor(pagina, tamanho);
     }
 
     /**
@@ -131,4 +321,48 @@ public class JogadorController {
             })
             .orElse(ResponseEntity.notFound().build());
     }
+
+    private static int tamanhoPagina(int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limite deve ser maior que zero");
+        }
+        return Math.min(limit, TAMANHO_MAXIMO_PAGINA);
+    }
+
+    /**
+     * Monta a resposta da página; se ela veio cheia, o cursor da próxima
+     * página vai no cabeçalho para não mudar o formato do corpo.
+     */
+    private static ResponseEntity<List<JogadorDTO>> paginaComCursor(List<JogadorDTO> pagina, int tamanho) {
+        ResponseEntity.BodyBuilder resposta = ResponseEntity.ok();
+        if (pagina.size() == tamanho) {
+            resposta.header(CABECALHO_CURSOR, CursorRanking.de(pagina.get(pagina.size() - 1)).codificar());
+        }
+        return resposta.body(pagina);
+    }
+
+    /**
+     * Repassa os bytes da exportação ao emitter, um bloco por envio. O bloco
+     * é copiado porque o emitter guarda os envios feitos antes de a resposta
+     * ser iniciada.
+     */
+    private static final class SaidaEmitter extends OutputStream {
+        private final ResponseBodyEmitter emitter;
+
+        private SaidaEmitter(ResponseBodyEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (len > 0) {
+                emitter.send(Arrays.copyOfRange(b, off, off + len), MediaType.APPLICATION_OCTET_STREAM);
+            }
+        }
+    }
 }
@@ -1,45 +1,84 @@
 package com.arena.controller;
 
+import com.arena.model.Jogador;
+import com.arena.repository.JogadorRepository;
+import com.arena.service.MatchmakingService;
+import com.arena.service.MatchmakingService.Estatisticas;
+import com.arena.service.MatchmakingService.PartidaFormada;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
- * Controlador simples para simular uma fila de matchmaking. Os jogadores que
- * participam são apenas identificados pelo nickname e guardados em lista
- * em memória.
+ * Controlador da fila de matchmaking. Os jogadores são pareados pelo ELO
+ * através do {@link MatchmakingService}; nicknames sem cadastro entram
+ * com o ELO inicial.
  */
 @RestController
 @RequestMapping("/api/matchmaking")
 @CrossOrigin(origins = "http://localhost:3000")
 public class MatchmakingController {
 
-    private final List<String> fila = new ArrayList<>();
+    @Autowired
+    private MatchmakingService matchmakingService;
+
+    @Autowired
+    private JogadorRepository jogadorRepository;
 
     @GetMapping("/fila")
     public ResponseEntity<List<String>> verFila() {
-        return ResponseEntity.ok(fila);
+        return ResponseEntity.ok(matchmakingService.getFila());
     }
 
+    /**
+     * Entra na fila. Retorna 200 com a partida se o pareamento foi imediato,
+     * ou 202 enquanto o jogador aguarda um oponente.
+     */
     @PostMapping("/entrar")
-    public ResponseEntity<Void> entrar(@RequestParam String nickname) {
-        if (!fila.contains(nickname)) {
-            fila.add(nickname);
+    public ResponseEntity<PartidaFormada> entrar(@RequestParam String nickname) {
+        if (matchmakingService.estaNaFila(nickname)) {
+            return ResponseEntity.status(HttpStatus.ACCEPTED).build();
         }
-        return ResponseEntity.ok().build();
+
+        int elo = jogadorRepository.findByNickname(nickname)
+            .map(Jogador::getElo)
+            .orElse(Jogador.ELO_INICIAL);
+
+        return matchmakingService.entrar(nickname, elo)
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.status(HttpStatus.ACCEPTED).build());
     }
 
     @PostMapping("/sair")
     public ResponseEntity<Void> sair(@RequestParam String nickname) {
-        fila.remove(nickname);
+        matchmakingService.sair(nickname);
         return ResponseEntity.ok().build();
     }
 
+    /**
+     * Consulta a partida formada para o jogador.
+     */
+    @GetMapping("/partida/{nickname}")
+    public ResponseEntity<PartidaFormada> partida(@PathVariable String nickname) {
+        return matchmakingService.getPartida(nickname)
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Partidas formadas por segundo e tempo até a partida (p50/p99).
+     */
+    @GetMapping("/estatisticas")
+    public ResponseEntity<Estatisticas> estatisticas() {
+        return ResponseEntity.ok(matchmakingService.getEstatisticas());
+    }
+
     @DeleteMapping
     public ResponseEntity<Void> limpar() {
-        fila.clear();
+        matchmakingService.limpar();
         return ResponseEntity.noContent().build();
     }
-}
\ No newline at end of file
+}
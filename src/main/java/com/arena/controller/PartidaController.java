@@ -0,0 +1,72 @@
+package com.arena.controller;
+
+import com.arena.dto.LoteEventosRequest;
+import com.arena.dto.PartidaDTO;
+import com.arena.service.PartidaService;
+import com.arena.service.PlacarAoVivo;
+import com.arena.service.PlacarAoVivoService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Endpoints das partidas: presença antes do início, início, eventos
+ * enviados pelos servidores de jogo, placar ao vivo e finalização.
+ */
+@RestController
+@RequestMapping("/api/partidas")
+@CrossOrigin(origins = "http://localhost:3000")
+public class PartidaController {
+
+    @Autowired
+    private PlacarAoVivoService placarAoVivoService;
+
+    @Autowired
+    private PartidaService partidaService;
+
+    /**
+     * Confirma a presença de um participante. Quem não confirmar até o fim
+     * da tolerância leva WO.
+     */
+    @PostMapping("/{id}/presenca")
+    public ResponseEntity<PartidaDTO> confirmarPresenca(@PathVariable Long id, @RequestParam Long participanteId) {
+        return partidaService.confirmarPresenca(id, participanteId)
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
+    }
+
+    @PostMapping("/{id}/iniciar")
+    public ResponseEntity<PlacarAoVivo.Snapshot> iniciar(@PathVariable Long id) {
+        return placarAoVivoService.iniciar(id)
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Recebe um lote de eventos da partida. Responde 404 se a partida não
+     * está em andamento neste nó.
+     */
+    @PostMapping("/{id}/eventos")
+    public ResponseEntity<Void> registrarEventos(@PathVariable Long id,
+                                                 @Valid @RequestBody LoteEventosRequest request) {
+        if (!placarAoVivoService.registrar(id, request.getEventos())) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/{id}/placar")
+    public ResponseEntity<PlacarAoVivo.Snapshot> placar(@PathVariable Long id) {
+        return placarAoVivoService.placar(id)
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
+    }
+
+    @PostMapping("/{id}/finalizar")
+    public ResponseEntity<PartidaDTO> finalizar(@PathVariable Long id) {
+        return placarAoVivoService.finalizar(id)
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
+    }
+}
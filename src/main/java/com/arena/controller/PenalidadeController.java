@@ -0,0 +1,51 @@
+package com.arena.controller;
+
+import com.arena.dto.AplicarPenalidadeRequest;
+import com.arena.dto.PenalidadeDTO;
+import com.arena.service.PenalidadeService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Endpoints das penalidades. A penalidade que leva o jogador ao limite de
+ * penalidades ativas o bane e responde 403.
+ */
+@RestController
+@RequestMapping("/api/penalidades")
+@CrossOrigin(origins = "http://localhost:3000")
+public class PenalidadeController {
+
+    @Autowired
+    private PenalidadeService penalidadeService;
+
+    @GetMapping
+    public ResponseEntity<List<PenalidadeDTO>> listarAtivas(@RequestParam Long jogadorId) {
+        return ResponseEntity.ok(penalidadeService.listarAtivas(jogadorId));
+    }
+
+    @PostMapping
+    public ResponseEntity<PenalidadeDTO> aplicar(@Valid @RequestBody AplicarPenalidadeRequest request) {
+        return penalidadeService.aplicar(request.getJogadorId(), request.getTipo(), request.getDescricao())
+            .map(penalidade -> ResponseEntity.status(HttpStatus.CREATED).body(penalidade))
+            .orElse(ResponseEntity.notFound().build());
+    }
+
+    @PostMapping("/{id}/cumprir")
+    public ResponseEntity<PenalidadeDTO> cumprir(@PathVariable Long id) {
+        return penalidadeService.cumprir(id)
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
+    }
+
+    @PostMapping("/{id}/revogar")
+    public ResponseEntity<PenalidadeDTO> revogar(@PathVariable Long id) {
+        return penalidadeService.revogar(id)
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,35 @@
+package com.arena.controller;
+
+import com.arena.service.RecalculoRatingService;
+import com.arena.service.RecalculoRatingService.Progresso;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Controlador do recálculo de rating a partir do histórico de partidas.
+ */
+@RestController
+@RequestMapping("/api/rating")
+@CrossOrigin(origins = "http://localhost:3000")
+public class RatingController {
+
+    @Autowired
+    private RecalculoRatingService recalculoRatingService;
+
+    /**
+     * Dispara o recálculo. Retorna 202 com o andamento, ou 409 se já há um
+     * recálculo em andamento.
+     */
+    @PostMapping("/recalcular")
+    public ResponseEntity<Progresso> recalcular() {
+        HttpStatus status = recalculoRatingService.iniciar() ? HttpStatus.ACCEPTED : HttpStatus.CONFLICT;
+        return ResponseEntity.status(status).body(recalculoRatingService.getProgresso());
+    }
+
+    @GetMapping("/recalcular")
+    public ResponseEntity<Progresso> andamento() {
+        return ResponseEntity.ok(recalculoRatingService.getProgresso());
+    }
+}
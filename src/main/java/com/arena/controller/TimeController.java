@@ -1,59 +1,40 @@
 package com.arena.controller;
 
-import com.arena.model.Time;
-import com.arena.model.Jogador;
-import com.arena.model.Jogo;
-import com.arena.enums.GeneroJogo;
-import com.arena.enums.Plataforma;
-import java.time.LocalDate;
+import com.arena.dto.CriarTimeRequest;
+import com.arena.dto.TimeDTO;
+import com.arena.service.TimeService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Endpoints simples para gerenciamento de times.
- * Como a aplicação ainda não possui persistência para times, os dados
- * ficam em memória e são reinicializados a cada reinício da API.
  */
 @RestController
 @RequestMapping("/api/times")
 @CrossOrigin(origins = "http://localhost:3000")
 public class TimeController {
 
-    private final List<Time> times = new ArrayList<>();
-
-    // alguns times de exemplo para que a lista não fique vazia na primeira
-    // execução. Usamos o próprio modelo para montar objetos mínimos.
-    public TimeController() {
-        try {
-            // depende de classes Jogo e Jogador; criamos instâncias simplórias
-            Jogador dummy = new Jogador("aspas", "Erick Santos", "", "", LocalDate.now());
-            Jogo jogo = new Jogo("Valorant", GeneroJogo.FPS, 5, Plataforma.PC);
-            Time t = new Time("Time Exemplo", "EXM", dummy, jogo);
-            times.add(t);
-        } catch (Exception e) {
-            // caso algo falhe não interrompemos a aplicação
-        }
-    }
+    @Autowired
+    private TimeService timeService;
 
     @GetMapping
-    public ResponseEntity<List<Time>> listarTodos() {
-        return ResponseEntity.ok(times);
+    public ResponseEntity<List<TimeDTO>> listarTodos() {
+        return ResponseEntity.ok(timeService.listar());
     }
 
     @PostMapping
-    public ResponseEntity<Time> criar(@RequestBody Time time) {
-        // validações básicas feitas no próprio modelo
-        times.add(time);
-        return ResponseEntity.status(HttpStatus.CREATED).body(time);
+    public ResponseEntity<TimeDTO> criar(@Valid @RequestBody CriarTimeRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(timeService.criar(request));
     }
 
     @DeleteMapping
     public ResponseEntity<Void> limpar() {
-        times.clear();
+        timeService.limpar();
         return ResponseEntity.noContent().build();
     }
-}
\ No newline at end of file
+}
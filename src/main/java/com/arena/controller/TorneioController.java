@@ -1,65 +1,61 @@
 package com.arena.controller;
 
-import com.arena.model.Torneio;
-import com.arena.model.Jogo;
-import com.arena.enums.FormatoTorneio;
-import com.arena.enums.GeneroJogo;
-import com.arena.enums.Plataforma;
-import com.arena.enums.StatusTorneio;
-
-import java.time.LocalDate;
+import com.arena.dto.CriarTorneioRequest;
+import com.arena.dto.TorneioDTO;
+import com.arena.service.TorneioService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
- * Controle mínimo para torneios. Assim como os times, não há persistência -
- * apenas lista em memória para permitir que o front‑end consulte algo e não
- * receba 404.
+ * Endpoints de torneios: cadastro, inscrição de times e início.
  */
 @RestController
 @RequestMapping("/api/torneios")
 @CrossOrigin(origins = "http://localhost:3000")
 public class TorneioController {
 
-    private final List<Torneio> torneios = new ArrayList<>();
+    @Autowired
+    private TorneioService torneioService;
 
-    // adiciona um torneio de exemplo na inicialização para facilitar testes
-    public TorneioController() {
-        try {
-            // construímos rapidamente objetos necessários
-            Jogo jogo = new Jogo("Valorant", GeneroJogo.FPS, 5, Plataforma.PC);
-                // usando construtor simplificado que define status/premio e listas internamente
-                Torneio t = new Torneio(
-                    "Torneio Exemplo",
-                    jogo,
-                    FormatoTorneio.ELIMINACAO_SIMPLES,
-                    LocalDate.now().plusDays(7),
-                    LocalDate.now().plusDays(8),
-                    5000);
-            torneios.add(t);
-        } catch (Exception e) {
-            // se algo falhar não atrapalha a inicialização
-        }
+    @GetMapping
+    public ResponseEntity<List<TorneioDTO>> listar() {
+        return ResponseEntity.ok(torneioService.listar());
     }
 
-    @GetMapping
-    public ResponseEntity<List<Torneio>> listar() {
-        return ResponseEntity.ok(torneios);
+    @GetMapping("/{id}")
+    public ResponseEntity<TorneioDTO> buscarPorId(@PathVariable Long id) {
+        return torneioService.buscar(id)
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
     }
 
     @PostMapping
-    public ResponseEntity<Torneio> criar(@RequestBody Torneio t) {
-        torneios.add(t);
-        return ResponseEntity.status(HttpStatus.CREATED).body(t);
+    public ResponseEntity<TorneioDTO> criar(@Valid @RequestBody CriarTorneioRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(torneioService.criar(request));
+    }
+
+    @PostMapping("/{id}/inscricoes")
+    public ResponseEntity<TorneioDTO> inscrever(@PathVariable Long id, @RequestParam Long timeId) {
+        return torneioService.inscrever(id, timeId)
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
+    }
+
+    @PostMapping("/{id}/iniciar")
+    public ResponseEntity<TorneioDTO> iniciar(@PathVariable Long id) {
+        return torneioService.iniciar(id)
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
     }
 
     @DeleteMapping
     public ResponseEntity<Void> limpar() {
-        torneios.clear();
+        torneioService.limpar();
         return ResponseEntity.noContent().build();
     }
-}
\ No newline at end of file
+}
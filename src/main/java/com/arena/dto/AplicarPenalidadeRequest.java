@@ -0,0 +1,26 @@
+package com.arena.dto;
+
+import com.arena.enums.TipoPenalidade;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Request para aplicar uma penalidade a um jogador.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AplicarPenalidadeRequest {
+
+    @NotNull(message = "Jogador é obrigatório")
+    private Long jogadorId;
+
+    @NotNull(message = "Tipo é obrigatório")
+    private TipoPenalidade tipo;
+
+    @NotBlank(message = "Descrição é obrigatória")
+    private String descricao;
+}
@@ -0,0 +1,37 @@
+package com.arena.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Request para criação de time. Os jogadores são informados pelo nickname.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CriarTimeRequest {
+
+    @NotBlank(message = "Nome é obrigatório")
+    private String nome;
+
+    @NotBlank(message = "Tag é obrigatória")
+    @Size(min = 3, max = 5, message = "Tag deve ter entre 3 e 5 caracteres")
+    private String tag;
+
+    @NotBlank(message = "Capitão é obrigatório")
+    private String capitao;
+
+    // além do capitão
+    private List<String> membros;
+
+    @NotNull(message = "Jogo principal é obrigatório")
+    @Valid
+    private JogoRequest jogoPrincipal;
+}
@@ -0,0 +1,43 @@
+package com.arena.dto;
+
+import com.arena.enums.FormatoTorneio;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Request para criação de torneio.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CriarTorneioRequest {
+
+    @NotBlank(message = "Nome é obrigatório")
+    private String nome;
+
+    @NotNull(message = "Jogo é obrigatório")
+    @Valid
+    private JogoRequest jogo;
+
+    @NotNull(message = "Formato é obrigatório")
+    private FormatoTorneio formato;
+
+    @NotNull(message = "Data de início é obrigatória")
+    private LocalDate dataInicio;
+
+    @NotNull(message = "Data de fim é obrigatória")
+    private LocalDate dataFim;
+
+    @PositiveOrZero(message = "Prêmio total não pode ser negativo")
+    private double premioTotal;
+
+    // padrão do torneio se omitido
+    private Integer maxParticipantes;
+}
@@ -0,0 +1,45 @@
+package com.arena.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Cursor de paginação do ranking: a chave {@code (elo, id)} do último
+ * jogador da página, codificada como texto opaco para o cliente.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorRanking {
+    private int elo;
+    private Long id;
+
+    public static CursorRanking de(JogadorDTO jogador) {
+        return new CursorRanking(jogador.getElo(), jogador.getId());
+    }
+
+    public String codificar() {
+        String chave = elo + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(chave.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException se o cursor não foi gerado por {@link #codificar()}
+     */
+    public static CursorRanking decodificar(String cursor) {
+        try {
+            String chave = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separador = chave.indexOf(':');
+            return new CursorRanking(
+                Integer.parseInt(chave.substring(0, separador)),
+                Long.parseLong(chave.substring(separador + 1))
+            );
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+    }
+}
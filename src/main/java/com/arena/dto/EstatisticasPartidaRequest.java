@@ -0,0 +1,31 @@
+package com.arena.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Request com as estatísticas de um jogador em uma partida.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EstatisticasPartidaRequest {
+
+    @NotNull(message = "Informe se a partida foi vitória")
+    private Boolean vitoria;
+
+    @Min(value = 0, message = "Kills não pode ser negativo")
+    private int kills;
+
+    @Min(value = 0, message = "Deaths não pode ser negativo")
+    private int deaths;
+
+    @Min(value = 0, message = "Assists não pode ser negativo")
+    private int assists;
+
+    @Min(value = 0, message = "Tempo de jogo não pode ser negativo")
+    private int tempoJogoMinutos;
+}
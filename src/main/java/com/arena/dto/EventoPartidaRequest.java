@@ -0,0 +1,23 @@
+package com.arena.dto;
+
+import com.arena.enums.TipoEventoPartida;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Um evento de uma partida em andamento. Os campos usados dependem do tipo:
+ * {@code KILL} usa jogador, vítima e assistência (opcional), {@code ROUND}
+ * usa o lado vencedor (1 ou 2) e {@code OBJETIVO} usa o jogador. Os jogadores
+ * vão pelo id.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventoPartidaRequest {
+    private TipoEventoPartida tipo;
+    private Long jogador;
+    private Long vitima;
+    private Long assistencia;
+    private Integer lado;
+}
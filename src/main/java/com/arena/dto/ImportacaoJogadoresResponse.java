@@ -0,0 +1,37 @@
+package com.arena.dto;
+
+import com.arena.enums.MotivoInterrupcaoImportacao;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Resposta da importação de jogadores, com o desfecho de cada linha
+ * processada na mesma ordem do arquivo. Se a leitura parou antes do fim,
+ * {@code interrupcao} diz por quê e {@code retomarNaLinha} é a primeira
+ * linha do arquivo que não foi processada: as anteriores já estão gravadas
+ * (ou rejeitadas) e o reenvio começa nela.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportacaoJogadoresResponse {
+    private int importados;
+    private int rejeitados;
+    private List<Item> itens;
+    private MotivoInterrupcaoImportacao interrupcao;
+    private Integer retomarNaLinha;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+        private int linha;
+        private String nickname;
+        private boolean importado;
+        private String erro;
+    }
+
+}
@@ -40,6 +40,20 @@ public class JogadorDTO {
     private LocalDateTime ultimoLogin;
     private LocalDateTime dataCriacao;
 
+    /**
+     * Construtor usado pelas projeções do {@code JogadorRepository}, que
+     * selecionam só estas colunas; K/D e win rate são calculados como na entidade.
+     */
+    public JogadorDTO(Long id, String nickname, String nomeReal, String email, LocalDate dataNascimento,
+                      int elo, StatusJogador status, Categoria categoria, int totalPartidas, int vitorias,
+                      int derrotas, int kills, int deaths, int assists, long tempoJogoMinutos,
+                      String modoFavorito, LocalDateTime ultimoLogin, LocalDateTime dataCriacao) {
+        this(id, nickname, nomeReal, email, dataNascimento, elo, status, categoria, totalPartidas, vitorias,
+            derrotas, kills, deaths, assists, Jogador.calcularKdRatio(kills, deaths),
+            Jogador.calcularWinRate(vitorias, totalPartidas), tempoJogoMinutos, modoFavorito, ultimoLogin,
+            dataCriacao);
+    }
+
     public static JogadorDTO fromEntity(Jogador jogador) {
         JogadorDTO dto = new JogadorDTO();
         dto.setId(jogador.getId());
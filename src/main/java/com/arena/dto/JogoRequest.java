@@ -0,0 +1,36 @@
+package com.arena.dto;
+
+import com.arena.enums.GeneroJogo;
+import com.arena.enums.Plataforma;
+import com.arena.model.Jogo;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Jogo informado na criação de torneios e times.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JogoRequest {
+
+    @NotBlank(message = "Nome do jogo é obrigatório")
+    private String nome;
+
+    @NotNull(message = "Gênero é obrigatório")
+    private GeneroJogo genero;
+
+    @Min(value = 1, message = "Número máximo de jogadores deve ser maior que zero")
+    private int maxJogadoresPorTime;
+
+    @NotNull(message = "Plataforma é obrigatória")
+    private Plataforma plataforma;
+
+    public Jogo toJogo() {
+        return new Jogo(nome, genero, maxJogadoresPorTime, plataforma);
+    }
+}
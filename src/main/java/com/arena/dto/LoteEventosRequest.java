@@ -0,0 +1,23 @@
+package com.arena.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Request com um lote de eventos de uma partida em andamento, na ordem em
+ * que aconteceram.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoteEventosRequest {
+
+    @NotEmpty(message = "Lote não pode ser vazio")
+    @Size(max = 5000, message = "Lote pode ter no máximo 5000 eventos")
+    private List<EventoPartidaRequest> eventos;
+}
@@ -0,0 +1,22 @@
+package com.arena.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Request para ingestão de resultados de partidas em lote.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoteResultadosRequest {
+
+    @NotEmpty(message = "Lote não pode ser vazio")
+    @Size(max = 1000, message = "Lote pode ter no máximo 1000 resultados")
+    private List<ResultadoPartidaRequest> resultados;
+}
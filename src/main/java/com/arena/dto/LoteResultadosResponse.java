@@ -0,0 +1,29 @@
+package com.arena.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Resposta da ingestão em lote, com o desfecho de cada resultado
+ * na mesma ordem do request.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoteResultadosResponse {
+    private int aplicados;
+    private int rejeitados;
+    private List<Item> itens;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+        private int indice;
+        private boolean aplicado;
+        private String erro;
+    }
+}
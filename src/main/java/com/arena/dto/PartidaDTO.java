@@ -0,0 +1,35 @@
+package com.arena.dto;
+
+import com.arena.enums.StatusPartida;
+import com.arena.model.Partida;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO de uma partida de torneio. Os participantes vêm pelo nome; os dados
+ * completos deles estão nos participantes do torneio.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PartidaDTO {
+    private Long id;
+    private int rodada;
+    private String participante1;
+    private String participante2;
+    private int placar1;
+    private int placar2;
+    private LocalDateTime dataHora;
+    private StatusPartida status;
+    private String vencedor;
+
+    public static PartidaDTO fromEntity(Partida partida) {
+        return new PartidaDTO(partida.getId(), partida.getRodada(), partida.getParticipante1().getNome(),
+            partida.getParticipante2().getNome(), partida.getPlacar1(), partida.getPlacar2(),
+            partida.getDataHora(), partida.getStatus(),
+            partida.getVencedor() != null ? partida.getVencedor().getNome() : null);
+    }
+}
@@ -0,0 +1,30 @@
+package com.arena.dto;
+
+import com.arena.enums.StatusPenalidade;
+import com.arena.enums.TipoPenalidade;
+import com.arena.model.Penalidade;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * DTO de uma penalidade. O jogador vem pelo nickname.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PenalidadeDTO {
+    private Long id;
+    private String jogador;
+    private TipoPenalidade tipo;
+    private String descricao;
+    private LocalDate data;
+    private StatusPenalidade status;
+
+    public static PenalidadeDTO fromEntity(Penalidade penalidade) {
+        return new PenalidadeDTO(penalidade.getId(), penalidade.getJogador().getNickname(), penalidade.getTipo(),
+            penalidade.getDescricao(), penalidade.getData(), penalidade.getStatus());
+    }
+}
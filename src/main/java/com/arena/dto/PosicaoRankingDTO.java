@@ -0,0 +1,18 @@
+package com.arena.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO com a posição de um jogador no ranking global.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PosicaoRankingDTO {
+    private String nickname;
+    private int elo;
+    private long posicao;
+    private long totalJogadores;
+}
@@ -0,0 +1,29 @@
+package com.arena.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Resultado de uma partida reportado pelo servidor de jogo.
+ * Cada lado é a lista de nicknames dos jogadores; em caso de WO,
+ * {@code ausente} indica o lado que não compareceu (1 ou 2) e o placar é ignorado.
+ * {@code partidaId}, opcional, é o identificador da partida no servidor de jogo
+ * e vai para o histórico de ELO dos jogadores.
+ * 
+ * A validação é feita item a item na ingestão, para que um resultado
+ * inválido não descarte o lote inteiro.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoPartidaRequest {
+    private List<String> lado1;
+    private List<String> lado2;
+    private int placar1;
+    private int placar2;
+    private Integer ausente;
+    private Long partidaId;
+}
@@ -0,0 +1,36 @@
+package com.arena.dto;
+
+import com.arena.model.Jogador;
+import com.arena.model.Jogo;
+import com.arena.model.Time;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO de um time, com os membros.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TimeDTO {
+    private Long id;
+    private String nome;
+    private String tag;
+    private JogadorDTO capitao;
+    private List<JogadorDTO> membros;
+    private Jogo jogoPrincipal;
+
+    public static TimeDTO fromEntity(Time time) {
+        List<JogadorDTO> membros = new ArrayList<>(time.getTotalMembros());
+        for (int i = 0; i < time.getTotalMembros(); i++) {
+            membros.add(JogadorDTO.fromEntity(time.getMembro(i)));
+        }
+        Jogador capitao = time.getCapitao();
+        return new TimeDTO(time.getId(), time.getNome(), time.getTag(), JogadorDTO.fromEntity(capitao), membros,
+            time.getJogoPrincipal());
+    }
+}
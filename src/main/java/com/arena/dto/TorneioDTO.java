@@ -0,0 +1,65 @@
+package com.arena.dto;
+
+import com.arena.enums.FormatoTorneio;
+import com.arena.enums.StatusTorneio;
+import com.arena.model.Jogo;
+import com.arena.model.Participante;
+import com.arena.model.Partida;
+import com.arena.model.Time;
+import com.arena.model.Torneio;
+import lombok.AllArgsConstructor;
+import org.hibernate.Hibernate;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DTO de um torneio com os inscritos, as partidas e as colocações (pelo nome
+ * do participante) já definidas.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TorneioDTO {
+    private Long id;
+    private String nome;
+    private Jogo jogo;
+    private FormatoTorneio formato;
+    private LocalDate dataInicio;
+    private LocalDate dataFim;
+    private StatusTorneio status;
+    private double premioTotal;
+    private int maxParticipantes;
+    private int rodadaAtual;
+    private int totalRodadas;
+    private List<TimeDTO> participantes;
+    private List<PartidaDTO> partidas;
+    private Map<String, Integer> colocacoes;
+
+    public static TorneioDTO fromEntity(Torneio torneio) {
+        List<Participante> inscritos = torneio.getParticipantes();
+        List<TimeDTO> participantes = new ArrayList<>(inscritos.size());
+        for (Participante participante : inscritos) {
+            // hoje todo participante é um time; o unproxy cobre inscritos já referenciados por uma partida
+            participantes.add(TimeDTO.fromEntity((Time) Hibernate.unproxy(participante)));
+        }
+        List<Partida> jogadas = torneio.getPartidas();
+        List<PartidaDTO> partidas = new ArrayList<>(jogadas.size());
+        for (Partida partida : jogadas) {
+            partidas.add(PartidaDTO.fromEntity(partida));
+        }
+        Map<String, Integer> colocacoes = new LinkedHashMap<>();
+        for (Map.Entry<Participante, Integer> colocacao : torneio.getColocacoes().entrySet()) {
+            colocacoes.put(colocacao.getKey().getNome(), colocacao.getValue());
+        }
+        return new TorneioDTO(torneio.getId(), torneio.getNome(), torneio.getJogo(), torneio.getFormato(),
+            torneio.getDataInicio(), torneio.getDataFim(), torneio.getStatus(), torneio.getPremioTotal(),
+            torneio.getMaxParticipantes(), torneio.getRodadaAtual(), torneio.getTotalRodadas(),
+            participantes, partidas, colocacoes);
+    }
+}
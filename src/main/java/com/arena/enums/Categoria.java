@@ -2,20 +2,27 @@ package com.arena.enums;
 
 /**
  * Representa as categorias de ranking dos jogadores baseadas no ELO.
+ * O fator K do Elo diminui nas categorias altas: quem está subindo anda
+ * rápido, e o topo do ranking fica estável.
  */
 public enum Categoria {
-    BRONZE(0, 999),
-    PRATA(1000, 1499),
-    OURO(1500, 1999),
-    DIAMANTE(2000, 2499),
-    MESTRE(2500, Integer.MAX_VALUE);
+    BRONZE(0, 999, 40),
+    PRATA(1000, 1499, 32),
+    OURO(1500, 1999, 24),
+    DIAMANTE(2000, 2499, 20),
+    MESTRE(2500, Integer.MAX_VALUE, 16);
+
+    // values() devolve uma cópia nova a cada chamada
+    private static final Categoria[] CATEGORIAS = values();
 
     private final int eloMinimo;
     private final int eloMaximo;
+    private final int fatorK;
 
-    Categoria(int eloMinimo, int eloMaximo) {
+    Categoria(int eloMinimo, int eloMaximo, int fatorK) {
         this.eloMinimo = eloMinimo;
         this.eloMaximo = eloMaximo;
+        this.fatorK = fatorK;
     }
 
     public int getEloMinimo() {
@@ -26,6 +33,10 @@ public enum Categoria {
         return eloMaximo;
     }
 
+    public int getFatorK() {
+        return fatorK;
+    }
+
     /**
      * Retorna a categoria correspondente ao ELO fornecido.
      * 
@@ -33,7 +44,7 @@ public enum Categoria {
      * @return a categoria correspondente
      */
     public static Categoria getCategoriaPorElo(int elo) {
-        for (Categoria categoria : values()) {
+        for (Categoria categoria : CATEGORIAS) {
             if (elo >= categoria.eloMinimo && elo <= categoria.eloMaximo) {
                 return categoria;
             }
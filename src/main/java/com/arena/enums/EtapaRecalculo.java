@@ -0,0 +1,13 @@
+package com.arena.enums;
+
+/**
+ * Etapas do recálculo de rating a partir do histórico de partidas.
+ */
+public enum EtapaRecalculo {
+    OCIOSO,
+    LENDO_HISTORICO,
+    CALCULANDO,
+    GRAVANDO,
+    CONCLUIDO,
+    FALHOU
+}
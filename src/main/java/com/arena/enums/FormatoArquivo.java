@@ -0,0 +1,39 @@
+package com.arena.enums;
+
+/**
+ * Formatos de arquivo aceitos na exportação e na importação de jogadores.
+ */
+public enum FormatoArquivo {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String tipoConteudo;
+    private final String extensao;
+
+    FormatoArquivo(String tipoConteudo, String extensao) {
+        this.tipoConteudo = tipoConteudo;
+        this.extensao = extensao;
+    }
+
+    public String getTipoConteudo() {
+        return tipoConteudo;
+    }
+
+    public String getExtensao() {
+        return extensao;
+    }
+
+    /**
+     * Retorna o formato pelo nome, sem diferenciar maiúsculas de minúsculas.
+     *
+     * @throws IllegalArgumentException se o formato não é suportado
+     */
+    public static FormatoArquivo de(String nome) {
+        for (FormatoArquivo formato : values()) {
+            if (formato.name().equalsIgnoreCase(nome)) {
+                return formato;
+            }
+        }
+        throw new IllegalArgumentException("Formato de arquivo inválido: " + nome + " (use ndjson ou csv)");
+    }
+}
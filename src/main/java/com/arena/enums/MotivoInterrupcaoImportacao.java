@@ -0,0 +1,11 @@
+package com.arena.enums;
+
+/**
+ * Por que uma importação de jogadores parou antes do fim do arquivo.
+ */
+public enum MotivoInterrupcaoImportacao {
+    /** O pool de hash de senhas recusou um bloco; reenvie depois do Retry-After. */
+    SERVICO_SOBRECARREGADO,
+    /** O arquivo passou do máximo de linhas por importação. */
+    LIMITE_DE_LINHAS
+}
@@ -0,0 +1,10 @@
+package com.arena.enums;
+
+/**
+ * Tipos de evento enviados pelos servidores de jogo durante uma partida.
+ */
+public enum TipoEventoPartida {
+    KILL,     // jogador abateu a vítima, com assistência opcional
+    ROUND,    // lado venceu um round
+    OBJETIVO  // jogador cumpriu um objetivo (bomba, bandeira, torre...)
+}
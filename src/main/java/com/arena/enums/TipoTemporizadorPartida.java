@@ -0,0 +1,9 @@
+package com.arena.enums;
+
+/**
+ * Prazos vigiados pelo temporizador de partidas.
+ */
+public enum TipoTemporizadorPartida {
+    WO,      // partida agendada que não começou dentro da tolerância
+    TIMEOUT  // partida em andamento além da duração máxima
+}
@@ -0,0 +1,35 @@
+package com.arena.enums;
+
+/**
+ * Tópicos do canal de eventos ({@code /api/eventos}). O nome do tópico é
+ * também o nome do evento SSE recebido pelo cliente.
+ */
+public enum TopicoEvento {
+    FILA("fila"),
+    PARTIDAS("partidas"),
+    RANKING("ranking");
+
+    private final String nome;
+
+    TopicoEvento(String nome) {
+        this.nome = nome;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    /**
+     * Retorna o tópico pelo nome, sem diferenciar maiúsculas de minúsculas.
+     *
+     * @throws IllegalArgumentException se o tópico não existe
+     */
+    public static TopicoEvento de(String nome) {
+        for (TopicoEvento topico : values()) {
+            if (topico.nome.equalsIgnoreCase(nome)) {
+                return topico;
+            }
+        }
+        throw new IllegalArgumentException("Tópico inválido: " + nome + " (use fila, partidas ou ranking)");
+    }
+}
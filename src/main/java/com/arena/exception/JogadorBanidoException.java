@@ -8,4 +8,9 @@ public class JogadorBanidoException extends RuntimeException {
     public JogadorBanidoException(String nickname, String acao) {
         super(String.format("Jogador '%s' está banido e não pode %s", nickname, acao));
     }
+
+    public JogadorBanidoException(String time, int membrosBanidos) {
+        super(String.format("Time '%s' tem %d jogador(es) banido(s) e não pode participar de torneios",
+            time, membrosBanidos));
+    }
 }
@@ -0,0 +1,12 @@
+package com.arena.exception;
+
+/**
+ * Exceção lançada quando um recurso limitado está saturado e a requisição
+ * é recusada de imediato em vez de esperar na fila.
+ */
+public class ServicoSobrecarregadoException extends RuntimeException {
+    
+    public ServicoSobrecarregadoException(String recurso) {
+        super(String.format("Serviço sobrecarregado (%s), tente novamente em instantes", recurso));
+    }
+}
@@ -0,0 +1,82 @@
+package com.arena.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bloco do histórico de ELO de um jogador: uma sequência de registros em
+ * ordem cronológica, gravada com {@link CodificacaoHistoricoElo}. Os blocos
+ * só são inseridos ou removidos (nunca alterados); a compactação troca vários
+ * blocos pequenos consecutivos por um maior.
+ */
+@Entity
+@Table(name = "historico_elo_blocos", indexes = {
+    // linha do tempo: blocos de um jogador do mais recente para o mais antigo
+    @Index(name = "idx_historico_elo_jogador_momento", columnList = "jogadorId, momentoFinal DESC"),
+    // retenção
+    @Index(name = "idx_historico_elo_momento", columnList = "momentoFinal")
+})
+@Getter
+@NoArgsConstructor
+public class BlocoHistoricoElo {
+    public static final int REGISTROS_POR_BLOCO = 1024;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "historico_elo_seq")
+    @SequenceGenerator(name = "historico_elo_seq", sequenceName = "historico_elo_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long jogadorId;
+
+    /** Momento do primeiro registro, em milissegundos desde a época. */
+    @Column(nullable = false)
+    private long momentoInicial;
+
+    /** Momento do último registro, em milissegundos desde a época. */
+    @Column(nullable = false)
+    private long momentoFinal;
+
+    @Column(nullable = false)
+    private int quantidade;
+
+    @Lob
+    @Column(nullable = false, length = REGISTROS_POR_BLOCO * 40)
+    private byte[] dados;
+
+    /**
+     * @param registros de 1 a {@value #REGISTROS_POR_BLOCO} registros em ordem cronológica
+     */
+    public BlocoHistoricoElo(Long jogadorId, List<RegistroElo> registros) {
+        if (registros.isEmpty() || registros.size() > REGISTROS_POR_BLOCO) {
+            throw new IllegalArgumentException(
+                String.format("Bloco deve ter entre 1 e %d registros", REGISTROS_POR_BLOCO));
+        }
+        this.jogadorId = jogadorId;
+        // registros concorrentes podem chegar com o relógio fora de ordem por alguns milissegundos
+        long inicio = Long.MAX_VALUE;
+        long fim = Long.MIN_VALUE;
+        for (RegistroElo registro : registros) {
+            inicio = Math.min(inicio, registro.momento().toEpochMilli());
+            fim = Math.max(fim, registro.momento().toEpochMilli());
+        }
+        this.momentoInicial = inicio;
+        this.momentoFinal = fim;
+        this.quantidade = registros.size();
+        this.dados = CodificacaoHistoricoElo.codificar(registros);
+    }
+
+    public List<RegistroElo> getRegistros() {
+        List<RegistroElo> registros = new ArrayList<>(quantidade);
+        CodificacaoHistoricoElo.decodificar(dados, quantidade, registros);
+        return registros;
+    }
+
+    public boolean isCheio() {
+        return quantidade >= REGISTROS_POR_BLOCO;
+    }
+}
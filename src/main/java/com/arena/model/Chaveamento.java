@@ -0,0 +1,447 @@
+package com.arena.model;
+
+import com.arena.enums.StatusPartida;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Chaveamento de eliminação simples ou dupla.
+ *
+ * A chave superior é um heap em vetor: a partida {@code m} recebe os vencedores
+ * de {@code 2m} e {@code 2m + 1}, e as folhas {@code P..2P-1} guardam os
+ * participantes já distribuídos pelos cabeças de chave ({@code P} é a menor
+ * potência de dois que comporta todos). A chave inferior, na eliminação dupla,
+ * fica em vetores planos indexados por rodada através de deslocamentos.
+ * Assim, avançar uma partida e definir a colocação de quem caiu são O(1).
+ *
+ * Cada partida recebe um código de posição: {@code 1..P-1} na chave superior,
+ * {@code P + i} na chave inferior e {@code P + total da inferior} na grande final.
+ *
+ * A chave não é persistida: a de um torneio lido do banco é remontada com
+ * {@link #restaurar}, a partir das sementes e das partidas gravadas.
+ */
+public class Chaveamento {
+    private static final int VAZIO = -1;
+    private static final int BYE = -2;
+
+    private final Torneio torneio;
+    private final boolean duplaEliminacao;
+    private final List<Participante> participantes;
+    private final int tamanho;
+    private final int rodadasSuperior;
+
+    private final int[] superior;
+    private final int[] colocacoes;
+    private final Partida[] partidas;
+
+    private final int rodadasInferior;
+    private final int[] inicioRodadaInferior;
+    private final int[] entradasInferior;
+    private final int[] colocacaoInferior;
+    private final int[] entradasFinal = {VAZIO, VAZIO};
+    private final int posicaoFinal;
+
+    private int partidasAbertas;
+    private int campeao = VAZIO;
+
+    // só durante a remontagem: as partidas gravadas, por posição, a que ainda
+    // vai ser registrada e as encerradas que faltam reaplicar
+    private Partida[] gravadas;
+    private final Partida pendente;
+    private final ArrayDeque<Partida> reaplicar = new ArrayDeque<>();
+
+    /**
+     * Monta a chave a partir dos participantes, definindo os cabeças de chave pelo
+     * ELO médio dos membros, e agenda as partidas da primeira rodada.
+     *
+     * @param torneio o torneio dono da chave
+     * @param inscritos os participantes inscritos (mínimo 2)
+     * @param duplaEliminacao true para eliminação dupla
+     */
+    public Chaveamento(Torneio torneio, List<Participante> inscritos, boolean duplaEliminacao) {
+        this(torneio, inscritos, duplaEliminacao, null, null);
+    }
+
+    /**
+     * Remonta a chave de um torneio lido do banco: os participantes entram na
+     * ordem de semente informada (sem reordenar pelo ELO atual), cada posição
+     * que fica pronta é ligada à partida gravada nela, em vez de agendar uma
+     * nova, e os resultados das partidas encerradas são reaplicados.
+     *
+     * @param sementes os participantes, da 1ª semente à última
+     * @param gravadas as partidas geradas pela chave
+     * @param pendente partida encerrada que ainda vai ser registrada (não é
+     *        reaplicada), ou null
+     * @throws IllegalStateException se as partidas gravadas não conferem com a chave
+     */
+    static Chaveamento restaurar(Torneio torneio, List<Participante> sementes, boolean duplaEliminacao,
+                                 List<Partida> gravadas, Partida pendente) {
+        Chaveamento chaveamento = new Chaveamento(torneio, sementes, duplaEliminacao, gravadas, pendente);
+        while (!chaveamento.reaplicar.isEmpty()) {
+            chaveamento.registrarResultado(chaveamento.reaplicar.poll());
+        }
+        // daqui em diante as posições que ficam prontas agendam partidas novas
+        chaveamento.gravadas = null;
+        return chaveamento;
+    }
+
+    private Chaveamento(Torneio torneio, List<Participante> inscritos, boolean duplaEliminacao,
+                        List<Partida> gravadas, Partida pendente) {
+        if (torneio == null) {
+            throw new IllegalArgumentException("Torneio não pode ser nulo");
+        }
+        if (inscritos == null || inscritos.size() < 2) {
+            throw new IllegalArgumentException("Chaveamento precisa de no mínimo 2 participantes");
+        }
+
+        this.torneio = torneio;
+        this.duplaEliminacao = duplaEliminacao;
+        this.participantes = gravadas == null
+            ? semear(inscritos)
+            : Collections.unmodifiableList(new ArrayList<>(inscritos));
+        this.tamanho = Integer.highestOneBit(Math.max(2, participantes.size() * 2 - 1));
+        this.rodadasSuperior = Integer.numberOfTrailingZeros(tamanho);
+
+        this.superior = new int[2 * tamanho];
+        Arrays.fill(superior, VAZIO);
+        this.colocacoes = new int[participantes.size()];
+
+        if (duplaEliminacao && rodadasSuperior >= 2) {
+            this.rodadasInferior = 2 * (rodadasSuperior - 1);
+            this.inicioRodadaInferior = new int[rodadasInferior + 2];
+            this.colocacaoInferior = new int[rodadasInferior + 1];
+            for (int q = 1; q <= rodadasInferior; q++) {
+                inicioRodadaInferior[q + 1] = inicioRodadaInferior[q] + partidasNaRodadaInferior(q);
+            }
+            int acima = 2;
+            for (int q = rodadasInferior; q >= 1; q--) {
+                colocacaoInferior[q] = acima + 1;
+                acima += partidasNaRodadaInferior(q);
+            }
+            this.entradasInferior = new int[2 * inicioRodadaInferior[rodadasInferior + 1]];
+            Arrays.fill(entradasInferior, VAZIO);
+        } else {
+            this.rodadasInferior = 0;
+            this.inicioRodadaInferior = new int[2];
+            this.colocacaoInferior = new int[1];
+            this.entradasInferior = new int[0];
+        }
+        this.posicaoFinal = tamanho + entradasInferior.length / 2;
+        this.partidas = new Partida[posicaoFinal + 1];
+        this.gravadas = gravadas == null ? null : porPosicao(gravadas);
+        this.pendente = pendente;
+
+        int[] ordem = ordemDasSementes(tamanho);
+        for (int posicao = 0; posicao < tamanho; posicao++) {
+            int semente = ordem[posicao];
+            superior[tamanho + posicao] = semente < participantes.size() ? semente : BYE;
+        }
+        for (int m = tamanho / 2; m < tamanho; m++) {
+            resolverSuperior(m);
+        }
+    }
+
+    /**
+     * Avança a chave com o resultado de uma partida encerrada.
+     *
+     * @param partida uma partida criada por este chaveamento, já finalizada ou com WO
+     */
+    void registrarResultado(Partida partida) {
+        int posicao = partida.getPosicaoChave();
+        if (posicao <= 0 || posicao > posicaoFinal || partidas[posicao] != partida) {
+            throw new IllegalArgumentException("Partida não pertence a este chaveamento");
+        }
+        if (partida.getVencedor() == null) {
+            throw new IllegalStateException("Partida eliminatória precisa de um vencedor");
+        }
+
+        boolean venceuPrimeiro = partida.getVencedor() == partida.getParticipante1();
+        int primeiro;
+        int segundo;
+        if (posicao < tamanho) {
+            primeiro = superior[2 * posicao];
+            segundo = superior[2 * posicao + 1];
+        } else if (posicao < posicaoFinal) {
+            int i = posicao - tamanho;
+            primeiro = entradasInferior[2 * i];
+            segundo = entradasInferior[2 * i + 1];
+        } else {
+            primeiro = entradasFinal[0];
+            segundo = entradasFinal[1];
+        }
+
+        partidasAbertas--;
+        int vencedor = venceuPrimeiro ? primeiro : segundo;
+        int perdedor = venceuPrimeiro ? segundo : primeiro;
+        if (posicao < tamanho) {
+            decidirSuperior(posicao, vencedor, perdedor);
+        } else if (posicao < posicaoFinal) {
+            decidirInferior(posicao - tamanho, vencedor, perdedor);
+        } else {
+            decidirFinal(vencedor, perdedor);
+        }
+    }
+
+    // Chave superior
+
+    private void resolverSuperior(int m) {
+        int a = superior[2 * m];
+        int b = superior[2 * m + 1];
+        if (a == VAZIO || b == VAZIO) {
+            return;
+        }
+        if (a == BYE || b == BYE) {
+            decidirSuperior(m, a == BYE ? b : a, BYE);
+        } else {
+            agendar(m, a, b, rodadasSuperior - (31 - Integer.numberOfLeadingZeros(m)));
+        }
+    }
+
+    private void decidirSuperior(int m, int vencedor, int perdedor) {
+        superior[m] = vencedor;
+
+        if (duplaEliminacao && rodadasInferior > 0) {
+            enviarParaInferior(m, perdedor);
+        } else if (perdedor >= 0) {
+            colocacoes[perdedor] = Integer.highestOneBit(m) + 1;
+        }
+
+        if (m == 1) {
+            if (duplaEliminacao && rodadasInferior > 0) {
+                entradasFinal[0] = vencedor;
+                resolverFinal();
+            } else {
+                definirCampeao(vencedor);
+            }
+        } else {
+            resolverSuperior(m / 2);
+        }
+    }
+
+    // Chave inferior
+
+    private int partidasNaRodadaInferior(int q) {
+        return tamanho >> ((q + 1) / 2 + 1);
+    }
+
+    private void enviarParaInferior(int m, int perdedor) {
+        int rodada = rodadasSuperior - (31 - Integer.numberOfLeadingZeros(m));
+        int partidasNaRodada = tamanho >> rodada;
+        int j = m - partidasNaRodada;
+
+        if (rodada == 1) {
+            preencherInferior(1, j / 2, j % 2, perdedor);
+        } else {
+            int t = rodada - 1;
+            // inverte o lado em rodadas alternadas para adiar revanches
+            int destino = t % 2 == 0 ? partidasNaRodada - 1 - j : j;
+            preencherInferior(2 * t, destino, 1, perdedor);
+        }
+    }
+
+    private void preencherInferior(int q, int j, int entrada, int participante) {
+        int i = inicioRodadaInferior[q] + j;
+        entradasInferior[2 * i + entrada] = participante;
+        resolverInferior(i, q);
+    }
+
+    private void resolverInferior(int i, int q) {
+        int a = entradasInferior[2 * i];
+        int b = entradasInferior[2 * i + 1];
+        if (a == VAZIO || b == VAZIO) {
+            return;
+        }
+        if (a == BYE || b == BYE) {
+            decidirInferior(i, a == BYE ? b : a, BYE);
+        } else {
+            agendar(tamanho + i, a, b, q);
+        }
+    }
+
+    private void decidirInferior(int i, int vencedor, int perdedor) {
+        int q = rodadaInferior(i);
+        int j = i - inicioRodadaInferior[q];
+        if (perdedor >= 0) {
+            colocacoes[perdedor] = colocacaoInferior[q];
+        }
+
+        if (q == rodadasInferior) {
+            entradasFinal[1] = vencedor;
+            resolverFinal();
+        } else if (q % 2 == 1) {
+            preencherInferior(q + 1, j, 0, vencedor);
+        } else {
+            preencherInferior(q + 1, j / 2, j % 2, vencedor);
+        }
+    }
+
+    private int rodadaInferior(int i) {
+        // poucas rodadas (2·log P), então a busca linear é barata
+        int q = 1;
+        while (inicioRodadaInferior[q + 1] <= i) {
+            q++;
+        }
+        return q;
+    }
+
+    // Grande final
+
+    private void resolverFinal() {
+        int a = entradasFinal[0];
+        int b = entradasFinal[1];
+        if (a == VAZIO || b == VAZIO) {
+            return;
+        }
+        if (a == BYE || b == BYE) {
+            decidirFinal(a == BYE ? b : a, BYE);
+        } else {
+            agendar(posicaoFinal, a, b, rodadasInferior + 1);
+        }
+    }
+
+    private void decidirFinal(int vencedor, int perdedor) {
+        if (perdedor >= 0) {
+            colocacoes[perdedor] = 2;
+        }
+        definirCampeao(vencedor);
+    }
+
+    private void definirCampeao(int vencedor) {
+        campeao = vencedor;
+        if (vencedor >= 0) {
+            colocacoes[vencedor] = 1;
+        }
+    }
+
+    private void agendar(int posicao, int a, int b, int rodada) {
+        if (gravadas != null) {
+            ligarGravada(posicao, a, b);
+            return;
+        }
+        Partida partida = new Partida(torneio, participantes.get(a), participantes.get(b), rodada);
+        partida.setPosicaoChave(posicao);
+        partidas[posicao] = partida;
+        partidasAbertas++;
+        torneio.adicionarPartidaGerada(partida);
+    }
+
+    // Remontagem
+
+    private Partida[] porPosicao(List<Partida> lista) {
+        Partida[] porPosicao = new Partida[posicaoFinal + 1];
+        for (Partida partida : lista) {
+            int posicao = partida.getPosicaoChave();
+            if (posicao <= 0 || posicao > posicaoFinal || porPosicao[posicao] != null) {
+                throw new IllegalStateException(
+                    String.format("Partida gravada na posição %d não cabe na chave", posicao));
+            }
+            porPosicao[posicao] = partida;
+        }
+        return porPosicao;
+    }
+
+    private void ligarGravada(int posicao, int a, int b) {
+        Partida partida = gravadas[posicao];
+        if (partida == null || !mesmo(partida.getParticipante1(), participantes.get(a))
+                || !mesmo(partida.getParticipante2(), participantes.get(b))) {
+            throw new IllegalStateException(
+                String.format("Partida gravada na posição %d não confere com a chave", posicao));
+        }
+        partidas[posicao] = partida;
+        partidasAbertas++;
+        // a pendente fica aberta, como estava antes de ser encerrada
+        if (partida != pendente
+                && (partida.getStatus() == StatusPartida.FINALIZADA || partida.getStatus() == StatusPartida.WO)) {
+            reaplicar.add(partida);
+        }
+    }
+
+    // a partida gravada pode trazer o participante como proxy da sessão
+    private static boolean mesmo(Participante gravado, Participante esperado) {
+        return gravado == esperado || gravado.getId() != null && Objects.equals(gravado.getId(), esperado.getId());
+    }
+
+    // Sementes
+
+    private static List<Participante> semear(List<Participante> inscritos) {
+        List<Participante> ordenados = new ArrayList<>(inscritos);
+        // ordenação estável: empate de ELO mantém a ordem de inscrição
+        ordenados.sort(Comparator.comparingDouble(Participante::getEloMedio).reversed());
+        return Collections.unmodifiableList(ordenados);
+    }
+
+    /**
+     * Distribui as sementes para que a 1ª só encontre a 2ª na final, a 1ª e a 2ª
+     * só encontrem a 3ª e a 4ª na semifinal, e assim por diante.
+     */
+    private static int[] ordemDasSementes(int tamanho) {
+        int[] ordem = new int[tamanho];
+        int preenchidas = 1;
+        while (preenchidas < tamanho) {
+            for (int i = preenchidas - 1; i >= 0; i--) {
+                ordem[2 * i] = ordem[i];
+                ordem[2 * i + 1] = 2 * preenchidas - 1 - ordem[i];
+            }
+            preenchidas *= 2;
+        }
+        return ordem;
+    }
+
+    // Consultas
+
+    /**
+     * Retorna as colocações já definidas. Participantes ainda vivos não aparecem;
+     * quem cai na mesma rodada divide a mesma colocação.
+     */
+    public Map<Participante, Integer> getColocacoes() {
+        Map<Participante, Integer> resultado = new LinkedHashMap<>();
+        for (int i = 0; i < colocacoes.length; i++) {
+            if (colocacoes[i] > 0) {
+                resultado.put(participantes.get(i), colocacoes[i]);
+            }
+        }
+        return resultado;
+    }
+
+    public Participante getCampeao() {
+        return campeao >= 0 ? participantes.get(campeao) : null;
+    }
+
+    public boolean isConcluido() {
+        return campeao != VAZIO;
+    }
+
+    public int getPartidasAbertas() {
+        return partidasAbertas;
+    }
+
+    public boolean isDuplaEliminacao() {
+        return duplaEliminacao;
+    }
+
+    /**
+     * Retorna a partida agendada na posição informada, ou null se ela ainda
+     * não tem os dois participantes.
+     */
+    public Partida getPartida(int posicao) {
+        if (posicao <= 0 || posicao >= partidas.length) {
+            return null;
+        }
+        return partidas[posicao];
+    }
+
+    /**
+     * Retorna a semente de cada participante, em ordem (1ª semente primeiro).
+     */
+    public List<Participante> getSementes() {
+        return participantes;
+    }
+}
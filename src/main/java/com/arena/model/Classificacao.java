@@ -0,0 +1,298 @@
+package com.arena.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tabela de classificação dos formatos por pontos (pontos corridos e suíço).
+ *
+ * Os critérios de desempate são mantidos de forma incremental: a cada resultado,
+ * o Buchholz (soma dos pontos dos adversários enfrentados) é ajustado apenas para
+ * os adversários dos dois envolvidos, e o confronto direto é guardado por par.
+ * Nada é recalculado a partir do histórico de partidas.
+ *
+ * Ordem da tabela: pontos, Buchholz, confronto direto (empate entre dois),
+ * vitórias e, por fim, a semente (ELO médio na inscrição).
+ */
+public class Classificacao {
+    public static final int PONTOS_VITORIA = 3;
+    public static final int PONTOS_EMPATE = 1;
+
+    private final List<Participante> participantes;
+    private final Map<Participante, Integer> indices = new IdentityHashMap<>();
+
+    private final int[] pontos;
+    private final int[] vitorias;
+    private final int[] empates;
+    private final int[] derrotas;
+    private final int[] saldo;
+    private final long[] buchholz;
+    private final boolean[] teveFolga;
+    private final int[][] oponentes;
+    private final int[] totalOponentes;
+    private final Map<Long, Integer> confrontoDireto = new HashMap<>();
+
+    /**
+     * @param inscritos os participantes; a ordem de semente é definida pelo ELO médio
+     */
+    public Classificacao(List<Participante> inscritos) {
+        this(inscritos, true);
+    }
+
+    private Classificacao(List<Participante> inscritos, boolean semear) {
+        if (inscritos == null || inscritos.size() < 2) {
+            throw new IllegalArgumentException("Classificação precisa de no mínimo 2 participantes");
+        }
+        List<Participante> semeados = new ArrayList<>(inscritos);
+        if (semear) {
+            semeados.sort(Comparator.comparingDouble(Participante::getEloMedio).reversed());
+        }
+        this.participantes = Collections.unmodifiableList(semeados);
+
+        int n = participantes.size();
+        for (int i = 0; i < n; i++) {
+            indices.put(participantes.get(i), i);
+        }
+        this.pontos = new int[n];
+        this.vitorias = new int[n];
+        this.empates = new int[n];
+        this.derrotas = new int[n];
+        this.saldo = new int[n];
+        this.buchholz = new long[n];
+        this.teveFolga = new boolean[n];
+        this.oponentes = new int[n][4];
+        this.totalOponentes = new int[n];
+    }
+
+    /**
+     * Tabela zerada com os participantes já na ordem de semente (sem
+     * reordenar pelo ELO atual), para remontar a classificação de um torneio
+     * lido do banco.
+     *
+     * @param sementes os participantes, da 1ª semente à última
+     */
+    static Classificacao semeada(List<Participante> sementes) {
+        return new Classificacao(sementes, false);
+    }
+
+    /**
+     * Registra o resultado de uma partida encerrada (finalizada ou WO).
+     */
+    void registrar(Partida partida) {
+        int a = indice(partida.getParticipante1());
+        int b = indice(partida.getParticipante2());
+        Participante vencedor = partida.getVencedor();
+
+        int pontosA;
+        int pontosB;
+        if (vencedor == null) {
+            pontosA = PONTOS_EMPATE;
+            pontosB = PONTOS_EMPATE;
+            empates[a]++;
+            empates[b]++;
+        } else if (vencedor == partida.getParticipante1()) {
+            pontosA = PONTOS_VITORIA;
+            pontosB = 0;
+            vitorias[a]++;
+            derrotas[b]++;
+        } else {
+            pontosA = 0;
+            pontosB = PONTOS_VITORIA;
+            vitorias[b]++;
+            derrotas[a]++;
+        }
+        saldo[a] += partida.getPlacar1() - partida.getPlacar2();
+        saldo[b] += partida.getPlacar2() - partida.getPlacar1();
+
+        somarPontos(a, pontosA);
+        somarPontos(b, pontosB);
+
+        // o novo confronto entra no Buchholz de cada um com os pontos atuais do outro
+        adicionarOponente(a, b);
+        adicionarOponente(b, a);
+        buchholz[a] += pontos[b];
+        buchholz[b] += pontos[a];
+
+        long chave = chavePar(a, b);
+        int diferenca = a < b ? pontosA - pontosB : pontosB - pontosA;
+        confrontoDireto.merge(chave, diferenca, Integer::sum);
+    }
+
+    /**
+     * Registra uma folga (rodada sem adversário), que vale os pontos informados.
+     */
+    void registrarFolga(int participante, int pontosFolga) {
+        teveFolga[participante] = true;
+        if (pontosFolga > 0) {
+            vitorias[participante]++;
+            somarPontos(participante, pontosFolga);
+        }
+    }
+
+    private void somarPontos(int participante, int delta) {
+        if (delta == 0) {
+            return;
+        }
+        pontos[participante] += delta;
+        int[] deles = oponentes[participante];
+        for (int k = 0; k < totalOponentes[participante]; k++) {
+            buchholz[deles[k]] += delta;
+        }
+    }
+
+    private void adicionarOponente(int participante, int oponente) {
+        int total = totalOponentes[participante];
+        if (total == oponentes[participante].length) {
+            oponentes[participante] = Arrays.copyOf(oponentes[participante], total * 2);
+        }
+        oponentes[participante][total] = oponente;
+        totalOponentes[participante] = total + 1;
+    }
+
+    /**
+     * Verifica se os dois participantes já se enfrentaram.
+     */
+    boolean jaSeEnfrentaram(int a, int b) {
+        int[] deA = oponentes[a];
+        for (int k = 0; k < totalOponentes[a]; k++) {
+            if (deA[k] == b) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    boolean teveFolga(int participante) {
+        return teveFolga[participante];
+    }
+
+    int indice(Participante participante) {
+        Integer indice = indices.get(participante);
+        if (indice == null) {
+            throw new IllegalArgumentException("Participante não está na classificação");
+        }
+        return indice;
+    }
+
+    int getTotalParticipantes() {
+        return participantes.size();
+    }
+
+    Participante getParticipante(int indice) {
+        return participantes.get(indice);
+    }
+
+    int getPontos(int participante) {
+        return pontos[participante];
+    }
+
+    /**
+     * Retorna os índices dos participantes na ordem atual da tabela.
+     */
+    int[] ordemAtual() {
+        Integer[] ordem = new Integer[participantes.size()];
+        for (int i = 0; i < ordem.length; i++) {
+            ordem[i] = i;
+        }
+        Arrays.sort(ordem, this::comparar);
+
+        int[] resultado = new int[ordem.length];
+        for (int i = 0; i < ordem.length; i++) {
+            resultado[i] = ordem[i];
+        }
+        aplicarConfrontoDireto(resultado);
+        return resultado;
+    }
+
+    private int comparar(int a, int b) {
+        if (pontos[a] != pontos[b]) {
+            return Integer.compare(pontos[b], pontos[a]);
+        }
+        if (buchholz[a] != buchholz[b]) {
+            return Long.compare(buchholz[b], buchholz[a]);
+        }
+        if (vitorias[a] != vitorias[b]) {
+            return Integer.compare(vitorias[b], vitorias[a]);
+        }
+        return Integer.compare(a, b);
+    }
+
+    /**
+     * O confronto direto só desempata grupos de exatamente dois participantes
+     * empatados em pontos e Buchholz; com três ou mais ele pode ser cíclico,
+     * então fica valendo o critério seguinte.
+     */
+    private void aplicarConfrontoDireto(int[] ordem) {
+        int inicio = 0;
+        while (inicio < ordem.length) {
+            int fim = inicio + 1;
+            while (fim < ordem.length && pontos[ordem[fim]] == pontos[ordem[inicio]]
+                    && buchholz[ordem[fim]] == buchholz[ordem[inicio]]) {
+                fim++;
+            }
+            if (fim - inicio == 2) {
+                int a = ordem[inicio];
+                int b = ordem[inicio + 1];
+                Integer direto = confrontoDireto.get(chavePar(a, b));
+                // o saldo é guardado do ponto de vista do menor índice
+                boolean bVenceu = direto != null && (a < b ? direto < 0 : direto > 0);
+                if (bVenceu) {
+                    ordem[inicio] = b;
+                    ordem[inicio + 1] = a;
+                }
+            }
+            inicio = fim;
+        }
+    }
+
+    private static long chavePar(int a, int b) {
+        int menor = Math.min(a, b);
+        int maior = Math.max(a, b);
+        return ((long) menor << 32) | maior;
+    }
+
+    /**
+     * Retorna a tabela completa, do primeiro ao último colocado.
+     */
+    public List<Linha> getTabela() {
+        int[] ordem = ordemAtual();
+        List<Linha> tabela = new ArrayList<>(ordem.length);
+        for (int i : ordem) {
+            tabela.add(new Linha(participantes.get(i), pontos[i], vitorias[i], empates[i],
+                derrotas[i], saldo[i], buchholz[i]));
+        }
+        return tabela;
+    }
+
+    /**
+     * Retorna a colocação de cada participante segundo a ordem atual da tabela.
+     */
+    public Map<Participante, Integer> getColocacoes() {
+        Map<Participante, Integer> colocacoes = new LinkedHashMap<>();
+        int[] ordem = ordemAtual();
+        for (int posicao = 0; posicao < ordem.length; posicao++) {
+            colocacoes.put(participantes.get(ordem[posicao]), posicao + 1);
+        }
+        return colocacoes;
+    }
+
+    /**
+     * Retorna a semente de cada participante, em ordem (1ª semente primeiro).
+     */
+    public List<Participante> getSementes() {
+        return participantes;
+    }
+
+    /**
+     * Linha da tabela de classificação.
+     */
+    public record Linha(Participante participante, int pontos, int vitorias, int empates,
+                        int derrotas, int saldo, long buchholz) {}
+}
@@ -0,0 +1,92 @@
+package com.arena.model;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Codificação compacta de uma sequência de {@link RegistroElo}.
+ *
+ * Cada campo é gravado como varint (7 bits por byte) da diferença para o
+ * registro anterior, com zigzag nos que podem ser negativos: o intervalo em
+ * milissegundos, o delta, o desvio do ELO em relação a {@code anterior + delta}
+ * (quase sempre zero) e a diferença do id da partida. Um registro típico ocupa
+ * de 5 a 8 bytes. O primeiro registro é relativo a zero, então cada bloco
+ * codificado é independente dos demais.
+ */
+public final class CodificacaoHistoricoElo {
+
+    private CodificacaoHistoricoElo() {
+    }
+
+    public static byte[] codificar(List<RegistroElo> registros) {
+        byte[] saida = new byte[registros.size() * 8 + 16];
+        int posicao = 0;
+        long momentoAnterior = 0;
+        int eloAnterior = 0;
+        long partidaAnterior = 0;
+        for (RegistroElo registro : registros) {
+            if (saida.length - posicao < 40) {
+                saida = Arrays.copyOf(saida, saida.length * 2);
+            }
+            long momento = registro.momento().toEpochMilli();
+            long partida = registro.partidaId() == null ? 0 : registro.partidaId() + 1;
+
+            posicao = escrever(saida, posicao, zigzag(momento - momentoAnterior));
+            posicao = escrever(saida, posicao, zigzag(registro.delta()));
+            posicao = escrever(saida, posicao, zigzag((long) registro.eloResultante() - eloAnterior - registro.delta()));
+            posicao = escrever(saida, posicao, zigzag(partida - partidaAnterior));
+
+            momentoAnterior = momento;
+            eloAnterior = registro.eloResultante();
+            partidaAnterior = partida;
+        }
+        return Arrays.copyOf(saida, posicao);
+    }
+
+    /**
+     * Decodifica os {@code quantidade} registros de {@code dados} no fim de {@code destino}.
+     */
+    public static void decodificar(byte[] dados, int quantidade, List<RegistroElo> destino) {
+        int[] posicao = {0};
+        long momento = 0;
+        int elo = 0;
+        long partida = 0;
+        for (int i = 0; i < quantidade; i++) {
+            momento += dezigzag(ler(dados, posicao));
+            int delta = (int) dezigzag(ler(dados, posicao));
+            elo += delta + (int) dezigzag(ler(dados, posicao));
+            partida += dezigzag(ler(dados, posicao));
+            destino.add(new RegistroElo(partida == 0 ? null : partida - 1, delta, elo, Instant.ofEpochMilli(momento)));
+        }
+    }
+
+    private static int escrever(byte[] saida, int posicao, long valor) {
+        while ((valor & ~0x7FL) != 0) {
+            saida[posicao++] = (byte) ((valor & 0x7F) | 0x80);
+            valor >>>= 7;
+        }
+        saida[posicao++] = (byte) valor;
+        return posicao;
+    }
+
+    private static long ler(byte[] dados, int[] posicao) {
+        long valor = 0;
+        int deslocamento = 0;
+        byte b;
+        do {
+            b = dados[posicao[0]++];
+            valor |= (long) (b & 0x7F) << deslocamento;
+            deslocamento += 7;
+        } while (b < 0);
+        return valor;
+    }
+
+    private static long zigzag(long valor) {
+        return (valor << 1) ^ (valor >> 63);
+    }
+
+    private static long dezigzag(long valor) {
+        return (valor >>> 1) ^ -(valor & 1);
+    }
+}
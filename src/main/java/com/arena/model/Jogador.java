@@ -2,10 +2,12 @@ package com.arena.model;
 
 import com.arena.enums.Categoria;
 import com.arena.enums.StatusJogador;
+import com.arena.service.RankingListener;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -15,16 +17,26 @@ import java.util.Objects;
  * Representa um jogador no sistema de torneios.
  */
 @Entity
-@Table(name = "jogadores")
+@Table(name = "jogadores", indexes = {
+    // paginação por cursor: ranking global e ranking por categoria
+    @Index(name = "idx_jogadores_elo_id", columnList = "elo DESC, id DESC"),
+    @Index(name = "idx_jogadores_categoria_elo_id", columnList = "categoria, elo DESC, id DESC")
+})
+@EntityListeners(RankingListener.class)
 @Getter
 @Setter
 @NoArgsConstructor
 public class Jogador {
-    private static final int ELO_INICIAL = 1000;
-    private static final int ELO_MINIMO = 0;
+    public static final int ELO_INICIAL = 1000;
+    public static final int ELO_MINIMO = 0;
+    public static final double DESVIO_RATING_INICIAL = 350;
+    public static final double VOLATILIDADE_INICIAL = 0.06;
 
+    // ids reservados em blocos pela sequence: o Hibernate sabe o id antes do
+    // INSERT e pode agrupar as inserções no batch JDBC (com IDENTITY não pode)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "jogadores_seq")
+    @SequenceGenerator(name = "jogadores_seq", sequenceName = "jogadores_seq", allocationSize = 50)
     private Long id;
 
     @Column(unique = true, nullable = false)
@@ -45,6 +57,17 @@ public class Jogador {
     @Column(nullable = false)
     private int elo = ELO_INICIAL;
 
+    // estado do Glicko-2 (incerteza do rating e volatilidade); o Elo não usa.
+    // O default no banco preenche as linhas que já existiam quando o
+    // ddl-auto=update (perfil mysql) acrescenta as colunas
+    @Column(nullable = false)
+    @ColumnDefault("350")
+    private double desvioRating = DESVIO_RATING_INICIAL;
+
+    @Column(nullable = false)
+    @ColumnDefault("0.06")
+    private double volatilidade = VOLATILIDADE_INICIAL;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private StatusJogador status = StatusJogador.ATIVO;
@@ -84,6 +107,12 @@ public class Jogador {
     @Column
     private LocalDateTime dataCriacao;
 
+    // ELO e estatísticas são incrementados direto no banco pelo JogadorService;
+    // a versão impede que um save da entidade inteira sobrescreva esses incrementos
+    @Version
+    @Column(nullable = false)
+    private Long versao;
+
     public Jogador(String nickname, String nomeReal, String email, String senha, LocalDate dataNascimento) {
         validarCampos(nickname, nomeReal, email, dataNascimento);
         
@@ -158,10 +187,33 @@ public class Jogador {
         this.derrotas++;
     }
 
+    /**
+     * Registra um empate: conta a partida, sem vitória nem derrota.
+     */
+    public void registrarEmpate() {
+        this.totalPartidas++;
+    }
+
+    /**
+     * Soma as estatísticas individuais de uma partida. A partida em si é
+     * contada por {@link #registrarVitoria()}, {@link #registrarDerrota()} ou
+     * {@link #registrarEmpate()}.
+     */
+    public void somarEstatisticas(int kills, int deaths, int assists, long tempoJogoMinutos) {
+        this.kills += kills;
+        this.deaths += deaths;
+        this.assists += assists;
+        this.tempoJogoMinutos += tempoJogoMinutos;
+    }
+
     /**
      * Calcula o K/D ratio.
      */
     public double getKdRatio() {
+        return calcularKdRatio(kills, deaths);
+    }
+
+    public static double calcularKdRatio(int kills, int deaths) {
         if (deaths == 0) return kills;
         return (double) kills / deaths;
     }
@@ -170,10 +222,21 @@ public class Jogador {
      * Calcula o win rate.
      */
     public double getWinRate() {
+        return calcularWinRate(vitorias, totalPartidas);
+    }
+
+    public static double calcularWinRate(int vitorias, int totalPartidas) {
         if (totalPartidas == 0) return 0.0;
         return (double) vitorias / totalPartidas;
     }
 
+    /**
+     * Bane o jogador, que deixa de poder se inscrever em torneios.
+     */
+    public void banir() {
+        this.status = StatusJogador.BANIDO;
+    }
+
     public boolean isBanido() {
         return this.status == StatusJogador.BANIDO;
     }
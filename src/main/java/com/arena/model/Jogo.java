@@ -2,18 +2,29 @@ package com.arena.model;
 
 import com.arena.enums.GeneroJogo;
 import com.arena.enums.Plataforma;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
 
 import java.util.Objects;
 
 /**
- * Representa um jogo disponível para torneios.
+ * Representa um jogo disponível para torneios. Gravado junto do torneio e do
+ * time que o usam, sem tabela própria.
  */
+@Embeddable
 public class Jogo {
     private String nome;
+    @Enumerated(EnumType.STRING)
     private GeneroJogo genero;
     private int maxJogadoresPorTime;
+    @Enumerated(EnumType.STRING)
     private Plataforma plataforma;
 
+    // para o JPA
+    protected Jogo() {
+    }
+
     public Jogo(String nome, GeneroJogo genero, int maxJogadoresPorTime, Plataforma plataforma) {
         validarNome(nome);
         validarMaxJogadores(maxJogadoresPorTime);
@@ -0,0 +1,197 @@
+package com.arena.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Geração de rodadas para os formatos por pontos.
+ *
+ * Os pareamentos são devolvidos como um vetor plano {@code [a0, b0, a1, b1, ...]}
+ * de índices da {@link Classificacao}; {@value #FOLGA} no lugar de um dos
+ * lados indica folga (rodada sem adversário) para o outro.
+ */
+final class Pareamento {
+    static final int FOLGA = -1;
+
+    private Pareamento() {
+    }
+
+    /**
+     * Rodada de pontos corridos pelo método do círculo: o participante 0 fica
+     * fixo e os demais giram uma posição por rodada, de modo que todos se
+     * enfrentam exatamente uma vez em {@code n - 1} rodadas ({@code n} se ímpar).
+     *
+     * @param n total de participantes
+     * @param rodada a rodada, a partir de 1
+     */
+    static int[] circular(int n, int rodada) {
+        int m = n % 2 == 0 ? n : n + 1;
+        if (rodada < 1 || rodada > m - 1) {
+            throw new IllegalArgumentException(
+                String.format("Rodada deve estar entre 1 e %d", m - 1));
+        }
+        int r = rodada - 1;
+        int[] pares = new int[m];
+        for (int k = 0; k < m / 2; k++) {
+            int a = posicaoNoCirculo(k, r, m);
+            int b = posicaoNoCirculo(m - 1 - k, r, m);
+            // alterna o mando do participante fixo
+            if (k == 0 && r % 2 == 1) {
+                int troca = a;
+                a = b;
+                b = troca;
+            }
+            pares[2 * k] = a < n ? a : FOLGA;
+            pares[2 * k + 1] = b < n ? b : FOLGA;
+        }
+        return pares;
+    }
+
+    private static int posicaoNoCirculo(int posicao, int r, int m) {
+        if (posicao == 0) {
+            return 0;
+        }
+        return (posicao - 1 + r) % (m - 1) + 1;
+    }
+
+    /**
+     * Rodada do sistema suíço. Os participantes são agrupados por pontuação na
+     * ordem da tabela; em cada grupo, a metade de cima enfrenta a metade de baixo
+     * evitando revanches. Quem sobra (grupo ímpar ou sem adversário inédito)
+     * desce para o grupo seguinte. Quem ainda sobrar no fim da tabela é
+     * pareado entre si ou trocando de adversário com um par de cima; só há
+     * revanche se nenhuma troca a evitar.
+     *
+     * Com número ímpar de participantes, a folga vai para o pior colocado que
+     * ainda não folgou.
+     */
+    static int[] suico(Classificacao classificacao) {
+        int n = classificacao.getTotalParticipantes();
+        int[] ordem = classificacao.ordemAtual();
+        int[] pares = new int[n + (n % 2)];
+        int total = 0;
+
+        int folga = FOLGA;
+        if (n % 2 == 1) {
+            folga = ordem[n - 1];
+            for (int k = n - 1; k >= 0; k--) {
+                if (!classificacao.teveFolga(ordem[k])) {
+                    folga = ordem[k];
+                    break;
+                }
+            }
+            pares[total++] = folga;
+            pares[total++] = FOLGA;
+        }
+
+        List<Integer> grupo = new ArrayList<>();
+        int k = 0;
+        while (k < n) {
+            int pontos = classificacao.getPontos(ordem[k]);
+            while (k < n && classificacao.getPontos(ordem[k]) == pontos) {
+                if (ordem[k] != folga) {
+                    grupo.add(ordem[k]);
+                }
+                k++;
+            }
+            total = parearGrupo(classificacao, grupo, pares, total);
+        }
+
+        total = parearSobras(classificacao, grupo, pares, total);
+        return total == pares.length ? pares : Arrays.copyOf(pares, total);
+    }
+
+    /**
+     * Pareia quem sobrou no fim da tabela: primeiro entre si, sem revanche.
+     * Quem só teria revanche troca de adversário com um par já formado, de
+     * baixo para cima na tabela, se a troca não criar outra revanche; sem
+     * troca possível, a revanche fica.
+     */
+    private static int parearSobras(Classificacao classificacao, List<Integer> sobras, int[] pares, int total) {
+        while (sobras.size() >= 2) {
+            int a = sobras.remove(0);
+            int escolhido = 0;
+            for (int j = 0; j < sobras.size(); j++) {
+                if (!classificacao.jaSeEnfrentaram(a, sobras.get(j))) {
+                    escolhido = j;
+                    break;
+                }
+            }
+            int b = sobras.remove(escolhido);
+            pares[total] = a;
+            pares[total + 1] = b;
+            if (classificacao.jaSeEnfrentaram(a, b)) {
+                trocarAdversarios(classificacao, pares, total);
+            }
+            total += 2;
+        }
+        return total;
+    }
+
+    /**
+     * Desfaz a revanche do par em {@code pares[total]} trocando os adversários
+     * com o primeiro par formado, de baixo para cima, em que a troca não cria
+     * revanche.
+     */
+    private static void trocarAdversarios(Classificacao classificacao, int[] pares, int total) {
+        int a = pares[total];
+        int b = pares[total + 1];
+        for (int k = total - 2; k >= 0; k -= 2) {
+            int c = pares[k];
+            int d = pares[k + 1];
+            if (d == FOLGA) {
+                continue;
+            }
+            if (!classificacao.jaSeEnfrentaram(c, a) && !classificacao.jaSeEnfrentaram(d, b)) {
+                pares[k + 1] = a;
+                pares[total] = d;
+                return;
+            }
+            if (!classificacao.jaSeEnfrentaram(c, b) && !classificacao.jaSeEnfrentaram(d, a)) {
+                pares[k + 1] = b;
+                pares[total + 1] = d;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Pareia um grupo de pontuação e deixa em {@code grupo} apenas quem sobrou,
+     * para descer ao próximo grupo.
+     */
+    private static int parearGrupo(Classificacao classificacao, List<Integer> grupo, int[] pares, int total) {
+        int metade = grupo.size() / 2;
+        int tamanhoBaixo = grupo.size() - metade;
+        boolean[] usado = new boolean[tamanhoBaixo];
+        List<Integer> sobras = new ArrayList<>();
+
+        for (int i = 0; i < metade; i++) {
+            int a = grupo.get(i);
+            int escolhido = -1;
+            for (int d = 0; d < tamanhoBaixo; d++) {
+                int j = (i + d) % tamanhoBaixo;
+                if (!usado[j] && !classificacao.jaSeEnfrentaram(a, grupo.get(metade + j))) {
+                    escolhido = j;
+                    break;
+                }
+            }
+            if (escolhido < 0) {
+                sobras.add(a);
+            } else {
+                usado[escolhido] = true;
+                pares[total++] = a;
+                pares[total++] = grupo.get(metade + escolhido);
+            }
+        }
+        for (int j = 0; j < tamanhoBaixo; j++) {
+            if (!usado[j]) {
+                sobras.add(grupo.get(metade + j));
+            }
+        }
+
+        grupo.clear();
+        grupo.addAll(sobras);
+        return total;
+    }
+}
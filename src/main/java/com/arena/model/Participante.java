@@ -1,13 +1,36 @@
 package com.arena.model;
 
+import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
+
 import java.util.List;
 
 /**
  * Classe abstrata que representa um participante de torneio.
  * Pode ser um jogador solo ou um time.
+ *
+ * Os participantes ficam numa tabela só, com uma coluna de tipo. As
+ * referências a participantes ainda não carregados (nas partidas e
+ * premiações) são buscadas em lote.
  */
+@Entity
+@Table(name = "participantes")
+@Inheritance(strategy = InheritanceType.SINGLE_TABLE)
+@DiscriminatorColumn(name = "tipo")
+@BatchSize(size = Participante.TAMANHO_LOTE)
 public abstract class Participante {
-    
+    // participantes, membros e partidas carregados por consulta em lote
+    static final int TAMANHO_LOTE = 64;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "participantes_seq")
+    @SequenceGenerator(name = "participantes_seq", sequenceName = "participantes_seq", allocationSize = 50)
+    private Long id;
+
+    public Long getId() {
+        return id;
+    }
+
     /**
      * Retorna o nome do participante.
      * 
@@ -16,11 +39,56 @@ public abstract class Participante {
     public abstract String getNome();
     
     /**
-     * Retorna a lista de jogadores que compõem este participante.
+     * Retorna os jogadores que compõem este participante.
      * Para jogador solo, retorna uma lista contendo apenas ele mesmo.
      * Para time, retorna todos os membros.
      * 
-     * @return lista de jogadores
+     * A lista é uma visão somente leitura, sem cópia: acompanha as mudanças
+     * no participante e não deve ser percorrida enquanto ele é alterado.
+     * 
+     * @return lista de jogadores, somente leitura
      */
     public abstract List<Jogador> getMembros();
+
+    /**
+     * Retorna o número de membros, sem copiar a lista.
+     *
+     * @return o número de membros
+     */
+    public abstract int getTotalMembros();
+
+    /**
+     * Retorna o membro na posição informada, sem copiar a lista.
+     *
+     * @param indice de 0 a {@code getTotalMembros() - 1}
+     * @return o membro
+     */
+    public abstract Jogador getMembro(int indice);
+
+    /**
+     * Retorna as chaves que identificam o participante numa inscrição: dois
+     * participantes com alguma chave em comum são o mesmo participante.
+     *
+     * @return as chaves; por padrão, só o nome
+     */
+    public String[] getChavesInscricao() {
+        return new String[] {"nome:" + getNome()};
+    }
+
+    /**
+     * Retorna o ELO médio dos membros, usado para definir os cabeças de chave.
+     * 
+     * @return o ELO médio, ou 0 se não houver membros
+     */
+    public double getEloMedio() {
+        int total = getTotalMembros();
+        if (total == 0) {
+            return 0;
+        }
+        long soma = 0;
+        for (int i = 0; i < total; i++) {
+            soma += getMembro(i).getElo();
+        }
+        return (double) soma / total;
+    }
 }
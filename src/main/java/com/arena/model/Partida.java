@@ -2,30 +2,76 @@ package com.arena.model;
 
 import com.arena.enums.StatusPartida;
 import com.arena.enums.TipoPenalidade;
+import com.arena.rating.RatingEngine;
+import com.arena.service.PartidaListener;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Objects;
 
 /**
  * Representa uma partida entre dois participantes.
+ *
+ * A variação de ELO de uma partida finalizada vem do {@link RatingEngine}
+ * recebido; na aplicação, o configurado, passado pelo
+ * {@code RatingPartidaService}, que também conta as partidas encerradas. O WO
+ * continua com valores fixos: é uma punição por ausência, não uma medida de
+ * habilidade.
  */
+@Entity
+@EntityListeners(PartidaListener.class)
+@Table(name = "partidas", indexes = {
+    // partidas de uma rodada do torneio
+    @Index(name = "idx_partidas_torneio_rodada", columnList = "torneio_id, rodada"),
+    // partidas agendadas ou em andamento, para WO e timeouts
+    @Index(name = "idx_partidas_status", columnList = "status")
+})
 public class Partida {
-    private static final int ELO_VITORIA = 25;
-    private static final int ELO_DERROTA = 15;
-    private static final int ELO_EMPATE = 5;
-    private static final int ELO_WO_VENCEDOR = 10;
-    private static final int ELO_WO_PERDEDOR = 30;
+    public static final int ELO_WO_VENCEDOR = 10;
+    public static final int ELO_WO_PERDEDOR = 30;
 
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "partidas_seq")
+    @SequenceGenerator(name = "partidas_seq", sequenceName = "partidas_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "torneio_id")
     private Torneio torneio;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "participante1_id")
     private Participante participante1;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "participante2_id")
     private Participante participante2;
+
     private int placar1;
     private int placar2;
     private LocalDateTime dataHora;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
     private StatusPartida status;
+
     private int rodada;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "vencedor_id")
     private Participante vencedor;
 
+    private int posicaoChave = -1;
+    private boolean gerada;
+    private boolean presente1;
+    private boolean presente2;
+
+    // para o JPA
+    protected Partida() {
+    }
+
     public Partida(Torneio torneio, Participante participante1, Participante participante2, int rodada) {
         validarCampos(torneio, participante1, participante2);
         
@@ -56,37 +102,56 @@ public class Partida {
      * 
      * @param placar1 placar do participante 1
      * @param placar2 placar do participante 2
+     * @param ratingEngine motor que calcula a variação de ELO
      */
-    public void finalizar(int placar1, int placar2) {
+    public void finalizar(int placar1, int placar2, RatingEngine ratingEngine) {
         if (status == StatusPartida.FINALIZADA || status == StatusPartida.WO) {
             throw new IllegalStateException("Partida já foi finalizada");
         }
         if (placar1 < 0 || placar2 < 0) {
             throw new IllegalArgumentException("Placar não pode ser negativo");
         }
+        if (placar1 == placar2 && isEliminatoria()) {
+            throw new IllegalArgumentException("Partida eliminatória não pode terminar empatada");
+        }
 
         this.placar1 = placar1;
         this.placar2 = placar2;
         this.status = StatusPartida.FINALIZADA;
 
-        distribuirElo();
+        distribuirElo(participante1.getMembros(), participante2.getMembros(), placar1, placar2, ratingEngine);
         definirVencedor();
+        notificarTorneio();
     }
 
-    private void distribuirElo() {
-        if (isEmpate()) {
-            // Empate: ambos ganham +5 ELO
-            distribuirEloPara(participante1, ELO_EMPATE);
-            distribuirEloPara(participante2, ELO_EMPATE);
-        } else {
-            Participante vencedor = placar1 > placar2 ? participante1 : participante2;
-            Participante perdedor = placar1 > placar2 ? participante2 : participante1;
+    /**
+     * Aplica aos jogadores de cada lado a variação de ELO de uma partida
+     * finalizada com o placar informado, com as mesmas regras de
+     * {@link #finalizar(int, int, RatingEngine)}.
+     * 
+     * @param lado1 jogadores do participante 1
+     * @param lado2 jogadores do participante 2
+     * @param placar1 placar do participante 1
+     * @param placar2 placar do participante 2
+     * @param ratingEngine motor que calcula a variação de ELO
+     */
+    public static void distribuirElo(List<Jogador> lado1, List<Jogador> lado2, int placar1, int placar2,
+                                     RatingEngine ratingEngine) {
+        ratingEngine.aplicar(lado1, lado2, RatingEngine.pontuacao(placar1, placar2));
+    }
 
-            // Vencedor ganha +25 ELO
-            distribuirEloPara(vencedor, ELO_VITORIA);
-            // Perdedor perde -15 ELO
-            removerEloDe(perdedor, ELO_DERROTA);
-        }
+    /**
+     * Aplica a variação de ELO de um WO, com as mesmas regras de
+     * {@link #darWO(Participante)}.
+     * 
+     * @param ausentes jogadores do participante que não compareceu
+     * @param presentes jogadores do participante presente
+     */
+    public static void distribuirEloWO(List<Jogador> ausentes, List<Jogador> presentes) {
+        // Ausente perde -30 ELO
+        removerEloDe(ausentes, ELO_WO_PERDEDOR);
+        // Presente ganha +10 ELO
+        distribuirEloPara(presentes, ELO_WO_VENCEDOR);
     }
 
     /**
@@ -106,15 +171,13 @@ public class Partida {
         this.status = StatusPartida.WO;
         Participante presente = ausente.equals(participante1) ? participante2 : participante1;
 
-        // Ausente perde -30 ELO
-        removerEloDe(ausente, ELO_WO_PERDEDOR);
-        // Presente ganha +10 ELO
-        distribuirEloPara(presente, ELO_WO_VENCEDOR);
+        distribuirEloWO(ausente.getMembros(), presente.getMembros());
 
         this.vencedor = presente;
+        notificarTorneio();
 
         // Criar penalidade para o primeiro membro do time/jogador ausente
-        Jogador jogadorPenalizado = ausente.getMembros().get(0);
+        Jogador jogadorPenalizado = ausente.getMembro(0);
         return new Penalidade(
             jogadorPenalizado, 
             TipoPenalidade.WO, 
@@ -122,15 +185,21 @@ public class Partida {
         );
     }
 
-    private void distribuirEloPara(Participante participante, int pontos) {
-        for (Jogador jogador : participante.getMembros()) {
-            jogador.ganharElo(pontos);
+    private static void distribuirEloPara(List<Jogador> jogadores, int pontos) {
+        for (int i = 0; i < jogadores.size(); i++) {
+            jogadores.get(i).ganharElo(pontos);
         }
     }
 
-    private void removerEloDe(Participante participante, int pontos) {
-        for (Jogador jogador : participante.getMembros()) {
-            jogador.perderElo(pontos);
+    private static void removerEloDe(List<Jogador> jogadores, int pontos) {
+        for (int i = 0; i < jogadores.size(); i++) {
+            jogadores.get(i).perderElo(pontos);
+        }
+    }
+
+    private void notificarTorneio() {
+        if (gerada) {
+            torneio.registrarResultado(this);
         }
     }
 
@@ -151,6 +220,47 @@ public class Partida {
         return placar1 == placar2 && status == StatusPartida.FINALIZADA;
     }
 
+    /**
+     * Verifica se a partida foi gerada por um chaveamento eliminatório.
+     *
+     * @return true se a partida faz parte de uma chave
+     */
+    public boolean isEliminatoria() {
+        return posicaoChave >= 0;
+    }
+
+    /**
+     * Confirma a presença de um participante antes do início. Quem não
+     * confirmar até o fim da tolerância leva WO.
+     *
+     * @param participanteId id do participante 1 ou 2
+     */
+    public void confirmarPresenca(Long participanteId) {
+        if (status != StatusPartida.AGENDADA) {
+            throw new IllegalStateException("Partida não está agendada");
+        }
+        if (participante1.getId().equals(participanteId)) {
+            presente1 = true;
+        } else if (participante2.getId().equals(participanteId)) {
+            presente2 = true;
+        } else {
+            throw new IllegalArgumentException("Participante não está nesta partida");
+        }
+    }
+
+    /**
+     * Retorna o participante que não confirmou presença, se só um deles
+     * confirmou.
+     *
+     * @return o ausente, ou null se os dois ou nenhum confirmaram
+     */
+    public Participante getAusente() {
+        if (presente1 == presente2) {
+            return null;
+        }
+        return presente1 ? participante2 : participante1;
+    }
+
     public void iniciar() {
         if (status != StatusPartida.AGENDADA) {
             throw new IllegalStateException("Partida não está agendada");
@@ -160,6 +270,11 @@ public class Partida {
     }
 
     // Getters
+    public Long getId() {
+        return id;
+    }
+
+    @JsonIgnore
     public Torneio getTorneio() {
         return torneio;
     }
@@ -196,6 +311,26 @@ public class Partida {
         return vencedor;
     }
 
+    public int getPosicaoChave() {
+        return posicaoChave;
+    }
+
+    void setPosicaoChave(int posicaoChave) {
+        this.posicaoChave = posicaoChave;
+    }
+
+    /**
+     * Indica se a partida foi agendada pelo próprio torneio (chave ou rodada),
+     * caso em que o resultado é repassado a ele ao encerrar.
+     */
+    public boolean isGerada() {
+        return gerada;
+    }
+
+    void setGerada(boolean gerada) {
+        this.gerada = gerada;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -2,6 +2,7 @@ package com.arena.model;
 
 import com.arena.enums.StatusPenalidade;
 import com.arena.enums.TipoPenalidade;
+import jakarta.persistence.*;
 
 import java.time.LocalDate;
 import java.util.Objects;
@@ -9,13 +10,40 @@ import java.util.Objects;
 /**
  * Representa uma penalidade aplicada a um jogador.
  */
+@Entity
+@Table(name = "penalidades", indexes = {
+    // penalidades ativas de um jogador
+    @Index(name = "idx_penalidades_jogador_status", columnList = "jogador_id, status"),
+    @Index(name = "idx_penalidades_status", columnList = "status")
+})
 public class Penalidade {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "penalidades_seq")
+    @SequenceGenerator(name = "penalidades_seq", sequenceName = "penalidades_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "jogador_id")
     private Jogador jogador;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
     private TipoPenalidade tipo;
+
+    @Column(nullable = false)
     private String descricao;
+
+    @Column(nullable = false)
     private LocalDate data;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
     private StatusPenalidade status;
 
+    // para o JPA
+    protected Penalidade() {
+    }
+
     public Penalidade(Jogador jogador, TipoPenalidade tipo, String descricao) {
         if (jogador == null) {
             throw new IllegalArgumentException("Jogador não pode ser nulo");
@@ -47,6 +75,10 @@ public class Penalidade {
     }
 
     // Getters
+    public Long getId() {
+        return id;
+    }
+
     public Jogador getJogador() {
         return jogador;
     }
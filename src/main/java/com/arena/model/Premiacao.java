@@ -1,16 +1,37 @@
 package com.arena.model;
 
+import jakarta.persistence.*;
+
 import java.util.Objects;
 
 /**
  * Representa a premiação de um participante em um torneio.
  */
+@Entity
+@Table(name = "premiacoes", indexes = {
+    @Index(name = "idx_premiacoes_torneio_colocacao", columnList = "torneio_id, colocacao")
+})
 public class Premiacao {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "premiacoes_seq")
+    @SequenceGenerator(name = "premiacoes_seq", sequenceName = "premiacoes_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "torneio_id")
     private Torneio torneio;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "participante_id")
     private Participante participante;
+
     private int colocacao;
     private double valor;
 
+    // para o JPA
+    protected Premiacao() {
+    }
+
     public Premiacao(Torneio torneio, Participante participante, int colocacao, double valor) {
         if (torneio == null) {
             throw new IllegalArgumentException("Torneio não pode ser nulo");
@@ -37,7 +58,7 @@ public class Premiacao {
      * @return valor dividido pelo número de membros
      */
     public double getValorPorMembro() {
-        int numMembros = participante.getMembros().size();
+        int numMembros = participante.getTotalMembros();
         return valor / numMembros;
     }
 
@@ -51,6 +72,10 @@ public class Premiacao {
     }
 
     // Getters
+    public Long getId() {
+        return id;
+    }
+
     public Torneio getTorneio() {
         return torneio;
     }
@@ -0,0 +1,13 @@
+package com.arena.model;
+
+import java.time.Instant;
+
+/**
+ * Uma alteração de ELO no histórico de um jogador.
+ *
+ * @param partidaId identificador da partida que gerou a alteração, ou {@code null} para ajustes manuais
+ * @param delta pontos somados (negativo se perdeu)
+ * @param eloResultante ELO do jogador depois da alteração
+ * @param momento quando a alteração foi aplicada
+ */
+public record RegistroElo(Long partidaId, int delta, int eloResultante, Instant momento) {}
@@ -0,0 +1,61 @@
+package com.arena.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Resultado de partida já aplicado ao ELO, na ordem em que foi aplicado. É o
+ * histórico que o recálculo de rating percorre; só é inserido, nunca alterado.
+ *
+ * Os lados guardam os ids dos jogadores separados por vírgula, na ordem em
+ * que entraram no cálculo (a ordem importa para reproduzir as médias bit a bit).
+ */
+@Entity
+@Table(name = "registros_partidas")
+@Getter
+@NoArgsConstructor
+public class RegistroPartida {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "registro_partida_seq")
+    @SequenceGenerator(name = "registro_partida_seq", sequenceName = "registro_partida_seq", allocationSize = 50)
+    private Long id;
+
+    private Long partidaId;
+
+    @Column(nullable = false)
+    private LocalDateTime registradoEm;
+
+    @Column(nullable = false, length = 2000)
+    private String lado1;
+
+    @Column(nullable = false, length = 2000)
+    private String lado2;
+
+    private int placar1;
+
+    private int placar2;
+
+    /** Lado que não compareceu (1 ou 2) num WO; {@code null} numa partida jogada. */
+    private Integer ausente;
+
+    public RegistroPartida(Long partidaId, List<Jogador> lado1, List<Jogador> lado2,
+                           int placar1, int placar2, Integer ausente) {
+        this.partidaId = partidaId;
+        this.registradoEm = LocalDateTime.now();
+        this.lado1 = ids(lado1);
+        this.lado2 = ids(lado2);
+        this.placar1 = placar1;
+        this.placar2 = placar2;
+        this.ausente = ausente;
+    }
+
+    private static String ids(List<Jogador> lado) {
+        return lado.stream().map(jogador -> String.valueOf(jogador.getId())).collect(Collectors.joining(","));
+    }
+}
@@ -1,19 +1,50 @@
 package com.arena.model;
 
+import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
+
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 
 /**
  * Representa um time de jogadores.
  */
+@Entity
+@DiscriminatorValue("TIME")
 public class Time extends Participante {
+    @Column(unique = true)
     private String nome;
+
+    @Column(unique = true, length = 5)
     private String tag;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "capitao_id")
     private Jogador capitao;
+
+    @ManyToMany
+    @JoinTable(name = "time_membros",
+        joinColumns = @JoinColumn(name = "time_id"),
+        inverseJoinColumns = @JoinColumn(name = "jogador_id"))
+    @OrderColumn(name = "ordem")
+    @BatchSize(size = TAMANHO_LOTE)
     private List<Jogador> membros;
+
+    @Embedded
+    @AttributeOverrides({
+        @AttributeOverride(name = "nome", column = @Column(name = "jogo_nome")),
+        @AttributeOverride(name = "genero", column = @Column(name = "jogo_genero")),
+        @AttributeOverride(name = "maxJogadoresPorTime", column = @Column(name = "jogo_max_jogadores_por_time")),
+        @AttributeOverride(name = "plataforma", column = @Column(name = "jogo_plataforma"))
+    })
     private Jogo jogoPrincipal;
 
+    // para o JPA
+    protected Time() {
+    }
+
     public Time(String nome, String tag, Jogador capitao, Jogo jogoPrincipal) {
         validarCampos(nome, tag, capitao, jogoPrincipal);
         
@@ -95,7 +126,12 @@ public class Time extends Participante {
      * @return true se todos os membros estão ativos
      */
     public boolean todosAtivos() {
-        return membros.stream().allMatch(Jogador::isAtivo);
+        for (int i = 0; i < membros.size(); i++) {
+            if (!membros.get(i).isAtivo()) {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
@@ -119,7 +155,25 @@ public class Time extends Participante {
 
     @Override
     public List<Jogador> getMembros() {
-        return new ArrayList<>(membros);
+        return Collections.unmodifiableList(membros);
+    }
+
+    @Override
+    public int getTotalMembros() {
+        return membros.size();
+    }
+
+    @Override
+    public Jogador getMembro(int indice) {
+        return membros.get(indice);
+    }
+
+    /**
+     * Mesmas regras do {@link #equals}: mesmo nome ou mesma tag.
+     */
+    @Override
+    public String[] getChavesInscricao() {
+        return new String[] {"nome:" + nome, "tag:" + tag};
     }
 
     public String getTag() {
@@ -1,36 +1,143 @@
 package com.arena.model;
 
 import com.arena.enums.FormatoTorneio;
+import com.arena.enums.StatusPartida;
 import com.arena.enums.StatusTorneio;
 import com.arena.exception.InscricaoFechadaException;
 import com.arena.exception.JogadorBanidoException;
 import com.arena.exception.TimeIncompletoException;
 import com.arena.exception.TorneioLotadoException;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
 
 import java.time.LocalDate;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
  * Representa um torneio de e-sports.
+ *
+ * As inscrições podem chegar de várias threads ao mesmo tempo: cada uma
+ * reserva uma vaga com um incremento atômico (nunca passa do limite) e a
+ * duplicidade de nome ou tag é conferida num conjunto concorrente, em O(1).
+ * Inscrições rodam em paralelo entre si; iniciar, finalizar e cancelar
+ * esperam as inscrições em andamento e bloqueiam as novas. Entre instâncias
+ * da aplicação, quem altera o torneio o lê com lock no banco
+ * ({@code TorneioRepository.findParaAlteracao}).
+ *
+ * O torneio, os inscritos (em ordem) e as partidas são persistidos; os
+ * inscritos e as partidas de vários torneios são carregados em lote. O
+ * chaveamento e a classificação não são: ao iniciar, os inscritos passam a
+ * ser gravados na ordem das sementes, e o torneio lido do banco remonta os
+ * dois a partir deles e das partidas gravadas na primeira vez que precisa.
  */
+@Entity
+@Table(name = "torneios")
 public class Torneio {
     private static final int MIN_PARTICIPANTES = 4;
     private static final int MAX_PARTICIPANTES = 32;
+    public static final int LIMITE_PARTICIPANTES = 8192;
 
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "torneios_seq")
+    @SequenceGenerator(name = "torneios_seq", sequenceName = "torneios_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(unique = true, nullable = false)
     private String nome;
+
+    @Embedded
+    @AttributeOverrides({
+        @AttributeOverride(name = "nome", column = @Column(name = "jogo_nome")),
+        @AttributeOverride(name = "genero", column = @Column(name = "jogo_genero")),
+        @AttributeOverride(name = "maxJogadoresPorTime", column = @Column(name = "jogo_max_jogadores_por_time")),
+        @AttributeOverride(name = "plataforma", column = @Column(name = "jogo_plataforma"))
+    })
     private Jogo jogo;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
     private FormatoTorneio formato;
+
     private LocalDate dataInicio;
     private LocalDate dataFim;
-    private StatusTorneio status;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private volatile StatusTorneio status;
+
     private double premioTotal;
+    private int maxParticipantes;
+
+    // na ordem de inscrição e, depois do início, na das sementes; alterada
+    // só com o próprio monitor
+    @ManyToMany
+    @JoinTable(name = "torneio_participantes",
+        joinColumns = @JoinColumn(name = "torneio_id"),
+        inverseJoinColumns = @JoinColumn(name = "participante_id"),
+        uniqueConstraints = @UniqueConstraint(columnNames = {"torneio_id", "participante_id"}))
+    @OrderColumn(name = "ordem")
+    @BatchSize(size = Participante.TAMANHO_LOTE)
     private List<Participante> participantes;
+
+    @OneToMany(mappedBy = "torneio", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OrderBy("id")
+    @BatchSize(size = Participante.TAMANHO_LOTE)
     private List<Partida> partidas;
 
+    private int rodadaAtual;
+    private int totalRodadas;
+    private int partidasPendentesNaRodada;
+
+    @Version
+    private Long versao;
+
+    @Transient
+    private Chaveamento chaveamento;
+    @Transient
+    private Classificacao classificacao;
+
+    // estado das inscrições concorrentes, montado a partir dos inscritos na
+    // primeira inscrição depois de carregar o torneio
+    @Transient
+    private volatile boolean indexado;
+    @Transient
+    private final AtomicInteger vagasReservadas = new AtomicInteger();
+    // chaves (nome, tag) dos inscritos
+    @Transient
+    private final Set<String> chavesInscritas = ConcurrentHashMap.newKeySet();
+    // leitura: inscrições; escrita: mudanças de status
+    @Transient
+    private final ReentrantReadWriteLock inscricoes = new ReentrantReadWriteLock();
+
+    // para o JPA
+    protected Torneio() {
+    }
+
     public Torneio(String nome, Jogo jogo, FormatoTorneio formato, LocalDate dataInicio, 
                    LocalDate dataFim, double premioTotal) {
+        this(nome, jogo, formato, dataInicio, dataFim, premioTotal, MAX_PARTICIPANTES);
+    }
+
+    /**
+     * Cria um torneio com capacidade personalizada, para qualificatórias abertas.
+     *
+     * @param maxParticipantes limite de inscritos, entre o mínimo e {@value #LIMITE_PARTICIPANTES}
+     */
+    public Torneio(String nome, Jogo jogo, FormatoTorneio formato, LocalDate dataInicio, 
+                   LocalDate dataFim, double premioTotal, int maxParticipantes) {
         validarCampos(nome, jogo, formato, dataInicio, dataFim, premioTotal);
+        if (maxParticipantes < MIN_PARTICIPANTES || maxParticipantes > LIMITE_PARTICIPANTES) {
+            throw new IllegalArgumentException(
+                String.format("Limite de participantes deve estar entre %d e %d", 
+                    MIN_PARTICIPANTES, LIMITE_PARTICIPANTES)
+            );
+        }
         
+        this.maxParticipantes = maxParticipantes;
         this.nome = nome;
         this.jogo = jogo;
         this.formato = formato;
@@ -39,6 +146,7 @@ public class Torneio {
         this.premioTotal = premioTotal;
         this.status = StatusTorneio.INSCRICOES_ABERTAS;
         this.participantes = new ArrayList<>();
+        this.indexado = true;
         this.partidas = new ArrayList<>();
     }
 
@@ -75,28 +183,107 @@ public class Torneio {
      * @throws TimeIncompletoException se o time não atende aos requisitos
      */
     public void inscrever(Participante participante) {
-        validarInscricao(participante);
-        
-        if (participantes.contains(participante)) {
-            throw new IllegalArgumentException(
-                String.format("Participante '%s' já está inscrito", participante.getNome())
-            );
+        inscrever(participante, false);
+    }
+
+    /**
+     * Inscreve um participante, sem percorrer os membros se o chamador já
+     * garantiu que nenhum está banido ou inativo (pelo índice de penalidades,
+     * por exemplo). As demais regras de {@link #inscrever(Participante)}
+     * valem igual.
+     */
+    public void inscrever(Participante participante, boolean membrosVerificados) {
+        indexar();
+        validarInscricao(participante, membrosVerificados);
+
+        inscricoes.readLock().lock();
+        try {
+            // o status pode ter mudado durante a validação dos membros
+            if (status != StatusTorneio.INSCRICOES_ABERTAS) {
+                throw new InscricaoFechadaException(nome);
+            }
+            String[] chaves = participante.getChavesInscricao();
+            reservarChaves(participante, chaves);
+            if (!reservarVaga()) {
+                liberarChaves(chaves, chaves.length);
+                throw new TorneioLotadoException(nome, maxParticipantes);
+            }
+            synchronized (participantes) {
+                participantes.add(participante);
+            }
+        } finally {
+            inscricoes.readLock().unlock();
         }
-        
-        participantes.add(participante);
     }
 
-    private void validarInscricao(Participante participante) {
+    /**
+     * Reserva as chaves do participante (o nome e, para um time, a tag).
+     *
+     * @throws IllegalArgumentException se alguma chave já está inscrita
+     */
+    private void reservarChaves(Participante participante, String[] chaves) {
+        for (int i = 0; i < chaves.length; i++) {
+            if (!chavesInscritas.add(chaves[i])) {
+                liberarChaves(chaves, i);
+                throw new IllegalArgumentException(
+                    String.format("Participante '%s' já está inscrito", participante.getNome())
+                );
+            }
+        }
+    }
+
+    private void liberarChaves(String[] chaves, int reservadas) {
+        for (int i = 0; i < reservadas; i++) {
+            chavesInscritas.remove(chaves[i]);
+        }
+    }
+
+    /**
+     * @return {@code false} se o torneio está lotado
+     */
+    private boolean reservarVaga() {
+        int reservadas;
+        do {
+            reservadas = vagasReservadas.get();
+            if (reservadas >= maxParticipantes) {
+                return false;
+            }
+        } while (!vagasReservadas.compareAndSet(reservadas, reservadas + 1));
+        return true;
+    }
+
+    /**
+     * Monta as vagas e as chaves a partir dos inscritos, uma vez por
+     * instância carregada do banco.
+     */
+    private void indexar() {
+        if (indexado) {
+            return;
+        }
+        synchronized (participantes) {
+            if (indexado) {
+                return;
+            }
+            for (Participante participante : participantes) {
+                Collections.addAll(chavesInscritas, participante.getChavesInscricao());
+            }
+            vagasReservadas.set(participantes.size());
+            indexado = true;
+        }
+    }
+
+    private void validarInscricao(Participante participante, boolean membrosVerificados) {
         if (status != StatusTorneio.INSCRICOES_ABERTAS) {
             throw new InscricaoFechadaException(nome);
         }
         
-        if (participantes.size() >= MAX_PARTICIPANTES) {
-            throw new TorneioLotadoException(nome, MAX_PARTICIPANTES);
+        if (vagasReservadas.get() >= maxParticipantes) {
+            throw new TorneioLotadoException(nome, maxParticipantes);
         }
         
-        // Validar jogadores
-        for (Jogador jogador : participante.getMembros()) {
+        // Validar jogadores, sem copiar a lista de membros
+        for (int i = 0; !membrosVerificados && i < participante.getTotalMembros(); i++) {
+            Jogador jogador = participante.getMembro(i);
             if (jogador.isBanido()) {
                 throw new JogadorBanidoException(
                     jogador.getNickname(), 
@@ -111,16 +298,9 @@ public class Torneio {
             }
         }
         
-        // Validar time
+        // Validar time (membros inativos já foram recusados acima)
         if (participante instanceof Time time) {
-            if (!time.todosAtivos()) {
-                throw new TimeIncompletoException(
-                    time.getNome(), 
-                    "nem todos os membros estão ativos"
-                );
-            }
-            
-            if (time.getMembros().size() > jogo.getMaxJogadoresPorTime()) {
+            if (time.getTotalMembros() > jogo.getMaxJogadoresPorTime()) {
                 throw new TimeIncompletoException(
                     time.getNome(), 
                     String.format("time tem mais jogadores que o permitido para %s (%d)", 
@@ -132,14 +312,29 @@ public class Torneio {
 
     /**
      * Inicia o torneio se houver participantes suficientes.
+     * Nos formatos eliminatórios, gera o chaveamento e agenda a primeira rodada.
+     * Em pontos corridos, todos se enfrentam uma vez (método do círculo); em
+     * grupos, as rodadas seguem o sistema suíço. Nos dois, cada rodada é
+     * agendada quando a anterior termina.
      * 
      * @throws IllegalStateException se não houver participantes suficientes
      */
     public void iniciar() {
+        inscricoes.writeLock().lock();
+        try {
+            iniciarComInscricoesBloqueadas();
+        } finally {
+            inscricoes.writeLock().unlock();
+        }
+    }
+
+    private void iniciarComInscricoesBloqueadas() {
         if (status != StatusTorneio.INSCRICOES_ABERTAS) {
             throw new IllegalStateException("Torneio não está com inscrições abertas");
         }
         
+        // com o lock de escrita não há inscrição em andamento: dispensa a cópia
+        List<Participante> participantes = Collections.unmodifiableList(this.participantes);
         if (participantes.size() < MIN_PARTICIPANTES) {
             throw new IllegalStateException(
                 String.format("Torneio precisa de no mínimo %d participantes (atual: %d)", 
@@ -148,38 +343,182 @@ public class Torneio {
         }
         
         this.status = StatusTorneio.EM_ANDAMENTO;
+
+        switch (formato) {
+            case ELIMINACAO_SIMPLES, ELIMINACAO_DUPLA -> this.chaveamento = new Chaveamento(
+                this, participantes, formato == FormatoTorneio.ELIMINACAO_DUPLA);
+            case PONTOS_CORRIDOS -> {
+                this.classificacao = new Classificacao(participantes);
+                this.totalRodadas = participantes.size() % 2 == 0 
+                    ? participantes.size() - 1 
+                    : participantes.size();
+                agendarProximaRodada();
+            }
+            case GRUPOS -> {
+                this.classificacao = new Classificacao(participantes);
+                // rodadas suficientes para definir um único líder invicto
+                this.totalRodadas = 32 - Integer.numberOfLeadingZeros(participantes.size() - 1);
+                agendarProximaRodada();
+            }
+        }
+
+        // a ordem das sementes depende do ELO, que muda com as partidas: fica
+        // gravada para o torneio lido do banco remontar a mesma chave e tabela.
+        // Com uma lista nova o Hibernate apaga e regrava a coleção, sem passar
+        // por dois inscritos iguais na mesma posição
+        this.participantes = new ArrayList<>(chaveamento != null
+            ? chaveamento.getSementes()
+            : classificacao.getSementes());
+    }
+
+    /**
+     * Repassa o resultado de uma partida gerada pelo torneio ao chaveamento
+     * ou à classificação, agendando a próxima rodada quando for o caso.
+     */
+    void registrarResultado(Partida partida) {
+        restaurar(partida);
+        if (chaveamento != null) {
+            chaveamento.registrarResultado(partida);
+            return;
+        }
+        if (classificacao == null) {
+            throw new IllegalStateException("Torneio não possui chaveamento nem classificação");
+        }
+
+        classificacao.registrar(partida);
+        partidasPendentesNaRodada--;
+        if (partidasPendentesNaRodada == 0 && rodadaAtual < totalRodadas) {
+            agendarProximaRodada();
+        }
+    }
+
+    /**
+     * Remonta o chaveamento ou a classificação de um torneio lido do banco, a
+     * partir dos inscritos (na ordem das sementes) e das partidas geradas.
+     *
+     * @param pendente partida já encerrada cujo resultado ainda vai ser
+     *        registrado, ou null
+     */
+    private void restaurar(Partida pendente) {
+        if (chaveamento != null || classificacao != null || status == StatusTorneio.INSCRICOES_ABERTAS) {
+            return;
+        }
+        List<Partida> geradas = new ArrayList<>();
+        for (Partida partida : partidas) {
+            if (partida.isGerada()) {
+                geradas.add(partida);
+            }
+        }
+        if (geradas.isEmpty()) {
+            // cancelado antes de iniciar
+            return;
+        }
+        switch (formato) {
+            case ELIMINACAO_SIMPLES, ELIMINACAO_DUPLA -> this.chaveamento = Chaveamento.restaurar(
+                this, participantes, formato == FormatoTorneio.ELIMINACAO_DUPLA, geradas, pendente);
+            case PONTOS_CORRIDOS, GRUPOS -> this.classificacao = restaurarClassificacao(geradas, pendente);
+        }
+    }
+
+    /**
+     * As folgas não são gravadas: com número ímpar de inscritos cada rodada
+     * tem exatamente uma, e o índice de quem folgou é o que falta na soma dos
+     * índices de quem jogou.
+     */
+    private Classificacao restaurarClassificacao(List<Partida> geradas, Partida pendente) {
+        Classificacao restaurada = Classificacao.semeada(participantes);
+        long[] somaDosQueJogaram = new long[rodadaAtual + 1];
+        for (Partida partida : geradas) {
+            somaDosQueJogaram[partida.getRodada()] += restaurada.indice(partida.getParticipante1())
+                + restaurada.indice(partida.getParticipante2());
+            boolean encerrada = partida.getStatus() == StatusPartida.FINALIZADA
+                || partida.getStatus() == StatusPartida.WO;
+            if (encerrada && partida != pendente) {
+                restaurada.registrar(partida);
+            }
+        }
+
+        int n = participantes.size();
+        if (n % 2 == 1) {
+            long somaDeTodos = (long) n * (n - 1) / 2;
+            int pontosFolga = formato == FormatoTorneio.GRUPOS ? Classificacao.PONTOS_VITORIA : 0;
+            for (int rodada = 1; rodada <= rodadaAtual; rodada++) {
+                restaurada.registrarFolga((int) (somaDeTodos - somaDosQueJogaram[rodada]), pontosFolga);
+            }
+        }
+        return restaurada;
+    }
+
+    private void agendarProximaRodada() {
+        rodadaAtual++;
+        int[] pares = formato == FormatoTorneio.PONTOS_CORRIDOS
+            ? Pareamento.circular(classificacao.getTotalParticipantes(), rodadaAtual)
+            : Pareamento.suico(classificacao);
+
+        for (int i = 0; i < pares.length; i += 2) {
+            int a = pares[i];
+            int b = pares[i + 1];
+            if (a == Pareamento.FOLGA || b == Pareamento.FOLGA) {
+                // no suíço a folga vale vitória; nos pontos corridos, nada
+                int pontosFolga = formato == FormatoTorneio.GRUPOS ? Classificacao.PONTOS_VITORIA : 0;
+                classificacao.registrarFolga(a == Pareamento.FOLGA ? b : a, pontosFolga);
+                continue;
+            }
+            Partida partida = new Partida(this, classificacao.getParticipante(a), 
+                classificacao.getParticipante(b), rodadaAtual);
+            adicionarPartidaGerada(partida);
+            partidasPendentesNaRodada++;
+        }
     }
 
     /**
      * Finaliza o torneio.
      */
     public void finalizar() {
-        if (status != StatusTorneio.EM_ANDAMENTO) {
-            throw new IllegalStateException("Torneio não está em andamento");
+        inscricoes.writeLock().lock();
+        try {
+            if (status != StatusTorneio.EM_ANDAMENTO) {
+                throw new IllegalStateException("Torneio não está em andamento");
+            }
+
+            this.status = StatusTorneio.FINALIZADO;
+        } finally {
+            inscricoes.writeLock().unlock();
         }
-        
-        this.status = StatusTorneio.FINALIZADO;
     }
 
     /**
      * Cancela o torneio.
      */
     public void cancelar() {
-        if (status == StatusTorneio.FINALIZADO) {
-            throw new IllegalStateException("Não é possível cancelar um torneio finalizado");
+        inscricoes.writeLock().lock();
+        try {
+            if (status == StatusTorneio.FINALIZADO) {
+                throw new IllegalStateException("Não é possível cancelar um torneio finalizado");
+            }
+
+            this.status = StatusTorneio.CANCELADO;
+        } finally {
+            inscricoes.writeLock().unlock();
         }
-        
-        this.status = StatusTorneio.CANCELADO;
     }
 
     /**
      * Retorna as colocações do torneio.
-     * Implementação simplificada - retorna mapa vazio por enquanto.
+     * Nos formatos eliminatórios, vem do chaveamento e inclui apenas quem já
+     * foi eliminado (ou o campeão); nos formatos por pontos, é a ordem atual
+     * da tabela. Antes do início, retorna mapa vazio.
      * 
      * @return mapa com participante e colocação
      */
     public Map<Participante, Integer> getColocacoes() {
-        // TODO: Implementar lógica de colocações baseada no formato do torneio
+        restaurar(null);
+        if (chaveamento != null) {
+            return chaveamento.getColocacoes();
+        }
+        if (classificacao != null) {
+            return classificacao.getColocacoes();
+        }
         return new HashMap<>();
     }
 
@@ -190,6 +529,11 @@ public class Torneio {
         partidas.add(partida);
     }
 
+    void adicionarPartidaGerada(Partida partida) {
+        partida.setGerada(true);
+        adicionarPartida(partida);
+    }
+
     // Getters
     public String getNome() {
         return nome;
@@ -219,14 +563,59 @@ public class Torneio {
         return premioTotal;
     }
 
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Retorna os participantes na ordem de inscrição ou, depois do início, na
+     * ordem das sementes. Com as inscrições abertas é uma cópia, e inscrições
+     * ainda em andamento podem ficar de fora; depois que elas fecham a lista
+     * não muda mais e é devolvida como visão somente leitura, sem cópia.
+     */
     public List<Participante> getParticipantes() {
-        return new ArrayList<>(participantes);
+        if (status != StatusTorneio.INSCRICOES_ABERTAS) {
+            return Collections.unmodifiableList(participantes);
+        }
+        synchronized (participantes) {
+            return new ArrayList<>(participantes);
+        }
+    }
+
+    public int getTotalParticipantes() {
+        synchronized (participantes) {
+            return participantes.size();
+        }
     }
 
     public List<Partida> getPartidas() {
         return new ArrayList<>(partidas);
     }
 
+    public int getMaxParticipantes() {
+        return maxParticipantes;
+    }
+
+    @JsonIgnore
+    public Chaveamento getChaveamento() {
+        restaurar(null);
+        return chaveamento;
+    }
+
+    @JsonIgnore
+    public Classificacao getClassificacao() {
+        restaurar(null);
+        return classificacao;
+    }
+
+    public int getRodadaAtual() {
+        return rodadaAtual;
+    }
+
+    public int getTotalRodadas() {
+        return totalRodadas;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -243,6 +632,6 @@ public class Torneio {
     @Override
     public String toString() {
         return String.format("[%s] %s - %s (%s) - %d/%d participantes - Prêmio: R$ %.2f", 
-            status, nome, jogo.getNome(), formato, participantes.size(), MAX_PARTICIPANTES, premioTotal);
+            status, nome, jogo.getNome(), formato, getTotalParticipantes(), maxParticipantes, premioTotal);
     }
 }
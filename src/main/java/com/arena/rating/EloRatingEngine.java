@@ -0,0 +1,128 @@
+package com.arena.rating;
+
+import com.arena.enums.Categoria;
+import com.arena.model.Jogador;
+
+import java.util.List;
+
+/**
+ * Elo clássico: a variação é {@code K * (resultado - esperado)}, com o
+ * resultado esperado dado pela diferença de rating
+ * ({@code 1 / (1 + 10^((Rb - Ra) / 400))}) e o K pela {@link Categoria} de
+ * cada jogador. Vencer um adversário bem mais forte vale muito; vencer um
+ * bem mais fraco, quase nada.
+ *
+ * O rating de um time é a média do ELO dos membros. Todos os membros
+ * recebem a mesma variação esperada, escalada pelo K de cada um.
+ */
+public class EloRatingEngine implements RatingEngine {
+
+    @Override
+    public void aplicar(List<Jogador> lado1, List<Jogador> lado2, double pontuacao1) {
+        double esperado1 = esperado(mediaElo(lado1), mediaElo(lado2));
+        ajustar(lado1, pontuacao1 - esperado1);
+        ajustar(lado2, esperado1 - pontuacao1);
+    }
+
+    @Override
+    public void aplicarPartida(PeriodoRating periodo, int partida) {
+        int inicio = periodo.inicioLado[2 * partida];
+        int meio = periodo.inicioLado[2 * partida + 1];
+        int fim = periodo.inicioLado[2 * partida + 2];
+        double[] rating = periodo.rating;
+        int[] membros = periodo.membros;
+
+        double esperado1 = esperado(mediaElo(rating, membros, inicio, meio), mediaElo(rating, membros, meio, fim));
+        double surpresa1 = periodo.pontuacao1[partida] - esperado1;
+        for (int i = inicio; i < meio; i++) {
+            rating[membros[i]] = novoElo((int) rating[membros[i]], surpresa1);
+        }
+        for (int i = meio; i < fim; i++) {
+            rating[membros[i]] = novoElo((int) rating[membros[i]], -surpresa1);
+        }
+    }
+
+    /**
+     * No período, cada jogador acumula {@code resultado - esperado} de todas
+     * as suas partidas (contra os ratings do início) e recebe uma única
+     * variação no fim.
+     */
+    @Override
+    public void aplicarPeriodo(PeriodoRating periodo) {
+        int partidas = periodo.partidas;
+        double[] media1 = new double[partidas];
+        double[] media2 = new double[partidas];
+        periodo.mediasDosLados(periodo.rating, false, media1, media2);
+
+        double[] surpresa = new double[partidas];
+        for (int k = 0; k < partidas; k++) {
+            surpresa[k] = periodo.pontuacao1[k] - esperado(media1[k], media2[k]);
+        }
+
+        double[] acumulado = new double[periodo.jogadores];
+        int[] inicioLado = periodo.inicioLado;
+        int[] membros = periodo.membros;
+        for (int k = 0; k < partidas; k++) {
+            double s = surpresa[k];
+            for (int i = inicioLado[2 * k]; i < inicioLado[2 * k + 1]; i++) {
+                acumulado[membros[i]] += s;
+            }
+            for (int i = inicioLado[2 * k + 1]; i < inicioLado[2 * k + 2]; i++) {
+                acumulado[membros[i]] -= s;
+            }
+        }
+
+        double[] rating = periodo.rating;
+        for (int j = 0; j < periodo.jogadores; j++) {
+            double variacao = Math.round(fatorK(rating[j]) * acumulado[j]);
+            rating[j] = Math.max(Jogador.ELO_MINIMO, rating[j] + variacao);
+        }
+    }
+
+    /**
+     * Pontuação esperada de quem tem {@code rating} contra {@code adversario}.
+     */
+    static double esperado(double rating, double adversario) {
+        return 1.0 / (1.0 + Math.pow(10.0, (adversario - rating) / 400.0));
+    }
+
+    private static double fatorK(double rating) {
+        return Categoria.getCategoriaPorElo((int) rating).getFatorK();
+    }
+
+    private static void ajustar(List<Jogador> lado, double surpresa) {
+        for (int i = 0; i < lado.size(); i++) {
+            Jogador jogador = lado.get(i);
+            int variacao = novoElo(jogador.getElo(), surpresa) - jogador.getElo();
+            if (variacao >= 0) {
+                jogador.ganharElo(variacao);
+            } else {
+                jogador.perderElo(-variacao);
+            }
+        }
+    }
+
+    /**
+     * ELO depois de uma partida com {@code resultado - esperado} igual a
+     * {@code surpresa}, com o piso de {@link Jogador#ELO_MINIMO}.
+     */
+    private static int novoElo(int elo, double surpresa) {
+        return Math.max(Jogador.ELO_MINIMO, elo + (int) Math.round(fatorK(elo) * surpresa));
+    }
+
+    private static double mediaElo(double[] rating, int[] membros, int de, int ate) {
+        long soma = 0;
+        for (int i = de; i < ate; i++) {
+            soma += (long) rating[membros[i]];
+        }
+        return (double) soma / (ate - de);
+    }
+
+    private static double mediaElo(List<Jogador> lado) {
+        long soma = 0;
+        for (int i = 0; i < lado.size(); i++) {
+            soma += lado.get(i).getElo();
+        }
+        return (double) soma / lado.size();
+    }
+}
@@ -0,0 +1,277 @@
+package com.arena.rating;
+
+import com.arena.model.Jogador;
+
+import java.util.List;
+
+/**
+ * Glicko-2 (Glickman, "Example of the Glicko-2 system"). Além do rating,
+ * cada jogador tem um desvio (a incerteza sobre o rating) e uma volatilidade:
+ * jogadores novos ou inativos têm desvio alto e mudam rápido, jogadores
+ * estáveis mudam devagar.
+ *
+ * O ELO do jogador é o rating na escala do Glicko; o desvio e a volatilidade
+ * ficam em {@link Jogador#getDesvioRating()} e {@link Jogador#getVolatilidade()}.
+ * Um time joga como um adversário com a média dos ratings dos membros e a
+ * média quadrática dos desvios, e cada membro é atualizado contra esse
+ * adversário agregado com o próprio rating.
+ *
+ * Desvio e volatilidade que não sejam positivos são tratados como os de um
+ * jogador novo (ver {@link PeriodoRating#adicionarJogador}).
+ *
+ * Em {@link #aplicar} cada partida é um período de uma partida só; em
+ * {@link #aplicarPeriodo} todas as partidas do período entram juntas, e os
+ * jogadores que não jogaram só têm o desvio aumentado.
+ */
+public class Glicko2RatingEngine implements RatingEngine {
+    private static final double ESCALA = 173.7178;
+    private static final double CENTRO = 1500;
+    private static final double PRECISAO = 0.000001;
+
+    private final double tau;
+
+    /**
+     * @param tau restringe a variação da volatilidade; o artigo recomenda entre 0,3 e 1,2
+     */
+    public Glicko2RatingEngine(double tau) {
+        if (tau <= 0) {
+            throw new IllegalArgumentException("Tau deve ser positivo");
+        }
+        this.tau = tau;
+    }
+
+    @Override
+    public void aplicar(List<Jogador> lado1, List<Jogador> lado2, double pontuacao1) {
+        double mu1 = mediaMu(lado1);
+        double phi1 = mediaQuadraticaPhi(lado1);
+        double mu2 = mediaMu(lado2);
+        double phi2 = mediaQuadraticaPhi(lado2);
+        for (int i = 0; i < lado1.size(); i++) {
+            atualizar(lado1.get(i), mu2, phi2, pontuacao1);
+        }
+        for (int i = 0; i < lado2.size(); i++) {
+            atualizar(lado2.get(i), mu1, phi1, 1 - pontuacao1);
+        }
+    }
+
+    @Override
+    public void aplicarPeriodo(PeriodoRating periodo) {
+        int jogadores = periodo.jogadores;
+        int partidas = periodo.partidas;
+        double[] mu = new double[jogadores];
+        double[] phi = new double[jogadores];
+        for (int j = 0; j < jogadores; j++) {
+            mu[j] = (periodo.rating[j] - CENTRO) / ESCALA;
+            phi[j] = periodo.desvio[j] / ESCALA;
+        }
+
+        // adversário agregado de cada lado e o g(phi) dele
+        double[] mu1 = new double[partidas];
+        double[] mu2 = new double[partidas];
+        double[] g1 = new double[partidas];
+        double[] g2 = new double[partidas];
+        periodo.mediasDosLados(mu, false, mu1, mu2);
+        periodo.mediasDosLados(phi, true, g1, g2);
+        for (int k = 0; k < partidas; k++) {
+            g1[k] = g(Math.sqrt(g1[k]));
+            g2[k] = g(Math.sqrt(g2[k]));
+        }
+
+        // somas do passo 3 e 4 por jogador: 1/v e sum(g * (s - E))
+        double[] inversoV = new double[jogadores];
+        double[] somaSurpresa = new double[jogadores];
+        int[] inicioLado = periodo.inicioLado;
+        int[] membros = periodo.membros;
+        for (int k = 0; k < partidas; k++) {
+            double s1 = periodo.pontuacao1[k];
+            for (int i = inicioLado[2 * k]; i < inicioLado[2 * k + 1]; i++) {
+                acumular(membros[i], mu, mu2[k], g2[k], s1, inversoV, somaSurpresa);
+            }
+            for (int i = inicioLado[2 * k + 1]; i < inicioLado[2 * k + 2]; i++) {
+                acumular(membros[i], mu, mu1[k], g1[k], 1 - s1, inversoV, somaSurpresa);
+            }
+        }
+
+        for (int j = 0; j < jogadores; j++) {
+            double sigma = periodo.volatilidade[j];
+            if (inversoV[j] == 0) {
+                periodo.desvio[j] = limitarDesvio(Math.sqrt(phi[j] * phi[j] + sigma * sigma));
+                continue;
+            }
+            double v = 1 / inversoV[j];
+            double novaSigma = novaVolatilidade(phi[j], sigma, v, v * somaSurpresa[j]);
+            double phiEstrela = Math.sqrt(phi[j] * phi[j] + novaSigma * novaSigma);
+            double novoPhi = 1 / Math.sqrt(1 / (phiEstrela * phiEstrela) + inversoV[j]);
+            double novoMu = mu[j] + novoPhi * novoPhi * somaSurpresa[j];
+
+            periodo.rating[j] = Math.max(Jogador.ELO_MINIMO, ESCALA * novoMu + CENTRO);
+            periodo.desvio[j] = limitarDesvio(novoPhi);
+            periodo.volatilidade[j] = novaSigma;
+        }
+    }
+
+    @Override
+    public void aplicarPartida(PeriodoRating periodo, int partida) {
+        int inicio = periodo.inicioLado[2 * partida];
+        int meio = periodo.inicioLado[2 * partida + 1];
+        int fim = periodo.inicioLado[2 * partida + 2];
+        double mu1 = mediaMu(periodo, inicio, meio);
+        double phi1 = mediaQuadraticaPhi(periodo, inicio, meio);
+        double mu2 = mediaMu(periodo, meio, fim);
+        double phi2 = mediaQuadraticaPhi(periodo, meio, fim);
+        double pontuacao1 = periodo.pontuacao1[partida];
+        for (int i = inicio; i < meio; i++) {
+            atualizar(periodo, periodo.membros[i], mu2, phi2, pontuacao1);
+        }
+        for (int i = meio; i < fim; i++) {
+            atualizar(periodo, periodo.membros[i], mu1, phi1, 1 - pontuacao1);
+        }
+    }
+
+    private void atualizar(Jogador jogador, double muAdversario, double phiAdversario, double pontuacao) {
+        Atualizacao nova = atualizar(jogador.getElo(), PeriodoRating.desvioValido(jogador.getDesvioRating()),
+            PeriodoRating.volatilidadeValida(jogador.getVolatilidade()), muAdversario, phiAdversario, pontuacao);
+        int variacao = nova.elo() - jogador.getElo();
+        if (variacao >= 0) {
+            jogador.ganharElo(variacao);
+        } else {
+            jogador.perderElo(-variacao);
+        }
+        jogador.setDesvioRating(nova.desvio());
+        jogador.setVolatilidade(nova.volatilidade());
+    }
+
+    private void atualizar(PeriodoRating periodo, int jogador, double muAdversario, double phiAdversario,
+                           double pontuacao) {
+        Atualizacao nova = atualizar((int) periodo.rating[jogador], periodo.desvio[jogador],
+            periodo.volatilidade[jogador], muAdversario, phiAdversario, pontuacao);
+        periodo.rating[jogador] = nova.elo();
+        periodo.desvio[jogador] = nova.desvio();
+        periodo.volatilidade[jogador] = nova.volatilidade();
+    }
+
+    /**
+     * Um período de uma partida só contra o adversário agregado, com o ELO
+     * arredondado e com o piso de {@link Jogador#ELO_MINIMO}.
+     */
+    private Atualizacao atualizar(int elo, double desvio, double volatilidade, double muAdversario,
+                                  double phiAdversario, double pontuacao) {
+        double mu = (elo - CENTRO) / ESCALA;
+        double phi = desvio / ESCALA;
+        double g = g(phiAdversario);
+        double esperado = esperado(mu, muAdversario, g);
+        double v = 1 / (g * g * esperado * (1 - esperado));
+
+        double novaSigma = novaVolatilidade(phi, volatilidade, v, v * g * (pontuacao - esperado));
+        double phiEstrela = Math.sqrt(phi * phi + novaSigma * novaSigma);
+        double novoPhi = 1 / Math.sqrt(1 / (phiEstrela * phiEstrela) + 1 / v);
+        double novoMu = mu + novoPhi * novoPhi * g * (pontuacao - esperado);
+
+        int novoElo = Math.max(Jogador.ELO_MINIMO, (int) Math.round(ESCALA * novoMu + CENTRO));
+        return new Atualizacao(novoElo, limitarDesvio(novoPhi), novaSigma);
+    }
+
+    private static void acumular(int jogador, double[] mu, double muAdversario, double g, double pontuacao,
+                                 double[] inversoV, double[] somaSurpresa) {
+        double esperado = esperado(mu[jogador], muAdversario, g);
+        inversoV[jogador] += g * g * esperado * (1 - esperado);
+        somaSurpresa[jogador] += g * (pontuacao - esperado);
+    }
+
+    /**
+     * Passo 5 do artigo: nova volatilidade pelo método de Illinois.
+     */
+    private double novaVolatilidade(double phi, double sigma, double v, double delta) {
+        double a = Math.log(sigma * sigma);
+        double phi2 = phi * phi;
+        double delta2 = delta * delta;
+
+        double limiteA = a;
+        double limiteB;
+        if (delta2 > phi2 + v) {
+            limiteB = Math.log(delta2 - phi2 - v);
+        } else {
+            int k = 1;
+            while (f(a - k * tau, a, phi2, v, delta2) < 0) {
+                k++;
+            }
+            limiteB = a - k * tau;
+        }
+
+        double fA = f(limiteA, a, phi2, v, delta2);
+        double fB = f(limiteB, a, phi2, v, delta2);
+        while (Math.abs(limiteB - limiteA) > PRECISAO) {
+            double c = limiteA + (limiteA - limiteB) * fA / (fB - fA);
+            double fC = f(c, a, phi2, v, delta2);
+            if (fC * fB < 0) {
+                limiteA = limiteB;
+                fA = fB;
+            } else {
+                fA = fA / 2;
+            }
+            limiteB = c;
+            fB = fC;
+        }
+        return Math.exp(limiteA / 2);
+    }
+
+    private double f(double x, double a, double phi2, double v, double delta2) {
+        double ex = Math.exp(x);
+        double denominador = phi2 + v + ex;
+        return ex * (delta2 - phi2 - v - ex) / (2 * denominador * denominador) - (x - a) / (tau * tau);
+    }
+
+    private static double g(double phi) {
+        return 1 / Math.sqrt(1 + 3 * phi * phi / (Math.PI * Math.PI));
+    }
+
+    private static double esperado(double mu, double muAdversario, double g) {
+        return 1 / (1 + Math.exp(-g * (mu - muAdversario)));
+    }
+
+    /**
+     * Converte phi para a escala do desvio, sem passar do desvio de um
+     * jogador novo.
+     */
+    private static double limitarDesvio(double phi) {
+        return Math.min(Jogador.DESVIO_RATING_INICIAL, phi * ESCALA);
+    }
+
+    private static double mediaMu(List<Jogador> lado) {
+        double soma = 0;
+        for (int i = 0; i < lado.size(); i++) {
+            soma += (lado.get(i).getElo() - CENTRO) / ESCALA;
+        }
+        return soma / lado.size();
+    }
+
+    private static double mediaQuadraticaPhi(List<Jogador> lado) {
+        double soma = 0;
+        for (int i = 0; i < lado.size(); i++) {
+            double phi = PeriodoRating.desvioValido(lado.get(i).getDesvioRating()) / ESCALA;
+            soma += phi * phi;
+        }
+        return Math.sqrt(soma / lado.size());
+    }
+
+    // as mesmas somas, na mesma ordem, sobre os arrays do período
+
+    private static double mediaMu(PeriodoRating periodo, int de, int ate) {
+        double soma = 0;
+        for (int i = de; i < ate; i++) {
+            soma += (periodo.rating[periodo.membros[i]] - CENTRO) / ESCALA;
+        }
+        return soma / (ate - de);
+    }
+
+    private static double mediaQuadraticaPhi(PeriodoRating periodo, int de, int ate) {
+        double soma = 0;
+        for (int i = de; i < ate; i++) {
+            double phi = periodo.desvio[periodo.membros[i]] / ESCALA;
+            soma += phi * phi;
+        }
+        return Math.sqrt(soma / (ate - de));
+    }
+
+    private record Atualizacao(int elo, double desvio, double volatilidade) {}
+}
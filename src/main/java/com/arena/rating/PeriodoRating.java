@@ -0,0 +1,194 @@
+package com.arena.rating;
+
+import com.arena.model.Jogador;
+
+import java.util.Arrays;
+
+/**
+ * Um período de rating em arrays primitivos, para o cálculo em lote do
+ * {@link RatingEngine}.
+ *
+ * Os jogadores são índices de 0 a {@code getJogadores() - 1}, com rating,
+ * desvio e volatilidade em arrays paralelos. Os lados das partidas ficam
+ * num único array de membros: os membros do lado 1 da partida {@code k}
+ * ocupam {@code [inicioLado[2k], inicioLado[2k + 1])} e os do lado 2,
+ * {@code [inicioLado[2k + 1], inicioLado[2k + 2])}.
+ */
+public final class PeriodoRating {
+    int jogadores;
+    double[] rating;
+    double[] desvio;
+    double[] volatilidade;
+
+    int partidas;
+    int[] inicioLado;
+    int[] membros;
+    double[] pontuacao1;
+
+    public PeriodoRating(int capacidadeJogadores, int capacidadePartidas) {
+        int capacidade = Math.max(1, capacidadeJogadores);
+        this.rating = new double[capacidade];
+        this.desvio = new double[capacidade];
+        this.volatilidade = new double[capacidade];
+
+        int capacidadePartida = Math.max(1, capacidadePartidas);
+        this.inicioLado = new int[2 * capacidadePartida + 1];
+        this.membros = new int[2 * capacidadePartida];
+        this.pontuacao1 = new double[capacidadePartida];
+    }
+
+    /**
+     * Adiciona um jogador ao período. Desvio ou volatilidade que não sejam
+     * positivos (colunas acrescentadas sem default) valem os de um jogador
+     * novo.
+     *
+     * @return o índice do jogador
+     */
+    public int adicionarJogador(double rating, double desvio, double volatilidade) {
+        if (jogadores == this.rating.length) {
+            int capacidade = jogadores * 2;
+            this.rating = Arrays.copyOf(this.rating, capacidade);
+            this.desvio = Arrays.copyOf(this.desvio, capacidade);
+            this.volatilidade = Arrays.copyOf(this.volatilidade, capacidade);
+        }
+        this.rating[jogadores] = rating;
+        this.desvio[jogadores] = desvioValido(desvio);
+        this.volatilidade[jogadores] = volatilidadeValida(volatilidade);
+        return jogadores++;
+    }
+
+    public int adicionarJogador(Jogador jogador) {
+        return adicionarJogador(jogador.getElo(), jogador.getDesvioRating(), jogador.getVolatilidade());
+    }
+
+    /**
+     * Adiciona uma partida 1x1.
+     *
+     * @param pontuacao1 resultado do jogador 1 ({@link RatingEngine#VITORIA}, ...)
+     */
+    public void adicionarPartida(int jogador1, int jogador2, double pontuacao1) {
+        validarJogador(jogador1);
+        validarJogador(jogador2);
+        if (jogador1 == jogador2) {
+            throw new IllegalArgumentException("Um jogador não pode estar nos dois lados");
+        }
+        garantirPartida(2);
+        int inicio = inicioLado[2 * partidas];
+        membros[inicio] = jogador1;
+        membros[inicio + 1] = jogador2;
+        fecharPartida(inicio + 1, inicio + 2, pontuacao1);
+    }
+
+    /**
+     * Adiciona uma partida entre dois times.
+     */
+    public void adicionarPartida(int[] lado1, int[] lado2, double pontuacao1) {
+        if (lado1.length == 0 || lado2.length == 0) {
+            throw new IllegalArgumentException("Cada lado precisa de pelo menos um jogador");
+        }
+        for (int jogador : lado1) {
+            validarJogador(jogador);
+        }
+        for (int jogador : lado2) {
+            validarJogador(jogador);
+        }
+        garantirPartida(lado1.length + lado2.length);
+        int inicio = inicioLado[2 * partidas];
+        System.arraycopy(lado1, 0, membros, inicio, lado1.length);
+        System.arraycopy(lado2, 0, membros, inicio + lado1.length, lado2.length);
+        fecharPartida(inicio + lado1.length, inicio + lado1.length + lado2.length, pontuacao1);
+    }
+
+    public int getJogadores() {
+        return jogadores;
+    }
+
+    public int getPartidas() {
+        return partidas;
+    }
+
+    public double getRating(int jogador) {
+        return rating[jogador];
+    }
+
+    public double getDesvio(int jogador) {
+        return desvio[jogador];
+    }
+
+    public double getVolatilidade(int jogador) {
+        return volatilidade[jogador];
+    }
+
+    /**
+     * Leva o resultado do período para o jogador: o ELO (arredondado, com o
+     * piso de {@link Jogador#ELO_MINIMO} e a categoria atualizada), o desvio
+     * e a volatilidade.
+     */
+    public void aplicarEm(Jogador jogador, int indice) {
+        int variacao = (int) Math.round(rating[indice]) - jogador.getElo();
+        if (variacao >= 0) {
+            jogador.ganharElo(variacao);
+        } else {
+            jogador.perderElo(-variacao);
+        }
+        jogador.setDesvioRating(desvio[indice]);
+        jogador.setVolatilidade(volatilidade[indice]);
+    }
+
+    // o log da volatilidade e o 1/desvio² do Glicko-2 não admitem zero
+    static double desvioValido(double desvio) {
+        return desvio > 0 ? desvio : Jogador.DESVIO_RATING_INICIAL;
+    }
+
+    static double volatilidadeValida(double volatilidade) {
+        return volatilidade > 0 ? volatilidade : Jogador.VOLATILIDADE_INICIAL;
+    }
+
+    /**
+     * Rating médio de cada lado de cada partida, a partir de {@code valores}
+     * (ou da média dos quadrados, se {@code quadratica}).
+     */
+    void mediasDosLados(double[] valores, boolean quadratica, double[] lado1, double[] lado2) {
+        for (int k = 0; k < partidas; k++) {
+            lado1[k] = media(valores, inicioLado[2 * k], inicioLado[2 * k + 1], quadratica);
+            lado2[k] = media(valores, inicioLado[2 * k + 1], inicioLado[2 * k + 2], quadratica);
+        }
+    }
+
+    private double media(double[] valores, int de, int ate, boolean quadratica) {
+        double soma = 0;
+        for (int i = de; i < ate; i++) {
+            double valor = valores[membros[i]];
+            soma += quadratica ? valor * valor : valor;
+        }
+        return soma / (ate - de);
+    }
+
+    private void validarJogador(int jogador) {
+        if (jogador < 0 || jogador >= jogadores) {
+            throw new IllegalArgumentException("Jogador fora do período: " + jogador);
+        }
+    }
+
+    private void garantirPartida(int novosMembros) {
+        if (partidas == pontuacao1.length) {
+            pontuacao1 = Arrays.copyOf(pontuacao1, partidas * 2);
+            inicioLado = Arrays.copyOf(inicioLado, partidas * 4 + 1);
+        }
+        int necessario = inicioLado[2 * partidas] + novosMembros;
+        if (necessario > membros.length) {
+            membros = Arrays.copyOf(membros, Math.max(necessario, membros.length * 2));
+        }
+    }
+
+    private void fecharPartida(int fimLado1, int fimLado2, double pontuacao1) {
+        if (pontuacao1 != RatingEngine.VITORIA && pontuacao1 != RatingEngine.EMPATE
+                && pontuacao1 != RatingEngine.DERROTA) {
+            throw new IllegalArgumentException("Pontuação deve ser 1, 0,5 ou 0");
+        }
+        inicioLado[2 * partidas + 1] = fimLado1;
+        inicioLado[2 * partidas + 2] = fimLado2;
+        this.pontuacao1[partidas] = pontuacao1;
+        partidas++;
+    }
+}
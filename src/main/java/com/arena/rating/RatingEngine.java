@@ -0,0 +1,56 @@
+package com.arena.rating;
+
+import com.arena.model.Jogador;
+
+import java.util.List;
+
+/**
+ * Cálculo da variação de rating dos jogadores a partir dos resultados.
+ *
+ * {@link #aplicar} atualiza os jogadores de uma partida assim que ela termina
+ * (é o que {@link com.arena.model.Partida#finalizar(int, int)} usa).
+ * {@link #aplicarPeriodo} processa um período de rating inteiro: todas as
+ * partidas são avaliadas contra os ratings do início do período, sobre os
+ * arrays de {@link PeriodoRating}, sem objetos por partida.
+ *
+ * Times jogam com um rating agregado dos membros, e cada membro é atualizado
+ * contra o rating agregado do lado adversário.
+ */
+public interface RatingEngine {
+    double VITORIA = 1.0;
+    double EMPATE = 0.5;
+    double DERROTA = 0.0;
+
+    /**
+     * Aplica o resultado de uma partida aos jogadores dos dois lados.
+     *
+     * @param pontuacao1 resultado do lado 1: {@link #VITORIA}, {@link #EMPATE} ou {@link #DERROTA}
+     */
+    void aplicar(List<Jogador> lado1, List<Jogador> lado2, double pontuacao1);
+
+    /**
+     * Aplica todas as partidas do período, atualizando os ratings do próprio
+     * {@code periodo}.
+     */
+    void aplicarPeriodo(PeriodoRating periodo);
+
+    /**
+     * Aplica só a partida {@code partida} do período, sobre os ratings atuais
+     * do período, com exatamente a mesma aritmética de {@link #aplicar}
+     * (inclusive o arredondamento do ELO a cada partida). Aplicar as partidas
+     * uma a uma, em ordem, dá o mesmo resultado que passá-las por
+     * {@link #aplicar}. Partidas sem jogadores em comum podem ser aplicadas
+     * em paralelo.
+     */
+    void aplicarPartida(PeriodoRating periodo, int partida);
+
+    /**
+     * Converte um placar no resultado do lado 1.
+     */
+    static double pontuacao(int placar1, int placar2) {
+        if (placar1 == placar2) {
+            return EMPATE;
+        }
+        return placar1 > placar2 ? VITORIA : DERROTA;
+    }
+}
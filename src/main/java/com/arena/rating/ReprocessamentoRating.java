@@ -0,0 +1,168 @@
+package com.arena.rating;
+
+import com.arena.model.Jogador;
+import com.arena.model.Partida;
+
+import java.util.BitSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * Reaplica um histórico de partidas, em ordem, sobre os arrays de um
+ * {@link PeriodoRating}, em paralelo e com resultado idêntico ao da aplicação
+ * serial.
+ *
+ * Cada partida depende só da partida anterior de cada um dos seus jogadores.
+ * O histórico é dividido em ondas: a onda de uma partida é uma a mais que a
+ * maior onda das partidas anteriores dos seus jogadores. Partidas da mesma
+ * onda não têm jogadores em comum (é um refinamento dos componentes
+ * independentes de jogadores, que também separa as partidas de um mesmo
+ * componente) e rodam em paralelo num {@link ForkJoinPool}; as ondas rodam
+ * em ordem. Cada partida vê exatamente os ratings que veria na aplicação
+ * serial e usa a mesma aritmética de {@link RatingEngine#aplicarPartida},
+ * então o resultado é o mesmo bit a bit, com qualquer número de threads.
+ *
+ * Os WOs têm o ausente no lado 2 e usam os valores fixos de
+ * {@link Partida#distribuirEloWO}.
+ */
+public final class ReprocessamentoRating {
+    // abaixo disso a onda roda inteira na thread que chamou, sem fork
+    private static final int PARTIDAS_POR_TAREFA = 256;
+
+    private final RatingEngine engine;
+    private final PeriodoRating historico;
+    private final BitSet wos;
+
+    private int ondas;
+    private int[] inicioOnda;
+    private int[] ordem;
+
+    /**
+     * @param historico jogadores com o rating inicial e as partidas na ordem em que foram aplicadas
+     * @param wos partidas do histórico que foram WO (com o ausente no lado 2)
+     */
+    public ReprocessamentoRating(RatingEngine engine, PeriodoRating historico, BitSet wos) {
+        this.engine = engine;
+        this.historico = historico;
+        this.wos = wos;
+    }
+
+    /**
+     * Reaplica o histórico em paralelo no {@code pool}, avisando o
+     * {@code progresso} com o número de partidas aplicadas ao fim de cada onda.
+     */
+    public void executar(ForkJoinPool pool, IntConsumer progresso) {
+        dividirEmOndas();
+        int aplicadas = 0;
+        for (int onda = 0; onda < ondas; onda++) {
+            int de = inicioOnda[onda];
+            int ate = inicioOnda[onda + 1];
+            if (ate - de <= PARTIDAS_POR_TAREFA) {
+                aplicar(de, ate);
+            } else {
+                pool.invoke(new Onda(de, ate));
+            }
+            aplicadas += ate - de;
+            progresso.accept(aplicadas);
+        }
+    }
+
+    /**
+     * Reaplica o histórico partida a partida, na ordem original.
+     */
+    public void executarEmSerie() {
+        for (int k = 0; k < historico.partidas; k++) {
+            aplicarPartida(k);
+        }
+    }
+
+    /**
+     * Número de ondas da última execução paralela.
+     */
+    public int getOndas() {
+        return ondas;
+    }
+
+    private void dividirEmOndas() {
+        int partidas = historico.partidas;
+        int[] inicioLado = historico.inicioLado;
+        int[] membros = historico.membros;
+
+        // onda (a partir de 1) de cada partida e a última onda de cada jogador
+        int[] ondaDaPartida = new int[partidas];
+        int[] ultimaOnda = new int[historico.jogadores];
+        int maior = 0;
+        for (int k = 0; k < partidas; k++) {
+            int fim = inicioLado[2 * k + 2];
+            int onda = 0;
+            for (int i = inicioLado[2 * k]; i < fim; i++) {
+                onda = Math.max(onda, ultimaOnda[membros[i]]);
+            }
+            onda++;
+            for (int i = inicioLado[2 * k]; i < fim; i++) {
+                ultimaOnda[membros[i]] = onda;
+            }
+            ondaDaPartida[k] = onda;
+            maior = Math.max(maior, onda);
+        }
+
+        // counting sort estável das partidas por onda
+        inicioOnda = new int[maior + 1];
+        for (int k = 0; k < partidas; k++) {
+            inicioOnda[ondaDaPartida[k]]++;
+        }
+        for (int onda = 1; onda <= maior; onda++) {
+            inicioOnda[onda] += inicioOnda[onda - 1];
+        }
+        ordem = new int[partidas];
+        int[] proxima = new int[maior];
+        System.arraycopy(inicioOnda, 0, proxima, 0, maior);
+        for (int k = 0; k < partidas; k++) {
+            ordem[proxima[ondaDaPartida[k] - 1]++] = k;
+        }
+        ondas = maior;
+    }
+
+    private void aplicar(int de, int ate) {
+        for (int i = de; i < ate; i++) {
+            aplicarPartida(ordem[i]);
+        }
+    }
+
+    private void aplicarPartida(int partida) {
+        if (!wos.get(partida)) {
+            engine.aplicarPartida(historico, partida);
+            return;
+        }
+        double[] rating = historico.rating;
+        int[] membros = historico.membros;
+        int meio = historico.inicioLado[2 * partida + 1];
+        for (int i = historico.inicioLado[2 * partida]; i < meio; i++) {
+            rating[membros[i]] += Partida.ELO_WO_VENCEDOR;
+        }
+        for (int i = meio; i < historico.inicioLado[2 * partida + 2]; i++) {
+            rating[membros[i]] = Math.max(Jogador.ELO_MINIMO, rating[membros[i]] - Partida.ELO_WO_PERDEDOR);
+        }
+    }
+
+    private class Onda extends RecursiveAction {
+        private final int de;
+        private final int ate;
+
+        Onda(int de, int ate) {
+            this.de = de;
+            this.ate = ate;
+        }
+
+        @Override
+        protected void compute() {
+            if (ate - de <= PARTIDAS_POR_TAREFA) {
+                aplicar(de, ate);
+                return;
+            }
+            int meio = (de + ate) >>> 1;
+            invokeAll(new Onda(de, meio), new Onda(meio, ate));
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.arena.repository;
+
+import com.arena.model.BlocoHistoricoElo;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Repositório dos blocos do histórico de ELO.
+ */
+@Repository
+public interface HistoricoEloRepository extends JpaRepository<BlocoHistoricoElo, Long> {
+
+    /**
+     * Blocos do jogador que têm registros entre {@code de} e {@code ate}, do
+     * mais recente para o mais antigo, na ordem do índice
+     * {@code (jogadorId, momentoFinal DESC)}. Em stream, para que a leitura
+     * pare assim que houver registros suficientes.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "16"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT b FROM BlocoHistoricoElo b WHERE b.jogadorId = :jogadorId "
+         + "AND b.momentoFinal >= :de AND b.momentoInicial <= :ate ORDER BY b.momentoFinal DESC, b.id DESC")
+    Stream<BlocoHistoricoElo> streamLinhaDoTempo(Long jogadorId, long de, long ate);
+
+    /**
+     * Jogadores com dois blocos incompletos vizinhos, sem bloco cheio entre
+     * eles na ordem {@code (momentoFinal, id)} da compactação. Quem só tem
+     * incompletos separados por blocos cheios não tem o que juntar e fica de
+     * fora, para não ocupar o limite de toda compactação.
+     */
+    @Query("SELECT DISTINCT b.jogadorId FROM BlocoHistoricoElo b WHERE b.quantidade < " + BlocoHistoricoElo.REGISTROS_POR_BLOCO
+         + " AND EXISTS (SELECT 1 FROM BlocoHistoricoElo a WHERE a.jogadorId = b.jogadorId"
+         + "   AND a.quantidade < " + BlocoHistoricoElo.REGISTROS_POR_BLOCO
+         + "   AND (a.momentoFinal < b.momentoFinal OR (a.momentoFinal = b.momentoFinal AND a.id < b.id))"
+         + "   AND NOT EXISTS (SELECT 1 FROM BlocoHistoricoElo c WHERE c.jogadorId = b.jogadorId"
+         + "     AND c.quantidade >= " + BlocoHistoricoElo.REGISTROS_POR_BLOCO
+         + "     AND (c.momentoFinal > a.momentoFinal OR (c.momentoFinal = a.momentoFinal AND c.id > a.id))"
+         + "     AND (c.momentoFinal < b.momentoFinal OR (c.momentoFinal = b.momentoFinal AND c.id < b.id))))"
+         + " ORDER BY b.jogadorId")
+    List<Long> findJogadoresParaCompactar(Limit limite);
+
+    @Query("SELECT MIN(b.momentoInicial) FROM BlocoHistoricoElo b WHERE b.jogadorId = :jogadorId "
+         + "AND b.quantidade < " + BlocoHistoricoElo.REGISTROS_POR_BLOCO)
+    Long findInicioIncompletos(Long jogadorId);
+
+    /**
+     * Blocos do jogador a partir do momento informado, em ordem cronológica.
+     */
+    @Query("SELECT b FROM BlocoHistoricoElo b WHERE b.jogadorId = :jogadorId AND b.momentoFinal >= :desde "
+         + "ORDER BY b.momentoFinal, b.id")
+    List<BlocoHistoricoElo> findBlocosDesde(Long jogadorId, long desde);
+
+    @Modifying
+    @Query("DELETE FROM BlocoHistoricoElo b WHERE b.momentoFinal < :limite")
+    int removerAnterioresA(long limite);
+}
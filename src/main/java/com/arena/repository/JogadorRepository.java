@@ -1,31 +1,89 @@
 package com.arena.repository;
 
 import com.arena.enums.Categoria;
+import com.arena.enums.StatusJogador;
 import com.arena.model.Jogador;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repositório para operações de banco de dados com Jogador.
  */
 @Repository
-public interface JogadorRepository extends JpaRepository<Jogador, Long> {
+public interface JogadorRepository extends JpaRepository<Jogador, Long>, JogadorRepositoryCustom {
     
     Optional<Jogador> findByNickname(String nickname);
+
+    @Query("SELECT j.id FROM Jogador j WHERE j.nickname = :nickname")
+    Optional<Long> findIdByNickname(String nickname);
+
+    @Query("SELECT j.id FROM Jogador j WHERE j.status = :status")
+    List<Long> findIdsByStatus(StatusJogador status);
     
     Optional<Jogador> findByEmail(String email);
     
     boolean existsByNickname(String nickname);
+
+    List<Jogador> findByNicknameIn(Collection<String> nicknames);
+
+    /**
+     * Nicknames e emails já cadastrados entre os informados, numa consulta só.
+     *
+     * @return pares {@code [nickname, email]} dos jogadores que colidem em algum dos dois
+     */
+    @Query("SELECT j.nickname, j.email FROM Jogador j WHERE j.nickname IN :nicknames OR j.email IN :emails")
+    List<Object[]> findNicknamesEEmailsExistentes(Collection<String> nicknames, Collection<String> emails);
     
-    List<Jogador> findByCategoria(Categoria categoria);
-    
-    @Query("SELECT j FROM Jogador j ORDER BY j.elo DESC")
-    List<Jogador> findTopByOrderByEloDesc();
-    
-    @Query("SELECT j FROM Jogador j WHERE j.categoria = :categoria ORDER BY j.elo DESC")
-    List<Jogador> findByCategoriaOrderByEloDesc(Categoria categoria);
+    /**
+     * Percorre os jogadores em ordem de id com um cursor do banco, trazendo
+     * as linhas em blocos do tamanho do fetch size em vez de materializar a
+     * tabela. Filtros nulos são ignorados. Deve ser consumido dentro de uma
+     * transação e fechado ao final.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT j FROM Jogador j WHERE (:categoria IS NULL OR j.categoria = :categoria) "
+         + "AND (:status IS NULL OR j.status = :status) ORDER BY j.id")
+    Stream<Jogador> streamParaExportacao(Categoria categoria, StatusJogador status);
+
+    /**
+     * Grava o horário do último login sem reescrever a entidade, para não
+     * disputar a versão com os incrementos de ELO e estatísticas.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Jogador j SET j.ultimoLogin = :momento WHERE j.id = :id")
+    int registrarLogin(Long id, LocalDateTime momento);
+
+    @Query("SELECT j.id, j.elo, j.versao FROM Jogador j")
+    List<Object[]> findAllIdEloVersao();
+
+    /**
+     * Soma as estatísticas de uma partida direto no banco, sem ler a entidade,
+     * e incrementa a versão da linha.
+     *
+     * @return 1 se o jogador existe, 0 caso contrário
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Jogador j SET j.totalPartidas = j.totalPartidas + :partidas, "
+         + "j.vitorias = j.vitorias + :vitorias, j.derrotas = j.derrotas + :derrotas, "
+         + "j.kills = j.kills + :kills, j.deaths = j.deaths + :deaths, j.assists = j.assists + :assists, "
+         + "j.tempoJogoMinutos = j.tempoJogoMinutos + :tempoJogoMinutos, "
+         + "j.versao = j.versao + 1 WHERE j.id = :id")
+    int incrementarEstatisticas(Long id, int partidas, int vitorias, int derrotas,
+                                int kills, int deaths, int assists, long tempoJogoMinutos);
 }
@@ -0,0 +1,47 @@
+package com.arena.repository;
+
+import com.arena.dto.JogadorDTO;
+import com.arena.enums.Categoria;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Operações de {@link JogadorRepository} cuja consulta é montada em código.
+ */
+public interface JogadorRepositoryCustom {
+
+    /**
+     * Soma {@code delta} ao ELO direto no banco, sem deixar abaixo do mínimo,
+     * recalcula a categoria no mesmo UPDATE e incrementa a versão da linha.
+     *
+     * @return 1 se o jogador existe, 0 caso contrário
+     */
+    int incrementarElo(Long id, int delta);
+
+    /**
+     * Todos os jogadores, em ordem de id.
+     */
+    List<JogadorDTO> listarTodos();
+
+    /**
+     * Os jogadores com os ids informados, em qualquer ordem.
+     */
+    List<JogadorDTO> findDTOsByIdIn(Collection<Long> ids);
+
+    /**
+     * Primeira página do ranking global, na ordem do índice {@code (elo DESC, id DESC)}.
+     */
+    List<JogadorDTO> findRanking(int limite);
+
+    /**
+     * Página seguinte do ranking global a partir do cursor {@code (elo, id)}.
+     * A comparação de tupla permite ao banco posicionar o índice diretamente
+     * no cursor, então o custo não depende da profundidade da página.
+     */
+    List<JogadorDTO> findRankingApos(int elo, Long id, int limite);
+
+    List<JogadorDTO> findByCategoria(Categoria categoria, int limite);
+
+    List<JogadorDTO> findByCategoriaApos(Categoria categoria, int elo, Long id, int limite);
+}
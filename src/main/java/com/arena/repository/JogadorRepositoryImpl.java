@@ -0,0 +1,128 @@
+package com.arena.repository;
+
+import com.arena.dto.JogadorDTO;
+import com.arena.enums.Categoria;
+import com.arena.model.Jogador;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Implementação de {@link JogadorRepositoryCustom}. O CASE da categoria é
+ * gerado a partir de {@link Categoria}, para que as faixas de ELO fiquem
+ * definidas num lugar só.
+ *
+ * As listagens selecionam só as colunas do {@link JogadorDTO} (sem o hash da
+ * senha) e montam o DTO direto do resultado, sem entidades gerenciadas nem
+ * snapshots para o dirty checking, em transações somente leitura. Ficam aqui
+ * e não em {@code @Query} porque o Spring Data reprocessa o JPQL das consultas
+ * declaradas a cada chamada, o que quase dobrava a alocação de uma página.
+ */
+class JogadorRepositoryImpl implements JogadorRepositoryCustom {
+    private static final String NOVO_ELO = "greatest(" + Jogador.ELO_MINIMO + ", j.elo + :delta)";
+
+    // a categoria vem antes do ELO: no MySQL as atribuições do SET são
+    // avaliadas da esquerda para a direita, e ela precisa do ELO antigo
+    private static final String INCREMENTAR_ELO = "UPDATE Jogador j SET j.categoria = "
+        + expressaoCategoria() + ", j.elo = " + NOVO_ELO + ", j.versao = j.versao + 1 WHERE j.id = :id";
+
+    static final String PROJECAO_DTO = "SELECT new com.arena.dto.JogadorDTO(j.id, j.nickname, j.nomeReal, "
+        + "j.email, j.dataNascimento, j.elo, j.status, j.categoria, j.totalPartidas, j.vitorias, j.derrotas, "
+        + "j.kills, j.deaths, j.assists, j.tempoJogoMinutos, j.modoFavorito, j.ultimoLogin, j.dataCriacao) "
+        + "FROM Jogador j ";
+    private static final String ORDEM_RANKING = " ORDER BY j.elo DESC, j.id DESC";
+    private static final String ORDEM_CATEGORIA = " ORDER BY j.categoria, j.elo DESC, j.id DESC";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public int incrementarElo(Long id, int delta) {
+        entityManager.flush();
+        int alterados = entityManager.createQuery(INCREMENTAR_ELO)
+            .setParameter("delta", delta)
+            .setParameter("id", id)
+            .executeUpdate();
+        entityManager.clear();
+        return alterados;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<JogadorDTO> listarTodos() {
+        return entityManager.createQuery(PROJECAO_DTO + "ORDER BY j.id", JogadorDTO.class)
+            .getResultList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<JogadorDTO> findDTOsByIdIn(Collection<Long> ids) {
+        return entityManager.createQuery(PROJECAO_DTO + "WHERE j.id IN :ids", JogadorDTO.class)
+            .setParameter("ids", ids)
+            .getResultList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<JogadorDTO> findRanking(int limite) {
+        return entityManager.createQuery(PROJECAO_DTO + ORDEM_RANKING, JogadorDTO.class)
+            .setMaxResults(limite)
+            .getResultList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<JogadorDTO> findRankingApos(int elo, Long id, int limite) {
+        return entityManager.createQuery(PROJECAO_DTO + "WHERE (j.elo, j.id) < (:elo, :id)" + ORDEM_RANKING,
+                JogadorDTO.class)
+            .setParameter("elo", elo)
+            .setParameter("id", id)
+            .setMaxResults(limite)
+            .getResultList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<JogadorDTO> findByCategoria(Categoria categoria, int limite) {
+        return entityManager.createQuery(PROJECAO_DTO + "WHERE j.categoria = :categoria" + ORDEM_CATEGORIA,
+                JogadorDTO.class)
+            .setParameter("categoria", categoria)
+            .setMaxResults(limite)
+            .getResultList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<JogadorDTO> findByCategoriaApos(Categoria categoria, int elo, Long id, int limite) {
+        return entityManager.createQuery(PROJECAO_DTO + "WHERE j.categoria = :categoria "
+                + "AND (j.elo, j.id) < (:elo, :id)" + ORDEM_CATEGORIA, JogadorDTO.class)
+            .setParameter("categoria", categoria)
+            .setParameter("elo", elo)
+            .setParameter("id", id)
+            .setMaxResults(limite)
+            .getResultList();
+    }
+
+    private static String expressaoCategoria() {
+        Categoria[] porEloDecrescente = Categoria.values().clone();
+        Arrays.sort(porEloDecrescente, Comparator.comparingInt(Categoria::getEloMinimo).reversed());
+
+        StringBuilder expressao = new StringBuilder("CASE");
+        for (int i = 0; i < porEloDecrescente.length - 1; i++) {
+            expressao.append(" WHEN ").append(NOVO_ELO).append(" >= ")
+                .append(porEloDecrescente[i].getEloMinimo())
+                .append(" THEN ").append(literal(porEloDecrescente[i]));
+        }
+        return expressao.append(" ELSE ").append(literal(porEloDecrescente[porEloDecrescente.length - 1]))
+            .append(" END").toString();
+    }
+
+    private static String literal(Categoria categoria) {
+        return Categoria.class.getName() + "." + categoria.name();
+    }
+}
@@ -0,0 +1,40 @@
+package com.arena.repository;
+
+import com.arena.enums.StatusPartida;
+import com.arena.model.Partida;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Repositório das partidas de torneio.
+ */
+@Repository
+public interface PartidaRepository extends JpaRepository<Partida, Long> {
+
+    /**
+     * Partidas de uma rodada, pelo índice {@code (torneio_id, rodada)}.
+     */
+    List<Partida> findByTorneioIdAndRodadaOrderByIdAsc(Long torneioId, int rodada);
+
+    long countByStatus(StatusPartida status);
+
+    /**
+     * Percorre as partidas com os status informados pelo índice
+     * {@code status}, só com {@code [id, status, dataHora]}, com um cursor do
+     * banco. Deve ser consumido dentro de uma transação e fechado ao final.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p.id, p.status, p.dataHora FROM Partida p WHERE p.status IN :status")
+    Stream<Object[]> streamPorStatus(Collection<StatusPartida> status);
+}
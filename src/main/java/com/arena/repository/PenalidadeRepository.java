@@ -0,0 +1,27 @@
+package com.arena.repository;
+
+import com.arena.enums.StatusPenalidade;
+import com.arena.model.Penalidade;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Repositório das penalidades.
+ */
+@Repository
+public interface PenalidadeRepository extends JpaRepository<Penalidade, Long> {
+
+    List<Penalidade> findByJogadorIdAndStatus(Long jogadorId, StatusPenalidade status);
+
+    /**
+     * Penalidades com o status informado desde {@code desde}, em ordem de
+     * data, só com {@code [id, jogadorId, data]}.
+     */
+    @Query("SELECT p.id, p.jogador.id, p.data FROM Penalidade p WHERE p.status = :status AND p.data >= :desde "
+         + "ORDER BY p.data, p.id")
+    List<Object[]> findResumoPorStatusDesde(StatusPenalidade status, LocalDate desde);
+}
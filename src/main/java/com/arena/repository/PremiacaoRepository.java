@@ -0,0 +1,16 @@
+package com.arena.repository;
+
+import com.arena.model.Premiacao;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repositório das premiações.
+ */
+@Repository
+public interface PremiacaoRepository extends JpaRepository<Premiacao, Long> {
+
+    List<Premiacao> findByTorneioIdOrderByColocacaoAsc(Long torneioId);
+}
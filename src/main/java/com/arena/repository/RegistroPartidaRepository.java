@@ -0,0 +1,35 @@
+package com.arena.repository;
+
+import com.arena.model.RegistroPartida;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.util.stream.Stream;
+
+/**
+ * Repositório do histórico de resultados aplicados.
+ */
+@Repository
+public interface RegistroPartidaRepository extends JpaRepository<RegistroPartida, Long> {
+
+    /**
+     * Percorre o histórico em ordem de aplicação até {@code ateId}, só com as
+     * colunas do cálculo ({@code [lado1, lado2, placar1, placar2, ausente]}),
+     * com um cursor do banco. Deve ser consumido dentro de uma transação e
+     * fechado ao final.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT r.lado1, r.lado2, r.placar1, r.placar2, r.ausente FROM RegistroPartida r "
+         + "WHERE r.id <= :ateId ORDER BY r.id")
+    Stream<Object[]> streamAte(long ateId);
+
+    @Query("SELECT MAX(r.id) FROM RegistroPartida r")
+    Long findUltimoId();
+}
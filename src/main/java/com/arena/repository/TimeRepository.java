@@ -0,0 +1,30 @@
+package com.arena.repository;
+
+import com.arena.enums.StatusJogador;
+import com.arena.model.Time;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repositório dos times. Os membros são carregados em lote.
+ */
+@Repository
+public interface TimeRepository extends JpaRepository<Time, Long> {
+
+    List<Time> findAllByOrderByIdAsc();
+
+    boolean existsByNomeOrTag(String nome, String tag);
+
+    @Query("SELECT t.id FROM Time t JOIN t.membros j WHERE j.id = :jogadorId")
+    List<Long> findIdsByMembroId(Long jogadorId);
+
+    /**
+     * Quantos membros com o status informado cada time tem
+     * ({@code [timeId, total]}), só dos times que têm algum.
+     */
+    @Query("SELECT t.id, COUNT(j) FROM Time t JOIN t.membros j WHERE j.status = :status GROUP BY t.id")
+    List<Object[]> contarMembrosPorStatus(StatusJogador status);
+}
@@ -0,0 +1,39 @@
+package com.arena.repository;
+
+import com.arena.model.Torneio;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repositório dos torneios. Os inscritos, os membros dos times e as partidas
+ * são carregados em lote ({@code @BatchSize} nas coleções), então listar
+ * torneios custa um número fixo de consultas e não uma por torneio.
+ */
+@Repository
+public interface TorneioRepository extends JpaRepository<Torneio, Long> {
+
+    List<Torneio> findAllByOrderByIdAsc();
+
+    boolean existsByNome(String nome);
+
+    /**
+     * Torneio com os inscritos na mesma consulta.
+     */
+    @EntityGraph(attributePaths = "participantes")
+    Optional<Torneio> findComParticipantesById(Long id);
+
+    /**
+     * Torneio com lock de escrita, para inscrições e mudanças de status: duas
+     * instâncias da aplicação não alteram o mesmo torneio ao mesmo tempo.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Torneio t WHERE t.id = :id")
+    Optional<Torneio> findParaAlteracao(Long id);
+}
@@ -0,0 +1,50 @@
+package com.arena.security;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * Escolhe o custo do BCrypt pela máquina em que a aplicação está rodando.
+ *
+ * Mede o custo mínimo e extrapola: cada ponto de custo dobra o tempo do
+ * hash, então basta subir enquanto a estimativa couber na latência alvo.
+ */
+final class CalibracaoBCrypt {
+    private static final int AMOSTRAS = 3;
+    private static final String SENHA_DE_TESTE = "calibracao-bcrypt";
+
+    private CalibracaoBCrypt() {
+    }
+
+    /**
+     * @param latenciaAlvoMs tempo máximo desejado por hash
+     * @param custoMinimo custo usado mesmo que a máquina seja lenta
+     * @param custoMaximo teto do custo, mesmo que a máquina seja rápida
+     * @return o maior custo entre os limites cuja estimativa cabe no alvo
+     */
+    static int escolherCusto(long latenciaAlvoMs, int custoMinimo, int custoMaximo) {
+        if (custoMinimo < 4 || custoMaximo > 31 || custoMinimo > custoMaximo) {
+            throw new IllegalArgumentException("Custo do BCrypt deve estar entre 4 e 31");
+        }
+        double estimativaMs = medirMs(custoMinimo);
+        int custo = custoMinimo;
+        while (custo < custoMaximo && estimativaMs * 2 <= latenciaAlvoMs) {
+            custo++;
+            estimativaMs *= 2;
+        }
+        System.out.printf("🔐 Custo do BCrypt calibrado: %d (~%.0f ms por hash, alvo %d ms)%n",
+            custo, estimativaMs, latenciaAlvoMs);
+        return custo;
+    }
+
+    private static double medirMs(int custo) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(custo);
+        encoder.encode(SENHA_DE_TESTE); // aquecimento
+        long melhor = Long.MAX_VALUE;
+        for (int i = 0; i < AMOSTRAS; i++) {
+            long inicio = System.nanoTime();
+            encoder.encode(SENHA_DE_TESTE);
+            melhor = Math.min(melhor, System.nanoTime() - inicio);
+        }
+        return melhor / 1_000_000.0;
+    }
+}
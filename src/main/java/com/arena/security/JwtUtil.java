@@ -1,27 +1,54 @@
 package com.arena.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Utilitário para geração e validação de tokens JWT.
+ *
+ * A chave e o parser são criados uma vez e reaproveitados (o parser é
+ * imutável e thread-safe). Tokens já verificados ficam num cache limitado
+ * até expirarem, então validar de novo o mesmo token não refaz o HMAC.
+ * Quando o cache enche, uma varredura só abre espaço para um décimo da
+ * capacidade, então o custo dela se divide pelas próximas inserções.
  */
 @Component
 public class JwtUtil {
-    
+
     private static final String SECRET_KEY = "arena_nexus_secret_key_2024_muito_segura_e_longa_para_jwt_token_generation";
     private static final long EXPIRATION_TIME = 86400000; // 24 horas
+    private static final int CAPACIDADE_CACHE = 10_000;
+
+    private final Key signingKey = Keys.hmacShaKeyFor(SECRET_KEY.getBytes(StandardCharsets.UTF_8));
+    private final JwtParser parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+    private final Map<String, TokenVerificado> verificados = new ConcurrentHashMap<>();
+    private final AtomicBoolean liberando = new AtomicBoolean();
+    private final int capacidadeCache;
+
+    public JwtUtil() {
+        this(CAPACIDADE_CACHE);
+    }
 
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(SECRET_KEY.getBytes());
+    /**
+     * @param capacidadeCache máximo de tokens verificados em cache; 0 desliga o cache
+     */
+    JwtUtil(int capacidadeCache) {
+        this.capacidadeCache = capacidadeCache;
     }
 
     public String generateToken(String nickname) {
@@ -35,10 +62,74 @@ public class JwtUtil {
                 .setSubject(subject)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION_TIME))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
+    /**
+     * Verifica assinatura e expiração do token com um único parse.
+     *
+     * @return o nickname do token, ou vazio se ele é inválido ou expirou
+     */
+    public Optional<String> validarToken(String token) {
+        if (token == null || token.isEmpty()) {
+            return Optional.empty();
+        }
+        long agora = System.currentTimeMillis();
+
+        TokenVerificado emCache = verificados.get(token);
+        if (emCache != null) {
+            if (emCache.expiraEm() > agora) {
+                return Optional.of(emCache.nickname());
+            }
+            verificados.remove(token, emCache);
+            return Optional.empty();
+        }
+
+        Claims claims;
+        try {
+            // o parser já rejeita tokens expirados
+            claims = extractClaims(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+        if (claims.getSubject() == null || claims.getExpiration() == null) {
+            return Optional.empty();
+        }
+        guardar(token, new TokenVerificado(claims.getSubject(), claims.getExpiration().getTime()), agora);
+        return Optional.of(claims.getSubject());
+    }
+
+    /**
+     * Guarda o token verificado. Com o cache cheio, descarta os expirados e,
+     * se não bastar, entradas quaisquer até sobrar um décimo da capacidade
+     * livre. Só uma thread varre por vez; as outras guardam o token e seguem,
+     * e o cache pode passar da capacidade por essas poucas entradas.
+     */
+    private void guardar(String token, TokenVerificado verificado, long agora) {
+        if (capacidadeCache <= 0) {
+            return;
+        }
+        if (verificados.size() >= capacidadeCache && liberando.compareAndSet(false, true)) {
+            try {
+                int limite = capacidadeCache - Math.max(1, capacidadeCache / 10);
+                verificados.values().removeIf(v -> v.expiraEm() <= agora);
+                Iterator<String> tokens = verificados.keySet().iterator();
+                while (verificados.size() > limite && tokens.hasNext()) {
+                    tokens.next();
+                    tokens.remove();
+                }
+            } finally {
+                liberando.set(false);
+            }
+        }
+        verificados.put(token, verificado);
+    }
+
+    int getTokensEmCache() {
+        return verificados.size();
+    }
+
     public String extractNickname(String token) {
         return extractClaims(token).getSubject();
     }
@@ -48,19 +139,12 @@ public class JwtUtil {
     }
 
     private Claims extractClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-    }
-
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+        return parser.parseClaimsJws(token).getBody();
     }
 
     public Boolean validateToken(String token, String nickname) {
-        final String extractedNickname = extractNickname(token);
-        return (extractedNickname.equals(nickname) && !isTokenExpired(token));
+        return validarToken(token).map(nickname::equals).orElse(false);
     }
+
+    private record TokenVerificado(String nickname, long expiraEm) {}
 }
@@ -1,5 +1,6 @@
 package com.arena.security;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -43,9 +44,16 @@ public class SecurityConfig {
         return http.build();
     }
 
+    /**
+     * BCrypt com o custo calibrado na inicialização para a latência alvo.
+     * Hashes já gravados continuam válidos, pois carregam o próprio custo.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            @Value("${arena.senha.latencia-alvo-ms:100}") long latenciaAlvoMs,
+            @Value("${arena.senha.custo-minimo:10}") int custoMinimo,
+            @Value("${arena.senha.custo-maximo:16}") int custoMaximo) {
+        return new BCryptPasswordEncoder(CalibracaoBCrypt.escolherCusto(latenciaAlvoMs, custoMinimo, custoMaximo));
     }
 
     @Bean
@@ -54,6 +62,7 @@ public class SecurityConfig {
         configuration.setAllowedOrigins(Arrays.asList("http://localhost:3000"));
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "PATCH", "OPTIONS"));
         configuration.setAllowedHeaders(Arrays.asList("*"));
+        configuration.setExposedHeaders(Arrays.asList("X-Proximo-Cursor"));
         configuration.setAllowCredentials(true);
         
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
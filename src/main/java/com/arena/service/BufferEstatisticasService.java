@@ -0,0 +1,320 @@
+package com.arena.service;
+
+import com.arena.dto.JogadorDTO;
+import com.arena.model.Jogador;
+import com.arena.repository.JogadorRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * Write-behind das estatísticas de partida dos jogadores (partidas,
+ * vitórias, derrotas, kills, deaths, assists e tempo de jogo).
+ *
+ * Num dia de torneio o mesmo jogador recebe várias atualizações por minuto.
+ * Em vez de um UPDATE por atualização, os incrementos são somados por
+ * jogador em memória, em {@value #FAIXAS} faixas com lock próprio (cada
+ * jogador cai sempre na mesma faixa, então atualizações de jogadores
+ * diferentes quase nunca disputam o mesmo lock), e gravados a cada intervalo
+ * num lote de UPDATEs relativos, um por jogador com pendências, numa
+ * transação só. A gravação é antecipada quando passam de
+ * {@value #LIMITE_JOGADORES_PENDENTES} jogadores pendentes e roda uma última
+ * vez no encerramento da aplicação.
+ *
+ * As leituras feitas por {@link #ler} e {@link #lerTodos} somam os
+ * incrementos ainda em memória aos valores do banco. Elas não rodam durante
+ * uma gravação, então nunca contam um lote duas vezes (no banco e em
+ * memória) nem deixam de contá-lo. A exportação e as páginas do ranking
+ * lidas do banco podem ficar até um intervalo atrás.
+ *
+ * Com {@code arena.estatisticas.write-behind=false} cada atualização vira
+ * um UPDATE imediato.
+ */
+@Service
+public class BufferEstatisticasService {
+    private static final int FAIXAS = 64;
+    private static final int LIMITE_JOGADORES_PENDENTES = 10_000;
+    private static final String SQL_INCREMENTO = "UPDATE jogadores SET total_partidas = total_partidas + ?, "
+        + "vitorias = vitorias + ?, derrotas = derrotas + ?, kills = kills + ?, deaths = deaths + ?, "
+        + "assists = assists + ?, tempo_jogo_minutos = tempo_jogo_minutos + ?, versao = versao + 1 WHERE id = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private JogadorRepository jogadorRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${arena.estatisticas.write-behind:true}")
+    private boolean writeBehind;
+
+    private final Faixa[] faixas = new Faixa[FAIXAS];
+    private final AtomicInteger jogadoresPendentes = new AtomicInteger();
+    private final ReentrantLock gravando = new ReentrantLock();
+    // leituras (read) x gravação de um lote (write)
+    private final ReentrantReadWriteLock leituras = new ReentrantReadWriteLock();
+    private Counter recebidas;
+    private Counter gravadas;
+
+    /**
+     * Como no {@link HistoricoEloService}, a gravação roda e confirma numa
+     * transação própria, mesmo se disparada de dentro de outra.
+     */
+    public BufferEstatisticasService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        for (int i = 0; i < FAIXAS; i++) {
+            faixas[i] = new Faixa();
+        }
+    }
+
+    @PostConstruct
+    void registrarMetricas() {
+        this.recebidas = Counter.builder("arena.estatisticas.atualizacoes")
+            .description("Atualizações de estatísticas recebidas")
+            .register(meterRegistry);
+        this.gravadas = Counter.builder("arena.estatisticas.gravacoes")
+            .description("UPDATEs de estatísticas na tabela de jogadores")
+            .register(meterRegistry);
+        Gauge.builder("arena.estatisticas.pendentes", jogadoresPendentes, AtomicInteger::get)
+            .description("Jogadores com estatísticas ainda não gravadas")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Soma as estatísticas de uma partida às do jogador.
+     */
+    public void registrar(Long jogadorId, boolean vitoria, int kills, int deaths, int assists,
+                          long tempoJogoMinutos) {
+        recebidas.increment();
+        if (!writeBehind) {
+            transactionTemplate.executeWithoutResult(status -> jogadorRepository.incrementarEstatisticas(
+                jogadorId, 1, vitoria ? 1 : 0, vitoria ? 0 : 1, kills, deaths, assists, tempoJogoMinutos));
+            gravadas.increment();
+            return;
+        }
+        Faixa faixa = faixa(jogadorId);
+        synchronized (faixa) {
+            Incremento incremento = faixa.pendentes.get(jogadorId);
+            if (incremento == null) {
+                incremento = new Incremento();
+                faixa.pendentes.put(jogadorId, incremento);
+                jogadoresPendentes.incrementAndGet();
+            }
+            incremento.somarPartida(vitoria, kills, deaths, assists, tempoJogoMinutos);
+        }
+        if (jogadoresPendentes.get() >= LIMITE_JOGADORES_PENDENTES) {
+            gravarPendentes();
+        }
+    }
+
+    /**
+     * Faz a {@code leitura} no banco e soma ao jogador lido os incrementos
+     * ainda não gravados.
+     */
+    public Optional<JogadorDTO> ler(Supplier<Optional<JogadorDTO>> leitura) {
+        leituras.readLock().lock();
+        try {
+            return leitura.get().map(this::aplicarPendentes);
+        } finally {
+            leituras.readLock().unlock();
+        }
+    }
+
+    /**
+     * Como {@link #ler}, para uma lista de jogadores.
+     */
+    public List<JogadorDTO> lerTodos(Supplier<List<JogadorDTO>> leitura) {
+        leituras.readLock().lock();
+        try {
+            List<JogadorDTO> jogadores = leitura.get();
+            jogadores.forEach(this::aplicarPendentes);
+            return jogadores;
+        } finally {
+            leituras.readLock().unlock();
+        }
+    }
+
+    /**
+     * Grava os incrementos pendentes. Se já houver uma gravação em andamento,
+     * não faz nada: ela ou a próxima levam o restante.
+     */
+    @Scheduled(fixedDelayString = "${arena.estatisticas.intervalo-gravacao-ms:1000}")
+    public void gravarPendentes() {
+        if (!gravando.tryLock()) {
+            return;
+        }
+        try {
+            gravar();
+        } finally {
+            gravando.unlock();
+        }
+    }
+
+    /**
+     * Grava tudo o que está pendente agora, esperando a gravação em
+     * andamento, se houver. Roda também no encerramento da aplicação.
+     */
+    @PreDestroy
+    public void gravarTudo() {
+        gravando.lock();
+        try {
+            gravar();
+        } finally {
+            gravando.unlock();
+        }
+    }
+
+    private void gravar() {
+        leituras.writeLock().lock();
+        try {
+            Map<Long, Incremento> lote = drenar();
+            if (lote.isEmpty()) {
+                return;
+            }
+            List<Object[]> parametros = new ArrayList<>(lote.size());
+            lote.forEach((jogadorId, incremento) -> parametros.add(incremento.parametros(jogadorId)));
+            try {
+                transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(SQL_INCREMENTO, parametros));
+            } catch (RuntimeException e) {
+                // devolve para as faixas; a próxima gravação tenta de novo
+                lote.forEach(this::devolver);
+                throw e;
+            }
+            gravadas.increment(lote.size());
+        } finally {
+            leituras.writeLock().unlock();
+        }
+    }
+
+    private Map<Long, Incremento> drenar() {
+        Map<Long, Incremento> lote = new HashMap<>();
+        for (Faixa faixa : faixas) {
+            Map<Long, Incremento> pendentes;
+            synchronized (faixa) {
+                if (faixa.pendentes.isEmpty()) {
+                    continue;
+                }
+                pendentes = faixa.pendentes;
+                faixa.pendentes = new HashMap<>();
+            }
+            lote.putAll(pendentes);
+        }
+        jogadoresPendentes.addAndGet(-lote.size());
+        return lote;
+    }
+
+    private void devolver(Long jogadorId, Incremento incremento) {
+        Faixa faixa = faixa(jogadorId);
+        synchronized (faixa) {
+            Incremento atual = faixa.pendentes.putIfAbsent(jogadorId, incremento);
+            if (atual == null) {
+                jogadoresPendentes.incrementAndGet();
+            } else {
+                atual.somar(incremento);
+            }
+        }
+    }
+
+    private JogadorDTO aplicarPendentes(JogadorDTO jogador) {
+        Faixa faixa = faixa(jogador.getId());
+        Incremento pendente;
+        synchronized (faixa) {
+            Incremento incremento = faixa.pendentes.get(jogador.getId());
+            if (incremento == null) {
+                return jogador;
+            }
+            pendente = incremento.copia();
+        }
+        jogador.setTotalPartidas(jogador.getTotalPartidas() + pendente.partidas);
+        jogador.setVitorias(jogador.getVitorias() + pendente.vitorias);
+        jogador.setDerrotas(jogador.getDerrotas() + pendente.derrotas);
+        jogador.setKills(jogador.getKills() + pendente.kills);
+        jogador.setDeaths(jogador.getDeaths() + pendente.deaths);
+        jogador.setAssists(jogador.getAssists() + pendente.assists);
+        jogador.setTempoJogoMinutos(jogador.getTempoJogoMinutos() + pendente.tempoJogoMinutos);
+        jogador.setKdRatio(Jogador.calcularKdRatio(jogador.getKills(), jogador.getDeaths()));
+        jogador.setWinRate(Jogador.calcularWinRate(jogador.getVitorias(), jogador.getTotalPartidas()));
+        return jogador;
+    }
+
+    private Faixa faixa(Long jogadorId) {
+        long id = jogadorId;
+        // espalha ids sequenciais pelas faixas
+        return faixas[(int) ((id ^ (id >>> 17)) * 0x9E3779B97F4A7C15L >>> 58)];
+    }
+
+    private static final class Faixa {
+        Map<Long, Incremento> pendentes = new HashMap<>();
+    }
+
+    /**
+     * Soma dos incrementos de um jogador desde a última gravação.
+     */
+    private static final class Incremento {
+        int partidas;
+        int vitorias;
+        int derrotas;
+        int kills;
+        int deaths;
+        int assists;
+        long tempoJogoMinutos;
+
+        void somarPartida(boolean vitoria, int kills, int deaths, int assists, long tempoJogoMinutos) {
+            this.partidas++;
+            if (vitoria) {
+                this.vitorias++;
+            } else {
+                this.derrotas++;
+            }
+            this.kills += kills;
+            this.deaths += deaths;
+            this.assists += assists;
+            this.tempoJogoMinutos += tempoJogoMinutos;
+        }
+
+        void somar(Incremento outro) {
+            partidas += outro.partidas;
+            vitorias += outro.vitorias;
+            derrotas += outro.derrotas;
+            kills += outro.kills;
+            deaths += outro.deaths;
+            assists += outro.assists;
+            tempoJogoMinutos += outro.tempoJogoMinutos;
+        }
+
+        Incremento copia() {
+            Incremento copia = new Incremento();
+            copia.somar(this);
+            return copia;
+        }
+
+        Object[] parametros(Long jogadorId) {
+            return new Object[] {partidas, vitorias, derrotas, kills, deaths, assists, tempoJogoMinutos, jogadorId};
+        }
+    }
+}
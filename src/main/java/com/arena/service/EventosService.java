@@ -0,0 +1,349 @@
+package com.arena.service;
+
+import com.arena.enums.TopicoEvento;
+import com.arena.exception.ServicoSobrecarregadoException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Canal de eventos em Server-Sent Events, com um tópico para a fila de
+ * matchmaking, um para as partidas e um para o ranking.
+ *
+ * Quem publica só enfileira o evento. Uma thread de despacho junta os eventos
+ * pendentes de cada tópico num quadro SSE (o {@code data} é um array JSON) e
+ * serializa esse quadro uma única vez; os mesmos bytes são escritos em todas
+ * as conexões. Sem assinantes no tópico, publicar não custa nada além da
+ * checagem de um contador.
+ *
+ * Cada conexão tem sua própria fila limitada de quadros, esvaziada por um
+ * pool de {@code arena.eventos.escritores} threads de escrita; cada conexão é
+ * escrita por no máximo uma thread de cada vez. Um cliente parado prende só a
+ * thread que está escrevendo para ele, até o timeout de escrita do Tomcat: as
+ * outras seguem com as demais conexões. Se a fila de uma conexão enche, ela é encerrada
+ * ({@code arena.eventos.descartados}) em vez de perder quadros no meio. O
+ * {@code id} dos quadros é uma sequência da conexão, sem saltos entre os
+ * tópicos. As conexões assíncronas não prendem threads do Tomcat enquanto
+ * esperam.
+ *
+ * Os eventos não são guardados: depois de reconectar, o cliente recarrega o
+ * estado pelos endpoints REST e volta a aplicar os eventos.
+ */
+@Service
+public class EventosService {
+    private static final int QUADROS_POR_ASSINANTE = 64;
+    private static final int EVENTOS_POR_QUADRO = 256;
+    // confirma os cabeçalhos na hora e pede reconexão após 3 s se a conexão cair
+    private static final Quadro ABERTURA = new Quadro(null, item("retry: 3000\n\n"));
+    // comentário SSE: mantém proxies abertos e revela conexões mortas
+    private static final Quadro BATIMENTO = new Quadro(null, item(":\n\n"));
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${arena.eventos.conexoes-maximas:10000}")
+    private int conexoesMaximas;
+
+    @Value("${arena.eventos.escritores:4}")
+    private int quantidadeEscritores;
+
+    private final Map<TopicoEvento, Canal> canais = new EnumMap<>(TopicoEvento.class);
+    private final Set<Assinante> assinantes = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger conexoes = new AtomicInteger();
+    private final ExecutorService despachante = Executors.newSingleThreadExecutor(tarefa -> {
+        Thread thread = new Thread(tarefa, "eventos-despacho");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private ExecutorService escritores;
+    private Counter descartados;
+
+    public EventosService() {
+        for (TopicoEvento topico : TopicoEvento.values()) {
+            canais.put(topico, new Canal(topico));
+        }
+    }
+
+    @PostConstruct
+    void iniciar() {
+        AtomicInteger contador = new AtomicInteger();
+        this.escritores = Executors.newFixedThreadPool(Math.max(1, quantidadeEscritores), tarefa -> {
+            Thread thread = new Thread(tarefa, "eventos-escrita-" + contador.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.descartados = Counter.builder("arena.eventos.descartados")
+            .description("Conexões SSE encerradas por não acompanhar os quadros (fila da conexão cheia)")
+            .register(meterRegistry);
+        Gauge.builder("arena.eventos.conexoes", conexoes, AtomicInteger::get)
+            .description("Conexões abertas no canal de eventos")
+            .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void encerrar() {
+        despachante.shutdownNow();
+        escritores.shutdownNow();
+        for (Assinante assinante : assinantes) {
+            assinante.emitter.complete();
+        }
+    }
+
+    /**
+     * Abre uma conexão SSE que recebe os eventos dos tópicos informados.
+     *
+     * @throws IllegalArgumentException se nenhum tópico foi informado
+     * @throws ServicoSobrecarregadoException se o nó já tem o máximo de conexões
+     */
+    public SseEmitter inscrever(Set<TopicoEvento> topicos) {
+        if (topicos == null || topicos.isEmpty()) {
+            throw new IllegalArgumentException("Informe pelo menos um tópico");
+        }
+        if (conexoes.incrementAndGet() > conexoesMaximas) {
+            conexoes.decrementAndGet();
+            throw new ServicoSobrecarregadoException("canal de eventos");
+        }
+
+        // 0 = sem timeout; conexões mortas caem na escrita do batimento
+        SseEmitter emitter = new SseEmitter(0L);
+        Assinante assinante = new Assinante(emitter, EnumSet.copyOf(topicos));
+        emitter.onCompletion(() -> remover(assinante));
+        emitter.onTimeout(() -> remover(assinante));
+        emitter.onError(erro -> remover(assinante));
+
+        for (TopicoEvento topico : assinante.topicos) {
+            canais.get(topico).assinantes.incrementAndGet();
+        }
+        assinantes.add(assinante);
+        entregar(assinante, ABERTURA);
+        return emitter;
+    }
+
+    /**
+     * Publica um evento no tópico. O evento é serializado como JSON no
+     * despacho, fora da thread de quem publica.
+     */
+    public void publicar(TopicoEvento topico, Object evento) {
+        Canal canal = canais.get(topico);
+        if (canal.assinantes.get() == 0) {
+            return;
+        }
+        canal.pendentes.add(evento);
+        if (canal.agendado.compareAndSet(false, true)) {
+            despachante.execute(() -> despachar(canal));
+        }
+    }
+
+    public boolean temAssinantes(TopicoEvento topico) {
+        return canais.get(topico).assinantes.get() > 0;
+    }
+
+    public int getConexoes() {
+        return conexoes.get();
+    }
+
+    @Scheduled(fixedDelayString = "${arena.eventos.intervalo-batimento-ms:15000}")
+    public void enviarBatimento() {
+        for (Assinante assinante : assinantes) {
+            entregar(assinante, BATIMENTO);
+        }
+    }
+
+    private void despachar(Canal canal) {
+        // liberado antes de drenar: um evento publicado durante o despacho agenda outro
+        canal.agendado.set(false);
+        List<Object> eventos = new ArrayList<>();
+        Object evento;
+        while ((evento = canal.pendentes.poll()) != null) {
+            eventos.add(evento);
+            if (eventos.size() == EVENTOS_POR_QUADRO) {
+                distribuir(canal, eventos);
+                eventos.clear();
+            }
+        }
+        if (!eventos.isEmpty()) {
+            distribuir(canal, eventos);
+        }
+    }
+
+    private void distribuir(Canal canal, List<Object> eventos) {
+        // o id vai antes, na escrita de cada conexão; o resto é igual para todas
+        ByteArrayOutputStream quadro = new ByteArrayOutputStream(256 + eventos.size() * 64);
+        quadro.writeBytes(("event: " + canal.topico.getNome() + "\ndata: ").getBytes(StandardCharsets.UTF_8));
+        try {
+            // o Jackson escapa quebras de linha, então o JSON cabe numa linha de data
+            quadro.writeBytes(objectMapper.writeValueAsBytes(eventos));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Evento não serializável no tópico " + canal.topico.getNome(), e);
+        }
+        quadro.writeBytes("\n\n".getBytes(StandardCharsets.UTF_8));
+
+        Quadro pronto = new Quadro(canal.topico,
+            new DataWithMediaType(quadro.toByteArray(), MediaType.APPLICATION_OCTET_STREAM));
+        for (Assinante assinante : assinantes) {
+            if (assinante.topicos.contains(canal.topico)) {
+                entregar(assinante, pronto);
+            }
+        }
+    }
+
+    /**
+     * Põe o quadro na fila da conexão sem bloquear. Uma conexão que deixou a
+     * fila encher é removida; a thread de escrita a encerra.
+     */
+    private void entregar(Assinante assinante, Quadro quadro) {
+        if (!assinante.ativo.get()) {
+            return;
+        }
+        if (!assinante.quadros.offer(quadro)) {
+            descartados.increment();
+            remover(assinante);
+        }
+        if (assinante.agendado.compareAndSet(false, true)) {
+            escritores.execute(() -> escrever(assinante));
+        }
+    }
+
+    /**
+     * Esvazia a fila da conexão. Só uma thread escreve em cada conexão: a
+     * próxima tarefa só é agendada depois que esta libera {@code agendado}.
+     */
+    private void escrever(Assinante assinante) {
+        do {
+            Quadro quadro;
+            while (assinante.ativo.get() && (quadro = assinante.quadros.poll()) != null) {
+                enviar(assinante, quadro);
+            }
+            if (!assinante.ativo.get()) {
+                // removida por fila cheia, erro ou desconexão: não volta a ser agendada
+                assinante.quadros.clear();
+                encerrar(assinante);
+                return;
+            }
+            assinante.agendado.set(false);
+            // um quadro entregue entre o último poll e a liberação não pode ficar parado na fila
+        } while (!assinante.quadros.isEmpty() && assinante.agendado.compareAndSet(false, true));
+    }
+
+    private void enviar(Assinante assinante, Quadro quadro) {
+        Set<DataWithMediaType> itens;
+        if (quadro.topico() == null) {
+            itens = Set.of(quadro.dados());
+        } else {
+            // Set.of não garante a ordem dos itens: o id precisa vir antes do event e do data
+            itens = new LinkedHashSet<>(2);
+            itens.add(item("id: " + ++assinante.sequencia + "\n"));
+            itens.add(quadro.dados());
+        }
+        try {
+            assinante.emitter.send(itens);
+        } catch (IOException | IllegalStateException e) {
+            // cliente desconectado ou conexão já encerrada
+            remover(assinante);
+            try {
+                assinante.emitter.completeWithError(e);
+            } catch (IllegalStateException jaEncerrada) {
+                // nada a fazer
+            }
+        }
+    }
+
+    private static void encerrar(Assinante assinante) {
+        try {
+            assinante.emitter.complete();
+        } catch (IllegalStateException jaEncerrada) {
+            // nada a fazer
+        }
+    }
+
+    private void remover(Assinante assinante) {
+        if (!assinante.ativo.compareAndSet(true, false)) {
+            return;
+        }
+        assinantes.remove(assinante);
+        for (TopicoEvento topico : assinante.topicos) {
+            canais.get(topico).assinantes.decrementAndGet();
+        }
+        conexoes.decrementAndGet();
+    }
+
+    /**
+     * Os bytes vão direto para a resposta: o conversor de byte[] não
+     * reprocessa o conteúdo, e os cabeçalhos do SSE já foram enviados.
+     */
+    private static DataWithMediaType item(String texto) {
+        return new DataWithMediaType(texto.getBytes(StandardCharsets.UTF_8), MediaType.APPLICATION_OCTET_STREAM);
+    }
+
+    /**
+     * Estado de um tópico: assinantes e eventos aguardando despacho.
+     */
+    private static final class Canal {
+        private final TopicoEvento topico;
+        private final AtomicInteger assinantes = new AtomicInteger();
+        private final ConcurrentLinkedQueue<Object> pendentes = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean agendado = new AtomicBoolean();
+
+        private Canal(TopicoEvento topico) {
+            this.topico = topico;
+        }
+    }
+
+    /**
+     * Uma conexão aberta, com sua fila de quadros e a sequência do
+     * {@code id}, que só a thread de escrita da vez altera.
+     */
+    private static final class Assinante {
+        private final SseEmitter emitter;
+        private final Set<TopicoEvento> topicos;
+        private final BlockingQueue<Quadro> quadros = new ArrayBlockingQueue<>(QUADROS_POR_ASSINANTE);
+        private final AtomicBoolean ativo = new AtomicBoolean(true);
+        private final AtomicBoolean agendado = new AtomicBoolean();
+        private long sequencia;
+
+        private Assinante(SseEmitter emitter, Set<TopicoEvento> topicos) {
+            this.emitter = emitter;
+            this.topicos = topicos;
+        }
+    }
+
+    /**
+     * Quadro SSE pronto para escrita; sem {@code topico} (abertura e
+     * batimento) ele vai sem {@code id}.
+     */
+    private record Quadro(TopicoEvento topico, DataWithMediaType dados) {}
+}
@@ -0,0 +1,121 @@
+package com.arena.service;
+
+import com.arena.dto.JogadorDTO;
+import com.arena.enums.Categoria;
+import com.arena.enums.FormatoArquivo;
+import com.arena.enums.StatusJogador;
+import com.arena.model.Jogador;
+import com.arena.repository.JogadorRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Exportação de jogadores em NDJSON ou CSV com memória constante.
+ *
+ * A tabela é percorrida com um cursor do banco; cada jogador é convertido,
+ * escrito na saída e desanexado do contexto de persistência antes do
+ * próximo, então nem as entidades nem os DTOs se acumulam. A saída é
+ * descarregada a cada bloco para o cliente receber os dados aos poucos.
+ */
+@Service
+public class ExportacaoService {
+    private static final int JOGADORES_POR_BLOCO = 500;
+    private static final int TAMANHO_BUFFER = 64 * 1024;
+    private static final String CABECALHO_CSV = "id,nickname,nomeReal,email,dataNascimento,elo,status,categoria,"
+        + "totalPartidas,vitorias,derrotas,kills,deaths,assists,kdRatio,winRate,tempoJogoMinutos,"
+        + "modoFavorito,ultimoLogin,dataCriacao";
+
+    @Autowired
+    private JogadorRepository jogadorRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Escreve os jogadores que atendem aos filtros na saída informada.
+     *
+     * @param categoria filtro de categoria, ou {@code null} para todas
+     * @param status filtro de status, ou {@code null} para todos
+     * @return quantos jogadores foram exportados
+     */
+    @Transactional(readOnly = true)
+    public long exportar(Categoria categoria, StatusJogador status, FormatoArquivo formato,
+                         OutputStream saida) throws IOException {
+        Writer escritor = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8), TAMANHO_BUFFER);
+        if (formato == FormatoArquivo.CSV) {
+            escritor.write(CABECALHO_CSV);
+            escritor.write('\n');
+        }
+
+        long total = 0;
+        try (Stream<Jogador> jogadores = jogadorRepository.streamParaExportacao(categoria, status)) {
+            Iterator<Jogador> iterador = jogadores.iterator();
+            while (iterador.hasNext()) {
+                Jogador jogador = iterador.next();
+                JogadorDTO dto = JogadorDTO.fromEntity(jogador);
+                entityManager.detach(jogador);
+
+                if (formato == FormatoArquivo.CSV) {
+                    escreverCsv(dto, escritor);
+                } else {
+                    escritor.write(objectMapper.writeValueAsString(dto));
+                }
+                escritor.write('\n');
+
+                if (++total % JOGADORES_POR_BLOCO == 0) {
+                    escritor.flush();
+                }
+            }
+        }
+        escritor.flush();
+        return total;
+    }
+
+    private static void escreverCsv(JogadorDTO dto, Writer escritor) throws IOException {
+        Object[] campos = {
+            dto.getId(), dto.getNickname(), dto.getNomeReal(), dto.getEmail(), dto.getDataNascimento(),
+            dto.getElo(), dto.getStatus(), dto.getCategoria(), dto.getTotalPartidas(), dto.getVitorias(),
+            dto.getDerrotas(), dto.getKills(), dto.getDeaths(), dto.getAssists(), dto.getKdRatio(),
+            dto.getWinRate(), dto.getTempoJogoMinutos(), dto.getModoFavorito(), dto.getUltimoLogin(),
+            dto.getDataCriacao()
+        };
+        for (int i = 0; i < campos.length; i++) {
+            if (i > 0) {
+                escritor.write(',');
+            }
+            if (campos[i] != null) {
+                escritor.write(celulaCsv(campos[i].toString()));
+            }
+        }
+    }
+
+    /**
+     * Coloca o valor entre aspas (dobrando as internas) quando ele tem
+     * vírgula, aspas ou quebra de linha, conforme a RFC 4180.
+     */
+    static String celulaCsv(String valor) {
+        for (int i = 0; i < valor.length(); i++) {
+            char c = valor.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return '"' + valor.replace("\"", "\"\"") + '"';
+            }
+        }
+        return valor;
+    }
+}
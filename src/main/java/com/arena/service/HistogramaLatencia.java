@@ -0,0 +1,94 @@
+package com.arena.service;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histograma de latências sem lock, com precisão relativa de ~6%.
+ * Cada potência de dois é dividida em 16 sub-faixas, então o custo de
+ * registrar é um incremento atômico e o de consultar um percentil é
+ * uma varredura de tamanho fixo.
+ */
+public class HistogramaLatencia {
+    private static final int SUB_FAIXAS_BITS = 4;
+    private static final int SUB_FAIXAS = 1 << SUB_FAIXAS_BITS;
+    private static final int TOTAL_FAIXAS = (64 - SUB_FAIXAS_BITS + 1) * SUB_FAIXAS;
+
+    private final AtomicLongArray contagens = new AtomicLongArray(TOTAL_FAIXAS);
+    private final LongAdder total = new LongAdder();
+    private final LongAdder soma = new LongAdder();
+
+    /**
+     * Registra uma amostra. Valores negativos são tratados como zero.
+     *
+     * @param valor a latência medida (a unidade é definida por quem usa)
+     */
+    public void registrar(long valor) {
+        long v = Math.max(0, valor);
+        contagens.incrementAndGet(indice(v));
+        total.increment();
+        soma.add(v);
+    }
+
+    /**
+     * Retorna o limite superior da faixa que contém o percentil informado.
+     *
+     * @param percentil valor entre 0 e 100
+     * @return a latência do percentil, ou 0 se não houver amostras
+     */
+    public long percentil(double percentil) {
+        if (percentil < 0 || percentil > 100) {
+            throw new IllegalArgumentException("Percentil deve estar entre 0 e 100");
+        }
+        long amostras = total.sum();
+        if (amostras == 0) {
+            return 0;
+        }
+        long alvo = Math.max(1, (long) Math.ceil(amostras * percentil / 100.0));
+        long acumulado = 0;
+        for (int i = 0; i < TOTAL_FAIXAS; i++) {
+            acumulado += contagens.get(i);
+            if (acumulado >= alvo) {
+                return limiteSuperior(i);
+            }
+        }
+        return limiteSuperior(TOTAL_FAIXAS - 1);
+    }
+
+    public long getTotal() {
+        return total.sum();
+    }
+
+    public double getMedia() {
+        long amostras = total.sum();
+        return amostras == 0 ? 0.0 : (double) soma.sum() / amostras;
+    }
+
+    public void limpar() {
+        for (int i = 0; i < TOTAL_FAIXAS; i++) {
+            contagens.set(i, 0);
+        }
+        total.reset();
+        soma.reset();
+    }
+
+    private static int indice(long v) {
+        if (v < SUB_FAIXAS) {
+            return (int) v;
+        }
+        int expoente = 63 - Long.numberOfLeadingZeros(v);
+        int sub = (int) (v >>> (expoente - SUB_FAIXAS_BITS)) & (SUB_FAIXAS - 1);
+        return (expoente - SUB_FAIXAS_BITS + 1) * SUB_FAIXAS + sub;
+    }
+
+    private static long limiteSuperior(int indice) {
+        if (indice < SUB_FAIXAS) {
+            return indice;
+        }
+        int expoente = indice / SUB_FAIXAS + SUB_FAIXAS_BITS - 1;
+        long sub = indice % SUB_FAIXAS;
+        long base = (SUB_FAIXAS + sub) << (expoente - SUB_FAIXAS_BITS);
+        long largura = 1L << (expoente - SUB_FAIXAS_BITS);
+        return base + largura - 1;
+    }
+}
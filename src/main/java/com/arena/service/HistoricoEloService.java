@@ -0,0 +1,223 @@
+package com.arena.service;
+
+import com.arena.model.BlocoHistoricoElo;
+import com.arena.model.RegistroElo;
+import com.arena.repository.HistoricoEloRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Histórico de ELO dos jogadores, só de inclusão.
+ *
+ * Os registros entram numa fila em memória e são gravados em lote a cada
+ * intervalo (ou quando a fila passa de {@value #LIMITE_PENDENTES}): cada
+ * gravação insere um bloco compacto por jogador, numa transação só. A
+ * compactação periódica junta os blocos pequenos consecutivos de um jogador em
+ * blocos de até {@value BlocoHistoricoElo#REGISTROS_POR_BLOCO} registros e
+ * descarta os blocos mais antigos que a retenção configurada.
+ *
+ * A linha do tempo lê os blocos do mais recente para o mais antigo e para
+ * assim que tem registros suficientes, então o custo depende do tamanho da
+ * página e não do histórico inteiro. Registros ainda na fila só aparecem
+ * depois da próxima gravação.
+ */
+@Service
+public class HistoricoEloService {
+    public static final int LIMITE_LINHA_DO_TEMPO = 10_000;
+    private static final int LIMITE_PENDENTES = 10_000;
+    private static final int JOGADORES_POR_COMPACTACAO = 200;
+
+    @Autowired
+    private HistoricoEloRepository historicoEloRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${arena.historico-elo.retencao-dias:730}")
+    private int retencaoDias;
+
+    private final ConcurrentLinkedQueue<Pendente> pendentes = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger totalPendentes = new AtomicInteger();
+    private final ReentrantLock gravando = new ReentrantLock();
+
+    /**
+     * A gravação pode ser disparada de dentro de um {@code afterCommit}, onde
+     * os recursos da transação já confirmada ainda estão ligados à thread; com
+     * REQUIRES_NEW ela sempre roda e confirma numa transação própria.
+     */
+    public HistoricoEloService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Acrescenta uma alteração de ELO ao histórico do jogador.
+     *
+     * @param partidaId partida que gerou a alteração, ou {@code null} para ajustes manuais
+     */
+    public void registrar(Long jogadorId, Long partidaId, int delta, int eloResultante) {
+        pendentes.add(new Pendente(jogadorId, new RegistroElo(partidaId, delta, eloResultante, Instant.now())));
+        if (totalPendentes.incrementAndGet() >= LIMITE_PENDENTES) {
+            gravarPendentes();
+        }
+    }
+
+    /**
+     * Grava os registros da fila, um bloco por jogador. Se já houver uma
+     * gravação em andamento, não faz nada: ela ou a próxima levam o restante.
+     */
+    @Scheduled(fixedDelayString = "${arena.historico-elo.intervalo-gravacao-ms:1000}")
+    public void gravarPendentes() {
+        if (!gravando.tryLock()) {
+            return;
+        }
+        try {
+            Map<Long, List<RegistroElo>> porJogador = new LinkedHashMap<>();
+            int drenados = 0;
+            Pendente pendente;
+            while ((pendente = pendentes.poll()) != null) {
+                porJogador.computeIfAbsent(pendente.jogadorId(), id -> new ArrayList<>()).add(pendente.registro());
+                drenados++;
+            }
+            totalPendentes.addAndGet(-drenados);
+            if (porJogador.isEmpty()) {
+                return;
+            }
+
+            List<BlocoHistoricoElo> blocos = new ArrayList<>(porJogador.size());
+            porJogador.forEach((jogadorId, registros) -> blocos.addAll(emBlocos(jogadorId, registros)));
+            try {
+                transactionTemplate.executeWithoutResult(status -> historicoEloRepository.saveAll(blocos));
+            } catch (RuntimeException e) {
+                // devolve para a fila; a próxima gravação tenta de novo
+                porJogador.forEach((jogadorId, registros) -> {
+                    for (RegistroElo registro : registros) {
+                        pendentes.add(new Pendente(jogadorId, registro));
+                    }
+                });
+                totalPendentes.addAndGet(drenados);
+                throw e;
+            }
+        } finally {
+            gravando.unlock();
+        }
+    }
+
+    @PreDestroy
+    void encerrar() {
+        gravarPendentes();
+    }
+
+    /**
+     * Retorna os registros mais recentes do jogador entre {@code de} e
+     * {@code ate} (inclusive), em ordem cronológica. Para a página anterior,
+     * repita a consulta com {@code ate} igual ao momento do primeiro registro
+     * retornado e descarte os registros repetidos desse mesmo milissegundo.
+     *
+     * @param limite máximo de registros, até {@value #LIMITE_LINHA_DO_TEMPO}
+     */
+    @Transactional(readOnly = true)
+    public List<RegistroElo> linhaDoTempo(Long jogadorId, Instant de, Instant ate, int limite) {
+        if (limite <= 0 || limite > LIMITE_LINHA_DO_TEMPO) {
+            throw new IllegalArgumentException(
+                String.format("Limite deve estar entre 1 e %d", LIMITE_LINHA_DO_TEMPO));
+        }
+        long inicio = de == null ? Long.MIN_VALUE : de.toEpochMilli();
+        long fim = ate == null ? Long.MAX_VALUE : ate.toEpochMilli();
+
+        List<RegistroElo> maisRecentesPrimeiro = new ArrayList<>(Math.min(limite, 1024));
+        try (Stream<BlocoHistoricoElo> blocos = historicoEloRepository.streamLinhaDoTempo(jogadorId, inicio, fim)) {
+            Iterator<BlocoHistoricoElo> iterador = blocos.iterator();
+            while (iterador.hasNext() && maisRecentesPrimeiro.size() < limite) {
+                List<RegistroElo> registros = iterador.next().getRegistros();
+                for (int i = registros.size() - 1; i >= 0 && maisRecentesPrimeiro.size() < limite; i--) {
+                    long momento = registros.get(i).momento().toEpochMilli();
+                    if (momento >= inicio && momento <= fim) {
+                        maisRecentesPrimeiro.add(registros.get(i));
+                    }
+                }
+            }
+        }
+        Collections.reverse(maisRecentesPrimeiro);
+        return maisRecentesPrimeiro;
+    }
+
+    /**
+     * Aplica a retenção e compacta o histórico dos jogadores com blocos
+     * pequenos acumulados.
+     */
+    @Scheduled(fixedDelayString = "${arena.historico-elo.intervalo-compactacao-ms:300000}")
+    public void compactar() {
+        if (retencaoDias > 0) {
+            long limite = Instant.now().minus(Duration.ofDays(retencaoDias)).toEpochMilli();
+            transactionTemplate.executeWithoutResult(status -> historicoEloRepository.removerAnterioresA(limite));
+        }
+        for (Long jogadorId : historicoEloRepository.findJogadoresParaCompactar(Limit.of(JOGADORES_POR_COMPACTACAO))) {
+            transactionTemplate.executeWithoutResult(status -> compactar(jogadorId));
+        }
+    }
+
+    /**
+     * Troca cada sequência de blocos incompletos consecutivos do jogador por
+     * blocos cheios. Blocos já cheios ficam como estão.
+     */
+    private void compactar(Long jogadorId) {
+        Long desde = historicoEloRepository.findInicioIncompletos(jogadorId);
+        if (desde == null) {
+            return;
+        }
+        List<BlocoHistoricoElo> sequencia = new ArrayList<>();
+        for (BlocoHistoricoElo bloco : historicoEloRepository.findBlocosDesde(jogadorId, desde)) {
+            if (bloco.isCheio()) {
+                juntar(jogadorId, sequencia);
+                sequencia.clear();
+            } else {
+                sequencia.add(bloco);
+            }
+        }
+        juntar(jogadorId, sequencia);
+    }
+
+    private void juntar(Long jogadorId, List<BlocoHistoricoElo> sequencia) {
+        if (sequencia.size() < 2) {
+            return;
+        }
+        List<RegistroElo> registros = new ArrayList<>();
+        for (BlocoHistoricoElo bloco : sequencia) {
+            registros.addAll(bloco.getRegistros());
+        }
+        historicoEloRepository.deleteAllInBatch(sequencia);
+        historicoEloRepository.saveAll(emBlocos(jogadorId, registros));
+    }
+
+    private static List<BlocoHistoricoElo> emBlocos(Long jogadorId, List<RegistroElo> registros) {
+        List<BlocoHistoricoElo> blocos = new ArrayList<>(registros.size() / BlocoHistoricoElo.REGISTROS_POR_BLOCO + 1);
+        for (int inicio = 0; inicio < registros.size(); inicio += BlocoHistoricoElo.REGISTROS_POR_BLOCO) {
+            int fim = Math.min(inicio + BlocoHistoricoElo.REGISTROS_POR_BLOCO, registros.size());
+            blocos.add(new BlocoHistoricoElo(jogadorId, registros.subList(inicio, fim)));
+        }
+        return blocos;
+    }
+
+    private record Pendente(Long jogadorId, RegistroElo registro) {}
+}
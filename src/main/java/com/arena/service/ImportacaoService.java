@@ -0,0 +1,353 @@
+package com.arena.service;
+
+import com.arena.dto.ImportacaoJogadoresResponse;
+import com.arena.dto.RegisterRequest;
+import com.arena.enums.FormatoArquivo;
+import com.arena.enums.MotivoInterrupcaoImportacao;
+import com.arena.exception.ServicoSobrecarregadoException;
+import com.arena.model.Jogador;
+import com.arena.repository.JogadorRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Importação em massa de jogadores a partir de CSV ou NDJSON.
+ *
+ * As linhas são processadas em blocos: cada bloco é validado com as mesmas
+ * regras do registro, tem nicknames e emails conferidos contra o banco numa
+ * única consulta, as senhas das linhas válidas são codificadas em paralelo
+ * no pool de importação do {@link SenhaService} e os jogadores são gravados
+ * numa transação por bloco, com os INSERTs agrupados pelo batch JDBC.
+ * Uma linha inválida é rejeitada sem afetar as demais.
+ *
+ * O corpo é lido em streaming, um bloco de cada vez, então só o bloco atual
+ * e o desfecho das linhas já lidas ficam em memória. A importação não é
+ * atômica: cada bloco é confirmado ao terminar. Se o pool de hash recusa um
+ * bloco ({@link ServicoSobrecarregadoException}) ou o arquivo passa de
+ * {@value #LINHAS_MAXIMAS} linhas, a leitura para ali e a resposta traz o
+ * desfecho das linhas processadas e a linha a partir da qual reenviar.
+ */
+@Service
+public class ImportacaoService {
+    public static final int LINHAS_MAXIMAS = 10_000;
+    private static final int LINHAS_POR_BLOCO = 500;
+    private static final List<String> COLUNAS_CSV =
+        List.of("nickname", "nomeReal", "email", "senha", "dataNascimento");
+
+    @Autowired
+    private JogadorRepository jogadorRepository;
+
+    @Autowired
+    private SenhaService senhaService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    /**
+     * Importa os jogadores lidos do corpo da requisição.
+     *
+     * @return o desfecho de cada linha processada, na ordem do arquivo, e onde
+     *         a leitura parou se não chegou ao fim
+     * @throws IllegalArgumentException se o arquivo está vazio ou o cabeçalho
+     *         do CSV não confere; nada foi gravado nesses casos
+     */
+    public ImportacaoJogadoresResponse importar(Reader conteudo, FormatoArquivo formato) throws IOException {
+        BufferedReader leitor = new BufferedReader(conteudo);
+        int numero = 0;
+        int[] colunas = null;
+        if (formato == FormatoArquivo.CSV) {
+            String cabecalho = leitor.readLine();
+            numero++;
+            if (cabecalho == null || cabecalho.isBlank()) {
+                throw new IllegalArgumentException("Arquivo de importação vazio");
+            }
+            colunas = lerCabecalho(cabecalho);
+        }
+
+        ImportacaoJogadoresResponse resposta = new ImportacaoJogadoresResponse(0, 0, new ArrayList<>(), null, null);
+        Set<String> nicknamesNoArquivo = new HashSet<>();
+        Set<String> emailsNoArquivo = new HashSet<>();
+        List<Linha> bloco = new ArrayList<>(LINHAS_POR_BLOCO);
+        int lidas = 0;
+        String texto;
+        while ((texto = leitor.readLine()) != null) {
+            numero++;
+            if (texto.isBlank()) {
+                continue;
+            }
+            if (lidas == LINHAS_MAXIMAS) {
+                // o que já foi lido segue para o banco; o resto do arquivo fica de fora
+                if (processarBloco(bloco, nicknamesNoArquivo, emailsNoArquivo, resposta)) {
+                    interromper(resposta, MotivoInterrupcaoImportacao.LIMITE_DE_LINHAS, numero);
+                }
+                return resposta;
+            }
+            lidas++;
+            bloco.add(colunas != null ? lerCsv(texto, numero, colunas) : lerNdjson(texto, numero));
+            if (bloco.size() == LINHAS_POR_BLOCO) {
+                if (!processarBloco(bloco, nicknamesNoArquivo, emailsNoArquivo, resposta)) {
+                    return resposta;
+                }
+                bloco.clear();
+            }
+        }
+        if (lidas == 0) {
+            throw new IllegalArgumentException("Arquivo de importação vazio");
+        }
+        processarBloco(bloco, nicknamesNoArquivo, emailsNoArquivo, resposta);
+        return resposta;
+    }
+
+    /**
+     * Grava o bloco e acrescenta o desfecho das linhas à resposta.
+     *
+     * @return {@code false} se o pool de hash recusou o bloco: nada dele foi
+     *         gravado e a resposta indica a partir de qual linha reenviar
+     */
+    private boolean processarBloco(List<Linha> bloco, Set<String> nicknamesNoArquivo, Set<String> emailsNoArquivo,
+                                   ImportacaoJogadoresResponse resposta) {
+        if (bloco.isEmpty()) {
+            return true;
+        }
+        try {
+            importarBloco(bloco, nicknamesNoArquivo, emailsNoArquivo);
+        } catch (ServicoSobrecarregadoException e) {
+            interromper(resposta, MotivoInterrupcaoImportacao.SERVICO_SOBRECARREGADO, bloco.get(0).numero);
+            return false;
+        }
+        for (Linha linha : bloco) {
+            String nickname = linha.request != null ? linha.request.getNickname() : null;
+            resposta.getItens().add(
+                new ImportacaoJogadoresResponse.Item(linha.numero, nickname, linha.erro == null, linha.erro));
+            if (linha.erro == null) {
+                resposta.setImportados(resposta.getImportados() + 1);
+            } else {
+                resposta.setRejeitados(resposta.getRejeitados() + 1);
+            }
+        }
+        return true;
+    }
+
+    private static void interromper(ImportacaoJogadoresResponse resposta, MotivoInterrupcaoImportacao motivo, int linha) {
+        resposta.setInterrupcao(motivo);
+        resposta.setRetomarNaLinha(linha);
+    }
+
+    private void importarBloco(List<Linha> bloco, Set<String> nicknamesNoArquivo, Set<String> emailsNoArquivo) {
+        List<Linha> validas = new ArrayList<>(bloco.size());
+        for (Linha linha : bloco) {
+            if (linha.erro == null) {
+                validar(linha, nicknamesNoArquivo, emailsNoArquivo);
+            }
+            if (linha.erro == null) {
+                validas.add(linha);
+            }
+        }
+        validas = semCadastrados(validas);
+        if (validas.isEmpty()) {
+            return;
+        }
+
+        List<String> senhas = new ArrayList<>(validas.size());
+        for (Linha linha : validas) {
+            senhas.add(linha.request.getSenha());
+        }
+        List<String> hashes = senhaService.codificarTodas(senhas);
+
+        List<Jogador> novos = new ArrayList<>(validas.size());
+        for (int i = 0; i < validas.size(); i++) {
+            RegisterRequest request = validas.get(i).request;
+            novos.add(new Jogador(request.getNickname(), request.getNomeReal(), request.getEmail(),
+                hashes.get(i), request.getDataNascimento()));
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> jogadorRepository.saveAll(novos));
+        } catch (DataIntegrityViolationException e) {
+            // cadastro concorrente entre a consulta e o INSERT: o bloco inteiro é desfeito
+            for (Linha linha : validas) {
+                linha.erro = "Nickname ou email cadastrado durante a importação; reenvie a linha";
+            }
+        }
+    }
+
+    /**
+     * Aplica as validações do registro e as do construtor de {@link Jogador},
+     * e rejeita nickname ou email repetido dentro do próprio arquivo.
+     */
+    private void validar(Linha linha, Set<String> nicknamesNoArquivo, Set<String> emailsNoArquivo) {
+        RegisterRequest request = linha.request;
+        Set<ConstraintViolation<RegisterRequest>> violacoes = validator.validate(request);
+        if (!violacoes.isEmpty()) {
+            linha.erro = violacoes.stream()
+                .sorted(Comparator.comparing(v -> v.getPropertyPath().toString()))
+                .findFirst()
+                .map(ConstraintViolation::getMessage)
+                .orElseThrow();
+            return;
+        }
+        try {
+            new Jogador(request.getNickname(), request.getNomeReal(), request.getEmail(),
+                request.getSenha(), request.getDataNascimento());
+        } catch (IllegalArgumentException e) {
+            linha.erro = e.getMessage();
+            return;
+        }
+        if (!nicknamesNoArquivo.add(request.getNickname())) {
+            linha.erro = "Nickname repetido no arquivo";
+        } else if (!emailsNoArquivo.add(request.getEmail())) {
+            linha.erro = "Email repetido no arquivo";
+        }
+    }
+
+    /**
+     * Rejeita as linhas cujo nickname ou email já está no banco, com uma
+     * consulta para o bloco inteiro.
+     */
+    private List<Linha> semCadastrados(List<Linha> validas) {
+        if (validas.isEmpty()) {
+            return validas;
+        }
+        List<String> nicknames = new ArrayList<>(validas.size());
+        List<String> emails = new ArrayList<>(validas.size());
+        for (Linha linha : validas) {
+            nicknames.add(linha.request.getNickname());
+            emails.add(linha.request.getEmail());
+        }
+
+        Set<String> nicknamesCadastrados = new HashSet<>();
+        Set<String> emailsCadastrados = new HashSet<>();
+        for (Object[] existente : jogadorRepository.findNicknamesEEmailsExistentes(nicknames, emails)) {
+            nicknamesCadastrados.add((String) existente[0]);
+            emailsCadastrados.add((String) existente[1]);
+        }
+
+        List<Linha> livres = new ArrayList<>(validas.size());
+        for (Linha linha : validas) {
+            if (nicknamesCadastrados.contains(linha.request.getNickname())) {
+                linha.erro = "Nickname já cadastrado";
+            } else if (emailsCadastrados.contains(linha.request.getEmail())) {
+                linha.erro = "Email já cadastrado";
+            } else {
+                livres.add(linha);
+            }
+        }
+        return livres;
+    }
+
+    private Linha lerNdjson(String texto, int numero) {
+        Linha linha = new Linha(numero);
+        try {
+            linha.request = objectMapper.readValue(texto, RegisterRequest.class);
+        } catch (JsonProcessingException e) {
+            linha.erro = "JSON inválido";
+        }
+        return linha;
+    }
+
+    /**
+     * Confere o cabeçalho do CSV. As colunas podem vir em qualquer ordem, mas
+     * precisam ser exatamente as de {@link #COLUNAS_CSV}.
+     *
+     * @return a posição de cada coluna de {@link #COLUNAS_CSV} no arquivo
+     */
+    private static int[] lerCabecalho(String texto) {
+        List<String> cabecalho = separarCsv(texto.strip());
+        if (cabecalho == null || cabecalho.size() != COLUNAS_CSV.size() || !cabecalho.containsAll(COLUNAS_CSV)) {
+            throw new IllegalArgumentException("Cabeçalho do CSV deve ter as colunas " + String.join(",", COLUNAS_CSV));
+        }
+        int[] posicao = new int[COLUNAS_CSV.size()];
+        for (int c = 0; c < posicao.length; c++) {
+            posicao[c] = cabecalho.indexOf(COLUNAS_CSV.get(c));
+        }
+        return posicao;
+    }
+
+    private static Linha lerCsv(String texto, int numero, int[] posicao) {
+        Linha linha = new Linha(numero);
+        List<String> campos = separarCsv(texto);
+        if (campos == null || campos.size() != posicao.length) {
+            linha.erro = String.format("Linha deve ter %d colunas", posicao.length);
+            return linha;
+        }
+        linha.request = new RegisterRequest(campos.get(posicao[0]), campos.get(posicao[1]),
+            campos.get(posicao[2]), campos.get(posicao[3]), null);
+        String data = campos.get(posicao[4]);
+        if (!data.isEmpty()) {
+            try {
+                linha.request.setDataNascimento(LocalDate.parse(data));
+            } catch (DateTimeParseException e) {
+                linha.erro = "Data de nascimento inválida (use AAAA-MM-DD)";
+            }
+        }
+        return linha;
+    }
+
+    /**
+     * Separa uma linha de CSV (RFC 4180, sem quebra de linha dentro de aspas).
+     *
+     * @return os campos, ou {@code null} se as aspas não fecham
+     */
+    static List<String> separarCsv(String linha) {
+        List<String> campos = new ArrayList<>();
+        StringBuilder campo = new StringBuilder();
+        boolean entreAspas = false;
+        for (int i = 0; i < linha.length(); i++) {
+            char c = linha.charAt(i);
+            if (entreAspas) {
+                if (c != '"') {
+                    campo.append(c);
+                } else if (i + 1 < linha.length() && linha.charAt(i + 1) == '"') {
+                    campo.append('"');
+                    i++;
+                } else {
+                    entreAspas = false;
+                }
+            } else if (c == '"') {
+                entreAspas = true;
+            } else if (c == ',') {
+                campos.add(campo.toString());
+                campo.setLength(0);
+            } else {
+                campo.append(c);
+            }
+        }
+        if (entreAspas) {
+            return null;
+        }
+        campos.add(campo.toString());
+        return campos;
+    }
+
+    private static class Linha {
+        private final int numero;
+        private RegisterRequest request;
+        private String erro;
+
+        Linha(int numero) {
+            this.numero = numero;
+        }
+    }
+}
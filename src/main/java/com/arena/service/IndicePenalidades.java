@@ -0,0 +1,152 @@
+package com.arena.service;
+
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Índice em memória das penalidades ativas de cada jogador numa janela
+ * deslizante de dias, e dos jogadores banidos.
+ *
+ * Cada penalidade ativa com data dentro da janela conta para o seu jogador.
+ * Aplicar, cumprir e revogar ajustam a contagem em O(1). As que saem da
+ * janela são descontadas por {@link #expirar}, da mais antiga para a mais
+ * nova, numa fila por data: as penalidades recebem a data do dia em que são
+ * aplicadas, então chegam em ordem.
+ *
+ * Os banidos ficam num conjunto e cada time guarda quantos membros banidos
+ * tem, então a checagem de uma inscrição é uma consulta só, sem ler os
+ * membros. Os dois são lidos sem lock; banir e registrar um time alteram os
+ * dois sob o mesmo lock. Um time criado depois da carga guarda os membros,
+ * porque o banimento pode ter lido os times do jogador antes do commit dele.
+ */
+@Component
+public class IndicePenalidades {
+    // penalidades que contam hoje -> jogador
+    private final Map<Long, Long> jogadorPorPenalidade = new HashMap<>();
+    private final Map<Long, Integer> ativasPorJogador = new HashMap<>();
+    private final Deque<Entrada> porData = new ArrayDeque<>();
+    private LocalDate inicioJanela = LocalDate.MIN;
+
+    private final Set<Long> banidos = ConcurrentHashMap.newKeySet();
+    private final Map<Long, Integer> banidosPorTime = new ConcurrentHashMap<>();
+    // times registrados depois da carga -> membros
+    private final Map<Long, List<Long>> membrosPorTime = new HashMap<>();
+    private final Object banimentos = new Object();
+
+    /**
+     * Conta uma penalidade ativa para o jogador, se a data dela ainda está
+     * na janela.
+     *
+     * @return as penalidades ativas do jogador na janela, com esta
+     */
+    public synchronized int registrar(Long penalidadeId, Long jogadorId, LocalDate data) {
+        if (data.isBefore(inicioJanela) || jogadorPorPenalidade.containsKey(penalidadeId)) {
+            return getAtivas(jogadorId);
+        }
+        jogadorPorPenalidade.put(penalidadeId, jogadorId);
+        porData.addLast(new Entrada(penalidadeId, data));
+        return ativasPorJogador.merge(jogadorId, 1, Integer::sum);
+    }
+
+    /**
+     * Deixa de contar a penalidade (cumprida ou revogada). A entrada dela na
+     * fila por data é descartada quando chegar a vez.
+     */
+    public synchronized void encerrar(Long penalidadeId) {
+        Long jogadorId = jogadorPorPenalidade.remove(penalidadeId);
+        if (jogadorId != null) {
+            ativasPorJogador.computeIfPresent(jogadorId, (id, ativas) -> ativas == 1 ? null : ativas - 1);
+        }
+    }
+
+    /**
+     * Move o início da janela e desconta as penalidades anteriores a ele.
+     */
+    public synchronized void expirar(LocalDate inicioJanela) {
+        this.inicioJanela = inicioJanela;
+        while (!porData.isEmpty() && porData.peekFirst().data().isBefore(inicioJanela)) {
+            encerrar(porData.pollFirst().penalidadeId());
+        }
+    }
+
+    public synchronized int getAtivas(Long jogadorId) {
+        return ativasPorJogador.getOrDefault(jogadorId, 0);
+    }
+
+    /**
+     * Marca o jogador como banido e soma um membro banido a cada um dos
+     * times dele: os informados e os registrados aqui com ele.
+     */
+    public void banir(Long jogadorId, List<Long> times) {
+        synchronized (banimentos) {
+            if (!banidos.add(jogadorId)) {
+                return;
+            }
+            Set<Long> contados = new HashSet<>(times);
+            for (Map.Entry<Long, List<Long>> time : membrosPorTime.entrySet()) {
+                if (time.getValue().contains(jogadorId)) {
+                    contados.add(time.getKey());
+                }
+            }
+            for (Long timeId : contados) {
+                banidosPorTime.merge(timeId, 1, Integer::sum);
+            }
+        }
+    }
+
+    public boolean isBanido(Long jogadorId) {
+        return banidos.contains(jogadorId);
+    }
+
+    /**
+     * Registra um time recém-criado, contando os membros banidos pelo
+     * conjunto de banidos do índice.
+     */
+    public void registrarTime(Long timeId, List<Long> membros) {
+        synchronized (banimentos) {
+            int membrosBanidos = 0;
+            for (Long jogadorId : membros) {
+                if (banidos.contains(jogadorId)) {
+                    membrosBanidos++;
+                }
+            }
+            membrosPorTime.put(timeId, List.copyOf(membros));
+            carregarTime(timeId, membrosBanidos);
+        }
+    }
+
+    /**
+     * Define quantos membros banidos o time tem, ao carregar o índice.
+     */
+    public void carregarTime(Long timeId, int membrosBanidos) {
+        synchronized (banimentos) {
+            if (membrosBanidos > 0) {
+                banidosPorTime.put(timeId, membrosBanidos);
+            } else {
+                banidosPorTime.remove(timeId);
+            }
+        }
+    }
+
+    public int getMembrosBanidos(Long timeId) {
+        return banidosPorTime.getOrDefault(timeId, 0);
+    }
+
+    public void removerTimes() {
+        synchronized (banimentos) {
+            banidosPorTime.clear();
+            membrosPorTime.clear();
+        }
+    }
+
+    private record Entrada(Long penalidadeId, LocalDate data) {}
+}
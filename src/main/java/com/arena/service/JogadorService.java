@@ -0,0 +1,81 @@
+package com.arena.service;
+
+import com.arena.dto.EstatisticasPartidaRequest;
+import com.arena.dto.JogadorDTO;
+import com.arena.model.Jogador;
+import com.arena.repository.JogadorRepository;
+import com.arena.util.AposCommit;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/**
+ * Alterações de ELO e estatísticas de jogadores feitas com incrementos
+ * atômicos no banco (as estatísticas passam antes pelo
+ * {@link BufferEstatisticasService}). Nenhuma delas lê a entidade antes de
+ * escrever, então requisições concorrentes para o mesmo jogador não perdem
+ * atualizações.
+ */
+@Service
+public class JogadorService {
+
+    @Autowired
+    private JogadorRepository jogadorRepository;
+
+    @Autowired
+    private RankingIndex rankingIndex;
+
+    @Autowired
+    private HistoricoEloService historicoEloService;
+
+    @Autowired
+    private BufferEstatisticasService bufferEstatisticas;
+
+    /**
+     * Soma ou subtrai pontos de ELO do jogador, com as mesmas regras de
+     * {@link Jogador#ganharElo(int)} e {@link Jogador#perderElo(int)}. O ajuste
+     * entra no histórico de ELO sem partida e com os pontos solicitados.
+     *
+     * @return o jogador atualizado, ou vazio se o nickname não existe
+     */
+    @Transactional
+    public Optional<Jogador> ajustarElo(String nickname, int pontos, boolean ganhar) {
+        if (pontos < 0) {
+            throw new IllegalArgumentException("Pontos devem ser positivos");
+        }
+        return jogadorRepository.findIdByNickname(nickname)
+            .filter(id -> jogadorRepository.incrementarElo(id, ganhar ? pontos : -pontos) > 0)
+            .flatMap(jogadorRepository::findById)
+            .map(jogador -> {
+                // o UPDATE em massa não dispara o RankingListener
+                Long id = jogador.getId();
+                int elo = jogador.getElo();
+                long versao = jogador.getVersao();
+                int delta = ganhar ? pontos : -pontos;
+                AposCommit.executar(() -> {
+                    rankingIndex.atualizar(id, elo, versao);
+                    historicoEloService.registrar(id, null, delta, elo);
+                });
+                return jogador;
+            });
+    }
+
+    /**
+     * Soma as estatísticas de uma partida às do jogador, pelo
+     * {@link BufferEstatisticasService}.
+     *
+     * @return o jogador com as estatísticas atualizadas (gravadas ou ainda no
+     *         buffer), ou vazio se o nickname não existe
+     */
+    public Optional<JogadorDTO> registrarPartida(String nickname, EstatisticasPartidaRequest estatisticas) {
+        Optional<Long> id = jogadorRepository.findIdByNickname(nickname);
+        if (id.isEmpty()) {
+            return Optional.empty();
+        }
+        bufferEstatisticas.registrar(id.get(), estatisticas.getVitoria(), estatisticas.getKills(),
+            estatisticas.getDeaths(), estatisticas.getAssists(), estatisticas.getTempoJogoMinutos());
+        return bufferEstatisticas.ler(() -> jogadorRepository.findById(id.get()).map(JogadorDTO::fromEntity));
+    }
+}
@@ -0,0 +1,327 @@
+package com.arena.service;
+
+import com.arena.enums.Categoria;
+import com.arena.enums.TopicoEvento;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Motor de matchmaking por faixas de ELO.
+ *
+ * A fila é indexada por faixas de {@value #LARGURA_FAIXA} pontos de ELO. Como os
+ * limites das categorias são múltiplos dessa largura, nenhuma faixa mistura duas
+ * categorias. Cada faixa é uma fila lock-free e cada entrada tem um estado atômico,
+ * então pareamentos concorrentes disputam apenas as entradas envolvidas, nunca a
+ * fila inteira.
+ *
+ * A janela de busca começa em {@value #JANELA_INICIAL} pontos e cresce com o tempo
+ * de espera. Enquanto nenhum dos dois jogadores esperou
+ * {@link #ESPERA_PARA_CRUZAR_CATEGORIA_MS} ms, só são pareados jogadores da mesma
+ * categoria.
+ *
+ * Entradas, saídas e pareamentos são publicados no tópico {@code fila} do
+ * {@link EventosService}.
+ */
+@Service
+public class MatchmakingService {
+    static final int LARGURA_FAIXA = 100;
+    static final int JANELA_INICIAL = 50;
+    static final int EXPANSAO_POR_SEGUNDO = 25;
+    static final int JANELA_MAXIMA = 1000;
+    static final long ESPERA_PARA_CRUZAR_CATEGORIA_MS = 30_000;
+    static final long VALIDADE_PARTIDA_FORMADA_MS = 300_000;
+
+    private static final int AGUARDANDO = 0;
+    private static final int BUSCANDO = 1;
+    private static final int PAREADO = 2;
+    private static final int CANCELADO = 3;
+
+    @Autowired
+    private EventosService eventosService;
+
+    private final ConcurrentHashMap<String, EntradaFila> fila = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Integer, ConcurrentLinkedDeque<EntradaFila>> faixas = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, PartidaFormada> partidasFormadas = new ConcurrentHashMap<>();
+
+    private final HistogramaLatencia tempoAtePartidaMs = new HistogramaLatencia();
+    private final TaxaPorSegundo partidasPorSegundo = new TaxaPorSegundo(10);
+    private final LongAdder totalPartidas = new LongAdder();
+    private final LongSupplier relogio;
+
+    public MatchmakingService() {
+        this.relogio = System::nanoTime;
+    }
+
+    /**
+     * @param relogio fonte de tempo em nanossegundos, no lugar de {@link System#nanoTime()}
+     */
+    MatchmakingService(EventosService eventosService, LongSupplier relogio) {
+        this.eventosService = eventosService;
+        this.relogio = relogio;
+    }
+
+    /**
+     * Coloca o jogador na fila e tenta parear imediatamente.
+     * Se o jogador já está na fila, nada muda.
+     *
+     * @param nickname o nickname do jogador
+     * @param elo o ELO atual do jogador
+     * @return a partida formada, se houve pareamento imediato
+     */
+    public Optional<PartidaFormada> entrar(String nickname, int elo) {
+        if (nickname == null || nickname.trim().isEmpty()) {
+            throw new IllegalArgumentException("Nickname não pode ser vazio");
+        }
+
+        EntradaFila nova = new EntradaFila(nickname, elo, relogio.getAsLong());
+        if (fila.putIfAbsent(nickname, nova) != null) {
+            return Optional.empty();
+        }
+        partidasFormadas.remove(nickname);
+        // publicado antes de a entrada ficar visível para o pareamento, para
+        // que o evento de entrada nunca chegue depois do de pareamento
+        eventosService.publicar(TopicoEvento.FILA, new EventoFila(EventoFila.ENTROU, nickname, nova.elo, null));
+        faixas.computeIfAbsent(nova.faixa, f -> new ConcurrentLinkedDeque<>()).add(nova);
+
+        return tentarParear(nova, relogio.getAsLong());
+    }
+
+    /**
+     * Remove o jogador da fila.
+     *
+     * @return true se o jogador estava aguardando e foi removido
+     */
+    public boolean sair(String nickname) {
+        EntradaFila entrada = fila.get(nickname);
+        if (entrada == null) {
+            return false;
+        }
+        while (true) {
+            int estado = entrada.estado.get();
+            if (estado == AGUARDANDO) {
+                if (entrada.estado.compareAndSet(AGUARDANDO, CANCELADO)) {
+                    fila.remove(nickname, entrada);
+                    eventosService.publicar(TopicoEvento.FILA, new EventoFila(EventoFila.SAIU, nickname, entrada.elo, null));
+                    return true;
+                }
+            } else if (estado == BUSCANDO) {
+                // outra thread está pareando esta entrada; a busca é curta
+                Thread.onSpinWait();
+            } else {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Esvazia a fila e descarta as partidas formadas.
+     */
+    public void limpar() {
+        for (EntradaFila entrada : fila.values()) {
+            entrada.estado.compareAndSet(AGUARDANDO, CANCELADO);
+        }
+        fila.clear();
+        faixas.clear();
+        partidasFormadas.clear();
+        eventosService.publicar(TopicoEvento.FILA, new EventoFila(EventoFila.LIMPA, null, null, null));
+    }
+
+    public List<String> getFila() {
+        return new ArrayList<>(fila.keySet());
+    }
+
+    public int getTamanhoFila() {
+        return fila.size();
+    }
+
+    public boolean estaNaFila(String nickname) {
+        return fila.containsKey(nickname);
+    }
+
+    /**
+     * Retorna a última partida formada para o jogador, se ainda válida.
+     */
+    public Optional<PartidaFormada> getPartida(String nickname) {
+        return Optional.ofNullable(partidasFormadas.get(nickname));
+    }
+
+    public Estatisticas getEstatisticas() {
+        return new Estatisticas(
+            fila.size(),
+            totalPartidas.sum(),
+            partidasPorSegundo.getTaxa(),
+            tempoAtePartidaMs.percentil(50),
+            tempoAtePartidaMs.percentil(99)
+        );
+    }
+
+    /**
+     * Revisita os jogadores que continuam esperando para aplicar a janela
+     * ampliada pelo tempo de espera, e descarta partidas formadas antigas.
+     */
+    @Scheduled(fixedDelay = 500)
+    public void parearPendentes() {
+        long agora = relogio.getAsLong();
+        for (EntradaFila entrada : fila.values()) {
+            if (entrada.estado.get() == AGUARDANDO) {
+                tentarParear(entrada, agora);
+            }
+        }
+
+        LocalDateTime limite = LocalDateTime.now().minusNanos(
+            TimeUnit.MILLISECONDS.toNanos(VALIDADE_PARTIDA_FORMADA_MS));
+        partidasFormadas.values().removeIf(p -> p.formadaEm().isBefore(limite));
+    }
+
+    private Optional<PartidaFormada> tentarParear(EntradaFila entrada, long agora) {
+        if (!entrada.estado.compareAndSet(AGUARDANDO, BUSCANDO)) {
+            return Optional.empty();
+        }
+
+        EntradaFila oponente = null;
+        try {
+            int janela = janela(entrada, agora);
+            int faixaMinima = Math.max(0, entrada.elo - janela) / LARGURA_FAIXA;
+            int faixaMaxima = (entrada.elo + janela) / LARGURA_FAIXA;
+
+            // visita as faixas do centro para fora, priorizando ELOs mais próximos
+            for (int d = 0; oponente == null; d++) {
+                int abaixo = entrada.faixa - d;
+                int acima = entrada.faixa + d;
+                if (abaixo < faixaMinima && acima > faixaMaxima) {
+                    break;
+                }
+                if (abaixo >= faixaMinima) {
+                    oponente = buscarNaFaixa(abaixo, entrada, janela, agora);
+                }
+                if (oponente == null && d > 0 && acima <= faixaMaxima) {
+                    oponente = buscarNaFaixa(acima, entrada, janela, agora);
+                }
+            }
+        } finally {
+            entrada.estado.set(oponente == null ? AGUARDANDO : PAREADO);
+        }
+
+        if (oponente == null) {
+            return Optional.empty();
+        }
+        return Optional.of(formarPartida(oponente, entrada, agora));
+    }
+
+    private EntradaFila buscarNaFaixa(int faixa, EntradaFila entrada, int janela, long agora) {
+        ConcurrentLinkedDeque<EntradaFila> candidatos = faixas.get(faixa);
+        if (candidatos == null) {
+            return null;
+        }
+
+        boolean podeCruzar = podeCruzarCategoria(entrada, agora);
+        for (Iterator<EntradaFila> it = candidatos.iterator(); it.hasNext(); ) {
+            EntradaFila candidato = it.next();
+            int estado = candidato.estado.get();
+            if (estado == PAREADO || estado == CANCELADO) {
+                it.remove();
+                continue;
+            }
+            if (candidato == entrada || estado != AGUARDANDO) {
+                continue;
+            }
+            if (Math.abs(candidato.elo - entrada.elo) > janela) {
+                continue;
+            }
+            if (candidato.categoria != entrada.categoria && !podeCruzar
+                    && !podeCruzarCategoria(candidato, agora)) {
+                continue;
+            }
+            if (candidato.estado.compareAndSet(AGUARDANDO, PAREADO)) {
+                it.remove();
+                return candidato;
+            }
+        }
+        return null;
+    }
+
+    private PartidaFormada formarPartida(EntradaFila primeiro, EntradaFila segundo, long agora) {
+        fila.remove(primeiro.nickname, primeiro);
+        fila.remove(segundo.nickname, segundo);
+
+        PartidaFormada partida = new PartidaFormada(
+            primeiro.nickname, primeiro.elo,
+            segundo.nickname, segundo.elo,
+            LocalDateTime.now()
+        );
+        partidasFormadas.put(primeiro.nickname, partida);
+        partidasFormadas.put(segundo.nickname, partida);
+
+        tempoAtePartidaMs.registrar(TimeUnit.NANOSECONDS.toMillis(agora - primeiro.entradaNanos));
+        tempoAtePartidaMs.registrar(TimeUnit.NANOSECONDS.toMillis(agora - segundo.entradaNanos));
+        partidasPorSegundo.registrar();
+        totalPartidas.increment();
+        eventosService.publicar(TopicoEvento.FILA, new EventoFila(EventoFila.PAREADOS, null, null, partida));
+        return partida;
+    }
+
+    private static int janela(EntradaFila entrada, long agora) {
+        long esperaSegundos = TimeUnit.NANOSECONDS.toSeconds(agora - entrada.entradaNanos);
+        return (int) Math.min(JANELA_MAXIMA, JANELA_INICIAL + EXPANSAO_POR_SEGUNDO * esperaSegundos);
+    }
+
+    private static boolean podeCruzarCategoria(EntradaFila entrada, long agora) {
+        return TimeUnit.NANOSECONDS.toMillis(agora - entrada.entradaNanos) >= ESPERA_PARA_CRUZAR_CATEGORIA_MS;
+    }
+
+    /**
+     * Jogador aguardando na fila.
+     */
+    private static final class EntradaFila {
+        private final String nickname;
+        private final int elo;
+        private final Categoria categoria;
+        private final int faixa;
+        private final long entradaNanos;
+        private final AtomicInteger estado = new AtomicInteger(AGUARDANDO);
+
+        private EntradaFila(String nickname, int elo, long entradaNanos) {
+            this.nickname = nickname;
+            this.elo = Math.max(0, elo);
+            this.categoria = Categoria.getCategoriaPorElo(this.elo);
+            this.faixa = this.elo / LARGURA_FAIXA;
+            this.entradaNanos = entradaNanos;
+        }
+    }
+
+    /**
+     * Partida formada pelo matchmaking.
+     */
+    public record PartidaFormada(String jogador1, int elo1, String jogador2, int elo2,
+                                 LocalDateTime formadaEm) {}
+
+    /**
+     * Indicadores do matchmaking.
+     */
+    public record Estatisticas(int jogadoresNaFila, long partidasFormadas, double partidasPorSegundo,
+                               long p50TempoAtePartidaMs, long p99TempoAtePartidaMs) {}
+
+    /**
+     * Mudança na fila publicada no canal de eventos. {@code nickname} e
+     * {@code elo} vêm nas entradas e saídas; {@code partida}, nos pareamentos.
+     */
+    public record EventoFila(String tipo, String nickname, Integer elo, PartidaFormada partida) {
+        public static final String ENTROU = "ENTROU";
+        public static final String SAIU = "SAIU";
+        public static final String PAREADOS = "PAREADOS";
+        public static final String LIMPA = "LIMPA";
+    }
+}
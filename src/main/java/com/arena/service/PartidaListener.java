@@ -0,0 +1,41 @@
+package com.arena.service;
+
+import com.arena.enums.StatusPartida;
+import com.arena.model.Partida;
+import com.arena.util.AposCommit;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+
+import java.time.LocalDateTime;
+
+/**
+ * Listener JPA que mantém o {@link TemporizadorPartidasService} em dia com
+ * as partidas: agendadas e iniciadas ganham (ou trocam) o temporizador,
+ * encerradas e removidas perdem. Como no {@link RankingListener}, só depois
+ * do commit.
+ */
+public class PartidaListener {
+
+    // o listener é criado junto com o EntityManagerFactory, do qual o serviço depende
+    @Autowired
+    @Lazy
+    private TemporizadorPartidasService temporizadorPartidasService;
+
+    @PostPersist
+    @PostUpdate
+    public void aposSalvar(Partida partida) {
+        Long id = partida.getId();
+        StatusPartida status = partida.getStatus();
+        LocalDateTime dataHora = partida.getDataHora();
+        AposCommit.executar(() -> temporizadorPartidasService.atualizar(id, status, dataHora));
+    }
+
+    @PostRemove
+    public void aposRemover(Partida partida) {
+        Long id = partida.getId();
+        AposCommit.executar(() -> temporizadorPartidasService.cancelar(id));
+    }
+}
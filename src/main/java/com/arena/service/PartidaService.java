@@ -0,0 +1,126 @@
+package com.arena.service;
+
+import com.arena.dto.PartidaDTO;
+import com.arena.enums.StatusPartida;
+import com.arena.enums.TopicoEvento;
+import com.arena.model.Jogador;
+import com.arena.model.Participante;
+import com.arena.model.Partida;
+import com.arena.model.RegistroPartida;
+import com.arena.repository.PartidaRepository;
+import com.arena.repository.RegistroPartidaRepository;
+import com.arena.repository.TorneioRepository;
+import com.arena.util.AposCommit;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Presença dos participantes antes do início e WO de quem não compareceu.
+ */
+@Service
+public class PartidaService {
+
+    @Autowired
+    private PartidaRepository partidaRepository;
+
+    @Autowired
+    private TorneioRepository torneioRepository;
+
+    @Autowired
+    private PenalidadeService penalidadeService;
+
+    @Autowired
+    private RatingPartidaService ratingPartidaService;
+
+    @Autowired
+    private RegistroPartidaRepository registroPartidaRepository;
+
+    @Autowired
+    private HistoricoEloService historicoEloService;
+
+    @Autowired
+    private EventosService eventosService;
+
+    @Transactional
+    public Optional<PartidaDTO> confirmarPresenca(Long partidaId, Long participanteId) {
+        Optional<Partida> partida = partidaRepository.findById(partidaId);
+        partida.ifPresent(p -> {
+            try {
+                p.confirmarPresenca(participanteId);
+            } catch (IllegalStateException e) {
+                throw new IllegalArgumentException(e.getMessage());
+            }
+        });
+        return partida.map(PartidaDTO::fromEntity);
+    }
+
+    /**
+     * Dá WO ao participante que não confirmou presença, se a partida ainda
+     * está agendada e só um deles confirmou. Com os dois presentes ou os dois
+     * ausentes não há como escolher o perdedor, e a partida fica como está.
+     *
+     * Como num WO dos resultados em lote, o ausente é penalizado (e banido,
+     * se a penalidade o levar ao limite de {@link PenalidadeService}), o
+     * resultado entra no histórico de partidas e, depois do commit, o ELO vai
+     * para o histórico e a partida é publicada no tópico {@code partidas}.
+     *
+     * @return true se o WO foi aplicado
+     */
+    @Transactional
+    public boolean darWOPorAusencia(Long partidaId) {
+        Partida partida = partidaRepository.findById(partidaId).orElse(null);
+        if (partida == null || partida.getStatus() != StatusPartida.AGENDADA) {
+            return false;
+        }
+        Participante ausente = partida.getAusente();
+        if (ausente == null) {
+            return false;
+        }
+        travarTorneio(torneioRepository, partida);
+        List<Jogador> lado1 = partida.getParticipante1().getMembros();
+        List<Jogador> lado2 = partida.getParticipante2().getMembros();
+        int ladoAusente = ausente == partida.getParticipante1() ? 1 : 2;
+
+        int[] antes = ResultadoService.elos(lado1, lado2);
+        penalidadeService.registrar(ratingPartidaService.darWO(partida, ausente));
+        List<ResultadoService.AlteracaoElo> alteracoes = new ArrayList<>(antes.length);
+        ResultadoService.registrarAlteracoes(lado1, antes, 0, partidaId, alteracoes);
+        ResultadoService.registrarAlteracoes(lado2, antes, lado1.size(), partidaId, alteracoes);
+        registroPartidaRepository.save(new RegistroPartida(partidaId, lado1, lado2, 0, 0, ladoAusente));
+
+        ResultadoService.EventoPartida encerrada = new ResultadoService.EventoPartida(partidaId, StatusPartida.WO,
+            nicknames(lado1), nicknames(lado2), 0, 0, ladoAusente);
+        AposCommit.executar(() -> {
+            for (ResultadoService.AlteracaoElo alteracao : alteracoes) {
+                historicoEloService.registrar(alteracao.jogadorId(), alteracao.partidaId(),
+                    alteracao.delta(), alteracao.eloResultante());
+            }
+            eventosService.publicar(TopicoEvento.PARTIDAS, encerrada);
+        });
+        return true;
+    }
+
+    /**
+     * Lê com lock de escrita o torneio de uma partida gerada por ele, antes de
+     * encerrá-la: o resultado avança a chave ou a rodada, e os resultados de
+     * um mesmo torneio não podem ser aplicados ao mesmo tempo.
+     */
+    static void travarTorneio(TorneioRepository torneioRepository, Partida partida) {
+        if (partida.isGerada()) {
+            torneioRepository.findParaAlteracao(partida.getTorneio().getId());
+        }
+    }
+
+    static List<String> nicknames(List<Jogador> jogadores) {
+        List<String> nicknames = new ArrayList<>(jogadores.size());
+        for (int i = 0; i < jogadores.size(); i++) {
+            nicknames.add(jogadores.get(i).getNickname());
+        }
+        return nicknames;
+    }
+}
@@ -0,0 +1,190 @@
+package com.arena.service;
+
+import com.arena.dto.PenalidadeDTO;
+import com.arena.enums.StatusJogador;
+import com.arena.enums.StatusPenalidade;
+import com.arena.enums.TipoPenalidade;
+import com.arena.exception.PenalidadeMaximaException;
+import com.arena.model.Jogador;
+import com.arena.model.Penalidade;
+import com.arena.repository.JogadorRepository;
+import com.arena.repository.PenalidadeRepository;
+import com.arena.repository.TimeRepository;
+import com.arena.util.AposCommit;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Aplicação, cumprimento e revogação de penalidades, com banimento
+ * automático de quem acumula penalidades ativas.
+ *
+ * As contagens ficam no {@link IndicePenalidades}: conta cada penalidade
+ * ativa aplicada nos últimos {@code arena.penalidades.janela-dias} dias, e a
+ * que leva o jogador a {@code arena.penalidades.limite-ativas} o bane. O
+ * banimento é gravado no jogador; cumprir ou revogar uma penalidade depois
+ * disso não desfaz o banimento.
+ *
+ * A penalidade entra na contagem ainda dentro da transação, para que duas
+ * aplicações simultâneas não passem as duas abaixo do limite, e sai se a
+ * transação não for confirmada. Cumprir e revogar descontam depois do commit.
+ */
+@Service
+public class PenalidadeService {
+
+    @Autowired
+    private PenalidadeRepository penalidadeRepository;
+
+    @Autowired
+    private JogadorRepository jogadorRepository;
+
+    @Autowired
+    private TimeRepository timeRepository;
+
+    @Autowired
+    private IndicePenalidades indice;
+
+    @Value("${arena.penalidades.limite-ativas:3}")
+    private int limiteAtivas;
+
+    @Value("${arena.penalidades.janela-dias:90}")
+    private int janelaDias;
+
+    /**
+     * Monta o índice a partir do banco: as penalidades ativas da janela, os
+     * jogadores banidos e quantos banidos cada time tem.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void carregar() {
+        LocalDate inicio = inicioJanela();
+        indice.expirar(inicio);
+        for (Object[] linha : penalidadeRepository.findResumoPorStatusDesde(StatusPenalidade.ATIVA, inicio)) {
+            indice.registrar((Long) linha[0], (Long) linha[1], (LocalDate) linha[2]);
+        }
+        for (Long jogadorId : jogadorRepository.findIdsByStatus(StatusJogador.BANIDO)) {
+            indice.banir(jogadorId, List.of());
+        }
+        for (Object[] linha : timeRepository.contarMembrosPorStatus(StatusJogador.BANIDO)) {
+            indice.carregarTime((Long) linha[0], ((Long) linha[1]).intValue());
+        }
+    }
+
+    /**
+     * Aplica uma penalidade ao jogador.
+     *
+     * @return a penalidade aplicada, ou vazio se o jogador não existe
+     * @throws PenalidadeMaximaException se a penalidade levou o jogador ao
+     *         limite e ele foi banido (a penalidade e o banimento são gravados)
+     */
+    @Transactional(noRollbackFor = PenalidadeMaximaException.class)
+    public Optional<PenalidadeDTO> aplicar(Long jogadorId, TipoPenalidade tipo, String descricao) {
+        Optional<Jogador> jogador = jogadorRepository.findById(jogadorId);
+        if (jogador.isEmpty()) {
+            return Optional.empty();
+        }
+        boolean jaBanido = jogador.get().isBanido();
+        Penalidade penalidade = new Penalidade(jogador.get(), tipo, descricao);
+        int ativas = registrar(penalidade);
+        if (!jaBanido && jogador.get().isBanido()) {
+            throw new PenalidadeMaximaException(jogador.get().getNickname(), ativas);
+        }
+        return Optional.of(PenalidadeDTO.fromEntity(penalidade));
+    }
+
+    /**
+     * Grava a penalidade, conta ela para o jogador e bane o jogador se ele
+     * chegou ao limite.
+     *
+     * @return as penalidades ativas do jogador na janela, com esta
+     */
+    @Transactional
+    public int registrar(Penalidade penalidade) {
+        penalidadeRepository.save(penalidade);
+        Jogador jogador = penalidade.getJogador();
+        Long penalidadeId = penalidade.getId();
+        int ativas = indice.registrar(penalidadeId, jogador.getId(), penalidade.getData());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        indice.encerrar(penalidadeId);
+                    }
+                }
+            });
+        }
+
+        if (ativas >= limiteAtivas && !jogador.isBanido()) {
+            jogador.banir();
+            Long jogadorId = jogador.getId();
+            List<Long> times = timeRepository.findIdsByMembroId(jogadorId);
+            AposCommit.executar(() -> indice.banir(jogadorId, times));
+        }
+        return ativas;
+    }
+
+    /**
+     * @return a penalidade cumprida, ou vazio se não existe
+     * @throws IllegalArgumentException se a penalidade não está ativa
+     */
+    @Transactional
+    public Optional<PenalidadeDTO> cumprir(Long id) {
+        return encerrar(id, Penalidade::cumprir);
+    }
+
+    /**
+     * @return a penalidade revogada, ou vazio se não existe
+     * @throws IllegalArgumentException se a penalidade não está ativa
+     */
+    @Transactional
+    public Optional<PenalidadeDTO> revogar(Long id) {
+        return encerrar(id, Penalidade::revogar);
+    }
+
+    @Transactional(readOnly = true)
+    public List<PenalidadeDTO> listarAtivas(Long jogadorId) {
+        List<PenalidadeDTO> penalidades = new ArrayList<>();
+        for (Penalidade penalidade : penalidadeRepository.findByJogadorIdAndStatus(jogadorId, StatusPenalidade.ATIVA)) {
+            penalidades.add(PenalidadeDTO.fromEntity(penalidade));
+        }
+        return penalidades;
+    }
+
+    /**
+     * Desconta as penalidades que saíram da janela.
+     */
+    @Scheduled(fixedDelayString = "${arena.penalidades.intervalo-expiracao-ms:60000}")
+    public void expirar() {
+        indice.expirar(inicioJanela());
+    }
+
+    private Optional<PenalidadeDTO> encerrar(Long id, Consumer<Penalidade> acao) {
+        Optional<Penalidade> penalidade = penalidadeRepository.findById(id);
+        penalidade.ifPresent(p -> {
+            if (!p.isAtiva()) {
+                throw new IllegalArgumentException("Penalidade não está ativa");
+            }
+            acao.accept(p);
+            AposCommit.executar(() -> indice.encerrar(id));
+        });
+        return penalidade.map(PenalidadeDTO::fromEntity);
+    }
+
+    // primeiro dia que ainda conta
+    private LocalDate inicioJanela() {
+        return LocalDate.now().minusDays(janelaDias - 1L);
+    }
+}
@@ -0,0 +1,171 @@
+package com.arena.service;
+
+import com.arena.dto.EventoPartidaRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Placar ao vivo de uma partida em andamento, agregado em memória a partir
+ * dos eventos enviados pelos servidores de jogo.
+ *
+ * Os ids dos jogadores ficam num {@code long[]} (lado 1 e depois lado 2) e
+ * os contadores em {@code int[]} paralelos: nenhum objeto por jogador nem
+ * por evento. Com times de poucos jogadores a busca linear pelo id sai mais
+ * barata que um mapa. Cada lote é validado inteiro e só então aplicado, sob o
+ * monitor do placar: um evento inválido rejeita o lote todo e uma leitura
+ * nunca vê um lote pela metade.
+ */
+public class PlacarAoVivo {
+    private final Long partidaId;
+    private final long[] jogadores;
+    private final int tamanhoLado1;
+    private final int[] kills;
+    private final int[] deaths;
+    private final int[] assists;
+    private final int[] objetivos;
+    private int rounds1;
+    private int rounds2;
+    private long eventos;
+    private boolean encerrado;
+
+    public PlacarAoVivo(Long partidaId, long[] lado1, long[] lado2) {
+        this.partidaId = partidaId;
+        this.tamanhoLado1 = lado1.length;
+        this.jogadores = new long[lado1.length + lado2.length];
+        System.arraycopy(lado1, 0, jogadores, 0, lado1.length);
+        System.arraycopy(lado2, 0, jogadores, lado1.length, lado2.length);
+        this.kills = new int[jogadores.length];
+        this.deaths = new int[jogadores.length];
+        this.assists = new int[jogadores.length];
+        this.objetivos = new int[jogadores.length];
+    }
+
+    /**
+     * Aplica um lote de eventos, todo ou nada.
+     *
+     * @return o total de eventos aplicados na partida até aqui
+     * @throws IllegalArgumentException se algum evento do lote é inválido ou a partida está sendo finalizada
+     */
+    public synchronized long aplicar(List<EventoPartidaRequest> lote) {
+        if (encerrado) {
+            throw new IllegalArgumentException("Partida está sendo finalizada");
+        }
+        // jogadores (ou o lado) de cada evento, resolvidos na validação
+        int[] indices = new int[3 * lote.size()];
+        for (int i = 0; i < lote.size(); i++) {
+            validar(lote.get(i), i, indices);
+        }
+        for (int i = 0; i < lote.size(); i++) {
+            int base = 3 * i;
+            switch (lote.get(i).getTipo()) {
+                case KILL -> {
+                    kills[indices[base]]++;
+                    deaths[indices[base + 1]]++;
+                    if (indices[base + 2] >= 0) {
+                        assists[indices[base + 2]]++;
+                    }
+                }
+                case ROUND -> {
+                    if (indices[base] == 1) {
+                        rounds1++;
+                    } else {
+                        rounds2++;
+                    }
+                }
+                case OBJETIVO -> objetivos[indices[base]]++;
+            }
+        }
+        eventos += lote.size();
+        return eventos;
+    }
+
+    public synchronized Snapshot snapshot() {
+        List<LinhaJogador> linhas = new ArrayList<>(jogadores.length);
+        for (int j = 0; j < jogadores.length; j++) {
+            linhas.add(new LinhaJogador(jogadores[j], lado(j), kills[j], deaths[j], assists[j], objetivos[j]));
+        }
+        return new Snapshot(partidaId, rounds1, rounds2, eventos, encerrado, linhas);
+    }
+
+    /**
+     * Fecha o placar para novos eventos e devolve o placar final.
+     *
+     * @throws IllegalArgumentException se a partida já está sendo finalizada
+     */
+    synchronized Snapshot encerrar() {
+        if (encerrado) {
+            throw new IllegalArgumentException("Partida já está sendo finalizada");
+        }
+        encerrado = true;
+        return snapshot();
+    }
+
+    /**
+     * Volta a aceitar eventos depois de uma finalização que falhou.
+     */
+    synchronized void reabrir() {
+        encerrado = false;
+    }
+
+    private void validar(EventoPartidaRequest evento, int i, int[] indices) {
+        if (evento == null || evento.getTipo() == null) {
+            throw new IllegalArgumentException(String.format("Evento %d: tipo é obrigatório", i));
+        }
+        int base = 3 * i;
+        switch (evento.getTipo()) {
+            case KILL -> {
+                int autor = indice(evento.getJogador(), i, "jogador");
+                int vitima = indice(evento.getVitima(), i, "vítima");
+                if (lado(autor) == lado(vitima)) {
+                    throw new IllegalArgumentException(
+                        String.format("Evento %d: a vítima deve ser do outro lado", i));
+                }
+                int assistencia = -1;
+                if (evento.getAssistencia() != null) {
+                    assistencia = indice(evento.getAssistencia(), i, "assistência");
+                    if (assistencia == autor || lado(assistencia) != lado(autor)) {
+                        throw new IllegalArgumentException(String.format(
+                            "Evento %d: a assistência deve ser de outro jogador do mesmo lado", i));
+                    }
+                }
+                indices[base] = autor;
+                indices[base + 1] = vitima;
+                indices[base + 2] = assistencia;
+            }
+            case ROUND -> {
+                Integer lado = evento.getLado();
+                if (lado == null || (lado != 1 && lado != 2)) {
+                    throw new IllegalArgumentException(String.format("Evento %d: lado deve ser 1 ou 2", i));
+                }
+                indices[base] = lado;
+            }
+            case OBJETIVO -> indices[base] = indice(evento.getJogador(), i, "jogador");
+        }
+    }
+
+    private int indice(Long jogadorId, int evento, String papel) {
+        if (jogadorId != null) {
+            long id = jogadorId;
+            for (int j = 0; j < jogadores.length; j++) {
+                if (jogadores[j] == id) {
+                    return j;
+                }
+            }
+        }
+        throw new IllegalArgumentException(String.format("Evento %d: %s não está na partida", evento, papel));
+    }
+
+    private int lado(int indice) {
+        return indice < tamanhoLado1 ? 1 : 2;
+    }
+
+    /**
+     * Placar num instante: rounds de cada lado, total de eventos aplicados e
+     * as estatísticas de cada jogador.
+     */
+    public record Snapshot(Long partidaId, int placar1, int placar2, long eventos, boolean encerrado,
+                           List<LinhaJogador> jogadores) {}
+
+    public record LinhaJogador(long jogadorId, int lado, int kills, int deaths, int assists, int objetivos) {}
+}
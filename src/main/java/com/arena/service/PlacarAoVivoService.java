@@ -0,0 +1,253 @@
+package com.arena.service;
+
+import com.arena.dto.EventoPartidaRequest;
+import com.arena.dto.PartidaDTO;
+import com.arena.enums.StatusPartida;
+import com.arena.enums.TopicoEvento;
+import com.arena.model.Jogador;
+import com.arena.model.Participante;
+import com.arena.model.Partida;
+import com.arena.model.RegistroPartida;
+import com.arena.repository.JogadorRepository;
+import com.arena.repository.PartidaRepository;
+import com.arena.repository.RegistroPartidaRepository;
+import com.arena.repository.TorneioRepository;
+import com.arena.util.AposCommit;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Placar ao vivo das partidas em andamento.
+ *
+ * Ao iniciar a partida, um {@link PlacarAoVivo} com os jogadores dos dois
+ * participantes fica em memória neste nó. Os eventos enviados pelos
+ * servidores de jogo só somam contadores nele, sem tocar no banco, e o placar
+ * pode ser lido a qualquer momento. Ao finalizar, o placar é fechado para
+ * novos eventos e tudo vai ao banco numa transação: a partida com os rounds
+ * como placar (e o ELO de {@link Partida#finalizar}), as estatísticas da
+ * partida somadas a cada jogador no mesmo UPDATE do ELO e um
+ * {@link RegistroPartida} para o histórico. Depois do commit, como no
+ * {@link ResultadoService}, o ELO vai para o {@link HistoricoEloService} e a
+ * partida é publicada no tópico {@code partidas}.
+ *
+ * O placar não é persistido: se o nó reinicia no meio da partida, os eventos
+ * recebidos se perdem e ela precisa ser encerrada pelos resultados em lote.
+ */
+@Service
+public class PlacarAoVivoService {
+    private static final int TENTATIVAS = 3;
+
+    @Autowired
+    private PartidaRepository partidaRepository;
+
+    @Autowired
+    private JogadorRepository jogadorRepository;
+
+    @Autowired
+    private RegistroPartidaRepository registroPartidaRepository;
+
+    @Autowired
+    private TorneioRepository torneioRepository;
+
+    @Autowired
+    private HistoricoEloService historicoEloService;
+
+    @Autowired
+    private EventosService eventosService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private RatingPartidaService ratingPartidaService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final Map<Long, PlacarAoVivo> placares = new ConcurrentHashMap<>();
+    private Counter eventos;
+
+    @PostConstruct
+    void registrarMetricas() {
+        this.eventos = Counter.builder("arena.placar.eventos")
+            .description("Eventos de partidas em andamento aplicados ao placar ao vivo")
+            .register(meterRegistry);
+        Gauge.builder("arena.placar.partidas", placares, Map::size)
+            .description("Partidas com placar ao vivo neste nó")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Inicia a partida e abre o placar ao vivo dela.
+     */
+    @Transactional
+    public Optional<PlacarAoVivo.Snapshot> iniciar(Long partidaId) {
+        Optional<Partida> encontrada = partidaRepository.findById(partidaId);
+        if (encontrada.isEmpty()) {
+            return Optional.empty();
+        }
+        Partida partida = encontrada.get();
+        try {
+            partida.iniciar();
+        } catch (IllegalStateException e) {
+            throw new IllegalArgumentException(e.getMessage());
+        }
+        PlacarAoVivo placar = new PlacarAoVivo(partidaId, ids(partida.getParticipante1()),
+            ids(partida.getParticipante2()));
+        AposCommit.executar(() -> placares.put(partidaId, placar));
+        return Optional.of(placar.snapshot());
+    }
+
+    /**
+     * Aplica um lote de eventos ao placar da partida, todo ou nada.
+     *
+     * @return {@code false} se a partida não tem placar ao vivo neste nó
+     */
+    public boolean registrar(Long partidaId, List<EventoPartidaRequest> lote) {
+        PlacarAoVivo placar = placares.get(partidaId);
+        if (placar == null) {
+            return false;
+        }
+        placar.aplicar(lote);
+        eventos.increment(lote.size());
+        return true;
+    }
+
+    public Optional<PlacarAoVivo.Snapshot> placar(Long partidaId) {
+        return Optional.ofNullable(placares.get(partidaId)).map(PlacarAoVivo::snapshot);
+    }
+
+    /**
+     * Finaliza a partida com o placar ao vivo. Se a gravação falha, o placar
+     * volta a aceitar eventos e a finalização pode ser repetida.
+     */
+    public Optional<PartidaDTO> finalizar(Long partidaId) {
+        PlacarAoVivo placar = placares.get(partidaId);
+        if (placar == null) {
+            if (!partidaRepository.existsById(partidaId)) {
+                return Optional.empty();
+            }
+            throw new IllegalArgumentException("Partida não tem placar ao vivo neste nó");
+        }
+        PlacarAoVivo.Snapshot finalizado = placar.encerrar();
+        try {
+            PartidaDTO partida = gravar(finalizado);
+            placares.remove(partidaId, placar);
+            return Optional.of(partida);
+        } catch (RuntimeException e) {
+            placar.reabrir();
+            throw e;
+        }
+    }
+
+    /**
+     * Finaliza por tempo esgotado, com o placar ao vivo até aqui.
+     *
+     * @return {@code false} se a partida não tem placar ao vivo neste nó
+     */
+    public boolean finalizarPorTempo(Long partidaId) {
+        return placares.containsKey(partidaId) && finalizar(partidaId).isPresent();
+    }
+
+    private PartidaDTO gravar(PlacarAoVivo.Snapshot finalizado) {
+        for (int tentativa = 1; ; tentativa++) {
+            try {
+                return transactionTemplate.execute(status -> aplicarResultado(finalizado));
+            } catch (OptimisticLockingFailureException e) {
+                // um jogador da partida mudou no meio (outra partida, o write-behind)
+                if (tentativa == TENTATIVAS) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private PartidaDTO aplicarResultado(PlacarAoVivo.Snapshot finalizado) {
+        Partida partida = partidaRepository.findById(finalizado.partidaId())
+            .orElseThrow(() -> new IllegalArgumentException("Partida foi removida durante o andamento"));
+        PartidaService.travarTorneio(torneioRepository, partida);
+        List<Jogador> lado1 = partida.getParticipante1().getMembros();
+        List<Jogador> lado2 = partida.getParticipante2().getMembros();
+
+        int[] antes = ResultadoService.elos(lado1, lado2);
+        try {
+            ratingPartidaService.finalizar(partida, finalizado.placar1(), finalizado.placar2());
+        } catch (IllegalStateException e) {
+            throw new IllegalArgumentException(e.getMessage());
+        }
+        List<ResultadoService.AlteracaoElo> alteracoes = new ArrayList<>(antes.length);
+        ResultadoService.registrarAlteracoes(lado1, antes, 0, partida.getId(), alteracoes);
+        ResultadoService.registrarAlteracoes(lado2, antes, lado1.size(), partida.getId(), alteracoes);
+        somarEstatisticas(finalizado, Duration.between(partida.getDataHora(), LocalDateTime.now()).toMinutes());
+        registroPartidaRepository.save(new RegistroPartida(partida.getId(), lado1, lado2,
+            finalizado.placar1(), finalizado.placar2(), null));
+
+        ResultadoService.EventoPartida encerrada = new ResultadoService.EventoPartida(partida.getId(),
+            StatusPartida.FINALIZADA, PartidaService.nicknames(lado1), PartidaService.nicknames(lado2),
+            finalizado.placar1(), finalizado.placar2(), null);
+        AposCommit.executar(() -> {
+            for (ResultadoService.AlteracaoElo alteracao : alteracoes) {
+                historicoEloService.registrar(alteracao.jogadorId(), alteracao.partidaId(),
+                    alteracao.delta(), alteracao.eloResultante());
+            }
+            eventosService.publicar(TopicoEvento.PARTIDAS, encerrada);
+        });
+        return PartidaDTO.fromEntity(partida);
+    }
+
+    /**
+     * Soma as estatísticas do placar aos jogadores da partida. Os membros já
+     * carregados voltam do contexto de persistência, então cada jogador sai
+     * num UPDATE só, junto com o ELO.
+     */
+    private void somarEstatisticas(PlacarAoVivo.Snapshot finalizado, long tempoJogoMinutos) {
+        List<Long> ids = new ArrayList<>(finalizado.jogadores().size());
+        for (PlacarAoVivo.LinhaJogador linha : finalizado.jogadores()) {
+            ids.add(linha.jogadorId());
+        }
+        Map<Long, Jogador> jogadores = new HashMap<>(ids.size() * 2);
+        for (Jogador jogador : jogadorRepository.findAllById(ids)) {
+            jogadores.put(jogador.getId(), jogador);
+        }
+        int vencedor = Integer.compare(finalizado.placar1(), finalizado.placar2());
+        for (PlacarAoVivo.LinhaJogador linha : finalizado.jogadores()) {
+            Jogador jogador = jogadores.get(linha.jogadorId());
+            if (jogador == null) {
+                // excluído durante a partida
+                continue;
+            }
+            if (vencedor == 0) {
+                jogador.registrarEmpate();
+            } else if ((vencedor > 0) == (linha.lado() == 1)) {
+                jogador.registrarVitoria();
+            } else {
+                jogador.registrarDerrota();
+            }
+            jogador.somarEstatisticas(linha.kills(), linha.deaths(), linha.assists(), tempoJogoMinutos);
+        }
+    }
+
+    private static long[] ids(Participante participante) {
+        long[] ids = new long[participante.getTotalMembros()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = participante.getMembro(i).getId();
+        }
+        return ids;
+    }
+}
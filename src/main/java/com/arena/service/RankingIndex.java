@@ -0,0 +1,293 @@
+package com.arena.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice em memória do ranking global.
+ *
+ * Uma árvore de Fenwick conta quantos jogadores existem em cada valor de ELO,
+ * o que dá a posição de qualquer jogador em O(log E). Os jogadores de cada ELO
+ * ficam em um conjunto ordenado por id, e os ELOs não vazios em um mapa
+ * ordenado, então top-N e vizinhança custam O(log n + N).
+ *
+ * Jogadores com o mesmo ELO dividem a mesma posição; na listagem, o desempate
+ * é pelo id decrescente, a mesma ordem {@code (elo DESC, id DESC)} usada pela
+ * paginação por cursor no banco.
+ *
+ * Cada atualização traz a versão da linha no banco, e versões já vistas são
+ * ignoradas: commits concorrentes podem chegar aqui fora de ordem.
+ */
+@Component
+public class RankingIndex {
+    private static final int CAPACIDADE_INICIAL = 4096;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> eloPorJogador = new HashMap<>();
+    private final Map<Long, Long> versaoPorJogador = new HashMap<>();
+    private final NavigableMap<Integer, TreeSet<Long>> jogadoresPorElo = new TreeMap<>();
+    private long[] fenwick = new long[CAPACIDADE_INICIAL + 1];
+    private long modificacoes;
+
+    /**
+     * Insere ou atualiza o ELO de um jogador.
+     *
+     * @param versao a versão da linha que tem esse ELO; se o índice já viu
+     *               uma versão igual ou mais nova, a atualização é ignorada
+     */
+    public void atualizar(Long id, int elo, long versao) {
+        if (id == null) {
+            throw new IllegalArgumentException("Id do jogador não pode ser nulo");
+        }
+        int valor = Math.max(0, elo);
+
+        lock.writeLock().lock();
+        try {
+            Long versaoAtual = versaoPorJogador.get(id);
+            if (versaoAtual != null && versaoAtual >= versao) {
+                return;
+            }
+            garantirCapacidade(valor);
+            versaoPorJogador.put(id, versao);
+            Integer anterior = eloPorJogador.put(id, valor);
+            if (anterior != null) {
+                if (anterior == valor) {
+                    return;
+                }
+                removerDoElo(id, anterior);
+            }
+            modificacoes++;
+            jogadoresPorElo.computeIfAbsent(valor, e -> new TreeSet<>(Comparator.reverseOrder())).add(id);
+            somar(valor, 1);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove um jogador do índice.
+     */
+    public void remover(Long id) {
+        lock.writeLock().lock();
+        try {
+            versaoPorJogador.remove(id);
+            Integer anterior = eloPorJogador.remove(id);
+            if (anterior != null) {
+                removerDoElo(id, anterior);
+                modificacoes++;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void limpar() {
+        lock.writeLock().lock();
+        try {
+            eloPorJogador.clear();
+            versaoPorJogador.clear();
+            jogadoresPorElo.clear();
+            fenwick = new long[CAPACIDADE_INICIAL + 1];
+            modificacoes++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Retorna os ids dos N melhores jogadores, do maior ELO para o menor.
+     */
+    public List<Long> top(int limite) {
+        List<Long> ids = new ArrayList<>(Math.max(0, Math.min(limite, 1024)));
+        lock.readLock().lock();
+        try {
+            for (TreeSet<Long> mesmoElo : jogadoresPorElo.descendingMap().values()) {
+                for (Long id : mesmoElo) {
+                    if (ids.size() >= limite) {
+                        return ids;
+                    }
+                    ids.add(id);
+                }
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Retorna os N melhores jogadores com o ELO de cada um, na mesma ordem
+     * de {@link #top(int)}.
+     */
+    public List<EloJogador> topComElo(int limite) {
+        List<EloJogador> jogadores = new ArrayList<>(Math.max(0, Math.min(limite, 1024)));
+        lock.readLock().lock();
+        try {
+            for (Map.Entry<Integer, TreeSet<Long>> mesmoElo : jogadoresPorElo.descendingMap().entrySet()) {
+                for (Long id : mesmoElo.getValue()) {
+                    if (jogadores.size() >= limite) {
+                        return jogadores;
+                    }
+                    jogadores.add(new EloJogador(id, mesmoElo.getKey()));
+                }
+            }
+            return jogadores;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Contador de alterações efetivas no índice; permite saber se o ranking
+     * mudou sem percorrê-lo.
+     */
+    public long getModificacoes() {
+        lock.readLock().lock();
+        try {
+            return modificacoes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Retorna a posição do jogador no ranking (1 = primeiro), ou -1 se ele
+     * não está no índice. Jogadores empatados dividem a mesma posição.
+     */
+    public long posicao(Long id) {
+        lock.readLock().lock();
+        try {
+            Integer elo = eloPorJogador.get(id);
+            if (elo == null) {
+                return -1;
+            }
+            return eloPorJogador.size() - prefixo(elo) + 1;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Retorna os ids dos jogadores ao redor do jogador informado, em ordem de
+     * ranking, incluindo o próprio jogador.
+     *
+     * @param id o jogador central
+     * @param raio quantos jogadores acima e abaixo incluir
+     * @return lista vazia se o jogador não está no índice
+     */
+    public List<Long> aoRedor(Long id, int raio) {
+        lock.readLock().lock();
+        try {
+            Integer elo = eloPorJogador.get(id);
+            if (elo == null) {
+                return List.of();
+            }
+
+            Deque<Long> acima = new ArrayDeque<>();
+            Iterator<Long> subindo = jogadoresPorElo.get(elo).headSet(id, false).descendingIterator();
+            Iterator<TreeSet<Long>> elosAcima = jogadoresPorElo.tailMap(elo, false).values().iterator();
+            while (acima.size() < raio) {
+                if (subindo.hasNext()) {
+                    acima.addFirst(subindo.next());
+                } else if (elosAcima.hasNext()) {
+                    subindo = elosAcima.next().descendingIterator();
+                } else {
+                    break;
+                }
+            }
+
+            List<Long> resultado = new ArrayList<>(acima);
+            resultado.add(id);
+
+            Iterator<Long> descendo = jogadoresPorElo.get(elo).tailSet(id, false).iterator();
+            Iterator<TreeSet<Long>> elosAbaixo = jogadoresPorElo.headMap(elo, false).descendingMap().values().iterator();
+            int abaixo = 0;
+            while (abaixo < raio) {
+                if (descendo.hasNext()) {
+                    resultado.add(descendo.next());
+                    abaixo++;
+                } else if (elosAbaixo.hasNext()) {
+                    descendo = elosAbaixo.next().iterator();
+                } else {
+                    break;
+                }
+            }
+            return resultado;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int getTotal() {
+        lock.readLock().lock();
+        try {
+            return eloPorJogador.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removerDoElo(Long id, int elo) {
+        TreeSet<Long> mesmoElo = jogadoresPorElo.get(elo);
+        mesmoElo.remove(id);
+        if (mesmoElo.isEmpty()) {
+            jogadoresPorElo.remove(elo);
+        }
+        somar(elo, -1);
+    }
+
+    // Árvore de Fenwick indexada por ELO (posição elo + 1)
+
+    private void somar(int elo, long delta) {
+        for (int i = elo + 1; i < fenwick.length; i += i & -i) {
+            fenwick[i] += delta;
+        }
+    }
+
+    /**
+     * Quantidade de jogadores com ELO menor ou igual ao informado.
+     */
+    private long prefixo(int elo) {
+        long soma = 0;
+        for (int i = Math.min(elo + 1, fenwick.length - 1); i > 0; i -= i & -i) {
+            soma += fenwick[i];
+        }
+        return soma;
+    }
+
+    private void garantirCapacidade(int elo) {
+        if (elo + 1 < fenwick.length) {
+            return;
+        }
+        int capacidade = fenwick.length - 1;
+        while (capacidade <= elo) {
+            capacidade *= 2;
+        }
+        long[] nova = new long[capacidade + 1];
+        for (Map.Entry<Integer, TreeSet<Long>> entrada : jogadoresPorElo.entrySet()) {
+            nova[entrada.getKey() + 1] += entrada.getValue().size();
+        }
+        // construção linear da árvore a partir das contagens
+        for (int i = 1; i <= capacidade; i++) {
+            int pai = i + (i & -i);
+            if (pai <= capacidade) {
+                nova[pai] += nova[i];
+            }
+        }
+        fenwick = nova;
+    }
+
+    public record EloJogador(Long id, int elo) {}
+}
@@ -0,0 +1,37 @@
+package com.arena.service;
+
+import com.arena.model.Jogador;
+import com.arena.util.AposCommit;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Listener JPA que mantém o {@link RankingIndex} atualizado quando o ELO
+ * de um jogador muda ({@code ganharElo}/{@code perderElo} seguidos de save).
+ * Os incrementos atômicos do {@link JogadorService} não passam por aqui e
+ * atualizam o índice por conta própria.
+ * As alterações só chegam ao índice depois do commit, para que um rollback
+ * não deixe o ranking divergente do banco.
+ */
+public class RankingListener {
+
+    @Autowired
+    private RankingIndex rankingIndex;
+
+    @PostPersist
+    @PostUpdate
+    public void aposSalvar(Jogador jogador) {
+        Long id = jogador.getId();
+        int elo = jogador.getElo();
+        long versao = jogador.getVersao();
+        AposCommit.executar(() -> rankingIndex.atualizar(id, elo, versao));
+    }
+
+    @PostRemove
+    public void aposRemover(Jogador jogador) {
+        Long id = jogador.getId();
+        AposCommit.executar(() -> rankingIndex.remover(id));
+    }
+}
@@ -0,0 +1,157 @@
+package com.arena.service;
+
+import com.arena.dto.JogadorDTO;
+import com.arena.enums.TopicoEvento;
+import com.arena.model.Jogador;
+import com.arena.repository.JogadorRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Consultas de ranking servidas pelo {@link RankingIndex}. O banco só é
+ * consultado por chave primária, com a projeção de DTO, para montar os
+ * jogadores retornados.
+ *
+ * As mudanças no topo do ranking são publicadas no tópico {@code ranking} do
+ * {@link EventosService} como diferenças: a cada intervalo, só os jogadores
+ * que mudaram de posição ou de ELO, ou que saíram do topo.
+ */
+@Service
+public class RankingService {
+
+    @Autowired
+    private RankingIndex rankingIndex;
+
+    @Autowired
+    private JogadorRepository jogadorRepository;
+
+    @Autowired
+    private EventosService eventosService;
+
+    @Value("${arena.eventos.ranking-top:100}")
+    private int topPublicado;
+
+    // topo já publicado, por id; só acessado pela tarefa agendada
+    private Map<Long, EventoRanking> publicado = new HashMap<>();
+    private long modificacoesPublicadas = -1;
+
+    /**
+     * Carrega o índice com os jogadores já existentes no banco.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregarIndice() {
+        for (Object[] linha : jogadorRepository.findAllIdEloVersao()) {
+            rankingIndex.atualizar((Long) linha[0], (Integer) linha[1], (Long) linha[2]);
+        }
+    }
+
+    public List<JogadorDTO> top(int limite) {
+        return carregarNaOrdem(rankingIndex.top(limite));
+    }
+
+    public long posicao(Jogador jogador) {
+        return rankingIndex.posicao(jogador.getId());
+    }
+
+    public List<JogadorDTO> aoRedor(Jogador jogador, int raio) {
+        return carregarNaOrdem(rankingIndex.aoRedor(jogador.getId(), raio));
+    }
+
+    public int getTotal() {
+        return rankingIndex.getTotal();
+    }
+
+    /**
+     * Publica as diferenças do topo do ranking desde a última publicação.
+     * Não faz nada sem assinantes ou se o índice não mudou.
+     */
+    @Scheduled(fixedDelayString = "${arena.eventos.intervalo-ranking-ms:1000}")
+    public void publicarMudancas() {
+        if (!eventosService.temAssinantes(TopicoEvento.RANKING)) {
+            return;
+        }
+        long modificacoes = rankingIndex.getModificacoes();
+        if (modificacoes == modificacoesPublicadas) {
+            return;
+        }
+
+        List<RankingIndex.EloJogador> topo = rankingIndex.topComElo(topPublicado);
+        Map<Long, EventoRanking> atual = new HashMap<>(topo.size() * 2);
+        List<RankingIndex.EloJogador> alterados = new ArrayList<>();
+        List<Integer> posicoes = new ArrayList<>();
+        for (int i = 0; i < topo.size(); i++) {
+            RankingIndex.EloJogador jogador = topo.get(i);
+            EventoRanking anterior = publicado.get(jogador.id());
+            if (anterior != null && anterior.posicao() == i + 1 && anterior.elo() == jogador.elo()) {
+                atual.put(jogador.id(), anterior);
+            } else {
+                alterados.add(jogador);
+                posicoes.add(i + 1);
+            }
+        }
+
+        Map<Long, String> nicknames = new HashMap<>();
+        if (!alterados.isEmpty()) {
+            List<Long> ids = new ArrayList<>(alterados.size());
+            for (RankingIndex.EloJogador jogador : alterados) {
+                ids.add(jogador.id());
+            }
+            for (JogadorDTO jogador : jogadorRepository.findDTOsByIdIn(ids)) {
+                nicknames.put(jogador.getId(), jogador.getNickname());
+            }
+        }
+        for (int i = 0; i < alterados.size(); i++) {
+            RankingIndex.EloJogador jogador = alterados.get(i);
+            EventoRanking evento = new EventoRanking(EventoRanking.POSICAO, jogador.id(),
+                nicknames.get(jogador.id()), posicoes.get(i), jogador.elo());
+            atual.put(jogador.id(), evento);
+            eventosService.publicar(TopicoEvento.RANKING, evento);
+        }
+        for (EventoRanking anterior : publicado.values()) {
+            if (!atual.containsKey(anterior.jogadorId())) {
+                eventosService.publicar(TopicoEvento.RANKING, new EventoRanking(EventoRanking.SAIU,
+                    anterior.jogadorId(), anterior.nickname(), 0, anterior.elo()));
+            }
+        }
+        publicado = atual;
+        modificacoesPublicadas = modificacoes;
+    }
+
+    private List<JogadorDTO> carregarNaOrdem(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, JogadorDTO> porId = jogadorRepository.findDTOsByIdIn(ids)
+            .stream()
+            .collect(Collectors.toMap(JogadorDTO::getId, Function.identity()));
+
+        List<JogadorDTO> ordenados = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            JogadorDTO jogador = porId.get(id);
+            if (jogador != null) {
+                ordenados.add(jogador);
+            }
+        }
+        return ordenados;
+    }
+
+    /**
+     * Mudança no topo do ranking: {@code POSICAO} com a nova posição e o ELO,
+     * ou {@code SAIU} quando o jogador deixou o topo publicado.
+     */
+    public record EventoRanking(String tipo, Long jogadorId, String nickname, int posicao, int elo) {
+        public static final String POSICAO = "POSICAO";
+        public static final String SAIU = "SAIU";
+    }
+}
@@ -0,0 +1,121 @@
+package com.arena.service;
+
+import com.arena.model.Jogador;
+import com.arena.model.Participante;
+import com.arena.model.Partida;
+import com.arena.model.Penalidade;
+import com.arena.rating.RatingEngine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Encerra partidas com o {@link RatingEngine} configurado e conta as
+ * partidas encerradas e os pontos de ELO ganhos e perdidos.
+ *
+ * Os pontos são o saldo de cada lado, já com o piso de ELO aplicado e sem
+ * alocar por jogador; só num empate entre times no Glicko-2 os membros de
+ * um lado podem variar em sentidos opostos.
+ */
+@Service
+public class RatingPartidaService {
+
+    @Autowired
+    private RatingEngine ratingEngine;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Counter finalizadas;
+    private Counter wos;
+    private Counter eloGanho;
+    private Counter eloPerdido;
+
+    @PostConstruct
+    void registrarMetricas() {
+        this.finalizadas = Counter.builder("arena.partidas.encerradas").tag("tipo", "finalizada")
+            .register(meterRegistry);
+        this.wos = Counter.builder("arena.partidas.encerradas").tag("tipo", "wo")
+            .register(meterRegistry);
+        this.eloGanho = Counter.builder("arena.elo.pontos").tag("direcao", "ganho")
+            .register(meterRegistry);
+        this.eloPerdido = Counter.builder("arena.elo.pontos").tag("direcao", "perda")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Finaliza a partida com o placar informado, com as regras de
+     * {@link Partida#finalizar}.
+     */
+    public void finalizar(Partida partida, int placar1, int placar2) {
+        List<Jogador> lado1 = partida.getParticipante1().getMembros();
+        List<Jogador> lado2 = partida.getParticipante2().getMembros();
+        long antes1 = somaElo(lado1);
+        long antes2 = somaElo(lado2);
+        partida.finalizar(placar1, placar2, ratingEngine);
+        finalizadas.increment();
+        contabilizarElo(somaElo(lado1) - antes1);
+        contabilizarElo(somaElo(lado2) - antes2);
+    }
+
+    /**
+     * Registra o WO da partida, com as regras de {@link Partida#darWO}.
+     *
+     * @return a penalidade gerada para o ausente
+     */
+    public Penalidade darWO(Partida partida, Participante ausente) {
+        List<Jogador> lado1 = partida.getParticipante1().getMembros();
+        List<Jogador> lado2 = partida.getParticipante2().getMembros();
+        long antes1 = somaElo(lado1);
+        long antes2 = somaElo(lado2);
+        Penalidade penalidade = partida.darWO(ausente);
+        wos.increment();
+        contabilizarElo(somaElo(lado1) - antes1);
+        contabilizarElo(somaElo(lado2) - antes2);
+        return penalidade;
+    }
+
+    /**
+     * Aplica a variação de ELO de uma partida finalizada fora da entidade,
+     * com as regras de {@link Partida#distribuirElo}.
+     */
+    public void distribuirElo(List<Jogador> lado1, List<Jogador> lado2, int placar1, int placar2) {
+        long antes1 = somaElo(lado1);
+        long antes2 = somaElo(lado2);
+        Partida.distribuirElo(lado1, lado2, placar1, placar2, ratingEngine);
+        contabilizarElo(somaElo(lado1) - antes1);
+        contabilizarElo(somaElo(lado2) - antes2);
+    }
+
+    /**
+     * Aplica a variação de ELO de um WO fora da entidade, com as regras de
+     * {@link Partida#distribuirEloWO}.
+     */
+    public void distribuirEloWO(List<Jogador> ausentes, List<Jogador> presentes) {
+        long antesAusentes = somaElo(ausentes);
+        long antesPresentes = somaElo(presentes);
+        Partida.distribuirEloWO(ausentes, presentes);
+        contabilizarElo(somaElo(ausentes) - antesAusentes);
+        contabilizarElo(somaElo(presentes) - antesPresentes);
+    }
+
+    private static long somaElo(List<Jogador> jogadores) {
+        long soma = 0;
+        for (int i = 0; i < jogadores.size(); i++) {
+            soma += jogadores.get(i).getElo();
+        }
+        return soma;
+    }
+
+    private void contabilizarElo(long variacao) {
+        if (variacao > 0) {
+            eloGanho.increment(variacao);
+        } else if (variacao < 0) {
+            eloPerdido.increment(-variacao);
+        }
+    }
+}
@@ -0,0 +1,279 @@
+package com.arena.service;
+
+import com.arena.enums.EtapaRecalculo;
+import com.arena.model.Jogador;
+import com.arena.rating.PeriodoRating;
+import com.arena.rating.RatingEngine;
+import com.arena.rating.ReprocessamentoRating;
+import com.arena.repository.JogadorRepository;
+import com.arena.repository.RegistroPartidaRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Recalcula o rating de todos os jogadores a partir do histórico de partidas
+ * ({@link com.arena.model.RegistroPartida}), com o motor configurado.
+ *
+ * O recálculo roda em segundo plano, um por vez: lê o histórico em ordem com
+ * um cursor do banco direto para os arrays de um {@link PeriodoRating} (todos
+ * os jogadores partindo do rating inicial), reaplica as partidas em paralelo
+ * com o {@link ReprocessamentoRating} (resultado idêntico à aplicação serial)
+ * e grava os ratings em blocos de {@value #JOGADORES_POR_BLOCO} jogadores, uma
+ * transação por bloco, com os UPDATEs agrupados pelo batch JDBC. O ranking
+ * acompanha pelo {@link RankingListener}.
+ *
+ * A versão de cada jogador é lida antes do histórico; um jogador alterado
+ * depois disso (uma partida nova, um ajuste) não é sobrescrito e conta como
+ * conflito. Ajustes manuais de ELO não estão no histórico e se perdem no
+ * recálculo, e o histórico de ELO ({@link HistoricoEloService}) não é
+ * reescrito.
+ */
+@Service
+public class RecalculoRatingService {
+    private static final int JOGADORES_POR_BLOCO = 500;
+    private static final int TENTATIVAS_POR_BLOCO = 3;
+
+    @Autowired
+    private RegistroPartidaRepository registroPartidaRepository;
+
+    @Autowired
+    private JogadorRepository jogadorRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private RatingEngine ratingEngine;
+
+    @Value("${arena.rating.recalculo.paralelismo:0}")
+    private int paralelismo;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(tarefa -> {
+        Thread thread = new Thread(tarefa, "recalculo-rating");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final AtomicBoolean emAndamento = new AtomicBoolean();
+    private volatile EtapaRecalculo etapa = EtapaRecalculo.OCIOSO;
+    private volatile Instant inicio;
+    private volatile Instant fim;
+    private volatile String erro;
+    private volatile int ondas;
+    private volatile long totalPartidas;
+    private volatile long totalJogadores;
+    private final AtomicLong partidasLidas = new AtomicLong();
+    private final AtomicLong partidasIgnoradas = new AtomicLong();
+    private final AtomicLong partidasCalculadas = new AtomicLong();
+    private final AtomicLong jogadoresGravados = new AtomicLong();
+    private final AtomicLong conflitos = new AtomicLong();
+
+    /**
+     * Dispara o recálculo em segundo plano.
+     *
+     * @return {@code false} se já há um recálculo em andamento
+     */
+    public boolean iniciar() {
+        if (!emAndamento.compareAndSet(false, true)) {
+            return false;
+        }
+        reiniciarProgresso();
+        executor.execute(() -> {
+            try {
+                recalcular();
+                etapa = EtapaRecalculo.CONCLUIDO;
+            } catch (RuntimeException e) {
+                erro = e.getMessage();
+                etapa = EtapaRecalculo.FALHOU;
+            } finally {
+                fim = Instant.now();
+                emAndamento.set(false);
+            }
+        });
+        return true;
+    }
+
+    public Progresso getProgresso() {
+        Instant inicio = this.inicio;
+        Long duracaoMs = null;
+        if (inicio != null) {
+            Instant fim = this.fim;
+            duracaoMs = Duration.between(inicio, fim != null ? fim : Instant.now()).toMillis();
+        }
+        return new Progresso(etapa, partidasLidas.get(), partidasIgnoradas.get(), totalPartidas,
+            partidasCalculadas.get(), ondas, totalJogadores, jogadoresGravados.get(), conflitos.get(),
+            duracaoMs, erro);
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        executor.shutdownNow();
+    }
+
+    private void reiniciarProgresso() {
+        etapa = EtapaRecalculo.LENDO_HISTORICO;
+        inicio = Instant.now();
+        fim = null;
+        erro = null;
+        ondas = 0;
+        totalPartidas = 0;
+        totalJogadores = 0;
+        partidasLidas.set(0);
+        partidasIgnoradas.set(0);
+        partidasCalculadas.set(0);
+        jogadoresGravados.set(0);
+        conflitos.set(0);
+    }
+
+    private void recalcular() {
+        // versões antes do histórico: o que mudar depois fica de fora da gravação
+        List<Object[]> versoes = jogadorRepository.findAllIdEloVersao();
+        versoes.sort((a, b) -> Long.compare((Long) a[0], (Long) b[0]));
+        long[] ids = new long[versoes.size()];
+        long[] versaoLida = new long[versoes.size()];
+        Map<Long, Integer> indices = new HashMap<>(versoes.size() * 2);
+        PeriodoRating historico = new PeriodoRating(versoes.size(), 1024);
+        for (Object[] linha : versoes) {
+            int indice = historico.adicionarJogador(Jogador.ELO_INICIAL, Jogador.DESVIO_RATING_INICIAL,
+                Jogador.VOLATILIDADE_INICIAL);
+            ids[indice] = (Long) linha[0];
+            versaoLida[indice] = (Long) linha[2];
+            indices.put(ids[indice], indice);
+        }
+        totalJogadores = ids.length;
+
+        BitSet wos = lerHistorico(historico, indices);
+        totalPartidas = historico.getPartidas();
+
+        etapa = EtapaRecalculo.CALCULANDO;
+        ReprocessamentoRating reprocessamento = new ReprocessamentoRating(ratingEngine, historico, wos);
+        ForkJoinPool pool = new ForkJoinPool(paralelismo > 0 ? paralelismo : Runtime.getRuntime().availableProcessors());
+        try {
+            reprocessamento.executar(pool, partidasCalculadas::set);
+        } finally {
+            pool.shutdown();
+        }
+        ondas = reprocessamento.getOndas();
+
+        etapa = EtapaRecalculo.GRAVANDO;
+        for (int de = 0; de < ids.length; de += JOGADORES_POR_BLOCO) {
+            gravarBloco(historico, ids, versaoLida, de, Math.min(ids.length, de + JOGADORES_POR_BLOCO));
+        }
+    }
+
+    /**
+     * Lê o histórico até o último registro existente agora. Partidas com
+     * jogadores que já não existem (ou que surgiram depois da leitura das
+     * versões) não são reaplicadas.
+     *
+     * @return as partidas que foram WO
+     */
+    private BitSet lerHistorico(PeriodoRating historico, Map<Long, Integer> indices) {
+        Long ultimoId = registroPartidaRepository.findUltimoId();
+        BitSet wos = new BitSet();
+        if (ultimoId == null) {
+            return wos;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<Object[]> linhas = registroPartidaRepository.streamAte(ultimoId)) {
+                linhas.forEach(linha -> {
+                    partidasLidas.incrementAndGet();
+                    int[] lado1 = indices((String) linha[0], indices);
+                    int[] lado2 = indices((String) linha[1], indices);
+                    if (lado1 == null || lado2 == null) {
+                        partidasIgnoradas.incrementAndGet();
+                        return;
+                    }
+                    Integer ausente = (Integer) linha[4];
+                    if (ausente != null) {
+                        // o ausente vai no lado 2, como espera o ReprocessamentoRating
+                        wos.set(historico.getPartidas());
+                        historico.adicionarPartida(ausente == 1 ? lado2 : lado1, ausente == 1 ? lado1 : lado2,
+                            RatingEngine.VITORIA);
+                    } else {
+                        historico.adicionarPartida(lado1, lado2,
+                            RatingEngine.pontuacao((Integer) linha[2], (Integer) linha[3]));
+                    }
+                });
+            }
+        });
+        return wos;
+    }
+
+    private static int[] indices(String lado, Map<Long, Integer> indices) {
+        String[] partes = lado.split(",");
+        int[] resultado = new int[partes.length];
+        for (int i = 0; i < partes.length; i++) {
+            Integer indice = indices.get(Long.parseLong(partes[i]));
+            if (indice == null) {
+                return null;
+            }
+            resultado[i] = indice;
+        }
+        return resultado;
+    }
+
+    /**
+     * Grava os ratings de um bloco de jogadores numa transação. Se um jogador
+     * do bloco muda entre a leitura e o commit, o bloco é desfeito e relido:
+     * na nova leitura ele já aparece como conflito.
+     */
+    private void gravarBloco(PeriodoRating historico, long[] ids, long[] versaoLida, int de, int ate) {
+        List<Long> bloco = new ArrayList<>(ate - de);
+        for (int i = de; i < ate; i++) {
+            bloco.add(ids[i]);
+        }
+        for (int tentativa = 1; ; tentativa++) {
+            try {
+                long[] resultado = transactionTemplate.execute(status -> {
+                    long gravados = 0;
+                    long emConflito = 0;
+                    for (Jogador jogador : jogadorRepository.findAllById(bloco)) {
+                        int indice = Arrays.binarySearch(ids, de, ate, jogador.getId());
+                        if (jogador.getVersao() != versaoLida[indice]) {
+                            emConflito++;
+                            continue;
+                        }
+                        historico.aplicarEm(jogador, indice);
+                        gravados++;
+                    }
+                    return new long[] {gravados, emConflito};
+                });
+                jogadoresGravados.addAndGet(resultado[0]);
+                conflitos.addAndGet(resultado[1]);
+                return;
+            } catch (OptimisticLockingFailureException e) {
+                if (tentativa == TENTATIVAS_POR_BLOCO) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * Andamento do recálculo atual (ou do último). {@code partidasIgnoradas}
+     * são as do histórico com jogadores que já não existem.
+     */
+    public record Progresso(EtapaRecalculo etapa, long partidasLidas, long partidasIgnoradas, long totalPartidas,
+                            long partidasCalculadas, int ondas, long totalJogadores, long jogadoresGravados,
+                            long conflitos, Long duracaoMs, String erro) {}
+}
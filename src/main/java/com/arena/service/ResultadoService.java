@@ -0,0 +1,220 @@
+package com.arena.service;
+
+import com.arena.dto.LoteResultadosResponse;
+import com.arena.dto.ResultadoPartidaRequest;
+import com.arena.enums.StatusPartida;
+import com.arena.enums.TopicoEvento;
+import com.arena.model.Jogador;
+import com.arena.model.Partida;
+import com.arena.model.RegistroPartida;
+import com.arena.repository.JogadorRepository;
+import com.arena.repository.RegistroPartidaRepository;
+import com.arena.util.AposCommit;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Ingestão de resultados de partidas em lote.
+ *
+ * Os jogadores do lote são carregados com poucas consultas, os resultados são
+ * aplicados em memória na ordem recebida (com as regras de ELO de
+ * {@link Partida}) e as linhas alteradas são gravadas no commit em UPDATEs
+ * agrupados pelo batch JDBC do Hibernate, numa única transação, junto com um
+ * {@link RegistroPartida} por resultado aplicado (o histórico que o
+ * {@link RecalculoRatingService} reprocessa). Depois do
+ * commit, as alterações de ELO vão para o {@link HistoricoEloService} e as
+ * partidas encerradas são publicadas no tópico {@code partidas} do
+ * {@link EventosService}.
+ */
+@Service
+public class ResultadoService {
+    // mantém o IN da consulta bem abaixo do limite de parâmetros dos drivers
+    private static final int NICKNAMES_POR_CONSULTA = 500;
+
+    @Autowired
+    private JogadorRepository jogadorRepository;
+
+    @Autowired
+    private RegistroPartidaRepository registroPartidaRepository;
+
+    @Autowired
+    private HistoricoEloService historicoEloService;
+
+    @Autowired
+    private EventosService eventosService;
+
+    @Autowired
+    private RatingPartidaService ratingPartidaService;
+
+    /**
+     * Aplica os resultados do lote. Um resultado inválido é rejeitado sem
+     * afetar os demais; erros de banco desfazem o lote inteiro.
+     *
+     * @return o desfecho de cada resultado, na ordem do lote
+     */
+    @Transactional
+    public LoteResultadosResponse registrarLote(List<ResultadoPartidaRequest> resultados) {
+        Map<String, Jogador> jogadores = carregarJogadores(resultados);
+
+        List<LoteResultadosResponse.Item> itens = new ArrayList<>(resultados.size());
+        List<AlteracaoElo> alteracoes = new ArrayList<>();
+        List<EventoPartida> encerradas = new ArrayList<>();
+        List<RegistroPartida> registros = new ArrayList<>();
+        int aplicados = 0;
+        for (int i = 0; i < resultados.size(); i++) {
+            try {
+                aplicar(resultados.get(i), jogadores, alteracoes, registros);
+                encerradas.add(EventoPartida.de(resultados.get(i)));
+                itens.add(new LoteResultadosResponse.Item(i, true, null));
+                aplicados++;
+            } catch (IllegalArgumentException e) {
+                itens.add(new LoteResultadosResponse.Item(i, false, e.getMessage()));
+            }
+        }
+        registroPartidaRepository.saveAll(registros);
+        AposCommit.executar(() -> {
+            for (AlteracaoElo alteracao : alteracoes) {
+                historicoEloService.registrar(alteracao.jogadorId(), alteracao.partidaId(),
+                    alteracao.delta(), alteracao.eloResultante());
+            }
+            for (EventoPartida encerrada : encerradas) {
+                eventosService.publicar(TopicoEvento.PARTIDAS, encerrada);
+            }
+        });
+        return new LoteResultadosResponse(aplicados, resultados.size() - aplicados, itens);
+    }
+
+    private Map<String, Jogador> carregarJogadores(List<ResultadoPartidaRequest> resultados) {
+        Set<String> nicknames = new HashSet<>();
+        for (ResultadoPartidaRequest resultado : resultados) {
+            if (resultado == null) {
+                continue;
+            }
+            adicionarNicknames(nicknames, resultado.getLado1());
+            adicionarNicknames(nicknames, resultado.getLado2());
+        }
+
+        Map<String, Jogador> jogadores = new HashMap<>(nicknames.size() * 2);
+        List<String> pendentes = new ArrayList<>(nicknames);
+        for (int inicio = 0; inicio < pendentes.size(); inicio += NICKNAMES_POR_CONSULTA) {
+            List<String> parte = pendentes.subList(inicio, Math.min(pendentes.size(), inicio + NICKNAMES_POR_CONSULTA));
+            for (Jogador jogador : jogadorRepository.findByNicknameIn(parte)) {
+                jogadores.put(jogador.getNickname(), jogador);
+            }
+        }
+        return jogadores;
+    }
+
+    private static void adicionarNicknames(Set<String> nicknames, List<String> lado) {
+        if (lado != null) {
+            for (String nickname : lado) {
+                if (nickname != null) {
+                    nicknames.add(nickname);
+                }
+            }
+        }
+    }
+
+    /**
+     * Valida o resultado por completo antes de alterar qualquer jogador,
+     * para que um item rejeitado não deixe ELO aplicado pela metade.
+     */
+    private void aplicar(ResultadoPartidaRequest resultado, Map<String, Jogador> jogadores,
+                         List<AlteracaoElo> alteracoes, List<RegistroPartida> registros) {
+        if (resultado == null) {
+            throw new IllegalArgumentException("Resultado não pode ser nulo");
+        }
+        List<Jogador> lado1 = resolverLado(resultado.getLado1(), jogadores);
+        List<Jogador> lado2 = resolverLado(resultado.getLado2(), jogadores);
+        if (!Collections.disjoint(lado1, lado2)) {
+            throw new IllegalArgumentException("Um jogador não pode estar nos dois lados");
+        }
+
+        Integer ausente = resultado.getAusente();
+        if (ausente != null) {
+            if (ausente != 1 && ausente != 2) {
+                throw new IllegalArgumentException("Ausente deve ser 1 ou 2");
+            }
+        } else if (resultado.getPlacar1() < 0 || resultado.getPlacar2() < 0) {
+            throw new IllegalArgumentException("Placar não pode ser negativo");
+        }
+
+        int[] antes = elos(lado1, lado2);
+        if (ausente != null) {
+            ratingPartidaService.distribuirEloWO(ausente == 1 ? lado1 : lado2, ausente == 1 ? lado2 : lado1);
+        } else {
+            ratingPartidaService.distribuirElo(lado1, lado2, resultado.getPlacar1(), resultado.getPlacar2());
+        }
+        registrarAlteracoes(lado1, antes, 0, resultado.getPartidaId(), alteracoes);
+        registrarAlteracoes(lado2, antes, lado1.size(), resultado.getPartidaId(), alteracoes);
+        registros.add(new RegistroPartida(resultado.getPartidaId(), lado1, lado2,
+            resultado.getPlacar1(), resultado.getPlacar2(), ausente));
+    }
+
+    static int[] elos(List<Jogador> lado1, List<Jogador> lado2) {
+        int[] elos = new int[lado1.size() + lado2.size()];
+        for (int i = 0; i < lado1.size(); i++) {
+            elos[i] = lado1.get(i).getElo();
+        }
+        for (int i = 0; i < lado2.size(); i++) {
+            elos[lado1.size() + i] = lado2.get(i).getElo();
+        }
+        return elos;
+    }
+
+    static void registrarAlteracoes(List<Jogador> lado, int[] antes, int deslocamento, Long partidaId,
+                                    List<AlteracaoElo> alteracoes) {
+        for (int i = 0; i < lado.size(); i++) {
+            Jogador jogador = lado.get(i);
+            // o delta é o efetivo, já com o piso de ELO aplicado
+            alteracoes.add(new AlteracaoElo(jogador.getId(), partidaId,
+                jogador.getElo() - antes[deslocamento + i], jogador.getElo()));
+        }
+    }
+
+    private static List<Jogador> resolverLado(List<String> nicknames, Map<String, Jogador> jogadores) {
+        if (nicknames == null || nicknames.isEmpty()) {
+            throw new IllegalArgumentException("Cada lado precisa de pelo menos um jogador");
+        }
+        List<Jogador> lado = new ArrayList<>(nicknames.size());
+        for (String nickname : nicknames) {
+            Jogador jogador = jogadores.get(nickname);
+            if (jogador == null) {
+                throw new IllegalArgumentException(
+                    String.format("Jogador '%s' não encontrado", nickname));
+            }
+            if (lado.contains(jogador)) {
+                throw new IllegalArgumentException(
+                    String.format("Jogador '%s' repetido no mesmo lado", nickname));
+            }
+            lado.add(jogador);
+        }
+        return lado;
+    }
+
+    record AlteracaoElo(Long jogadorId, Long partidaId, int delta, int eloResultante) {}
+
+    /**
+     * Partida encerrada publicada no canal de eventos: {@code FINALIZADA} com
+     * o placar ou {@code WO} com o lado ausente.
+     */
+    public record EventoPartida(Long partidaId, StatusPartida status, List<String> lado1, List<String> lado2,
+                                int placar1, int placar2, Integer ausente) {
+
+        static EventoPartida de(ResultadoPartidaRequest resultado) {
+            return new EventoPartida(resultado.getPartidaId(),
+                resultado.getAusente() != null ? StatusPartida.WO : StatusPartida.FINALIZADA,
+                resultado.getLado1(), resultado.getLado2(),
+                resultado.getPlacar1(), resultado.getPlacar2(), resultado.getAusente());
+        }
+    }
+}
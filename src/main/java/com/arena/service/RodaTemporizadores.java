@@ -0,0 +1,299 @@
+package com.arena.service;
+
+import java.util.Arrays;
+
+/**
+ * Roda de temporizadores hierárquica: {@value #NIVEIS} níveis de
+ * {@value #BALDES} baldes, o nível {@code n} com baldes de 64<sup>n</sup>
+ * ticks. Cobre 64<sup>4</sup> ticks (mais de 190 dias com ticks de um
+ * segundo); prazos além disso ficam no último nível e são reposicionados
+ * quando ele gira.
+ *
+ * Cada temporizador tem uma chave (o id da partida; uma chave tem no máximo
+ * um temporizador, e agendar de novo substitui o anterior), um prazo em
+ * ticks e um tipo. Agendar e cancelar são O(1): os baldes são listas
+ * duplamente ligadas circulares, com o próprio balde como sentinela, e a
+ * chave chega ao temporizador por uma tabela de endereçamento aberto. Tudo
+ * fica em arrays de primitivos indexados pelo número do temporizador, sem
+ * objeto por temporizador: 33 bytes cada, uns 40 com a folga do crescimento
+ * (um milhão de temporizadores ocupam uns 40 MB).
+ *
+ * Ao avançar, o balde do tick atual no nível 0 dispara inteiro; quando um
+ * nível completa a volta, o balde seguinte do nível de cima desce para os
+ * níveis de baixo. Cada temporizador desce no máximo {@value #NIVEIS} - 1
+ * vezes.
+ *
+ * Não é thread-safe.
+ */
+public final class RodaTemporizadores<T extends Enum<T>> {
+    private static final int BITS = 6;
+    private static final int BALDES = 1 << BITS;
+    private static final int NIVEIS = 4;
+    private static final long ALCANCE = 1L << (BITS * NIVEIS);
+    private static final int SENTINELAS = BALDES * NIVEIS;
+    private static final int VAZIO = -1;
+
+    private final T[] tipos;
+    private long tickAtual;
+    private int total;
+
+    // temporizadores; as primeiras SENTINELAS posições são os baldes
+    private long[] chaves;
+    private long[] prazos;
+    private byte[] tipoDe;
+    private int[] proximo;
+    private int[] anterior;
+    private int livre = VAZIO;
+    private int usados = SENTINELAS;
+
+    // chave -> temporizador, sondagem linear, no máximo metade ocupada
+    private int[] tabela;
+
+    /**
+     * @param tipo a enum dos tipos de temporizador (até 128 constantes)
+     * @param tickInicial o tick atual; prazos até ele disparam no próximo avanço
+     */
+    public RodaTemporizadores(Class<T> tipo, long tickInicial) {
+        this.tipos = tipo.getEnumConstants();
+        if (tipos.length > Byte.MAX_VALUE + 1) {
+            throw new IllegalArgumentException("Tipos demais para a roda de temporizadores");
+        }
+        this.tickAtual = tickInicial;
+        int capacidade = SENTINELAS + 1024;
+        this.chaves = new long[capacidade];
+        this.prazos = new long[capacidade];
+        this.tipoDe = new byte[capacidade];
+        this.proximo = new int[capacidade];
+        this.anterior = new int[capacidade];
+        for (int balde = 0; balde < SENTINELAS; balde++) {
+            proximo[balde] = balde;
+            anterior[balde] = balde;
+        }
+        this.tabela = new int[2048];
+        Arrays.fill(tabela, VAZIO);
+    }
+
+    /**
+     * Agenda o temporizador da chave para o tick {@code prazo}, substituindo
+     * o que ela já tiver.
+     */
+    public void agendar(long chave, long prazo, T tipo) {
+        int temporizador = buscar(chave);
+        if (temporizador != VAZIO) {
+            desligar(temporizador);
+        } else {
+            temporizador = alocar();
+            chaves[temporizador] = chave;
+            inserirNaTabela(temporizador);
+            total++;
+        }
+        prazos[temporizador] = prazo;
+        tipoDe[temporizador] = (byte) tipo.ordinal();
+        // o balde do tick atual já disparou
+        posicionar(temporizador, tickAtual + 1);
+    }
+
+    /**
+     * @return {@code false} se a chave não tinha temporizador
+     */
+    public boolean cancelar(long chave) {
+        int temporizador = buscar(chave);
+        if (temporizador == VAZIO) {
+            return false;
+        }
+        remover(temporizador);
+        return true;
+    }
+
+    /**
+     * @return o tipo do temporizador agendado para a chave, ou {@code null}
+     */
+    public T tipo(long chave) {
+        int temporizador = buscar(chave);
+        return temporizador == VAZIO ? null : tipos[tipoDe[temporizador]];
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public long getTickAtual() {
+        return tickAtual;
+    }
+
+    /**
+     * Avança até o tick {@code ate}, disparando os temporizadores vencidos
+     * em ordem de prazo. O temporizador sai da roda antes do disparo, e o
+     * {@code disparo} pode agendar e cancelar à vontade.
+     */
+    public void avancar(long ate, Disparo<T> disparo) {
+        while (tickAtual < ate) {
+            long tick = ++tickAtual;
+            for (int nivel = NIVEIS - 1; nivel > 0; nivel--) {
+                if ((tick & ((1L << (BITS * nivel)) - 1)) == 0) {
+                    descer(sentinela(nivel, tick));
+                }
+            }
+            disparar(sentinela(0, tick), disparo);
+        }
+    }
+
+    /**
+     * Põe o temporizador no balde do seu prazo, nunca antes de {@code minimo}.
+     */
+    private void posicionar(int temporizador, long minimo) {
+        long prazo = Math.max(prazos[temporizador], minimo);
+        long distancia = Math.min(prazo - tickAtual, ALCANCE - 1);
+        int nivel = distancia == 0 ? 0 : (63 - Long.numberOfLeadingZeros(distancia)) / BITS;
+        // além do alcance, fica no balde mais distante do último nível
+        long posicao = distancia == ALCANCE - 1 ? tickAtual + distancia : prazo;
+        ligar(temporizador, sentinela(nivel, posicao));
+    }
+
+    private static int sentinela(int nivel, long tick) {
+        return nivel * BALDES + (int) ((tick >>> (BITS * nivel)) & (BALDES - 1));
+    }
+
+    private void descer(int balde) {
+        int temporizador = separar(balde);
+        while (temporizador != VAZIO) {
+            int seguinte = proximo[temporizador];
+            // o balde do tick atual ainda vai disparar
+            posicionar(temporizador, tickAtual);
+            temporizador = seguinte;
+        }
+    }
+
+    private void disparar(int balde, Disparo<T> disparo) {
+        // um por vez, com a roda consistente a cada disparo
+        while (proximo[balde] != balde) {
+            int temporizador = proximo[balde];
+            long chave = chaves[temporizador];
+            T tipo = tipos[tipoDe[temporizador]];
+            remover(temporizador);
+            disparo.disparar(chave, tipo);
+        }
+    }
+
+    /**
+     * Esvazia o balde e devolve os temporizadores dele numa lista simples
+     * (terminada em {@link #VAZIO}), para serem reposicionados.
+     */
+    private int separar(int balde) {
+        if (proximo[balde] == balde) {
+            return VAZIO;
+        }
+        int primeiro = proximo[balde];
+        proximo[anterior[balde]] = VAZIO;
+        proximo[balde] = balde;
+        anterior[balde] = balde;
+        return primeiro;
+    }
+
+    private void ligar(int temporizador, int balde) {
+        int ultimo = anterior[balde];
+        proximo[ultimo] = temporizador;
+        anterior[temporizador] = ultimo;
+        proximo[temporizador] = balde;
+        anterior[balde] = temporizador;
+    }
+
+    private void desligar(int temporizador) {
+        proximo[anterior[temporizador]] = proximo[temporizador];
+        anterior[proximo[temporizador]] = anterior[temporizador];
+    }
+
+    private void remover(int temporizador) {
+        desligar(temporizador);
+        removerDaTabela(temporizador);
+        liberar(temporizador);
+        total--;
+    }
+
+    private int alocar() {
+        if (livre != VAZIO) {
+            int temporizador = livre;
+            livre = proximo[temporizador];
+            return temporizador;
+        }
+        if (usados == chaves.length) {
+            int capacidade = chaves.length * 2;
+            chaves = Arrays.copyOf(chaves, capacidade);
+            prazos = Arrays.copyOf(prazos, capacidade);
+            tipoDe = Arrays.copyOf(tipoDe, capacidade);
+            proximo = Arrays.copyOf(proximo, capacidade);
+            anterior = Arrays.copyOf(anterior, capacidade);
+        }
+        return usados++;
+    }
+
+    private void liberar(int temporizador) {
+        proximo[temporizador] = livre;
+        livre = temporizador;
+    }
+
+    private int buscar(long chave) {
+        int mascara = tabela.length - 1;
+        for (int i = espalhar(chave) & mascara; ; i = (i + 1) & mascara) {
+            int temporizador = tabela[i];
+            if (temporizador == VAZIO || chaves[temporizador] == chave) {
+                return temporizador;
+            }
+        }
+    }
+
+    private void inserirNaTabela(int temporizador) {
+        if (2 * (total + 1) > tabela.length) {
+            int[] antiga = tabela;
+            tabela = new int[antiga.length * 2];
+            Arrays.fill(tabela, VAZIO);
+            for (int existente : antiga) {
+                if (existente != VAZIO) {
+                    colocar(existente);
+                }
+            }
+        }
+        colocar(temporizador);
+    }
+
+    private void colocar(int temporizador) {
+        int mascara = tabela.length - 1;
+        int i = espalhar(chaves[temporizador]) & mascara;
+        while (tabela[i] != VAZIO) {
+            i = (i + 1) & mascara;
+        }
+        tabela[i] = temporizador;
+    }
+
+    /**
+     * Remove com deslocamento para trás, sem marcas de removido: quem vem
+     * depois na mesma sequência de sondagem volta uma posição quando pode.
+     */
+    private void removerDaTabela(int temporizador) {
+        int mascara = tabela.length - 1;
+        int i = espalhar(chaves[temporizador]) & mascara;
+        while (tabela[i] != temporizador) {
+            i = (i + 1) & mascara;
+        }
+        int buraco = i;
+        for (int j = (buraco + 1) & mascara; tabela[j] != VAZIO; j = (j + 1) & mascara) {
+            int ideal = espalhar(chaves[tabela[j]]) & mascara;
+            // j pode ocupar o buraco se o ideal dele não está entre o buraco e j
+            if (((j - ideal) & mascara) >= ((j - buraco) & mascara)) {
+                tabela[buraco] = tabela[j];
+                buraco = j;
+            }
+        }
+        tabela[buraco] = VAZIO;
+    }
+
+    private static int espalhar(long chave) {
+        long h = chave * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    @FunctionalInterface
+    public interface Disparo<T> {
+        void disparar(long chave, T tipo);
+    }
+}
@@ -0,0 +1,196 @@
+package com.arena.service;
+
+import com.arena.exception.ServicoSobrecarregadoException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Hash e verificação de senhas fora das threads do Tomcat.
+ *
+ * O BCrypt custa dezenas de milissegundos de CPU por chamada, então roda num
+ * pool com uma thread por núcleo e fila limitada. Com a fila cheia, a chamada
+ * é recusada na hora com {@link ServicoSobrecarregadoException} (503), em vez
+ * de acumular requisições e deixar os demais endpoints sem CPU.
+ *
+ * A importação em massa usa um segundo pool, com metade dos núcleos, para
+ * que um arquivo grande não ocupe as threads de login e registro.
+ *
+ * Os futures completam numa thread do pool: quem encadeia I/O no resultado
+ * deve seguir em outro executor ({@code thenApplyAsync}), para que a latência
+ * do banco não tire threads do hash.
+ */
+@Service
+public class SenhaService {
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${arena.senha.fila-maxima:64}")
+    private int capacidadeFila;
+
+    @Value("${arena.senha.fila-maxima-importacao:1024}")
+    private int capacidadeFilaImportacao;
+
+    private ThreadPoolExecutor executor;
+    private ThreadPoolExecutor executorImportacao;
+    private Timer tempoImportar;
+    private Timer tempoCodificar;
+    private Timer tempoVerificar;
+    private Counter recusadasMetrica;
+    private final HistogramaLatencia latenciaHashMs = new HistogramaLatencia();
+    private final HistogramaLatencia esperaNaFilaMs = new HistogramaLatencia();
+    private final LongAdder recusadas = new LongAdder();
+
+    @PostConstruct
+    void iniciar() {
+        int threads = Runtime.getRuntime().availableProcessors();
+        this.executor = criarPool("hash-senha-", threads, capacidadeFila);
+        this.executorImportacao = criarPool("hash-importacao-", Math.max(1, threads / 2), capacidadeFilaImportacao);
+
+        this.tempoCodificar = Timer.builder("arena.senha.hash")
+            .description("Tempo de CPU de cada hash BCrypt")
+            .tag("operacao", "codificar")
+            .register(meterRegistry);
+        this.tempoVerificar = Timer.builder("arena.senha.hash")
+            .description("Tempo de CPU de cada hash BCrypt")
+            .tag("operacao", "verificar")
+            .register(meterRegistry);
+        this.tempoImportar = Timer.builder("arena.senha.hash")
+            .description("Tempo de CPU de cada hash BCrypt")
+            .tag("operacao", "importar")
+            .register(meterRegistry);
+        this.recusadasMetrica = Counter.builder("arena.senha.recusadas")
+            .description("Hashes recusados com a fila cheia (503)")
+            .register(meterRegistry);
+        Gauge.builder("arena.senha.fila", executor, pool -> pool.getQueue().size())
+            .description("Hashes aguardando thread livre")
+            .register(meterRegistry);
+    }
+
+    private static ThreadPoolExecutor criarPool(String prefixo, int threads, int capacidade) {
+        AtomicInteger contador = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(capacidade),
+            tarefa -> {
+                Thread thread = new Thread(tarefa, prefixo + contador.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    void encerrar() {
+        executor.shutdown();
+        executorImportacao.shutdown();
+    }
+
+    /**
+     * Gera o hash da senha no pool.
+     *
+     * @throws ServicoSobrecarregadoException se a fila do pool estiver cheia
+     */
+    public CompletableFuture<String> codificar(String senha) {
+        return executar(tempoCodificar, () -> passwordEncoder.encode(senha));
+    }
+
+    /**
+     * Confere a senha com o hash gravado no pool.
+     *
+     * @throws ServicoSobrecarregadoException se a fila do pool estiver cheia
+     */
+    public CompletableFuture<Boolean> verificar(String senha, String hash) {
+        return executar(tempoVerificar, () -> passwordEncoder.matches(senha, hash));
+    }
+
+    /**
+     * Gera os hashes de várias senhas em paralelo no pool de importação e
+     * espera todos terminarem.
+     *
+     * @return os hashes, na mesma ordem das senhas
+     * @throws ServicoSobrecarregadoException se as senhas não cabem na fila do pool
+     */
+    public List<String> codificarTodas(List<String> senhas) {
+        List<CompletableFuture<String>> hashes = new ArrayList<>(senhas.size());
+        for (String senha : senhas) {
+            hashes.add(executar(executorImportacao, tempoImportar, () -> passwordEncoder.encode(senha)));
+        }
+        List<String> resultado = new ArrayList<>(senhas.size());
+        for (CompletableFuture<String> hash : hashes) {
+            resultado.add(hash.join());
+        }
+        return resultado;
+    }
+
+    private <T> CompletableFuture<T> executar(Timer tempo, Supplier<T> operacao) {
+        return executar(executor, tempo, operacao);
+    }
+
+    private <T> CompletableFuture<T> executar(ThreadPoolExecutor pool, Timer tempo, Supplier<T> operacao) {
+        long enfileiradoEm = System.nanoTime();
+        CompletableFuture<T> resultado = new CompletableFuture<>();
+        try {
+            pool.execute(() -> {
+                long inicio = System.nanoTime();
+                esperaNaFilaMs.registrar(TimeUnit.NANOSECONDS.toMillis(inicio - enfileiradoEm));
+                try {
+                    resultado.complete(operacao.get());
+                } catch (RuntimeException e) {
+                    resultado.completeExceptionally(e);
+                } finally {
+                    long duracao = System.nanoTime() - inicio;
+                    latenciaHashMs.registrar(TimeUnit.NANOSECONDS.toMillis(duracao));
+                    tempo.record(duracao, TimeUnit.NANOSECONDS);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            recusadas.increment();
+            recusadasMetrica.increment();
+            throw new ServicoSobrecarregadoException("hash de senha");
+        }
+        return resultado;
+    }
+
+    public Estatisticas getEstatisticas() {
+        return new Estatisticas(
+            executor.getMaximumPoolSize(),
+            executor.getActiveCount(),
+            executor.getQueue().size(),
+            capacidadeFila,
+            latenciaHashMs.getTotal(),
+            recusadas.sum(),
+            latenciaHashMs.percentil(50),
+            latenciaHashMs.percentil(99),
+            esperaNaFilaMs.percentil(99)
+        );
+    }
+
+    /**
+     * Indicadores do pool de hash de senhas.
+     */
+    public record Estatisticas(int threads, int emExecucao, int naFila, int capacidadeFila,
+                               long hashes, long recusadas, long p50HashMs, long p99HashMs,
+                               long p99EsperaNaFilaMs) {}
+}
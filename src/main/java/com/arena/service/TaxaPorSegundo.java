@@ -0,0 +1,54 @@
+package com.arena.service;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Contador de eventos por segundo em janela deslizante, sem lock.
+ * Mantém um anel de contadores indexado pelo segundo atual; a taxa é
+ * a média dos últimos segundos completos.
+ */
+public class TaxaPorSegundo {
+    private static final int SLOTS = 64;
+
+    private final int janelaSegundos;
+    private final AtomicLongArray contagens = new AtomicLongArray(SLOTS);
+    private final AtomicLongArray segundos = new AtomicLongArray(SLOTS);
+
+    public TaxaPorSegundo(int janelaSegundos) {
+        if (janelaSegundos <= 0 || janelaSegundos >= SLOTS) {
+            throw new IllegalArgumentException("Janela deve estar entre 1 e " + (SLOTS - 1) + " segundos");
+        }
+        this.janelaSegundos = janelaSegundos;
+    }
+
+    public void registrar() {
+        registrar(System.currentTimeMillis() / 1000);
+    }
+
+    void registrar(long segundoAtual) {
+        int slot = (int) (segundoAtual & (SLOTS - 1));
+        long segundoDoSlot = segundos.get(slot);
+        if (segundoDoSlot != segundoAtual && segundos.compareAndSet(slot, segundoDoSlot, segundoAtual)) {
+            contagens.set(slot, 0);
+        }
+        contagens.incrementAndGet(slot);
+    }
+
+    /**
+     * Retorna a média de eventos por segundo nos últimos segundos completos.
+     */
+    public double getTaxa() {
+        return getTaxa(System.currentTimeMillis() / 1000);
+    }
+
+    double getTaxa(long segundoAtual) {
+        long soma = 0;
+        for (long s = segundoAtual - janelaSegundos; s < segundoAtual; s++) {
+            int slot = (int) (s & (SLOTS - 1));
+            if (segundos.get(slot) == s) {
+                soma += contagens.get(slot);
+            }
+        }
+        return (double) soma / janelaSegundos;
+    }
+}
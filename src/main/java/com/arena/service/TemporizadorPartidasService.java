@@ -0,0 +1,175 @@
+package com.arena.service;
+
+import com.arena.enums.StatusPartida;
+import com.arena.enums.TipoTemporizadorPartida;
+import com.arena.repository.PartidaRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Prazos das partidas: WO de quem não comparece e timeout de partidas
+ * esquecidas em andamento.
+ *
+ * Cada partida agendada ou em andamento tem um temporizador numa
+ * {@link RodaTemporizadores} com ticks de um segundo: a agendada vence na
+ * {@code dataHora} mais a tolerância e leva WO do participante que não
+ * confirmou presença ({@link PartidaService#darWOPorAusencia}); a em
+ * andamento vence na {@code dataHora} (o início) mais a duração máxima e é
+ * finalizada com o placar ao vivo, se este nó tiver um. O
+ * {@link PartidaListener} agenda, troca e cancela os temporizadores quando
+ * as partidas mudam; na inicialização a roda é montada a partir do banco,
+ * pelo índice de status.
+ *
+ * Um temporizador vencido sem desfecho possível (os dois ou nenhum
+ * participante presentes, partida sem placar ao vivo, empate numa
+ * eliminatória) não é reagendado: a partida fica para o organizador e conta
+ * em {@code arena.partidas.prazos{desfecho=nenhum}}.
+ */
+@Service
+public class TemporizadorPartidasService {
+
+    @Autowired
+    private PartidaRepository partidaRepository;
+
+    @Autowired
+    private PartidaService partidaService;
+
+    @Autowired
+    private PlacarAoVivoService placarAoVivoService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${arena.partidas.tolerancia-wo-minutos:15}")
+    private long toleranciaWoMinutos;
+
+    @Value("${arena.partidas.duracao-maxima-minutos:180}")
+    private long duracaoMaximaMinutos;
+
+    // guardada pelo próprio monitor
+    private final RodaTemporizadores<TipoTemporizadorPartida> roda =
+        new RodaTemporizadores<>(TipoTemporizadorPartida.class, tick(Instant.now()));
+    private Counter wos;
+    private Counter timeouts;
+    private Counter semDesfecho;
+
+    @PostConstruct
+    void registrarMetricas() {
+        this.wos = Counter.builder("arena.partidas.prazos")
+            .tag("desfecho", "wo")
+            .description("Prazos de partidas vencidos, por desfecho")
+            .register(meterRegistry);
+        this.timeouts = Counter.builder("arena.partidas.prazos")
+            .tag("desfecho", "timeout")
+            .description("Prazos de partidas vencidos, por desfecho")
+            .register(meterRegistry);
+        this.semDesfecho = Counter.builder("arena.partidas.prazos")
+            .tag("desfecho", "nenhum")
+            .description("Prazos de partidas vencidos, por desfecho")
+            .register(meterRegistry);
+        Gauge.builder("arena.partidas.temporizadores", this, TemporizadorPartidasService::getPendentes)
+            .description("Partidas com prazo vigiado neste nó")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Agenda os prazos das partidas agendadas e em andamento já existentes.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<Object[]> linhas = partidaRepository.streamPorStatus(
+                    EnumSet.of(StatusPartida.AGENDADA, StatusPartida.EM_ANDAMENTO))) {
+                linhas.forEach(linha ->
+                    atualizar((Long) linha[0], (StatusPartida) linha[1], (LocalDateTime) linha[2]));
+            }
+        });
+    }
+
+    /**
+     * Agenda, troca ou cancela o prazo da partida conforme o status.
+     */
+    public void atualizar(Long partidaId, StatusPartida status, LocalDateTime dataHora) {
+        synchronized (roda) {
+            switch (status) {
+                case AGENDADA -> roda.agendar(partidaId, tick(dataHora.plusMinutes(toleranciaWoMinutos)),
+                    TipoTemporizadorPartida.WO);
+                case EM_ANDAMENTO -> roda.agendar(partidaId, tick(dataHora.plusMinutes(duracaoMaximaMinutos)),
+                    TipoTemporizadorPartida.TIMEOUT);
+                default -> roda.cancelar(partidaId);
+            }
+        }
+    }
+
+    public void cancelar(Long partidaId) {
+        synchronized (roda) {
+            roda.cancelar(partidaId);
+        }
+    }
+
+    public int getPendentes() {
+        synchronized (roda) {
+            return roda.getTotal();
+        }
+    }
+
+    /**
+     * Dispara os prazos vencidos até agora. Cada partida é tratada na sua
+     * própria transação, fora do lock da roda.
+     */
+    @Scheduled(fixedDelayString = "${arena.partidas.intervalo-temporizador-ms:1000}")
+    public void verificar() {
+        List<Vencido> vencidos = new ArrayList<>();
+        synchronized (roda) {
+            roda.avancar(tick(Instant.now()), (partidaId, tipo) -> vencidos.add(new Vencido(partidaId, tipo)));
+        }
+        for (Vencido vencido : vencidos) {
+            boolean encerrada;
+            try {
+                encerrada = vencido.tipo() == TipoTemporizadorPartida.WO
+                    ? partidaService.darWOPorAusencia(vencido.partidaId())
+                    : placarAoVivoService.finalizarPorTempo(vencido.partidaId());
+            } catch (RuntimeException e) {
+                // empate numa eliminatória, conflito de versão...
+                encerrada = false;
+            }
+            if (!encerrada) {
+                semDesfecho.increment();
+            } else if (vencido.tipo() == TipoTemporizadorPartida.WO) {
+                wos.increment();
+            } else {
+                timeouts.increment();
+            }
+        }
+    }
+
+    private static long tick(LocalDateTime dataHora) {
+        return tick(dataHora.atZone(ZoneId.systemDefault()).toInstant());
+    }
+
+    private static long tick(Instant instante) {
+        return instante.getEpochSecond();
+    }
+
+    private record Vencido(long partidaId, TipoTemporizadorPartida tipo) {}
+}
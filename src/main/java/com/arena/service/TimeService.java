@@ -0,0 +1,110 @@
+package com.arena.service;
+
+import com.arena.dto.CriarTimeRequest;
+import com.arena.dto.TimeDTO;
+import com.arena.model.Jogador;
+import com.arena.model.Time;
+import com.arena.repository.JogadorRepository;
+import com.arena.repository.TimeRepository;
+import com.arena.util.AposCommit;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cadastro e consulta de times. As consultas montam os DTOs dentro da
+ * transação, com os membros carregados em lote.
+ */
+@Service
+public class TimeService {
+
+    @Autowired
+    private TimeRepository timeRepository;
+
+    @Autowired
+    private JogadorRepository jogadorRepository;
+
+    @Autowired
+    private IndicePenalidades indicePenalidades;
+
+    @Transactional(readOnly = true)
+    public List<TimeDTO> listar() {
+        List<TimeDTO> times = new ArrayList<>();
+        for (Time time : timeRepository.findAllByOrderByIdAsc()) {
+            times.add(TimeDTO.fromEntity(time));
+        }
+        return times;
+    }
+
+    /**
+     * Cria um time com o capitão e os membros informados.
+     *
+     * @throws IllegalArgumentException se o nome ou a tag já existem, se algum
+     *         jogador não existe ou se o time passa do limite do jogo
+     */
+    @Transactional
+    public TimeDTO criar(CriarTimeRequest request) {
+        if (timeRepository.existsByNomeOrTag(request.getNome(), request.getTag().toUpperCase())) {
+            throw new IllegalArgumentException("Já existe um time com esse nome ou tag");
+        }
+        List<String> nicknames = new ArrayList<>();
+        nicknames.add(request.getCapitao());
+        if (request.getMembros() != null) {
+            nicknames.addAll(request.getMembros());
+        }
+        Map<String, Jogador> jogadores = new HashMap<>();
+        for (Jogador jogador : jogadorRepository.findByNicknameIn(nicknames)) {
+            jogadores.put(jogador.getNickname(), jogador);
+        }
+
+        Time time = new Time(request.getNome(), request.getTag(), buscar(jogadores, request.getCapitao()),
+            request.getJogoPrincipal().toJogo());
+        for (String nickname : nicknames.subList(1, nicknames.size())) {
+            try {
+                time.adicionarMembro(buscar(jogadores, nickname));
+            } catch (IllegalStateException e) {
+                throw new IllegalArgumentException(e.getMessage());
+            }
+        }
+        timeRepository.save(time);
+
+        Long timeId = time.getId();
+        List<Long> membros = new ArrayList<>(time.getTotalMembros());
+        for (int i = 0; i < time.getTotalMembros(); i++) {
+            membros.add(time.getMembro(i).getId());
+        }
+        // os banidos são contados pelo índice no registro, depois do commit
+        AposCommit.executar(() -> indicePenalidades.registrarTime(timeId, membros));
+        return TimeDTO.fromEntity(time);
+    }
+
+    /**
+     * Remove todos os times.
+     *
+     * @throws IllegalArgumentException se algum time está inscrito em torneio
+     */
+    @Transactional
+    public void limpar() {
+        try {
+            timeRepository.deleteAll();
+            timeRepository.flush();
+            AposCommit.executar(indicePenalidades::removerTimes);
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalArgumentException("Há times inscritos em torneios; remova os torneios primeiro");
+        }
+    }
+
+    private static Jogador buscar(Map<String, Jogador> jogadores, String nickname) {
+        Jogador jogador = jogadores.get(nickname);
+        if (jogador == null) {
+            throw new IllegalArgumentException(String.format("Jogador '%s' não encontrado", nickname));
+        }
+        return jogador;
+    }
+}
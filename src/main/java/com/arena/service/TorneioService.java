@@ -0,0 +1,114 @@
+package com.arena.service;
+
+import com.arena.dto.CriarTorneioRequest;
+import com.arena.dto.TorneioDTO;
+import com.arena.exception.JogadorBanidoException;
+import com.arena.model.Time;
+import com.arena.model.Torneio;
+import com.arena.repository.TimeRepository;
+import com.arena.repository.TorneioRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Cadastro, inscrições e consulta de torneios.
+ *
+ * As consultas montam os DTOs dentro da transação: os inscritos, os membros
+ * dos times e as partidas vêm em consultas em lote, então o número de
+ * consultas não cresce com o número de torneios ou de inscritos (até o
+ * tamanho do lote). As alterações leem o torneio com lock de escrita, o que
+ * serializa as inscrições de um mesmo torneio entre instâncias da aplicação.
+ */
+@Service
+public class TorneioService {
+
+    @Autowired
+    private TorneioRepository torneioRepository;
+
+    @Autowired
+    private TimeRepository timeRepository;
+
+    @Autowired
+    private IndicePenalidades indicePenalidades;
+
+    @Transactional(readOnly = true)
+    public List<TorneioDTO> listar() {
+        List<TorneioDTO> torneios = new ArrayList<>();
+        for (Torneio torneio : torneioRepository.findAllByOrderByIdAsc()) {
+            torneios.add(TorneioDTO.fromEntity(torneio));
+        }
+        return torneios;
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<TorneioDTO> buscar(Long id) {
+        return torneioRepository.findComParticipantesById(id).map(TorneioDTO::fromEntity);
+    }
+
+    /**
+     * @throws IllegalArgumentException se o nome já existe ou os dados são inválidos
+     */
+    @Transactional
+    public TorneioDTO criar(CriarTorneioRequest request) {
+        if (torneioRepository.existsByNome(request.getNome())) {
+            throw new IllegalArgumentException(
+                String.format("Já existe um torneio chamado '%s'", request.getNome()));
+        }
+        Torneio torneio = request.getMaxParticipantes() == null
+            ? new Torneio(request.getNome(), request.getJogo().toJogo(), request.getFormato(),
+                request.getDataInicio(), request.getDataFim(), request.getPremioTotal())
+            : new Torneio(request.getNome(), request.getJogo().toJogo(), request.getFormato(),
+                request.getDataInicio(), request.getDataFim(), request.getPremioTotal(),
+                request.getMaxParticipantes());
+        return TorneioDTO.fromEntity(torneioRepository.save(torneio));
+    }
+
+    /**
+     * Inscreve um time no torneio, com as regras de {@link Torneio#inscrever}.
+     * Um time com membro banido é recusado pelo {@link IndicePenalidades},
+     * antes de travar o torneio, e o torneio não percorre os membros de novo.
+     *
+     * @return o torneio atualizado, ou vazio se o torneio não existe
+     * @throws IllegalArgumentException se o time não existe ou já está inscrito
+     * @throws JogadorBanidoException se algum membro do time está banido
+     */
+    @Transactional
+    public Optional<TorneioDTO> inscrever(Long torneioId, Long timeId) {
+        int banidos = indicePenalidades.getMembrosBanidos(timeId);
+        if (banidos > 0) {
+            String nome = timeRepository.findById(timeId).map(Time::getNome).orElse(String.valueOf(timeId));
+            throw new JogadorBanidoException(nome, banidos);
+        }
+        Optional<Torneio> torneio = torneioRepository.findParaAlteracao(torneioId);
+        if (torneio.isEmpty()) {
+            return Optional.empty();
+        }
+        Time time = timeRepository.findById(timeId)
+            .orElseThrow(() -> new IllegalArgumentException("Time não encontrado"));
+        // nenhum membro banido, pelo índice; INATIVO não é atribuído a ninguém
+        torneio.get().inscrever(time, true);
+        return torneio.map(TorneioDTO::fromEntity);
+    }
+
+    /**
+     * Inicia o torneio, gerando e gravando as partidas da primeira rodada.
+     *
+     * @return o torneio atualizado, ou vazio se o torneio não existe
+     */
+    @Transactional
+    public Optional<TorneioDTO> iniciar(Long id) {
+        Optional<Torneio> torneio = torneioRepository.findParaAlteracao(id);
+        torneio.ifPresent(Torneio::iniciar);
+        return torneio.map(TorneioDTO::fromEntity);
+    }
+
+    @Transactional
+    public void limpar() {
+        torneioRepository.deleteAll();
+    }
+}
@@ -0,0 +1,49 @@
+package com.arena.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * O ajuste sobre a tabela que emula a sequence no MySQL, como o
+ * {@code ddl-auto=update} a cria (começando em 1).
+ */
+class AjusteSequenciaJogadoresTest {
+    private JdbcTemplate jdbc;
+
+    @BeforeEach
+    void setUp() {
+        jdbc = new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:ajuste_sequencia;DB_CLOSE_DELAY=-1"));
+        jdbc.execute("DROP ALL OBJECTS");
+        jdbc.execute("CREATE TABLE jogadores (id BIGINT PRIMARY KEY)");
+        jdbc.execute("CREATE TABLE jogadores_seq (next_val BIGINT)");
+        jdbc.update("INSERT INTO jogadores_seq VALUES (1)");
+    }
+
+    @Test
+    void sequencePassaParaDepoisDosIdsDoAutoIncrement() {
+        for (long id = 1; id <= 137; id++) {
+            jdbc.update("INSERT INTO jogadores VALUES (?)", id);
+        }
+
+        assertThat(AjusteSequenciaJogadores.ajustar(jdbc)).isEqualTo(1);
+        // o pooled lê 187 como o fim do bloco e começa em 138
+        assertThat(proximoValor()).isEqualTo(137 + AjusteSequenciaJogadores.IDS_POR_BLOCO);
+
+        assertThat(AjusteSequenciaJogadores.ajustar(jdbc)).isZero();
+        assertThat(proximoValor()).isEqualTo(187);
+    }
+
+    @Test
+    void bancoSemJogadoresNaoMuda() {
+        assertThat(AjusteSequenciaJogadores.ajustar(jdbc)).isZero();
+        assertThat(proximoValor()).isEqualTo(1);
+    }
+
+    private long proximoValor() {
+        return jdbc.queryForObject("SELECT next_val FROM jogadores_seq", Long.class);
+    }
+}
@@ -0,0 +1,71 @@
+package com.arena.controller;
+
+import org.hibernate.BaseSessionEventListener;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * O registro e o login gravam no banco fora do pool de hash do
+ * {@code SenhaService}.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session.events.auto="
+    + "com.arena.controller.AuthControllerTest$ComandosPorThread")
+@AutoConfigureMockMvc
+class AuthControllerTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Test
+    void registroELoginGravamForaDoPoolDeHash() throws Exception {
+        ComandosPorThread.THREADS.clear();
+
+        MvcResult registro = mvc.perform(post("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"nickname\":\"novato\",\"nomeReal\":\"Novato\",\"email\":\"novato@email.com\","
+                    + "\"senha\":\"segredo1\",\"dataNascimento\":\"2000-01-01\"}"))
+            .andReturn();
+        mvc.perform(asyncDispatch(registro)).andExpect(status().isCreated());
+
+        MvcResult login = mvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"nickname\":\"novato\",\"senha\":\"segredo1\"}"))
+            .andReturn();
+        mvc.perform(asyncDispatch(login)).andExpect(status().isOk());
+
+        // o INSERT do registro e o UPDATE do último login rodam no executor de I/O
+        assertThat(ComandosPorThread.THREADS)
+            .anyMatch(nome -> nome.startsWith("io-"))
+            .noneMatch(nome -> nome.startsWith("hash-senha-"));
+    }
+
+    /**
+     * Guarda a thread de cada comando JDBC, avulso ou em lote.
+     */
+    public static class ComandosPorThread extends BaseSessionEventListener {
+        static final List<String> THREADS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void jdbcExecuteStatementStart() {
+            THREADS.add(Thread.currentThread().getName());
+        }
+
+        @Override
+        public void jdbcExecuteBatchStart() {
+            THREADS.add(Thread.currentThread().getName());
+        }
+    }
+}
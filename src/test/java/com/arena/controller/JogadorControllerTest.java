@@ -0,0 +1,86 @@
+package com.arena.controller;
+
+import com.arena.repository.JogadorRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Importação interrompida no meio, em que os blocos anteriores continuam
+ * gravados e a resposta diz de onde reenviar, e exportação em streaming.
+ */
+// fila pequena no pool de importação: o segundo bloco, de 500 senhas, não cabe
+@SpringBootTest(properties = "arena.senha.fila-maxima-importacao=100")
+@AutoConfigureMockMvc
+class JogadorControllerTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private JogadorRepository jogadorRepository;
+
+    @Test
+    void importacaoRecusadaNoMeioListaOQueFoiGravadoEOndeRetomar() throws Exception {
+        StringBuilder csv = new StringBuilder("nickname,nomeReal,email,senha,dataNascimento\n");
+        // primeiro bloco (linhas 2 a 501): 450 rejeitadas pelo email e 50 válidas
+        for (int i = 0; i < 500; i++) {
+            String email = i < 450 ? "invalido" : String.format("imp%04d@email.com", i);
+            csv.append(String.format("imp%04d,Importado %d,%s,segredo1,2000-01-01\n", i, i, email));
+        }
+        // segundo bloco (linhas 502 a 1001): todas válidas
+        for (int i = 500; i < 1000; i++) {
+            csv.append(String.format("imp%04d,Importado %d,imp%04d@email.com,segredo1,2000-01-01\n", i, i, i));
+        }
+
+        mvc.perform(post("/api/jogadores/importar")
+                .param("formato", "csv")
+                .contentType("text/csv")
+                .content(csv.toString()))
+            .andExpect(status().isServiceUnavailable())
+            .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+            .andExpect(jsonPath("$.importados").value(50))
+            .andExpect(jsonPath("$.rejeitados").value(450))
+            .andExpect(jsonPath("$.itens.length()").value(500))
+            .andExpect(jsonPath("$.itens[499].linha").value(501))
+            .andExpect(jsonPath("$.itens[499].importado").value(true))
+            .andExpect(jsonPath("$.interrupcao").value("SERVICO_SOBRECARREGADO"))
+            .andExpect(jsonPath("$.retomarNaLinha").value(502));
+
+        assertThat(jogadorRepository.existsByNickname("imp0499")).isTrue();
+        assertThat(jogadorRepository.existsByNickname("imp0449")).isFalse();
+        assertThat(jogadorRepository.existsByNickname("imp0500")).isFalse();
+    }
+
+    @Test
+    void exportacaoEscreveUmaLinhaPorJogadorSemOLimiteDasOutrasRespostas() throws Exception {
+        MvcResult exportacao = mvc.perform(get("/api/jogadores/exportar").param("formato", "ndjson"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        // as demais respostas assíncronas seguem com o limite global
+        assertThat(exportacao.getRequest().getAsyncContext().getTimeout()).isZero();
+
+        // sem timeout, o asyncDispatch não espera o fim do streaming sozinho
+        exportacao.getAsyncResult(10_000);
+        mvc.perform(asyncDispatch(exportacao))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "application/x-ndjson"));
+        String corpo = exportacao.getResponse().getContentAsString(StandardCharsets.UTF_8);
+        assertThat(corpo.lines().count()).isEqualTo(jogadorRepository.count());
+    }
+}
@@ -0,0 +1,304 @@
+package com.arena.controller;
+
+import com.arena.enums.FormatoTorneio;
+import com.arena.enums.GeneroJogo;
+import com.arena.enums.Plataforma;
+import com.arena.enums.StatusPartida;
+import com.arena.model.Jogador;
+import com.arena.model.Jogo;
+import com.arena.model.Time;
+import com.arena.model.Torneio;
+import com.arena.repository.JogadorRepository;
+import com.arena.repository.TimeRepository;
+import com.arena.repository.TorneioRepository;
+import com.arena.service.PartidaService;
+import com.arena.service.TimeService;
+import com.arena.service.TorneioService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Conta as consultas de cada endpoint de leitura com as estatísticas do
+ * Hibernate: o número não pode crescer com o número de torneios, inscritos,
+ * membros ou partidas. Também joga torneios inteiros pelos endpoints, em que
+ * cada resultado lê o torneio do banco de novo.
+ */
+@SpringBootTest(properties = {
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    // as estatísticas são globais: a gravação periódica do histórico de ELO
+    // das partidas jogadas não pode cair na contagem de outro teste
+    "arena.historico-elo.intervalo-gravacao-ms=3600000"
+})
+@AutoConfigureMockMvc
+class TorneioControllerTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JogadorRepository jogadorRepository;
+
+    @Autowired
+    private TimeRepository timeRepository;
+
+    @Autowired
+    private TorneioRepository torneioRepository;
+
+    @Autowired
+    private TorneioService torneioService;
+
+    @Autowired
+    private TimeService timeService;
+
+    @Autowired
+    private PartidaService partidaService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final Jogo jogo = new Jogo("Valorant", GeneroJogo.FPS, 5, Plataforma.PC);
+    // o banco é o mesmo entre os testes; os nomes seguem uma sequência só
+    private static int criados;
+
+    private Statistics estatisticas;
+
+    @BeforeEach
+    void setUp() {
+        estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        torneioService.limpar();
+        timeService.limpar();
+    }
+
+    @AfterEach
+    void tearDown() {
+        torneioService.limpar();
+        timeService.limpar();
+    }
+
+    @Test
+    void listarTorneiosUsaNumeroFixoDeConsultas() throws Exception {
+        criarTorneio(4, 1, true);
+        criarTorneio(2, 1, false);
+        long poucos = consultas("/api/torneios");
+
+        for (int i = 0; i < 6; i++) {
+            criarTorneio(8, 5, i % 2 == 0);
+        }
+        long muitos = consultas("/api/torneios");
+
+        // torneios, inscritos, membros e partidas
+        assertThat(poucos).isEqualTo(4);
+        assertThat(muitos).isEqualTo(poucos);
+    }
+
+    @Test
+    void buscarTorneioUsaNumeroFixoDeConsultas() throws Exception {
+        Long pequeno = criarTorneio(4, 1, true);
+        Long grande = criarTorneio(16, 5, true);
+
+        // torneio com os inscritos, membros e partidas
+        assertThat(consultas("/api/torneios/" + pequeno)).isEqualTo(3);
+        assertThat(consultas("/api/torneios/" + grande)).isEqualTo(3);
+    }
+
+    @Test
+    void listarTimesUsaNumeroFixoDeConsultas() throws Exception {
+        criarTorneio(2, 1, false);
+        long poucos = consultas("/api/times");
+
+        criarTorneio(30, 5, false);
+        long muitos = consultas("/api/times");
+
+        // times e membros
+        assertThat(poucos).isEqualTo(2);
+        assertThat(muitos).isEqualTo(poucos);
+    }
+
+    @Test
+    void torneioAvancaAteOFimComResultadosDePlacarAoVivoEWO() throws Exception {
+        for (FormatoTorneio formato : FormatoTorneio.values()) {
+            Long id = criarTorneio(formato, 5, 1);
+            mvc.perform(post("/api/torneios/" + id + "/iniciar")).andExpect(status().isOk());
+
+            int jogadas = 0;
+            JsonNode torneio = torneio(id);
+            List<JsonNode> agendadas = agendadas(torneio);
+            while (!agendadas.isEmpty()) {
+                for (JsonNode partida : agendadas) {
+                    jogar(torneio, partida, jogadas++, formato);
+                }
+                torneio = torneio(id);
+                agendadas = agendadas(torneio);
+            }
+
+            String caso = formato.name();
+            assertThat(torneio.get("partidas")).as(caso).allSatisfy(partida -> assertThat(partida.get("status").asText())
+                .isIn(StatusPartida.FINALIZADA.name(), StatusPartida.WO.name()));
+            JsonNode colocacoes = torneio.get("colocacoes");
+            assertThat(colocacoes.size()).as(caso).isEqualTo(5);
+            switch (formato) {
+                case ELIMINACAO_SIMPLES, ELIMINACAO_DUPLA -> {
+                    assertThat(jogadas).as(caso).isEqualTo(formato == FormatoTorneio.ELIMINACAO_SIMPLES ? 4 : 8);
+                    // o vencedor da última partida é o campeão
+                    JsonNode finalDoTorneio = torneio.get("partidas").get(jogadas - 1);
+                    assertThat(colocacoes.get(finalDoTorneio.get("vencedor").asText()).asInt()).as(caso).isEqualTo(1);
+                }
+                case PONTOS_CORRIDOS, GRUPOS -> {
+                    assertThat(torneio.get("rodadaAtual").asInt()).as(caso).isEqualTo(torneio.get("totalRodadas").asInt());
+                    // uma folga por rodada: 5 rodadas de pontos corridos, 3 do suíço
+                    assertThat(jogadas).as(caso).isEqualTo(formato == FormatoTorneio.PONTOS_CORRIDOS ? 10 : 6);
+                    // a tabela remontada a cada resultado segue os pontos das partidas gravadas
+                    Map<String, Integer> pontos = pontos(torneio, formato == FormatoTorneio.GRUPOS ? 3 : 0);
+                    List<Integer> pontosNaOrdem = new ArrayList<>();
+                    colocacoes.fieldNames().forEachRemaining(nome -> pontosNaOrdem.add(pontos.get(nome)));
+                    assertThat(pontosNaOrdem).as(caso).isSortedAccordingTo(Comparator.reverseOrder());
+                }
+            }
+        }
+    }
+
+    /**
+     * Encerra a partida pelos endpoints: a cada três, uma é WO de quem não
+     * confirmou presença; as outras vão pelo placar ao vivo, com empate nos
+     * formatos por pontos.
+     */
+    private void jogar(JsonNode torneio, JsonNode partida, int jogada, FormatoTorneio formato) throws Exception {
+        String url = "/api/partidas/" + partida.get("id").asLong();
+        if (jogada % 3 == 0) {
+            Map<String, Long> ids = new HashMap<>();
+            for (JsonNode participante : torneio.get("participantes")) {
+                ids.put(participante.get("nome").asText(), participante.get("id").asLong());
+            }
+            mvc.perform(post(url + "/presenca").param("participanteId",
+                String.valueOf(ids.get(partida.get("participante2").asText())))).andExpect(status().isOk());
+            assertThat(partidaService.darWOPorAusencia(partida.get("id").asLong())).isTrue();
+            return;
+        }
+        boolean empate = jogada % 3 == 2 && (formato == FormatoTorneio.PONTOS_CORRIDOS || formato == FormatoTorneio.GRUPOS);
+        String rounds = empate
+            ? "{\"tipo\":\"ROUND\",\"lado\":1},{\"tipo\":\"ROUND\",\"lado\":2}"
+            : "{\"tipo\":\"ROUND\",\"lado\":" + (jogada % 2 + 1) + "}";
+        mvc.perform(post(url + "/iniciar")).andExpect(status().isOk());
+        mvc.perform(post(url + "/eventos").contentType(MediaType.APPLICATION_JSON)
+            .content("{\"eventos\":[" + rounds + "]}")).andExpect(status().isNoContent());
+        mvc.perform(post(url + "/finalizar")).andExpect(status().isOk());
+    }
+
+    /**
+     * Pontos de cada participante pelas partidas do torneio, com a folga de
+     * quem ficou de fora de cada rodada.
+     */
+    private static Map<String, Integer> pontos(JsonNode torneio, int pontosFolga) {
+        Map<String, Integer> pontos = new HashMap<>();
+        for (JsonNode participante : torneio.get("participantes")) {
+            pontos.put(participante.get("nome").asText(), 0);
+        }
+        for (int rodada = 1; rodada <= torneio.get("rodadaAtual").asInt(); rodada++) {
+            Map<String, Integer> folgas = new HashMap<>(pontos);
+            for (JsonNode partida : torneio.get("partidas")) {
+                if (partida.get("rodada").asInt() != rodada) {
+                    continue;
+                }
+                String lado1 = partida.get("participante1").asText();
+                String lado2 = partida.get("participante2").asText();
+                folgas.remove(lado1);
+                folgas.remove(lado2);
+                if (partida.get("vencedor").isNull()) {
+                    pontos.merge(lado1, 1, Integer::sum);
+                    pontos.merge(lado2, 1, Integer::sum);
+                } else {
+                    pontos.merge(partida.get("vencedor").asText(), 3, Integer::sum);
+                }
+            }
+            for (String folga : folgas.keySet()) {
+                pontos.merge(folga, pontosFolga, Integer::sum);
+            }
+        }
+        return pontos;
+    }
+
+    private JsonNode torneio(Long id) throws Exception {
+        return objectMapper.readTree(mvc.perform(get("/api/torneios/" + id))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString());
+    }
+
+    private static List<JsonNode> agendadas(JsonNode torneio) {
+        List<JsonNode> agendadas = new ArrayList<>();
+        for (JsonNode partida : torneio.get("partidas")) {
+            if (StatusPartida.AGENDADA.name().equals(partida.get("status").asText())) {
+                agendadas.add(partida);
+            }
+        }
+        return agendadas;
+    }
+
+    private long consultas(String url) throws Exception {
+        estatisticas.clear();
+        mvc.perform(get(url)).andExpect(status().isOk());
+        return estatisticas.getPrepareStatementCount();
+    }
+
+    private Long criarTorneio(int times, int membros, boolean iniciar) {
+        Torneio torneio = novoTorneio(FormatoTorneio.ELIMINACAO_SIMPLES, times, membros);
+        if (iniciar) {
+            torneio.iniciar();
+        }
+        return torneioRepository.save(torneio).getId();
+    }
+
+    private Long criarTorneio(FormatoTorneio formato, int times, int membros) {
+        return torneioRepository.save(novoTorneio(formato, times, membros)).getId();
+    }
+
+    private Torneio novoTorneio(FormatoTorneio formato, int times, int membros) {
+        int numero = ++criados;
+        Torneio torneio = new Torneio("Torneio " + numero, jogo, formato,
+            LocalDate.now().plusDays(7), LocalDate.now().plusDays(8), 5000);
+        for (int t = 0; t < times; t++) {
+            torneio.inscrever(criarTime(membros));
+        }
+        return torneio;
+    }
+
+    private Time criarTime(int membros) {
+        String prefixo = String.format("T%04d", ++criados);
+        List<Jogador> jogadores = new ArrayList<>();
+        for (int m = 0; m < membros; m++) {
+            jogadores.add(new Jogador(prefixo + "m" + m, "Jogador " + prefixo + m, prefixo + "m" + m + "@email.com",
+                "senha", LocalDate.of(2000, 1, 1)));
+        }
+        jogadorRepository.saveAll(jogadores);
+        Time time = new Time("Time " + prefixo, prefixo, jogadores.get(0), jogo);
+        for (Jogador jogador : jogadores.subList(1, membros)) {
+            time.adicionarMembro(jogador);
+        }
+        return timeRepository.save(time);
+    }
+}
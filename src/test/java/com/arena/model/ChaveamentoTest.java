@@ -0,0 +1,188 @@
+package com.arena.model;
+
+import com.arena.enums.FormatoTorneio;
+import com.arena.enums.GeneroJogo;
+import com.arena.enums.Plataforma;
+import com.arena.enums.StatusPartida;
+import com.arena.rating.EloRatingEngine;
+import com.arena.rating.RatingEngine;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+class ChaveamentoTest {
+    private static final RatingEngine MOTOR = new EloRatingEngine();
+
+    private final Jogo jogo = new Jogo("Valorant", GeneroJogo.FPS, 5, Plataforma.PC);
+
+    @Test
+    void eliminacaoSimplesDaFolgaAsMelhoresSementesEColocaPelaRodadaDaQueda() {
+        Torneio torneio = iniciado(FormatoTorneio.ELIMINACAO_SIMPLES, 6);
+        Chaveamento chave = torneio.getChaveamento();
+        List<Participante> s = chave.getSementes();
+
+        // chave de 8: as sementes 1 e 2 folgam na primeira rodada (posições 4 e 6)
+        assertThat(chave.getPartida(4)).isNull();
+        assertThat(chave.getPartida(6)).isNull();
+        assertThat(torneio.getPartidas()).hasSize(2);
+        assertThat(participantes(chave.getPartida(5))).containsExactly(s.get(3), s.get(4));
+        assertThat(participantes(chave.getPartida(7))).containsExactly(s.get(2), s.get(5));
+        assertThat(chave.getPartida(5).getRodada()).isEqualTo(1);
+
+        jogar(torneio, partida -> favorito(chave, partida));
+
+        // quem cai na partida m fica em highestOneBit(m) + 1
+        assertThat(chave.isConcluido()).isTrue();
+        assertThat(chave.getCampeao()).isSameAs(s.get(0));
+        assertThat(torneio.getPartidas()).hasSize(5);
+        assertThat(torneio.getColocacoes()).containsOnly(
+            entry(s.get(0), 1), entry(s.get(1), 2), entry(s.get(2), 3),
+            entry(s.get(3), 3), entry(s.get(4), 5), entry(s.get(5), 5));
+    }
+
+    @Test
+    void eliminacaoDuplaLevaQuemCaiParaAChaveInferiorEAteAGrandeFinal() {
+        Torneio torneio = iniciado(FormatoTorneio.ELIMINACAO_DUPLA, 4);
+        Chaveamento chave = torneio.getChaveamento();
+        List<Participante> s = chave.getSementes();
+
+        // superior 1..3, inferior 4..5, grande final 6; a semente 4 elimina a 1
+        chave.getPartida(2).finalizar(0, 1, MOTOR);
+        chave.getPartida(3).finalizar(1, 0, MOTOR);
+        assertThat(torneio.getColocacoes()).isEmpty();
+        assertThat(participantes(chave.getPartida(4))).containsExactly(s.get(0), s.get(2));
+
+        assertThat(participantes(chave.getPartida(1))).containsExactly(s.get(3), s.get(1));
+        chave.getPartida(1).finalizar(0, 1, MOTOR);
+        chave.getPartida(4).finalizar(1, 0, MOTOR);
+        assertThat(torneio.getColocacoes()).containsOnly(entry(s.get(2), 4));
+        // quem perde a final da superior entra na segunda rodada da inferior
+        assertThat(participantes(chave.getPartida(5))).containsExactly(s.get(0), s.get(3));
+
+        chave.getPartida(5).finalizar(1, 0, MOTOR);
+        Partida grandeFinal = chave.getPartida(6);
+        assertThat(participantes(grandeFinal)).containsExactly(s.get(1), s.get(0));
+        assertThat(grandeFinal.getRodada()).isEqualTo(3);
+        assertThat(chave.isConcluido()).isFalse();
+
+        grandeFinal.finalizar(0, 1, MOTOR);
+        assertThat(chave.getCampeao()).isSameAs(s.get(0));
+        assertThat(chave.getPartidasAbertas()).isZero();
+        assertThat(torneio.getColocacoes()).containsOnly(
+            entry(s.get(0), 1), entry(s.get(1), 2), entry(s.get(3), 3), entry(s.get(2), 4));
+    }
+
+    @Test
+    void qualquerTamanhoEResultadoTerminaComTodosColocados() {
+        Random random = new Random(42);
+        for (int n = 4; n <= 40; n++) {
+            for (FormatoTorneio formato : List.of(FormatoTorneio.ELIMINACAO_SIMPLES, FormatoTorneio.ELIMINACAO_DUPLA)) {
+                Torneio torneio = iniciado(formato, n);
+                Chaveamento chave = torneio.getChaveamento();
+                boolean dupla = formato == FormatoTorneio.ELIMINACAO_DUPLA;
+
+                Map<Participante, Integer> derrotas = jogar(torneio,
+                    partida -> random.nextBoolean() ? partida.getParticipante1() : partida.getParticipante2());
+
+                String caso = formato + " com " + n;
+                assertThat(chave.isConcluido()).as(caso).isTrue();
+                assertThat(chave.getPartidasAbertas()).as(caso).isZero();
+                assertThat(torneio.getPartidas()).as(caso).hasSize(dupla ? 2 * n - 2 : n - 1);
+                Map<Participante, Integer> colocacoes = torneio.getColocacoes();
+                assertThat(colocacoes).as(caso).hasSize(n);
+                assertThat(colocacoes.values()).as(caso).containsOnlyOnce(1, 2);
+                for (Participante participante : chave.getSementes()) {
+                    int perdeu = derrotas.getOrDefault(participante, 0);
+                    if (participante == chave.getCampeao()) {
+                        assertThat(perdeu).as(caso).isLessThanOrEqualTo(dupla ? 1 : 0);
+                    } else if (dupla && colocacoes.get(participante) != 2) {
+                        // na dupla só cai quem perdeu duas vezes
+                        assertThat(perdeu).as(caso).isEqualTo(2);
+                    } else {
+                        assertThat(perdeu).as(caso).isBetween(1, dupla ? 2 : 1);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Encerra as partidas agendadas até a chave não agendar mais nenhuma,
+     * conferindo que ninguém fica em duas partidas abertas ao mesmo tempo.
+     *
+     * @return quantas vezes cada participante perdeu
+     */
+    private Map<Participante, Integer> jogar(Torneio torneio, Function<Partida, Participante> vencedor) {
+        Map<Participante, Integer> derrotas = new HashMap<>();
+        List<Partida> abertas = agendadas(torneio);
+        while (!abertas.isEmpty()) {
+            Set<Participante> ocupados = new HashSet<>();
+            for (Partida partida : abertas) {
+                assertThat(ocupados.add(partida.getParticipante1())).isTrue();
+                assertThat(ocupados.add(partida.getParticipante2())).isTrue();
+            }
+            for (Partida partida : abertas) {
+                boolean venceuPrimeiro = vencedor.apply(partida) == partida.getParticipante1();
+                partida.finalizar(venceuPrimeiro ? 1 : 0, venceuPrimeiro ? 0 : 1, MOTOR);
+                derrotas.merge(venceuPrimeiro ? partida.getParticipante2() : partida.getParticipante1(),
+                    1, Integer::sum);
+            }
+            abertas = agendadas(torneio);
+        }
+        return derrotas;
+    }
+
+    private static List<Partida> agendadas(Torneio torneio) {
+        List<Partida> agendadas = new ArrayList<>();
+        for (Partida partida : torneio.getPartidas()) {
+            if (partida.getStatus() == StatusPartida.AGENDADA) {
+                agendadas.add(partida);
+            }
+        }
+        return agendadas;
+    }
+
+    private static Participante favorito(Chaveamento chave, Partida partida) {
+        List<Participante> sementes = chave.getSementes();
+        return sementes.indexOf(partida.getParticipante1()) < sementes.indexOf(partida.getParticipante2())
+            ? partida.getParticipante1()
+            : partida.getParticipante2();
+    }
+
+    private static List<Participante> participantes(Partida partida) {
+        return List.of(partida.getParticipante1(), partida.getParticipante2());
+    }
+
+    /**
+     * Torneio iniciado com {@code n} times de ELO decrescente: o time 0 é a 1ª semente.
+     */
+    private Torneio iniciado(FormatoTorneio formato, int n) {
+        Torneio torneio = new Torneio("Chave " + n, jogo, formato,
+            LocalDate.now().plusDays(7), LocalDate.now().plusDays(8), 5000, n);
+        List<Time> times = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            String tag = String.format("T%03d", i);
+            Jogador capitao = new Jogador("cap" + tag, "Capitão " + tag, tag + "@email.com", "senha",
+                LocalDate.of(2000, 1, 1));
+            capitao.ganharElo(10 * (n - i));
+            times.add(new Time("Time " + i, tag, capitao, jogo));
+        }
+        // a ordem de inscrição não decide a semente
+        for (int i = n - 1; i >= 0; i--) {
+            torneio.inscrever(times.get(i));
+        }
+        torneio.iniciar();
+        return torneio;
+    }
+}
@@ -0,0 +1,117 @@
+package com.arena.model;
+
+import com.arena.enums.FormatoTorneio;
+import com.arena.enums.GeneroJogo;
+import com.arena.enums.Plataforma;
+import com.arena.rating.EloRatingEngine;
+import com.arena.rating.RatingEngine;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ClassificacaoTest {
+    private static final RatingEngine MOTOR = new EloRatingEngine();
+
+    private final Jogo jogo = new Jogo("Valorant", GeneroJogo.FPS, 5, Plataforma.PC);
+    private final Torneio torneio = new Torneio("Pontos corridos", jogo, FormatoTorneio.PONTOS_CORRIDOS,
+        LocalDate.now().plusDays(7), LocalDate.now().plusDays(8), 5000);
+
+    @Test
+    void buchholzIncrementalIgualAoRecalculadoDoHistorico() {
+        Random random = new Random(11);
+        int n = 41;
+        Classificacao classificacao = new Classificacao(times(n));
+        List<int[]> historico = new ArrayList<>();
+        int[] folgas = new int[n];
+
+        for (int rodada = 1; rodada <= 8; rodada++) {
+            int[] pares = Pareamento.suico(classificacao);
+            for (int i = 0; i < pares.length; i += 2) {
+                if (pares[i + 1] == Pareamento.FOLGA) {
+                    classificacao.registrarFolga(pares[i], Classificacao.PONTOS_VITORIA);
+                    folgas[pares[i]]++;
+                    continue;
+                }
+                int placarA = random.nextInt(3);
+                int placarB = random.nextInt(3);
+                registrar(classificacao, pares[i], pares[i + 1], placarA, placarB);
+                historico.add(new int[] {pares[i], pares[i + 1], placarA, placarB});
+            }
+
+            // recalcula pontos e Buchholz do zero, a partir das partidas
+            long[] pontos = new long[n];
+            for (int i = 0; i < n; i++) {
+                pontos[i] = (long) folgas[i] * Classificacao.PONTOS_VITORIA;
+            }
+            for (int[] partida : historico) {
+                pontos[partida[0]] += pontosDaPartida(partida[2], partida[3]);
+                pontos[partida[1]] += pontosDaPartida(partida[3], partida[2]);
+            }
+            long[] buchholz = new long[n];
+            for (int[] partida : historico) {
+                buchholz[partida[0]] += pontos[partida[1]];
+                buchholz[partida[1]] += pontos[partida[0]];
+            }
+
+            for (Classificacao.Linha linha : classificacao.getTabela()) {
+                int i = classificacao.indice(linha.participante());
+                assertThat(linha.pontos()).as("rodada %d, participante %d", rodada, i).isEqualTo(pontos[i]);
+                assertThat(linha.buchholz()).as("rodada %d, participante %d", rodada, i).isEqualTo(buchholz[i]);
+            }
+        }
+    }
+
+    @Test
+    void confrontoDiretoDesempataSoDuplas() {
+        List<Participante> times = times(5);
+        Classificacao classificacao = new Classificacao(times);
+        // 0 e 1 empatam em pontos e Buchholz, e 1 venceu o confronto; 2 e 3 não se enfrentaram
+        registrar(classificacao, 0, 1, 0, 1);
+        registrar(classificacao, 0, 2, 1, 0);
+        registrar(classificacao, 1, 3, 0, 1);
+        registrar(classificacao, 2, 4, 1, 0);
+
+        assertThat(classificacao.getColocacoes().keySet())
+            .containsExactly(times.get(1), times.get(0), times.get(2), times.get(3), times.get(4));
+
+        // em três, o confronto direto pode ser cíclico e fica de fora
+        Classificacao ciclo = new Classificacao(times.subList(0, 3));
+        registrar(ciclo, 0, 1, 0, 1);
+        registrar(ciclo, 1, 2, 0, 1);
+        registrar(ciclo, 2, 0, 0, 1);
+        assertThat(ciclo.getColocacoes().keySet()).containsExactly(times.get(0), times.get(1), times.get(2));
+    }
+
+    private static int pontosDaPartida(int placar, int placarAdversario) {
+        if (placar == placarAdversario) {
+            return Classificacao.PONTOS_EMPATE;
+        }
+        return placar > placarAdversario ? Classificacao.PONTOS_VITORIA : 0;
+    }
+
+    private void registrar(Classificacao classificacao, int a, int b, int placarA, int placarB) {
+        Partida partida = new Partida(torneio, classificacao.getParticipante(a), classificacao.getParticipante(b), 1);
+        partida.finalizar(placarA, placarB, MOTOR);
+        classificacao.registrar(partida);
+    }
+
+    /**
+     * Times de ELO decrescente: o time {@code i} fica no índice {@code i} da classificação.
+     */
+    private List<Participante> times(int n) {
+        List<Participante> times = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            String tag = String.format("T%03d", i);
+            Jogador capitao = new Jogador("cap" + tag, "Capitão " + tag, tag + "@email.com", "senha",
+                LocalDate.of(2000, 1, 1));
+            capitao.ganharElo(10 * (n - i));
+            times.add(new Time("Time " + i, tag, capitao, jogo));
+        }
+        return times;
+    }
+}
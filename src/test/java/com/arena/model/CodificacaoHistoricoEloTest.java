@@ -0,0 +1,66 @@
+package com.arena.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CodificacaoHistoricoEloTest {
+
+    @Test
+    void idaEVoltaComDeltasNegativosEValoresExtremos() {
+        Random random = new Random(3);
+        List<RegistroElo> registros = new ArrayList<>();
+        long momento = 1_700_000_000_000L;
+        int elo = 1000;
+        for (int i = 0; i < 500; i++) {
+            // relógio fora de ordem por alguns milissegundos de vez em quando
+            momento += random.nextInt(10) == 0 ? -random.nextInt(50) : random.nextInt(100_000);
+            int delta = random.nextInt(81) - 40;
+            // ajustes manuais desviam o ELO de anterior + delta
+            elo = Math.max(0, elo + delta + (i % 7 == 0 ? random.nextInt(201) - 100 : 0));
+            Long partida = i % 5 == 0 ? null : (long) random.nextInt(1_000_000);
+            registros.add(new RegistroElo(partida, delta, elo, Instant.ofEpochMilli(momento)));
+        }
+        registros.add(new RegistroElo(Long.MAX_VALUE - 1, Integer.MIN_VALUE, Integer.MAX_VALUE, Instant.ofEpochMilli(0)));
+        registros.add(new RegistroElo(0L, Integer.MAX_VALUE, Integer.MIN_VALUE, Instant.ofEpochMilli(-1)));
+        registros.add(new RegistroElo(null, -1, 0, Instant.ofEpochMilli(Long.MAX_VALUE)));
+
+        byte[] dados = CodificacaoHistoricoElo.codificar(registros);
+        List<RegistroElo> decodificados = new ArrayList<>();
+        CodificacaoHistoricoElo.decodificar(dados, registros.size(), decodificados);
+
+        assertThat(decodificados).containsExactlyElementsOf(registros);
+    }
+
+    @Test
+    void blocoAceitaAte1024RegistrosEIndicaQuandoEstaCheio() {
+        List<RegistroElo> registros = new ArrayList<>();
+        for (int i = 0; i <= BlocoHistoricoElo.REGISTROS_POR_BLOCO; i++) {
+            int delta = i % 2 == 0 ? -12 : 15;
+            registros.add(new RegistroElo((long) i, delta, 1000 + i, Instant.ofEpochMilli(1_000L * i)));
+        }
+
+        List<RegistroElo> umAMenos = registros.subList(0, BlocoHistoricoElo.REGISTROS_POR_BLOCO - 1);
+        BlocoHistoricoElo incompleto = new BlocoHistoricoElo(1L, umAMenos);
+        assertThat(incompleto.isCheio()).isFalse();
+        assertThat(incompleto.getRegistros()).containsExactlyElementsOf(umAMenos);
+
+        List<RegistroElo> limite = registros.subList(0, BlocoHistoricoElo.REGISTROS_POR_BLOCO);
+        BlocoHistoricoElo cheio = new BlocoHistoricoElo(1L, limite);
+        assertThat(cheio.isCheio()).isTrue();
+        assertThat(cheio.getRegistros()).containsExactlyElementsOf(limite);
+        assertThat(cheio.getMomentoInicial()).isZero();
+        assertThat(cheio.getMomentoFinal()).isEqualTo(1_000L * (BlocoHistoricoElo.REGISTROS_POR_BLOCO - 1));
+
+        assertThatThrownBy(() -> new BlocoHistoricoElo(1L, registros))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new BlocoHistoricoElo(1L, List.of()))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,90 @@
+package com.arena.model;
+
+import com.arena.enums.FormatoTorneio;
+import com.arena.enums.GeneroJogo;
+import com.arena.enums.Plataforma;
+import com.arena.rating.EloRatingEngine;
+import com.arena.rating.RatingEngine;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PareamentoTest {
+    private static final RatingEngine MOTOR = new EloRatingEngine();
+
+    private final Jogo jogo = new Jogo("Valorant", GeneroJogo.FPS, 5, Plataforma.PC);
+    private final Torneio torneio = new Torneio("Suíço", jogo, FormatoTorneio.GRUPOS,
+        LocalDate.now().plusDays(7), LocalDate.now().plusDays(8), 5000);
+
+    @Test
+    void quemSobraNoGrupoDesceParaOProximo() {
+        Classificacao classificacao = new Classificacao(times(6));
+
+        // todos com 0 pontos: a metade de cima enfrenta a de baixo
+        int[] primeira = Pareamento.suico(classificacao);
+        assertThat(primeira).containsExactly(0, 3, 1, 4, 2, 5);
+        for (int i = 0; i < primeira.length; i += 2) {
+            registrar(classificacao, primeira[i], primeira[i + 1], 1, 0);
+        }
+
+        // grupo de 3 vencedores: o pior deles desce e enfrenta o melhor dos perdedores
+        assertThat(Pareamento.suico(classificacao)).containsExactly(0, 1, 2, 4, 3, 5);
+    }
+
+    @Test
+    void suicoNaoRepeteConfrontoEnquantoHouverAdversarioInedito() {
+        Random random = new Random(7);
+        // ímpar, para a folga entrar no pareamento
+        int n = 33;
+        Classificacao classificacao = new Classificacao(times(n));
+        int rodadas = 32 - Integer.numberOfLeadingZeros(n - 1);
+
+        for (int rodada = 1; rodada <= rodadas; rodada++) {
+            int[] pares = Pareamento.suico(classificacao);
+            assertThat(pares).hasSize(n + 1);
+            boolean[] jogou = new boolean[n];
+            for (int i = 0; i < pares.length; i += 2) {
+                int a = pares[i];
+                int b = pares[i + 1];
+                if (b == Pareamento.FOLGA) {
+                    assertThat(classificacao.teveFolga(a)).isFalse();
+                    classificacao.registrarFolga(a, Classificacao.PONTOS_VITORIA);
+                } else {
+                    assertThat(classificacao.jaSeEnfrentaram(a, b)).as("rodada %d: %d x %d", rodada, a, b).isFalse();
+                    assertThat(jogou[b]).isFalse();
+                    jogou[b] = true;
+                    int resultado = random.nextInt(3);
+                    registrar(classificacao, a, b, resultado == 0 ? 0 : 1, resultado == 2 ? 1 : 0);
+                }
+                assertThat(jogou[a]).isFalse();
+                jogou[a] = true;
+            }
+        }
+    }
+
+    private void registrar(Classificacao classificacao, int a, int b, int placarA, int placarB) {
+        Partida partida = new Partida(torneio, classificacao.getParticipante(a), classificacao.getParticipante(b), 1);
+        partida.finalizar(placarA, placarB, MOTOR);
+        classificacao.registrar(partida);
+    }
+
+    /**
+     * Times de ELO decrescente: o time {@code i} fica no índice {@code i} da classificação.
+     */
+    private List<Participante> times(int n) {
+        List<Participante> times = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            String tag = String.format("T%03d", i);
+            Jogador capitao = new Jogador("cap" + tag, "Capitão " + tag, tag + "@email.com", "senha",
+                LocalDate.of(2000, 1, 1));
+            capitao.ganharElo(10 * (n - i));
+            times.add(new Time("Time " + i, tag, capitao, jogo));
+        }
+        return times;
+    }
+}
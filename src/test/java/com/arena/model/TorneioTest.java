@@ -0,0 +1,142 @@
+package com.arena.model;
+
+import com.arena.enums.FormatoTorneio;
+import com.arena.enums.GeneroJogo;
+import com.arena.enums.Plataforma;
+import com.arena.enums.StatusTorneio;
+import com.arena.exception.InscricaoFechadaException;
+import com.arena.exception.TorneioLotadoException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TorneioTest {
+    private static final int THREADS = 1_500;
+
+    private final Jogo jogo = new Jogo("Valorant", GeneroJogo.FPS, 5, Plataforma.PC);
+
+    @Test
+    void inscricoesConcorrentesNaoPassamDoLimite() throws Exception {
+        Torneio torneio = novoTorneio(1_000);
+        Desfechos desfechos = inscreverEmParalelo(torneio, i -> novoTime("Time " + i, tag(i)));
+
+        assertThat(desfechos.aceitas.get()).isEqualTo(1_000);
+        assertThat(desfechos.lotado.get()).isEqualTo(THREADS - 1_000);
+        assertThat(desfechos.outros).isEmpty();
+        assertThat(torneio.getTotalParticipantes()).isEqualTo(1_000);
+        assertThat(torneio.getParticipantes()).hasSize(1_000).doesNotContainNull();
+    }
+
+    @Test
+    void inscricoesConcorrentesDoMesmoTimeEntramUmaVez() throws Exception {
+        Torneio torneio = novoTorneio(Torneio.LIMITE_PARTICIPANTES);
+        // cada time tenta 5 vezes, às vezes com outro nome e a mesma tag
+        Desfechos desfechos = inscreverEmParalelo(torneio,
+            i -> novoTime((i % 2 == 0 ? "Time " : "Outro ") + i / 5, tag(i / 5)));
+
+        assertThat(desfechos.aceitas.get()).isEqualTo(THREADS / 5);
+        assertThat(desfechos.duplicado.get()).isEqualTo(THREADS - THREADS / 5);
+        assertThat(desfechos.outros).isEmpty();
+
+        Set<String> tags = new HashSet<>();
+        for (Participante participante : torneio.getParticipantes()) {
+            assertThat(tags.add(((Time) participante).getTag())).isTrue();
+        }
+        assertThat(tags).hasSize(THREADS / 5);
+    }
+
+    @Test
+    void inicioDuranteInscricoesNaoPerdeInscritos() throws Exception {
+        Torneio torneio = novoTorneio(Torneio.LIMITE_PARTICIPANTES);
+        for (int i = 0; i < 4; i++) {
+            torneio.inscrever(novoTime("Inicial " + i, "I" + tag(i).substring(1)));
+        }
+        // inicia no meio da rajada de inscrições
+        Thread iniciador = new Thread(() -> {
+            while (torneio.getTotalParticipantes() < 4 + THREADS / 4) {
+                Thread.onSpinWait();
+            }
+            torneio.iniciar();
+        });
+        iniciador.start();
+
+        Desfechos desfechos = inscreverEmParalelo(torneio, i -> novoTime("Time " + i, tag(i)));
+        iniciador.join();
+
+        assertThat(torneio.getStatus()).isEqualTo(StatusTorneio.EM_ANDAMENTO);
+        assertThat(desfechos.outros).isEmpty();
+        assertThat(desfechos.aceitas.get() + desfechos.fechada.get()).isEqualTo(THREADS);
+        // todo inscrito aceito entrou no chaveamento
+        assertThat(torneio.getTotalParticipantes()).isEqualTo(4 + desfechos.aceitas.get());
+        assertThat(torneio.getChaveamento().getSementes())
+            .containsExactlyInAnyOrderElementsOf(torneio.getParticipantes());
+    }
+
+    private Desfechos inscreverEmParalelo(Torneio torneio, IntFunction<Time> times) throws InterruptedException {
+        Desfechos desfechos = new Desfechos();
+        CountDownLatch prontas = new CountDownLatch(THREADS);
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>(THREADS);
+        for (int t = 0; t < THREADS; t++) {
+            int indice = t;
+            Thread thread = new Thread(() -> {
+                Time time = times.apply(indice);
+                prontas.countDown();
+                try {
+                    largada.await();
+                    torneio.inscrever(time);
+                    desfechos.aceitas.incrementAndGet();
+                } catch (TorneioLotadoException e) {
+                    desfechos.lotado.incrementAndGet();
+                } catch (InscricaoFechadaException e) {
+                    desfechos.fechada.incrementAndGet();
+                } catch (IllegalArgumentException e) {
+                    desfechos.duplicado.incrementAndGet();
+                } catch (Throwable e) {
+                    desfechos.outros.add(e);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        prontas.await();
+        largada.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        return desfechos;
+    }
+
+    private Torneio novoTorneio(int maxParticipantes) {
+        return new Torneio("Qualificatória", jogo, FormatoTorneio.ELIMINACAO_SIMPLES,
+            LocalDate.now().plusDays(7), LocalDate.now().plusDays(8), 5000, maxParticipantes);
+    }
+
+    private Time novoTime(String nome, String tag) {
+        Jogador capitao = new Jogador("cap" + tag, "Capitão " + tag, tag + "@email.com", "senha",
+            LocalDate.of(2000, 1, 1));
+        return new Time(nome, tag, capitao, jogo);
+    }
+
+    private static String tag(int i) {
+        return String.format("T%04d", i);
+    }
+
+    private static class Desfechos {
+        final AtomicInteger aceitas = new AtomicInteger();
+        final AtomicInteger lotado = new AtomicInteger();
+        final AtomicInteger fechada = new AtomicInteger();
+        final AtomicInteger duplicado = new AtomicInteger();
+        final List<Throwable> outros = Collections.synchronizedList(new ArrayList<>());
+    }
+}
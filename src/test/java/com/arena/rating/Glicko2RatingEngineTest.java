@@ -0,0 +1,49 @@
+package com.arena.rating;
+
+import com.arena.model.Jogador;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class Glicko2RatingEngineTest {
+    private final Glicko2RatingEngine engine = new Glicko2RatingEngine(0.5);
+
+    @Test
+    void desvioEVolatilidadeZeradosValemOsDeUmJogadorNovo() {
+        Jogador zerado = jogador("zerado");
+        zerado.setDesvioRating(0);
+        zerado.setVolatilidade(0);
+        Jogador novo = jogador("novo");
+
+        engine.aplicar(List.of(zerado), List.of(jogador("adversario1")), RatingEngine.VITORIA);
+        engine.aplicar(List.of(novo), List.of(jogador("adversario2")), RatingEngine.VITORIA);
+
+        assertThat(zerado.getElo()).isEqualTo(novo.getElo()).isGreaterThan(Jogador.ELO_INICIAL);
+        assertThat(zerado.getDesvioRating()).isEqualTo(novo.getDesvioRating()).isPositive();
+        assertThat(zerado.getVolatilidade()).isEqualTo(novo.getVolatilidade()).isPositive();
+    }
+
+    @Test
+    void periodoCarregaDesvioEVolatilidadeInvalidosComOsIniciais() {
+        PeriodoRating periodo = new PeriodoRating(2, 1);
+        int zerado = periodo.adicionarJogador(Jogador.ELO_INICIAL, 0, -1);
+        int adversario = periodo.adicionarJogador(Jogador.ELO_INICIAL, Double.NaN, 0.06);
+        periodo.adicionarPartida(zerado, adversario, RatingEngine.DERROTA);
+
+        assertThat(periodo.getDesvio(zerado)).isEqualTo(Jogador.DESVIO_RATING_INICIAL);
+        assertThat(periodo.getVolatilidade(zerado)).isEqualTo(Jogador.VOLATILIDADE_INICIAL);
+        assertThat(periodo.getDesvio(adversario)).isEqualTo(Jogador.DESVIO_RATING_INICIAL);
+
+        engine.aplicarPeriodo(periodo);
+        assertThat(periodo.getRating(zerado)).isFinite().isLessThan(Jogador.ELO_INICIAL);
+        assertThat(periodo.getRating(adversario)).isFinite().isGreaterThan(Jogador.ELO_INICIAL);
+    }
+
+    private static Jogador jogador(String nickname) {
+        return new Jogador(nickname, "Jogador " + nickname, nickname + "@email.com", "senha",
+            LocalDate.of(2000, 1, 1));
+    }
+}
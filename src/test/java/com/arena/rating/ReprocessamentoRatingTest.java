@@ -0,0 +1,97 @@
+package com.arena.rating;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReprocessamentoRatingTest {
+    private static final int JOGADORES = 5_000;
+    private static final int PARTIDAS = 60_000;
+
+    @Test
+    void eloEmParaleloIgualAoSerial() {
+        compararComSerial(new EloRatingEngine());
+    }
+
+    @Test
+    void glicko2EmParaleloIgualAoSerial() {
+        compararComSerial(new Glicko2RatingEngine(0.5));
+    }
+
+    private void compararComSerial(RatingEngine engine) {
+        BitSet wos = new BitSet();
+        PeriodoRating serial = historicoAleatorio(wos);
+        PeriodoRating paralelo = historicoAleatorio(new BitSet());
+
+        new ReprocessamentoRating(engine, serial, wos).executarEmSerie();
+        ReprocessamentoRating reprocessamento = new ReprocessamentoRating(engine, paralelo, wos);
+        AtomicInteger aplicadas = new AtomicInteger();
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            reprocessamento.executar(pool, aplicadas::set);
+        } finally {
+            pool.shutdown();
+        }
+
+        assertThat(aplicadas.get()).isEqualTo(PARTIDAS);
+        assertThat(reprocessamento.getOndas()).isGreaterThan(1).isLessThan(PARTIDAS);
+        assertThat(Arrays.copyOf(paralelo.rating, JOGADORES)).containsExactly(Arrays.copyOf(serial.rating, JOGADORES));
+        assertThat(Arrays.copyOf(paralelo.desvio, JOGADORES)).containsExactly(Arrays.copyOf(serial.desvio, JOGADORES));
+        assertThat(Arrays.copyOf(paralelo.volatilidade, JOGADORES))
+            .containsExactly(Arrays.copyOf(serial.volatilidade, JOGADORES));
+    }
+
+    /**
+     * O mesmo histórico a cada chamada: partidas 1x1 e entre times de 5, com
+     * empates e WOs, e ratings iniciais variados.
+     */
+    private static PeriodoRating historicoAleatorio(BitSet wos) {
+        SplittableRandom random = new SplittableRandom(42);
+        PeriodoRating periodo = new PeriodoRating(JOGADORES, PARTIDAS);
+        for (int i = 0; i < JOGADORES; i++) {
+            periodo.adicionarJogador(600 + random.nextInt(1_500), 50 + random.nextInt(300), 0.06);
+        }
+        double[] pontuacoes = {RatingEngine.VITORIA, RatingEngine.EMPATE, RatingEngine.DERROTA};
+        for (int k = 0; k < PARTIDAS; k++) {
+            double pontuacao = pontuacoes[random.nextInt(3)];
+            if (random.nextInt(4) == 0) {
+                int[] lados = distintos(random, 10);
+                periodo.adicionarPartida(Arrays.copyOfRange(lados, 0, 5), Arrays.copyOfRange(lados, 5, 10), pontuacao);
+            } else {
+                int[] lados = distintos(random, 2);
+                periodo.adicionarPartida(lados[0], lados[1], pontuacao);
+            }
+            if (random.nextInt(20) == 0) {
+                wos.set(k);
+            }
+        }
+        return periodo;
+    }
+
+    private static int[] distintos(SplittableRandom random, int quantidade) {
+        int[] jogadores = new int[quantidade];
+        for (int i = 0; i < quantidade; i++) {
+            int jogador;
+            do {
+                jogador = random.nextInt(JOGADORES);
+            } while (contem(jogadores, i, jogador));
+            jogadores[i] = jogador;
+        }
+        return jogadores;
+    }
+
+    private static boolean contem(int[] jogadores, int ate, int jogador) {
+        for (int i = 0; i < ate; i++) {
+            if (jogadores[i] == jogador) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
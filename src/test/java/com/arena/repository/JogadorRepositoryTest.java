@@ -0,0 +1,189 @@
+package com.arena.repository;
+
+import com.arena.dto.JogadorDTO;
+import com.arena.enums.Categoria;
+import com.arena.model.Jogador;
+import com.arena.service.RankingIndex;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.BaseSessionEventListener;
+import org.hibernate.SessionFactory;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.arena.repository.JogadorRepositoryTest$SqlCapturado",
+    "spring.jpa.properties.hibernate.session.events.auto="
+        + "com.arena.repository.JogadorRepositoryTest$BatchesContados",
+    "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import(RankingIndex.class)
+class JogadorRepositoryTest {
+
+    @Autowired
+    private JogadorRepository jogadorRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void criarJogadores() {
+        for (int i = 0; i < 60; i++) {
+            Jogador jogador = new Jogador("jogador" + i, "Jogador " + i, "jogador" + i + "@email.com",
+                "senha", LocalDate.of(2000, 1, 1));
+            jogador.ganharElo((i * 37) % 1200);
+            jogadorRepository.save(jogador);
+        }
+        jogadorRepository.flush();
+        SqlCapturado.SQL.clear();
+    }
+
+    @Test
+    void rankingPaginadoDeveUsarIndiceEloId() throws Exception {
+        jogadorRepository.findRankingApos(1500, 30L, 10);
+
+        String plano = explicar(ultimoSelect(), 1500, 30L, 10);
+
+        assertThat(plano).containsIgnoringCase("IDX_JOGADORES_ELO_ID");
+        assertThat(plano).contains("ELO <=");
+        assertThat(plano).contains("index sorted");
+    }
+
+    @Test
+    void categoriaPaginadaDeveUsarIndiceCategoriaEloId() throws Exception {
+        jogadorRepository.findByCategoriaApos(Categoria.PRATA, 1500, 30L, 10);
+
+        String plano = explicar(ultimoSelect(), Categoria.PRATA.name(), 1500, 30L, 10);
+
+        assertThat(plano).containsIgnoringCase("IDX_JOGADORES_CATEGORIA_ELO_ID");
+        assertThat(plano).contains("ELO <=");
+        assertThat(plano).contains("index sorted");
+    }
+
+    @Test
+    void paginasDevemPercorrerORankingSemRepetirNemPular() {
+        List<Jogador> esperado = new ArrayList<>(jogadorRepository.findAll());
+        esperado.sort(Comparator.comparingInt(Jogador::getElo).reversed()
+            .thenComparing(Jogador::getId, Comparator.reverseOrder()));
+
+        List<JogadorDTO> percorrido = new ArrayList<>(jogadorRepository.findRanking(7));
+        while (percorrido.size() < esperado.size()) {
+            JogadorDTO ultimo = percorrido.get(percorrido.size() - 1);
+            List<JogadorDTO> pagina = jogadorRepository.findRankingApos(
+                ultimo.getElo(), ultimo.getId(), 7);
+            assertThat(pagina).isNotEmpty();
+            percorrido.addAll(pagina);
+        }
+
+        assertThat(percorrido).extracting(JogadorDTO::getId)
+            .containsExactlyElementsOf(esperado.stream().map(Jogador::getId).toList());
+    }
+
+    @Test
+    void insercoesEmLoteVaoEmBatchesJdbc() {
+        List<Jogador> novos = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            novos.add(new Jogador("lote" + i, "Lote " + i, "lote" + i + "@email.com", "senha",
+                LocalDate.of(2000, 1, 1)));
+        }
+        estatisticas().clear();
+        BatchesContados.BATCHES.set(0);
+        jogadorRepository.saveAll(novos);
+        jogadorRepository.flush();
+
+        // INSERTs em batches de 50: 3 executeBatch para 120 linhas, sobre um
+        // PreparedStatement reaproveitado, mais no máximo 3 idas à sequence
+        // (sem batch seriam 120 statements)
+        assertThat(estatisticas().getEntityInsertCount()).isEqualTo(120);
+        assertThat(BatchesContados.BATCHES.get()).isEqualTo(3);
+        assertThat(estatisticas().getPrepareStatementCount()).isLessThanOrEqualTo(4);
+    }
+
+    @Test
+    void colunasDoGlicko2TemDefaultNoBanco() throws Exception {
+        // é o default que o ddl-auto=update usa para preencher as linhas antigas
+        try (Connection conexao = dataSource.getConnection();
+             PreparedStatement consulta = conexao.prepareStatement(
+                 "SELECT COLUMN_NAME, COLUMN_DEFAULT FROM INFORMATION_SCHEMA.COLUMNS "
+                     + "WHERE TABLE_NAME = 'JOGADORES' AND COLUMN_NAME IN ('DESVIO_RATING', 'VOLATILIDADE') "
+                     + "ORDER BY COLUMN_NAME");
+             ResultSet resultado = consulta.executeQuery()) {
+            List<String> defaults = new ArrayList<>();
+            while (resultado.next()) {
+                defaults.add(resultado.getString(1) + "=" + resultado.getString(2));
+            }
+            assertThat(defaults).containsExactly("DESVIO_RATING=350", "VOLATILIDADE=0.06");
+        }
+    }
+
+    private Statistics estatisticas() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private String ultimoSelect() {
+        return SqlCapturado.SQL.stream()
+            .filter(sql -> sql.trim().toLowerCase().startsWith("select"))
+            .reduce((primeiro, segundo) -> segundo)
+            .orElseThrow();
+    }
+
+    private String explicar(String sql, Object... parametros) throws Exception {
+        try (Connection conexao = dataSource.getConnection();
+             PreparedStatement explain = conexao.prepareStatement("EXPLAIN " + sql)) {
+            for (int i = 0; i < parametros.length; i++) {
+                explain.setObject(i + 1, parametros[i]);
+            }
+            try (ResultSet resultado = explain.executeQuery()) {
+                resultado.next();
+                return resultado.getString(1);
+            }
+        }
+    }
+
+    /**
+     * Conta os {@code executeBatch} de todas as sessões.
+     */
+    public static class BatchesContados extends BaseSessionEventListener {
+        static final AtomicInteger BATCHES = new AtomicInteger();
+
+        @Override
+        public void jdbcExecuteBatchStart() {
+            BATCHES.incrementAndGet();
+        }
+    }
+
+    /**
+     * Guarda o SQL gerado pelo Hibernate para que o teste avalie o plano
+     * da consulta real, e não de uma cópia escrita à mão.
+     */
+    public static class SqlCapturado implements StatementInspector {
+        static final List<String> SQL = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            SQL.add(sql);
+            return sql;
+        }
+    }
+}
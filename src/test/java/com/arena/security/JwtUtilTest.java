@@ -0,0 +1,40 @@
+package com.arena.security;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtUtilTest {
+
+    @Test
+    void cacheCheioLiberaUmDecimoDeUmaVez() {
+        JwtUtil jwtUtil = new JwtUtil(100);
+        for (int i = 0; i < 100; i++) {
+            assertThat(jwtUtil.validarToken(jwtUtil.generateToken("jogador" + i))).contains("jogador" + i);
+        }
+        assertThat(jwtUtil.getTokensEmCache()).isEqualTo(100);
+
+        // a varredura abre espaço para as próximas dez inserções
+        jwtUtil.validarToken(jwtUtil.generateToken("jogador100"));
+        assertThat(jwtUtil.getTokensEmCache()).isEqualTo(91);
+        for (int i = 101; i < 110; i++) {
+            jwtUtil.validarToken(jwtUtil.generateToken("jogador" + i));
+        }
+        assertThat(jwtUtil.getTokensEmCache()).isEqualTo(100);
+
+        for (int i = 0; i < 1_000; i++) {
+            jwtUtil.validarToken(jwtUtil.generateToken("outro" + i));
+        }
+        assertThat(jwtUtil.getTokensEmCache()).isLessThanOrEqualTo(100);
+    }
+
+    @Test
+    void tokenInvalidoNaoEntraNoCache() {
+        JwtUtil jwtUtil = new JwtUtil(100);
+        String token = jwtUtil.generateToken("jogador");
+
+        assertThat(jwtUtil.validarToken(token + "x")).isEmpty();
+        assertThat(jwtUtil.getTokensEmCache()).isZero();
+        assertThat(jwtUtil.validarToken(token)).contains("jogador");
+    }
+}
@@ -0,0 +1,122 @@
+package com.arena.service;
+
+import com.arena.enums.TopicoEvento;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Conexões SSE reais: um cliente que para de ler não atrasa os outros e é
+ * encerrado quando a fila dele enche.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = "arena.eventos.escritores=2")
+class EventosServiceTest {
+    private static final int EVENTOS = 300;
+
+    @LocalServerPort
+    private int porta;
+
+    @Autowired
+    private EventosService eventosService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void clienteParadoNaoAtrasaOsOutrosEIdsSeguemPorConexao() throws Exception {
+        double descartadosAntes = meterRegistry.counter("arena.eventos.descartados").count();
+        int conexoesAntes = eventosService.getConexoes();
+
+        // pede o stream e nunca lê a resposta: o buffer do socket enche e a escrita trava
+        try (Socket parado = new Socket()) {
+            parado.setReceiveBufferSize(4096);
+            parado.connect(new InetSocketAddress("localhost", porta));
+            OutputStream saida = parado.getOutputStream();
+            saida.write(("GET /api/eventos?topicos=fila,partidas HTTP/1.1\r\nHost: localhost\r\n"
+                + "Accept: text/event-stream\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+            saida.flush();
+
+            HttpClient cliente = HttpClient.newHttpClient();
+            HttpRequest pedido = HttpRequest.newBuilder(URI.create(
+                    "http://localhost:" + porta + "/api/eventos?topicos=fila,partidas"))
+                .header("Accept", "text/event-stream")
+                .build();
+            HttpResponse<Stream<String>> resposta = cliente.send(pedido, HttpResponse.BodyHandlers.ofLines());
+            List<Long> ids = new CopyOnWriteArrayList<>();
+            AtomicInteger recebidos = new AtomicInteger();
+            CompletableFuture.runAsync(() -> ler(resposta.body(), ids, recebidos));
+
+            while (eventosService.getConexoes() < conexoesAntes + 2) {
+                Thread.sleep(10);
+            }
+            // um evento por quadro: os grandes enchem o socket do cliente parado,
+            // os pequenos enchem a fila dele
+            String carga = "x".repeat(64 * 1024);
+            for (int i = 0; i < EVENTOS; i++) {
+                // alterna os tópicos: o id é da conexão, não do tópico
+                eventosService.publicar(i % 2 == 0 ? TopicoEvento.FILA : TopicoEvento.PARTIDAS,
+                    "evento-" + i + (i < EVENTOS / 2 ? carga : ""));
+                long prazo = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+                while (recebidos.get() <= i) {
+                    assertThat(System.nanoTime()).as("evento %d não chegou", i).isLessThan(prazo);
+                    Thread.sleep(1);
+                }
+            }
+
+            assertThat(ids).hasSize(EVENTOS);
+            for (int i = 0; i < EVENTOS; i++) {
+                assertThat(ids.get(i)).isEqualTo(i + 1L);
+            }
+            assertThat(meterRegistry.counter("arena.eventos.descartados").count()).isGreaterThan(descartadosAntes);
+            assertThat(eventosService.getConexoes()).isEqualTo(conexoesAntes + 1);
+            resposta.body().close();
+        }
+    }
+
+    /**
+     * Lê os quadros, guardando os ids e contando os eventos publicados pelo teste.
+     */
+    private void ler(Stream<String> linhas, List<Long> ids, AtomicInteger recebidos) {
+        linhas.forEach(linha -> {
+            if (linha.startsWith("id: ")) {
+                ids.add(Long.parseLong(linha.substring(4)));
+            } else if (linha.startsWith("data: ")) {
+                try {
+                    for (JsonNode evento : objectMapper.readTree(linha.substring(6))) {
+                        if (evento.isTextual() && evento.asText().startsWith("evento-")) {
+                            recebidos.incrementAndGet();
+                        }
+                    }
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,107 @@
+package com.arena.service;
+
+import com.arena.model.BlocoHistoricoElo;
+import com.arena.model.RegistroElo;
+import com.arena.repository.HistoricoEloRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class HistoricoEloServiceTest {
+    // fora da faixa dos jogadores do DataLoader
+    private static final long JUNTA = 900_001L;
+    private static final long SEPARADOS = 900_002L;
+    private static final long COMPLETA_BLOCO = 900_003L;
+
+    @Autowired
+    private HistoricoEloService historicoEloService;
+
+    @Autowired
+    private HistoricoEloRepository historicoEloRepository;
+
+    private final List<Long> jogadores = List.of(JUNTA, SEPARADOS, COMPLETA_BLOCO);
+    private long momento = Instant.now().toEpochMilli() - 1_000_000_000L;
+
+    @AfterEach
+    void removerBlocos() {
+        for (Long jogadorId : jogadores) {
+            historicoEloRepository.deleteAllInBatch(blocos(jogadorId));
+        }
+    }
+
+    @Test
+    void compactaSoOsIncompletosVizinhosENaoVoltaAoMesmoJogador() {
+        // 10 + 20 vizinhos se juntam; o cheio separa o de 5
+        List<RegistroElo> junta = gravar(JUNTA, 10, 20, 1024, 5);
+        // nada a juntar: um cheio entre os dois incompletos
+        List<RegistroElo> separados = gravar(SEPARADOS, 7, 1024, 9);
+        // 1000 + 30 passam do tamanho do bloco: um cheio e o resto
+        List<RegistroElo> completaBloco = gravar(COMPLETA_BLOCO, 1000, 30);
+
+        assertThat(historicoEloRepository.findJogadoresParaCompactar(Limit.of(100)))
+            .contains(JUNTA, COMPLETA_BLOCO)
+            .doesNotContain(SEPARADOS);
+
+        historicoEloService.compactar();
+
+        assertThat(quantidades(JUNTA)).containsExactly(30, 1024, 5);
+        assertThat(quantidades(SEPARADOS)).containsExactly(7, 1024, 9);
+        assertThat(quantidades(COMPLETA_BLOCO)).containsExactly(1024, 6);
+        assertThat(historicoEloRepository.findJogadoresParaCompactar(Limit.of(100)))
+            .doesNotContainAnyElementsOf(jogadores);
+
+        // os registros continuam os mesmos, na mesma ordem
+        assertThat(registros(JUNTA)).containsExactlyElementsOf(junta);
+        assertThat(registros(SEPARADOS)).containsExactlyElementsOf(separados);
+        assertThat(registros(COMPLETA_BLOCO)).containsExactlyElementsOf(completaBloco);
+    }
+
+    /**
+     * Grava um bloco para cada tamanho, em ordem cronológica, com deltas
+     * alternando entre ganho e perda.
+     */
+    private List<RegistroElo> gravar(Long jogadorId, int... tamanhos) {
+        List<RegistroElo> todos = new ArrayList<>();
+        int elo = 1000;
+        for (int tamanho : tamanhos) {
+            List<RegistroElo> registros = new ArrayList<>();
+            for (int i = 0; i < tamanho; i++) {
+                int delta = i % 3 == 0 ? -14 : 11;
+                elo += delta;
+                registros.add(new RegistroElo((long) todos.size() + i, delta, elo, Instant.ofEpochMilli(momento++)));
+            }
+            historicoEloRepository.save(new BlocoHistoricoElo(jogadorId, registros));
+            todos.addAll(registros);
+        }
+        return todos;
+    }
+
+    private List<BlocoHistoricoElo> blocos(Long jogadorId) {
+        return historicoEloRepository.findBlocosDesde(jogadorId, Long.MIN_VALUE);
+    }
+
+    private List<Integer> quantidades(Long jogadorId) {
+        List<Integer> quantidades = new ArrayList<>();
+        for (BlocoHistoricoElo bloco : blocos(jogadorId)) {
+            quantidades.add(bloco.getQuantidade());
+        }
+        return quantidades;
+    }
+
+    private List<RegistroElo> registros(Long jogadorId) {
+        List<RegistroElo> registros = new ArrayList<>();
+        for (BlocoHistoricoElo bloco : blocos(jogadorId)) {
+            registros.addAll(bloco.getRegistros());
+        }
+        return registros;
+    }
+}
@@ -0,0 +1,37 @@
+package com.arena.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Contagem de membros banidos por time quando o banimento e a criação do
+ * time se cruzam, nas duas ordens.
+ */
+class IndicePenalidadesTest {
+
+    @Test
+    void banimentoAntesDoRegistroEntraNaContagemDoTime() {
+        IndicePenalidades indice = new IndicePenalidades();
+        // o banimento leu os times do jogador antes do commit do time novo
+        indice.banir(2L, List.of());
+
+        indice.registrarTime(10L, List.of(1L, 2L, 3L));
+
+        assertThat(indice.getMembrosBanidos(10L)).isEqualTo(1);
+    }
+
+    @Test
+    void banimentoDepoisDoRegistroContaOTimeMesmoSemEleNaLista() {
+        IndicePenalidades indice = new IndicePenalidades();
+        indice.registrarTime(10L, List.of(1L, 2L, 3L));
+
+        indice.banir(2L, List.of());
+        indice.banir(3L, List.of(10L));
+
+        assertThat(indice.getMembrosBanidos(10L)).isEqualTo(2);
+        assertThat(indice.getMembrosBanidos(11L)).isZero();
+    }
+}
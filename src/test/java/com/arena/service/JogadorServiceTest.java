@@ -0,0 +1,121 @@
+package com.arena.service;
+
+import com.arena.dto.EstatisticasPartidaRequest;
+import com.arena.enums.Categoria;
+import com.arena.model.Jogador;
+import com.arena.repository.JogadorRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class JogadorServiceTest {
+    private static final int THREADS = 16;
+    private static final int OPERACOES_POR_THREAD = 100;
+
+    @Autowired
+    private JogadorService jogadorService;
+
+    @Autowired
+    private JogadorRepository jogadorRepository;
+
+    @Autowired
+    private RankingIndex rankingIndex;
+
+    @Autowired
+    private BufferEstatisticasService bufferEstatisticas;
+
+    private Jogador jogador;
+
+    @BeforeEach
+    void criarJogador() {
+        jogador = jogadorRepository.save(new Jogador("concorrente", "Jogador Concorrente",
+            "concorrente@email.com", "senha", LocalDate.of(2000, 1, 1)));
+    }
+
+    @AfterEach
+    void removerJogador() {
+        jogadorRepository.deleteById(jogador.getId());
+    }
+
+    @Test
+    void incrementosConcorrentesNaoPerdemAtualizacoes() throws Exception {
+        EstatisticasPartidaRequest estatisticas = new EstatisticasPartidaRequest(true, 2, 1, 3, 10);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<?>> tarefas = new ArrayList<>();
+
+        for (int t = 0; t < THREADS; t++) {
+            tarefas.add(executor.submit(() -> {
+                largada.await();
+                for (int i = 0; i < OPERACOES_POR_THREAD; i++) {
+                    jogadorService.ajustarElo("concorrente", 3, true);
+                    jogadorService.registrarPartida("concorrente", estatisticas);
+                }
+                return null;
+            }));
+        }
+        largada.countDown();
+        for (Future<?> tarefa : tarefas) {
+            tarefa.get();
+        }
+        executor.shutdown();
+        bufferEstatisticas.gravarTudo();
+
+        int total = THREADS * OPERACOES_POR_THREAD;
+        Jogador atualizado = jogadorRepository.findById(jogador.getId()).orElseThrow();
+        assertThat(atualizado.getElo()).isEqualTo(Jogador.ELO_INICIAL + 3 * total);
+        assertThat(atualizado.getCategoria()).isEqualTo(Categoria.getCategoriaPorElo(atualizado.getElo()));
+        assertThat(atualizado.getTotalPartidas()).isEqualTo(total);
+        assertThat(atualizado.getVitorias()).isEqualTo(total);
+        assertThat(atualizado.getDerrotas()).isZero();
+        assertThat(atualizado.getKills()).isEqualTo(2 * total);
+        assertThat(atualizado.getDeaths()).isEqualTo(total);
+        assertThat(atualizado.getAssists()).isEqualTo(3 * total);
+        assertThat(atualizado.getTempoJogoMinutos()).isEqualTo(10L * total);
+        // um incremento de versão por ajuste de ELO e por lote de estatísticas gravado
+        assertThat(atualizado.getVersao()).isBetween(total + 1L, 2L * total);
+
+        // commits fora de ordem não podem deixar o índice num ELO antigo
+        assertThat(rankingIndex.top(1)).containsExactly(jogador.getId());
+    }
+
+    @Test
+    void eloNaoFicaAbaixoDoMinimoECategoriaAcompanha() {
+        Jogador atualizado = jogadorService.ajustarElo("concorrente", 5000, false).orElseThrow();
+
+        assertThat(atualizado.getElo()).isEqualTo(Jogador.ELO_MINIMO);
+        assertThat(atualizado.getCategoria()).isEqualTo(Categoria.BRONZE);
+
+        atualizado = jogadorService.ajustarElo("concorrente", 1500, true).orElseThrow();
+        assertThat(atualizado.getElo()).isEqualTo(1500);
+        assertThat(atualizado.getCategoria()).isEqualTo(Categoria.OURO);
+    }
+
+    @Test
+    void saveDeEntidadeDesatualizadaFalhaEmVezDeSobrescrever() {
+        Jogador desatualizado = jogadorRepository.findById(jogador.getId()).orElseThrow();
+        jogadorService.ajustarElo("concorrente", 25, true);
+
+        desatualizado.setModoFavorito("Ranqueada");
+
+        assertThatThrownBy(() -> jogadorRepository.save(desatualizado))
+            .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+        assertThat(jogadorRepository.findById(jogador.getId()).orElseThrow().getElo())
+            .isEqualTo(Jogador.ELO_INICIAL + 25);
+    }
+}
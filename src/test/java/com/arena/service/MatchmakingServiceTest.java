@@ -0,0 +1,162 @@
+package com.arena.service;
+
+import com.arena.enums.TopicoEvento;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MatchmakingServiceTest {
+    private static final long SEGUNDO = TimeUnit.SECONDS.toNanos(1);
+
+    private final AtomicLong agora = new AtomicLong(1_000 * SEGUNDO);
+    private final EventosCapturados eventos = new EventosCapturados();
+    private final MatchmakingService matchmaking = new MatchmakingService(eventos, agora::get);
+
+    @Test
+    void pareiaSoDentroDaJanelaInicial() {
+        assertThat(matchmaking.entrar("a", 1000)).isEmpty();
+        assertThat(matchmaking.entrar("b", 1100)).isEmpty();
+
+        Optional<MatchmakingService.PartidaFormada> partida = matchmaking.entrar("c", 1040);
+
+        assertThat(partida).hasValueSatisfying(p -> {
+            assertThat(p.jogador1()).isEqualTo("a");
+            assertThat(p.jogador2()).isEqualTo("c");
+        });
+        assertThat(matchmaking.getFila()).containsExactly("b");
+        assertThat(matchmaking.getPartida("c")).isEqualTo(partida);
+    }
+
+    @Test
+    void janelaCresceComAEspera() {
+        matchmaking.entrar("a", 1000);
+        matchmaking.entrar("b", 1100);
+
+        // 50 + 25 por segundo: 75 depois de 1 s, 100 depois de 2 s
+        agora.addAndGet(SEGUNDO);
+        matchmaking.parearPendentes();
+        assertThat(matchmaking.getTamanhoFila()).isEqualTo(2);
+
+        agora.addAndGet(SEGUNDO);
+        matchmaking.parearPendentes();
+        assertThat(matchmaking.getTamanhoFila()).isZero();
+        assertThat(matchmaking.getPartida("a")).hasValueSatisfying(
+            p -> assertThat(List.of(p.jogador1(), p.jogador2())).containsExactlyInAnyOrder("a", "b"));
+        assertThat(eventos.partidas).hasSize(1);
+    }
+
+    @Test
+    void categoriasSoCruzamDepoisDaEspera() {
+        // prata e ouro, a 30 pontos: dentro da janela desde o início
+        matchmaking.entrar("prata", 1480);
+        matchmaking.entrar("ouro", 1510);
+
+        agora.addAndGet(TimeUnit.MILLISECONDS.toNanos(MatchmakingService.ESPERA_PARA_CRUZAR_CATEGORIA_MS) - 1);
+        matchmaking.parearPendentes();
+        assertThat(matchmaking.getTamanhoFila()).isEqualTo(2);
+
+        agora.incrementAndGet();
+        matchmaking.parearPendentes();
+        assertThat(matchmaking.getTamanhoFila()).isZero();
+    }
+
+    @Test
+    void entradasESaidasConcorrentesNuncaPareiamDuasVezesNemDepoisDeSair() throws Exception {
+        MatchmakingService concorrente = new MatchmakingService(eventos, System::nanoTime);
+        int threads = 8;
+        int operacoes = 20_000;
+        Set<String> saiu = ConcurrentHashMap.newKeySet();
+        AtomicInteger entradas = new AtomicInteger();
+        CountDownLatch largada = new CountDownLatch(1);
+        CountDownLatch fim = new CountDownLatch(threads);
+        AtomicBoolean rodando = new AtomicBoolean(true);
+        List<Throwable> erros = new ArrayList<>();
+
+        Thread pendentes = new Thread(() -> {
+            while (rodando.get()) {
+                concorrente.parearPendentes();
+            }
+        });
+        pendentes.start();
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            new Thread(() -> {
+                SplittableRandom random = new SplittableRandom(thread);
+                List<String> minhas = new ArrayList<>();
+                try {
+                    largada.await();
+                    for (int i = 0; i < operacoes; i++) {
+                        if (minhas.isEmpty() || random.nextInt(5) < 3) {
+                            // cada entrada tem um nickname próprio
+                            String nickname = "t" + thread + "-" + i;
+                            minhas.add(nickname);
+                            entradas.incrementAndGet();
+                            // todos na mesma faixa, para as threads disputarem as mesmas entradas
+                            concorrente.entrar(nickname, 1000 + random.nextInt(40));
+                        } else {
+                            String nickname = minhas.get(random.nextInt(minhas.size()));
+                            if (concorrente.sair(nickname)) {
+                                assertThat(saiu.add(nickname)).isTrue();
+                            }
+                        }
+                    }
+                } catch (Throwable e) {
+                    synchronized (erros) {
+                        erros.add(e);
+                    }
+                } finally {
+                    fim.countDown();
+                }
+            }).start();
+        }
+        largada.countDown();
+        assertThat(fim.await(60, TimeUnit.SECONDS)).isTrue();
+        rodando.set(false);
+        pendentes.join();
+        assertThat(erros).isEmpty();
+
+        Map<String, Integer> pareamentos = new HashMap<>();
+        for (MatchmakingService.PartidaFormada partida : eventos.partidas) {
+            pareamentos.merge(partida.jogador1(), 1, Integer::sum);
+            pareamentos.merge(partida.jogador2(), 1, Integer::sum);
+        }
+        assertThat(eventos.partidas).isNotEmpty();
+        assertThat(pareamentos.values()).allMatch(vezes -> vezes == 1);
+        assertThat(pareamentos.keySet()).doesNotContainAnyElementsOf(saiu);
+        assertThat(concorrente.getFila()).doesNotContainAnyElementsOf(saiu)
+            .doesNotContainAnyElementsOf(pareamentos.keySet());
+        // toda entrada terminou em exatamente um lugar
+        assertThat(pareamentos.size() + saiu.size() + concorrente.getTamanhoFila()).isEqualTo(entradas.get());
+    }
+
+    /**
+     * Guarda as partidas publicadas no tópico da fila.
+     */
+    private static class EventosCapturados extends EventosService {
+        final Queue<MatchmakingService.PartidaFormada> partidas = new ConcurrentLinkedQueue<>();
+
+        @Override
+        public void publicar(TopicoEvento topico, Object evento) {
+            if (evento instanceof MatchmakingService.EventoFila fila
+                    && MatchmakingService.EventoFila.PAREADOS.equals(fila.tipo())) {
+                partidas.add(fila.partida());
+            }
+        }
+    }
+}
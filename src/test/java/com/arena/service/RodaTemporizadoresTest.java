@@ -0,0 +1,64 @@
+package com.arena.service;
+
+import com.arena.enums.TipoTemporizadorPartida;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RodaTemporizadoresTest {
+    private static final long INICIO = 1_700_000_000L;
+
+    @Test
+    void disparaCadaTemporizadorNoPrazoComAgendamentosECancelamentosAleatorios() {
+        RodaTemporizadores<TipoTemporizadorPartida> roda = new RodaTemporizadores<>(TipoTemporizadorPartida.class, INICIO);
+        // o que deveria estar pendente: chave -> prazo
+        Map<Long, Long> pendentes = new HashMap<>();
+        List<String> erros = new ArrayList<>();
+        Random random = new Random(7);
+
+        long agora = INICIO;
+        for (int passo = 0; passo < 20_000; passo++) {
+            for (int i = 0; i < 50; i++) {
+                long chave = random.nextInt(20_000);
+                if (random.nextInt(5) == 0) {
+                    assertThat(roda.cancelar(chave)).isEqualTo(pendentes.remove(chave) != null);
+                } else {
+                    // de vencidos a alguns dias, cruzando todos os níveis
+                    long prazo = agora - 5 + (long) (Math.pow(random.nextDouble(), 4) * 400_000);
+                    roda.agendar(chave, prazo, TipoTemporizadorPartida.values()[random.nextInt(2)]);
+                    pendentes.put(chave, Math.max(prazo, agora + 1));
+                }
+            }
+            agora += 1 + random.nextInt(60);
+            roda.avancar(agora, (chave, tipo) -> {
+                Long prazo = pendentes.remove(chave);
+                if (prazo == null || prazo != roda.getTickAtual()) {
+                    erros.add("chave " + chave + " no tick " + roda.getTickAtual() + ", prazo " + prazo);
+                }
+            });
+            assertThat(roda.getTotal()).isEqualTo(pendentes.size());
+        }
+        assertThat(erros).isEmpty();
+        assertThat(pendentes.values()).allMatch(prazo -> prazo > roda.getTickAtual());
+    }
+
+    @Test
+    void prazoAlemDoAlcanceDisparaNoTickCerto() {
+        RodaTemporizadores<TipoTemporizadorPartida> roda = new RodaTemporizadores<>(TipoTemporizadorPartida.class, INICIO);
+        long prazo = INICIO + 3 * (1L << 24) + 12_345;
+        roda.agendar(1, prazo, TipoTemporizadorPartida.TIMEOUT);
+        List<Long> disparos = new ArrayList<>();
+
+        roda.avancar(prazo - 1, (chave, tipo) -> disparos.add(roda.getTickAtual()));
+        assertThat(disparos).isEmpty();
+        roda.avancar(prazo + 100, (chave, tipo) -> disparos.add(roda.getTickAtual()));
+        assertThat(disparos).containsExactly(prazo);
+        assertThat(roda.getTotal()).isZero();
+    }
+}